@@ -23,10 +23,12 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
     testImplementation(libs.spring.boot.starter.test)
+    testImplementation(libs.hdrhistogram)
 }
 
 // about source and compilation
@@ -45,6 +47,34 @@ tasks.getByName("bootJar") {
 tasks.getByName("jar") {
     enabled = false
 }
+// AppCDS: 클래스 데이터 공유 아카이브는 jar 로만 이루어진 클래스패스에서 만들 수 있어, bootJar(중첩 jar) 대신 일반 jar + 의존성 jar 로 실행한다.
+// ./gradlew appCdsRun 은 아카이브가 없으면 먼저 appCdsArchive 로 컨텍스트 refresh 까지만 실행해 로드된 클래스를 기록한다.
+val appCdsJar by tasks.registering(Jar::class) {
+    archiveClassifier.set("cds")
+    from(sourceSets.main.get().output)
+}
+val appCdsClasspath = files(appCdsJar, configurations.runtimeClasspath)
+val appCdsArchiveFile = layout.buildDirectory.file("app-cds.jsa")
+
+val appCdsArchive by tasks.registering(JavaExec::class) {
+    group = "application"
+    description = "Records the classes loaded up to context refresh into an AppCDS archive."
+    classpath = appCdsClasspath
+    mainClass.set("io.hhplus.tdd.TddApplication")
+    jvmArgs("-XX:ArchiveClassesAtExit=${appCdsArchiveFile.get().asFile}", "-Dspring.context.exit=onRefresh")
+    args("--server.port=0")
+    outputs.file(appCdsArchiveFile)
+}
+
+val appCdsRun by tasks.registering(JavaExec::class) {
+    group = "application"
+    description = "Runs the application with the AppCDS archive."
+    dependsOn(appCdsArchive)
+    classpath = appCdsClasspath
+    mainClass.set("io.hhplus.tdd.TddApplication")
+    jvmArgs("-XX:SharedArchiveFile=${appCdsArchiveFile.get().asFile}")
+}
+
 // test tasks
 tasks.test {
     ignoreFailures = true
@@ -52,8 +82,31 @@ tasks.test {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("load")
+    }
+    systemProperty("file.encoding", "UTF-8")
+
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
+// 부하/소크 테스트: ./gradlew loadTest -Dload.rate=500 -Dload.duration=PT5M 처럼 load.* 시스템 프로퍼티로 조절한다.
+// 실행 시간이나 힙 사용량을 비교하는 마이크로벤치마크도 기계마다 결과가 달라 같은 태그로 기본 test 에서 뺀다.
+val loadTest by tasks.registering(Test::class) {
+    group = "verification"
+    description = "Runs the load/soak tests and timing benchmarks tagged 'load'."
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
     systemProperty("file.encoding", "UTF-8")
+    System.getProperties().stringPropertyNames()
+        .filter { it.startsWith("load.") }
+        .forEach { systemProperty(it, System.getProperty(it)) }
+    outputs.upToDateWhen { false }
 
     testLogging {
         showStandardStreams = true
@@ -1,49 +1,118 @@
 package io.hhplus.tdd;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.hhplus.tdd.exception.UserNotFoundException;
+import io.hhplus.tdd.exception.ActivityLimitExceededException;
+import io.hhplus.tdd.exception.ConcurrencyLimitExceededException;
+import io.hhplus.tdd.exception.DailyChargeCapExceededException;
 import io.hhplus.tdd.exception.InsufficientBalanceException;
 import io.hhplus.tdd.exception.InvalidAmountException;
 import io.hhplus.tdd.exception.MaxPointExceededException;
+import io.hhplus.tdd.exception.NodeUnavailableException;
+import io.hhplus.tdd.exception.RateLimitExceededException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
+/**
+ * 예외를 ErrorResponse JSON 으로 바꾼다. 고정 메시지의 본문은 ErrorBodies 가 미리 직렬화해 둔 바이트를 그대로 쓴다.
+ */
 @RestControllerAdvice
 class ApiControllerAdvice {
 
+    private final ErrorBodies errorBodies;
+
+    ApiControllerAdvice(ObjectMapper objectMapper) {
+        this.errorBodies = new ErrorBodies(objectMapper);
+    }
+
     @ExceptionHandler(UserNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleUserNotFoundException(UserNotFoundException e) {
-        return ResponseEntity.status(404).body(new ErrorResponse("404", e.getMessage()));
+    public ResponseEntity<byte[]> handleUserNotFoundException(UserNotFoundException e) {
+        return error(404, e);
     }
 
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<ErrorResponse> handleIllegalArgumentException(IllegalArgumentException e) {
-        return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
+    public ResponseEntity<byte[]> handleIllegalArgumentException(IllegalArgumentException e) {
+        return error(400, e);
     }
 
     @ExceptionHandler(InsufficientBalanceException.class)
-    public ResponseEntity<ErrorResponse> handleInsufficientBalanceException(InsufficientBalanceException e) {
-        return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
+    public ResponseEntity<byte[]> handleInsufficientBalanceException(InsufficientBalanceException e) {
+        return error(400, e);
     }
 
     @ExceptionHandler(InvalidAmountException.class)
-    public ResponseEntity<ErrorResponse> handleInvalidAmountException(InvalidAmountException e) {
-        return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
+    public ResponseEntity<byte[]> handleInvalidAmountException(InvalidAmountException e) {
+        return error(400, e);
     }
 
     @ExceptionHandler(MaxPointExceededException.class)
-    public ResponseEntity<ErrorResponse> handleMaxPointExceededException(MaxPointExceededException e) {
-        return ResponseEntity.status(400).body(new ErrorResponse("400", e.getMessage()));
+    public ResponseEntity<byte[]> handleMaxPointExceededException(MaxPointExceededException e) {
+        return error(400, e);
+    }
+
+    @ExceptionHandler(DailyChargeCapExceededException.class)
+    public ResponseEntity<byte[]> handleDailyChargeCapExceededException(DailyChargeCapExceededException e) {
+        return error(400, e);
+    }
+
+    @ExceptionHandler(ActivityLimitExceededException.class)
+    public ResponseEntity<byte[]> handleActivityLimitExceededException(ActivityLimitExceededException e) {
+        return error(400, e);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<byte[]> handleRateLimitExceededException(RateLimitExceededException e) {
+        return ResponseEntity.status(429)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorBodies.body(429, e));
+    }
+
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<byte[]> handleConcurrencyLimitExceededException(ConcurrencyLimitExceededException e) {
+        return ResponseEntity.status(503)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorBodies.body(503, e));
+    }
+
+    @ExceptionHandler(NodeUnavailableException.class)
+    public ResponseEntity<byte[]> handleNodeUnavailableException(NodeUnavailableException e) {
+        return error(503, e);
     }
 
     @ExceptionHandler(HttpMessageNotReadableException.class)
-    public ResponseEntity<ErrorResponse> handleInvalidRequest(HttpMessageNotReadableException e) {
-        return ResponseEntity.status(400).body(new ErrorResponse("400", "Invalid request value."));
+    public ResponseEntity<byte[]> handleInvalidRequest(HttpMessageNotReadableException e) {
+        return fixedError(400, "Invalid request value.");
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<byte[]> handleTypeMismatch(MethodArgumentTypeMismatchException e) {
+        return fixedError(400, "Invalid request value.");
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleException(Exception e) {
-        return ResponseEntity.status(500).body(new ErrorResponse("500", "An unexpected error occurred."));
+    public ResponseEntity<byte[]> handleException(Exception e) {
+        return fixedError(500, "An unexpected error occurred.");
+    }
+
+    /**
+     * Content-Type 을 직접 정하므로 Accept 와 상관없이 JSON 으로 나간다. (byte[] 본문은 Jackson 을 거치지 않는다)
+     */
+    private ResponseEntity<byte[]> error(int status, Exception e) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorBodies.body(status, e));
+    }
+
+    private ResponseEntity<byte[]> fixedError(int status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorBodies.fixed(status, message));
     }
-}
\ No newline at end of file
+}
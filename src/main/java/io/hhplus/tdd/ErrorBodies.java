@@ -0,0 +1,70 @@
+package io.hhplus.tdd;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.exception.ConcurrencyLimitExceededException;
+import io.hhplus.tdd.exception.InsufficientBalanceException;
+import io.hhplus.tdd.exception.MaxPointExceededException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 오류 응답 본문(ErrorResponse)을 JSON 바이트로 직렬화한다.
+ * - 잔액 부족처럼 고정 메시지 인스턴스(INSTANCE)로 던지는 거절과 코드에 박힌 문구는 (상태 코드, 메시지) 별로 한 번만 직렬화해 같은 바이트를 그대로 쓴다.
+ * - 그 밖의 예외는 메시지에 요청 값이 들어갈 수 있으므로 보관하지 않고 매번 직렬화한다. (요청마다 다른 메시지로 보관 공간을 채우지 못하게)
+ */
+final class ErrorBodies {
+
+    private static final List<Exception> FIXED_INSTANCES = List.of(
+            InsufficientBalanceException.INSTANCE,
+            MaxPointExceededException.INSTANCE,
+            ConcurrencyLimitExceededException.INSTANCE);
+
+    private final ObjectMapper objectMapper;
+    private final Map<Integer, Map<String, byte[]>> bodies = new ConcurrentHashMap<>();
+
+    ErrorBodies(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 고정 메시지 인스턴스면 보관한 본문을, 아니면 매번 직렬화한 본문을 반환한다.
+     */
+    byte[] body(int status, Exception e) {
+        if (isFixedInstance(e)) {
+            return fixed(status, e.getMessage());
+        }
+        return serialize(status, e.getMessage());
+    }
+
+    /**
+     * 코드에 고정된 문구의 본문. 요청 값이 들어간 메시지를 넘기면 안 된다.
+     */
+    byte[] fixed(int status, String message) {
+        return bodies.computeIfAbsent(status, ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(message, ignored -> serialize(status, message));
+    }
+
+    int size() {
+        return bodies.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private static boolean isFixedInstance(Exception e) {
+        for (Exception instance : FIXED_INSTANCES) {
+            if (instance == e) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private byte[] serialize(int status, String message) {
+        try {
+            return objectMapper.writeValueAsBytes(new ErrorResponse(String.valueOf(status), message));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize error response", e);
+        }
+    }
+}
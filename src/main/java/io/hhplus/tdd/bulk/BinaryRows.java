@@ -0,0 +1,83 @@
+package io.hhplus.tdd.bulk;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.codec.PointBinaryCodec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * PointBinaryCodec 레코드를 이어 쓰고 0 바이트로 끝을 표시한다.
+ */
+final class BinaryRows {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte END = 0;
+
+    private BinaryRows() {
+    }
+
+    static final class Writer implements RowWriter {
+
+        private final DataOutputStream out;
+
+        Writer(OutputStream out) {
+            this.out = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        }
+
+        @Override
+        public void write(UserPoint userPoint) throws IOException {
+            PointBinaryCodec.write(out, userPoint);
+        }
+
+        @Override
+        public void write(PointHistory history) throws IOException {
+            PointBinaryCodec.write(out, history);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.writeByte(END);
+            out.close();
+        }
+    }
+
+    static final class Reader implements RowReader {
+
+        private final BulkDataset dataset;
+        private final DataInputStream in;
+
+        Reader(BulkDataset dataset, InputStream in) {
+            this.dataset = dataset;
+            this.in = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+        }
+
+        @Override
+        public Object read() throws IOException {
+            int kind = in.read();
+            if (kind < 0) {
+                throw new EOFException("Binary chunk ended without an end marker.");
+            }
+            if (kind == END) {
+                return null;
+            }
+            byte expected = dataset == BulkDataset.BALANCES ? PointBinaryCodec.USER_POINT : PointBinaryCodec.POINT_HISTORY;
+            if (kind != expected) {
+                throw new IllegalArgumentException("Unexpected record kind " + kind + " in " + dataset.prefix() + " chunk.");
+            }
+            return PointBinaryCodec.read(in, (byte) kind);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
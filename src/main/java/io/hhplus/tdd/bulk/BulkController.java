@@ -0,0 +1,29 @@
+package io.hhplus.tdd.bulk;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 일괄 내보내기/가져오기용 관리 API. 외부에 노출하지 않는 것을 전제로 한다.
+ * point.bulk.enabled 가 켜져 있을 때만 동작하며, dir 은 point.bulk.base-dir 기준 상대 경로다.
+ */
+@RestController
+@RequestMapping("/internal/bulk")
+@RequiredArgsConstructor
+public class BulkController {
+    private final PointBulkService pointBulkService;
+
+    @PostMapping("export")
+    public BulkReport export(
+            @RequestBody BulkExportRequest request
+    ) {
+        return pointBulkService.export(pointBulkService.resolveDir(request.dir()), request.format() == null ? BulkFormat.BINARY : request.format());
+    }
+
+    @PostMapping("import")
+    public BulkReport importFrom(
+            @RequestBody BulkImportRequest request
+    ) {
+        return pointBulkService.importFrom(pointBulkService.resolveDir(request.dir()));
+    }
+}
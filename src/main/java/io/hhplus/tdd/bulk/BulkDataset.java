@@ -0,0 +1,29 @@
+package io.hhplus.tdd.bulk;
+
+/**
+ * 청크 파일에 담긴 데이터 종류. 파일 이름의 앞부분이다.
+ */
+enum BulkDataset {
+    BALANCES("balances", "id,point,updateMillis"),
+    HISTORIES("histories", "id,userId,amount,type,updateMillis");
+
+    private final String prefix;
+    private final String csvHeader;
+
+    BulkDataset(String prefix, String csvHeader) {
+        this.prefix = prefix;
+        this.csvHeader = csvHeader;
+    }
+
+    String prefix() {
+        return prefix;
+    }
+
+    String csvHeader() {
+        return csvHeader;
+    }
+
+    static BulkDataset fromPrefix(String prefix) {
+        return prefix.equals(BALANCES.prefix) ? BALANCES : HISTORIES;
+    }
+}
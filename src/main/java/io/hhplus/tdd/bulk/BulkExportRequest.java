@@ -0,0 +1,4 @@
+package io.hhplus.tdd.bulk;
+
+public record BulkExportRequest(String dir, BulkFormat format) {
+}
@@ -0,0 +1,52 @@
+package io.hhplus.tdd.bulk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * 청크 파일의 행 형식. 파일은 형식과 상관없이 gzip 으로 압축하며, 확장자로 형식을 구분한다. (balances-p0003-00001.csv.gz)
+ * - CSV    : 첫 줄은 열 이름, 이후 한 줄에 한 행. type 은 소문자다.
+ * - NDJSON : 한 줄에 JSON 객체 하나. 필드와 표기는 API 응답과 같다.
+ * - BINARY : PointBinaryCodec 의 UserPoint/PointHistory 레코드를 이어 쓰고, 끝에 0 바이트를 둔다. 끝 표시가 없으면 잘린 파일이다.
+ */
+public enum BulkFormat {
+    CSV("csv"),
+    NDJSON("ndjson"),
+    BINARY("bin");
+
+    private final String extension;
+
+    BulkFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    static BulkFormat fromExtension(String extension) {
+        for (BulkFormat format : values()) {
+            if (format.extension.equals(extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown bulk file extension: " + extension);
+    }
+
+    RowWriter writer(BulkDataset dataset, OutputStream out) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvRows.Writer(dataset, out);
+            case NDJSON -> new NdjsonRows.Writer(out);
+            case BINARY -> new BinaryRows.Writer(out);
+        };
+    }
+
+    RowReader reader(BulkDataset dataset, InputStream in) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvRows.Reader(dataset, in);
+            case NDJSON -> new NdjsonRows.Reader(dataset, in);
+            case BINARY -> new BinaryRows.Reader(dataset, in);
+        };
+    }
+}
@@ -0,0 +1,4 @@
+package io.hhplus.tdd.bulk;
+
+public record BulkImportRequest(String dir) {
+}
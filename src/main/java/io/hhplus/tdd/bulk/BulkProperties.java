@@ -0,0 +1,36 @@
+package io.hhplus.tdd.bulk;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * 잔액/내역 일괄 내보내기와 가져오기 설정
+ *
+ * @param enabled     false 이면 /internal/bulk API 를 거절한다.
+ * @param baseDir     API 로 받은 dir 의 기준 디렉터리. dir 은 이 디렉터리 안의 상대 경로여야 한다.
+ * @param partitions  내보낼 때 userId 로 나누는 파티션 수. 파티션마다 따로 청크 파일을 만든다.
+ * @param parallelism 파티션(내보내기) 또는 청크 파일(가져오기)을 동시에 처리하는 스레드 수
+ * @param chunkRows   청크 파일 하나에 담는 최대 행 수. 넘으면 다음 청크 파일로 넘어간다.
+ * @param batchSize   가져올 때 저장소의 bulkLoad 에 한 번에 넘기는 행 수
+ */
+@ConfigurationProperties(prefix = "point.bulk")
+public record BulkProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/bulk") Path baseDir,
+        @DefaultValue("16") int partitions,
+        @DefaultValue("8") int parallelism,
+        @DefaultValue("1000000") int chunkRows,
+        @DefaultValue("10000") int batchSize
+) {
+    public BulkProperties {
+        if (partitions <= 0 || parallelism <= 0 || chunkRows <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("point.bulk settings must be positive.");
+        }
+    }
+
+    public static BulkProperties defaults() {
+        return new BulkProperties(false, Path.of("data/bulk"), 16, 8, 1_000_000, 10_000);
+    }
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.bulk;
+
+/**
+ * 일괄 내보내기/가져오기 결과
+ *
+ * @param files      쓰거나 읽은 청크 파일 수
+ * @param userPoints 잔액 행 수
+ * @param histories  내역 행 수
+ */
+public record BulkReport(
+        int files,
+        long userPoints,
+        long histories,
+        long elapsedMillis
+) {
+    public double rowsPerMinute() {
+        return (userPoints + histories) * 60_000.0 / Math.max(1, elapsedMillis);
+    }
+}
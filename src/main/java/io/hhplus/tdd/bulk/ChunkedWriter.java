@@ -0,0 +1,113 @@
+package io.hhplus.tdd.bulk;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 한 파티션의 한 데이터 종류를 chunkRows 행씩 gzip 청크 파일로 나눠 쓴다. 행이 없으면 파일을 만들지 않는다.
+ * 청크는 임시 이름으로 쓰고 닫은 뒤에 이름을 바꾸므로, 도중에 멈춘 내보내기가 온전해 보이는 청크를 남기지 않는다.
+ */
+final class ChunkedWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final BulkDataset dataset;
+    private final int partition;
+    private final BulkFormat format;
+    private final int chunkRows;
+    private final List<Path> files = new ArrayList<>();
+
+    private RowWriter current;
+    private Path currentPath;
+    private int rowsInChunk;
+    private long rows;
+
+    ChunkedWriter(Path directory, BulkDataset dataset, int partition, BulkFormat format, int chunkRows) {
+        this.directory = directory;
+        this.dataset = dataset;
+        this.partition = partition;
+        this.format = format;
+        this.chunkRows = chunkRows;
+    }
+
+    static String fileName(BulkDataset dataset, int partition, int chunk, BulkFormat format) {
+        return String.format("%s-p%04d-%05d.%s.gz", dataset.prefix(), partition, chunk, format.extension());
+    }
+
+    void write(UserPoint userPoint) throws IOException {
+        next().write(userPoint);
+    }
+
+    void write(PointHistory history) throws IOException {
+        next().write(history);
+    }
+
+    List<Path> files() {
+        return files;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    private RowWriter next() throws IOException {
+        if (current != null && rowsInChunk == chunkRows) {
+            finishChunk();
+        }
+        if (current == null) {
+            currentPath = directory.resolve(fileName(dataset, partition, files.size() + 1, format));
+            Path temporary = temporary(currentPath);
+            current = format.writer(dataset, new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE), BUFFER_SIZE));
+        }
+        rowsInChunk++;
+        rows++;
+        return current;
+    }
+
+    private void finishChunk() throws IOException {
+        current.close();
+        Files.move(temporary(currentPath), currentPath);
+        files.add(currentPath);
+        current = null;
+        rowsInChunk = 0;
+    }
+
+    private static Path temporary(Path path) {
+        return path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    /**
+     * 쓰던 청크를 지운다. 이미 끝낸 청크는 그대로 둔다.
+     */
+    void abort() {
+        if (current == null) {
+            return;
+        }
+        try {
+            current.close();
+        } catch (IOException ignored) {
+        }
+        try {
+            Files.deleteIfExists(temporary(currentPath));
+        } catch (IOException ignored) {
+        }
+        current = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (current != null) {
+            finishChunk();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package io.hhplus.tdd.bulk;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 숫자와 소문자 type 만 담으므로 따옴표나 이스케이프 없이 쉼표로만 나눈다.
+ */
+final class CsvRows {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private CsvRows() {
+    }
+
+    static final class Writer implements RowWriter {
+
+        private final BufferedWriter out;
+
+        Writer(BulkDataset dataset, OutputStream out) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.US_ASCII), BUFFER_SIZE);
+            this.out.write(dataset.csvHeader());
+            this.out.write('\n');
+        }
+
+        @Override
+        public void write(UserPoint userPoint) throws IOException {
+            out.write(Long.toString(userPoint.id()));
+            out.write(',');
+            out.write(Long.toString(userPoint.point()));
+            out.write(',');
+            out.write(Long.toString(userPoint.updateMillis()));
+            out.write('\n');
+        }
+
+        @Override
+        public void write(PointHistory history) throws IOException {
+            out.write(Long.toString(history.id()));
+            out.write(',');
+            out.write(Long.toString(history.userId()));
+            out.write(',');
+            out.write(Long.toString(history.amount()));
+            out.write(',');
+            out.write(history.type().toJson());
+            out.write(',');
+            out.write(Long.toString(history.updateMillis()));
+            out.write('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    static final class Reader implements RowReader {
+
+        private final BulkDataset dataset;
+        private final BufferedReader in;
+        private final String[] fields = new String[5];
+        private long line = 1;
+
+        Reader(BulkDataset dataset, InputStream in) throws IOException {
+            this.dataset = dataset;
+            this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII), BUFFER_SIZE);
+            String header = this.in.readLine();
+            if (header != null && !header.equals(dataset.csvHeader())) {
+                throw new IllegalArgumentException("Unexpected CSV header: " + header);
+            }
+        }
+
+        @Override
+        public Object read() throws IOException {
+            String row = in.readLine();
+            line++;
+            if (row == null) {
+                return null;
+            }
+            try {
+                if (dataset == BulkDataset.BALANCES) {
+                    split(row, 3);
+                    return new UserPoint(Long.parseLong(fields[0]), Long.parseLong(fields[1]), Long.parseLong(fields[2]));
+                }
+                split(row, 5);
+                return new PointHistory(Long.parseLong(fields[0]), Long.parseLong(fields[1]), Long.parseLong(fields[2]),
+                        TransactionType.from(fields[3]), Long.parseLong(fields[4]));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid CSV row at line " + line + ": " + row, e);
+            }
+        }
+
+        private void split(String row, int count) {
+            int start = 0;
+            for (int i = 0; i < count - 1; i++) {
+                int comma = row.indexOf(',', start);
+                if (comma < 0) {
+                    throw new IllegalArgumentException("Expected " + count + " columns.");
+                }
+                fields[i] = row.substring(start, comma);
+                start = comma + 1;
+            }
+            if (row.indexOf(',', start) >= 0) {
+                throw new IllegalArgumentException("Expected " + count + " columns.");
+            }
+            fields[count - 1] = row.substring(start);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package io.hhplus.tdd.bulk;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.codec.PointJsonWriter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 쓰기는 PointJsonWriter 를 그대로 쓴다. 읽기는 숫자와 문자열 값만 있는 평평한 객체만 받는 작은 파서로 처리한다.
+ * 필드 순서는 상관없고 모르는 필드는 무시한다.
+ */
+final class NdjsonRows {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private NdjsonRows() {
+    }
+
+    static final class Writer implements RowWriter {
+
+        private final OutputStream out;
+        private final PointJsonWriter json;
+
+        Writer(OutputStream out) {
+            this.out = out;
+            this.json = new PointJsonWriter(out);
+        }
+
+        @Override
+        public void write(UserPoint userPoint) throws IOException {
+            json.writeUserPoint(userPoint);
+            json.newLine();
+        }
+
+        @Override
+        public void write(PointHistory history) throws IOException {
+            json.writePointHistory(history);
+            json.newLine();
+        }
+
+        @Override
+        public void close() throws IOException {
+            json.flush();
+            out.close();
+        }
+    }
+
+    static final class Reader implements RowReader {
+
+        private final BulkDataset dataset;
+        private final BufferedReader in;
+        private long line;
+
+        private String row;
+        private int position;
+
+        Reader(BulkDataset dataset, InputStream in) {
+            this.dataset = dataset;
+            this.in = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        }
+
+        @Override
+        public Object read() throws IOException {
+            do {
+                row = in.readLine();
+                line++;
+                if (row == null) {
+                    return null;
+                }
+            } while (row.isBlank());
+            try {
+                return parse();
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid NDJSON row at line " + line + ": " + row, e);
+            }
+        }
+
+        private Object parse() {
+            long id = 0;
+            long userId = 0;
+            long amount = 0;
+            long updateMillis = 0;
+            TransactionType type = null;
+            int seen = 0;
+
+            position = 0;
+            expect('{');
+            skipSpaces();
+            if (peek() == '}') {
+                throw new IllegalArgumentException("Empty object.");
+            }
+            while (true) {
+                String name = string();
+                expect(':');
+                skipSpaces();
+                switch (name) {
+                    case "id" -> {
+                        id = number();
+                        seen |= 1;
+                    }
+                    case "point", "amount" -> {
+                        amount = number();
+                        seen |= 2;
+                    }
+                    case "userId" -> {
+                        userId = number();
+                        seen |= 4;
+                    }
+                    case "type" -> {
+                        type = TransactionType.from(string());
+                        seen |= 8;
+                    }
+                    case "updateMillis" -> {
+                        updateMillis = number();
+                        seen |= 16;
+                    }
+                    default -> skipValue();
+                }
+                skipSpaces();
+                char next = next();
+                if (next == '}') {
+                    break;
+                }
+                if (next != ',') {
+                    throw new IllegalArgumentException("Expected ',' or '}' at " + (position - 1) + ".");
+                }
+            }
+            if (dataset == BulkDataset.BALANCES) {
+                if ((seen & 19) != 19) {
+                    throw new IllegalArgumentException("Missing id, point or updateMillis.");
+                }
+                return new UserPoint(id, amount, updateMillis);
+            }
+            if (seen != 31) {
+                throw new IllegalArgumentException("Missing id, userId, amount, type or updateMillis.");
+            }
+            return new PointHistory(id, userId, amount, type, updateMillis);
+        }
+
+        private String string() {
+            expect('"');
+            int end = row.indexOf('"', position);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unterminated string.");
+            }
+            String value = row.substring(position, end);
+            position = end + 1;
+            return value;
+        }
+
+        private long number() {
+            int start = position;
+            if (peek() == '-') {
+                position++;
+            }
+            while (position < row.length() && Character.isDigit(row.charAt(position))) {
+                position++;
+            }
+            return Long.parseLong(row, start, position, 10);
+        }
+
+        private void skipValue() {
+            if (peek() == '"') {
+                string();
+                return;
+            }
+            while (position < row.length() && row.charAt(position) != ',' && row.charAt(position) != '}') {
+                position++;
+            }
+        }
+
+        private void expect(char expected) {
+            skipSpaces();
+            if (next() != expected) {
+                throw new IllegalArgumentException("Expected '" + expected + "' at " + (position - 1) + ".");
+            }
+        }
+
+        private char next() {
+            if (position >= row.length()) {
+                throw new IllegalArgumentException("Unexpected end of row.");
+            }
+            return row.charAt(position++);
+        }
+
+        private char peek() {
+            return position < row.length() ? row.charAt(position) : '\0';
+        }
+
+        private void skipSpaces() {
+            while (position < row.length() && row.charAt(position) == ' ') {
+                position++;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package io.hhplus.tdd.bulk;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.storage.PointStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 잔액과 내역을 gzip 청크 파일로 내보내고, 청크 파일에서 저장소로 일괄 가져온다. (환경 이전, 초기 데이터 적재용)
+ * - 내보내기: 저장소의 잔액을 userId 로 partitions 개 파티션에 나누고, 파티션마다 잔액과 그 사용자들의 내역을 각자의 청크 파일에 쓴다.
+ *   파티션은 parallelism 개 스레드가 나눠 처리한다. 스냅샷이 아니므로 쓰기가 없을 때 실행해야 잔액과 내역이 서로 맞는다.
+ * - 가져오기: 디렉터리의 청크 파일을 parallelism 개 스레드가 파일 단위로 나눠 읽고, batchSize 행마다 PointStore.bulkLoad 로 저장한다.
+ *   한 사용자의 행은 한 파티션의 파일에만 있으므로 스레드끼리 같은 사용자를 쓰지 않는다.
+ * - 가져오기는 PointService 를 거치지 않는다. 사용자 락, 처리율 한도, 등급 한도, 복제 로그, 만료 lot, 활동 카운터 모두 거치지 않으므로
+ *   서비스 투입 전이나 점검 중에 실행한다. 가져온 잔액에는 만료 시각이 없다.
+ * - 가져오기는 내역 id 를 그대로 쓰므로 잔액이 하나도 없는 저장소로만 가져온다. 이미 쓰인 id 와 겹치거나 다시 실행해 내역이 중복되지 않게 한다.
+ *   도중에 실패하면 이미 저장한 묶음이 남으므로 저장소를 비운 뒤에 다시 가져온다.
+ * - API 로 받은 디렉터리는 resolveDir 로 baseDir 안의 경로인지 확인한 뒤에 쓴다.
+ */
+@Service
+public class PointBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(PointBulkService.class);
+    private static final Pattern CHUNK_FILE = Pattern.compile("(balances|histories)-p\\d{4}-\\d{5}\\.(csv|ndjson|bin)\\.gz");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PointStore pointStore;
+    private final BulkProperties properties;
+
+    public PointBulkService(PointStore pointStore, BulkProperties properties) {
+        this.pointStore = pointStore;
+        this.properties = properties;
+    }
+
+    private record Counts(int files, long userPoints, long histories) {
+    }
+
+    /**
+     * API 로 받은 dir 을 baseDir 기준으로 풀어 반환한다. 기능이 꺼져 있거나, dir 이 baseDir 밖을 가리키면 거절한다.
+     * 이미 있는 경로는 심볼릭 링크를 따라간 실제 경로로도 확인한다.
+     */
+    public Path resolveDir(String dir) {
+        if (!properties.enabled()) {
+            throw new IllegalArgumentException("Bulk API is disabled.");
+        }
+        if (dir == null || dir.isBlank()) {
+            throw new IllegalArgumentException("dir is required.");
+        }
+        Path base = properties.baseDir().toAbsolutePath().normalize();
+        Path resolved;
+        try {
+            resolved = base.resolve(dir).normalize();
+        } catch (InvalidPathException e) {
+            throw new IllegalArgumentException("Invalid dir: " + dir);
+        }
+        if (!resolved.startsWith(base) || resolved.equals(base)) {
+            throw new IllegalArgumentException("dir must be a relative path inside point.bulk.base-dir.");
+        }
+        try {
+            if (Files.exists(resolved) && !resolved.toRealPath().startsWith(base.toRealPath())) {
+                throw new IllegalArgumentException("dir must be a relative path inside point.bulk.base-dir.");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to resolve " + resolved, e);
+        }
+        return resolved;
+    }
+
+    public BulkReport export(Path directory, BulkFormat format) {
+        long begin = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create export directory: " + directory, e);
+        }
+        if (!chunkFiles(directory).isEmpty()) {
+            throw new IllegalArgumentException("Export directory already contains bulk files: " + directory);
+        }
+
+        List<List<UserPoint>> partitions = new ArrayList<>(properties.partitions());
+        for (int i = 0; i < properties.partitions(); i++) {
+            partitions.add(new ArrayList<>());
+        }
+        pointStore.forEachUserPoint(userPoint -> partitions.get(Math.floorMod(userPoint.id(), properties.partitions())).add(userPoint));
+
+        List<Supplier<Counts>> tasks = new ArrayList<>(partitions.size());
+        for (int i = 0; i < partitions.size(); i++) {
+            int partition = i;
+            tasks.add(() -> exportPartition(directory, format, partition, partitions.get(partition)));
+        }
+        BulkReport report = report(runAll(tasks), begin);
+        log.info("Exported {} balances and {} histories to {} files in {} ms", report.userPoints(), report.histories(),
+                report.files(), report.elapsedMillis());
+        return report;
+    }
+
+    public BulkReport importFrom(Path directory) {
+        long begin = System.nanoTime();
+        List<Path> files = chunkFiles(directory);
+        if (files.isEmpty()) {
+            throw new IllegalArgumentException("No bulk files in " + directory);
+        }
+        if (!pointStore.isEmpty()) {
+            throw new IllegalArgumentException("Bulk import requires an empty point store.");
+        }
+        List<Supplier<Counts>> tasks = files.stream().<Supplier<Counts>>map(file -> () -> importFile(file)).toList();
+        BulkReport report = report(runAll(tasks), begin);
+        log.info("Imported {} balances and {} histories from {} files in {} ms ({} rows/min)", report.userPoints(),
+                report.histories(), report.files(), report.elapsedMillis(), Math.round(report.rowsPerMinute()));
+        return report;
+    }
+
+    private Counts exportPartition(Path directory, BulkFormat format, int partition, List<UserPoint> userPoints) {
+        ChunkedWriter balances = new ChunkedWriter(directory, BulkDataset.BALANCES, partition, format, properties.chunkRows());
+        ChunkedWriter histories = new ChunkedWriter(directory, BulkDataset.HISTORIES, partition, format, properties.chunkRows());
+        try {
+            for (UserPoint userPoint : userPoints) {
+                balances.write(userPoint);
+                for (PointHistory history : pointStore.selectHistories(userPoint.id())) {
+                    histories.write(history);
+                }
+            }
+            balances.close();
+            histories.close();
+        } catch (IOException | RuntimeException e) {
+            balances.abort();
+            histories.abort();
+            throw e instanceof IOException io ? new UncheckedIOException("Failed to export partition " + partition, io) : (RuntimeException) e;
+        }
+        return new Counts(balances.files().size() + histories.files().size(), balances.rows(), histories.rows());
+    }
+
+    private Counts importFile(Path file) {
+        Matcher matcher = CHUNK_FILE.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a bulk file: " + file);
+        }
+        BulkDataset dataset = BulkDataset.fromPrefix(matcher.group(1));
+        BulkFormat format = BulkFormat.fromExtension(matcher.group(2));
+        List<UserPoint> userPoints = new ArrayList<>();
+        List<PointHistory> histories = new ArrayList<>();
+        long rows = 0;
+        try (RowReader reader = format.reader(dataset, new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            for (Object row = reader.read(); row != null; row = reader.read()) {
+                if (row instanceof UserPoint userPoint) {
+                    userPoints.add(userPoint);
+                } else {
+                    histories.add((PointHistory) row);
+                }
+                if (++rows % properties.batchSize() == 0) {
+                    pointStore.bulkLoad(userPoints, histories);
+                    userPoints = new ArrayList<>();
+                    histories = new ArrayList<>();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to import " + file, e);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(file.getFileName() + ": " + e.getMessage(), e);
+        }
+        pointStore.bulkLoad(userPoints, histories);
+        return dataset == BulkDataset.BALANCES ? new Counts(1, rows, 0) : new Counts(1, 0, rows);
+    }
+
+    private List<Counts> runAll(List<Supplier<Counts>> tasks) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(properties.parallelism(), Math.max(1, tasks.size())), runnable -> {
+            Thread thread = new Thread(runnable, "point-bulk-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Counts>> futures = tasks.stream()
+                    .map(task -> CompletableFuture.supplyAsync(task, executor))
+                    .toList();
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static BulkReport report(List<Counts> counts, long beginNanos) {
+        int files = 0;
+        long userPoints = 0;
+        long histories = 0;
+        for (Counts count : counts) {
+            files += count.files();
+            userPoints += count.userPoints();
+            histories += count.histories();
+        }
+        return new BulkReport(files, userPoints, histories, (System.nanoTime() - beginNanos) / 1_000_000);
+    }
+
+    private static List<Path> chunkFiles(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalArgumentException("Not a directory: " + directory);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> CHUNK_FILE.matcher(file.getFileName().toString()).matches()).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list " + directory, e);
+        }
+    }
+}
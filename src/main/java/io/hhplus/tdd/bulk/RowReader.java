@@ -0,0 +1,13 @@
+package io.hhplus.tdd.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 청크 파일에서 행을 하나씩 읽는다. 파일의 데이터 종류에 따라 UserPoint 또는 PointHistory 를, 끝이면 null 을 반환한다.
+ * 형식이 맞지 않는 행은 IllegalArgumentException, 잘린 파일은 EOFException 이다.
+ */
+interface RowReader extends Closeable {
+
+    Object read() throws IOException;
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.bulk;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 청크 파일에 행을 쓴다. close 는 남은 버퍼와 형식의 끝 표시를 쓰고 스트림을 닫는다.
+ */
+interface RowWriter extends Closeable {
+
+    void write(UserPoint userPoint) throws IOException;
+
+    void write(PointHistory history) throws IOException;
+}
@@ -0,0 +1,52 @@
+package io.hhplus.tdd.cluster;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 노드 간 내부 API. 외부에 노출하지 않는 것을 전제로 한다.
+ */
+@RestController
+@RequestMapping("/internal/cluster")
+@RequiredArgsConstructor
+public class ClusterController {
+    private final PointCluster pointCluster;
+    private final ClusterRebalancer clusterRebalancer;
+
+    @GetMapping("members")
+    public Set<String> members() {
+        return pointCluster.members();
+    }
+
+    @PutMapping("members")
+    public Set<String> replaceMembers(
+            @RequestBody List<String> members
+    ) {
+        clusterRebalancer.applyMembers(members);
+        return pointCluster.members();
+    }
+
+    @PostMapping("join")
+    public Set<String> join(
+            @RequestBody ClusterNodeRequest request
+    ) {
+        return clusterRebalancer.join(request.url());
+    }
+
+    @PostMapping("leave")
+    public Set<String> leave(
+            @RequestBody ClusterNodeRequest request
+    ) {
+        return clusterRebalancer.leave(request.url());
+    }
+
+    @PostMapping("handoff")
+    public void handoff(
+            @RequestBody HandoffRequest request
+    ) {
+        clusterRebalancer.absorb(request);
+    }
+}
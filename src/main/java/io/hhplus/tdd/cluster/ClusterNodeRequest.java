@@ -0,0 +1,6 @@
+package io.hhplus.tdd.cluster;
+
+public record ClusterNodeRequest(
+        String url
+) {
+}
@@ -0,0 +1,36 @@
+package io.hhplus.tdd.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 클러스터 모드 설정
+ *
+ * @param selfUrl     다른 노드가 이 노드에 접근할 주소. 비어 있으면 기동 후 http://127.0.0.1:{port} 로 정한다.
+ * @param members     기동 시 알고 있는 다른 노드 주소 목록. 이후에는 /internal/cluster/join, leave 로 바뀐다.
+ * @param routingMode 소유 노드가 아닌 요청을 처리하는 방식 (FORWARD: 대신 호출, REDIRECT: 307 응답)
+ * @param handoffRetryInterval 새 소유 노드로 넘기지 못한 사용자를 다시 넘기는 간격
+ */
+@ConfigurationProperties(prefix = "point.cluster")
+public record ClusterProperties(
+        @DefaultValue("false") boolean enabled,
+        String selfUrl,
+        @DefaultValue List<String> members,
+        @DefaultValue("FORWARD") RoutingMode routingMode,
+        @DefaultValue("128") int virtualNodes,
+        @DefaultValue("2s") Duration requestTimeout,
+        @DefaultValue("true") boolean leaveOnShutdown,
+        @DefaultValue("5s") Duration handoffRetryInterval
+) {
+    public enum RoutingMode {
+        FORWARD, REDIRECT
+    }
+
+    public static ClusterProperties disabled() {
+        return new ClusterProperties(false, null, List.of(), RoutingMode.FORWARD, 1, Duration.ofSeconds(1), false,
+                Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,219 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserReentrantLockManager;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.storage.PointStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 멤버 변경을 전파하고, 소유 노드가 바뀐 사용자의 데이터를 옮긴다.
+ * - 멤버 변경은 기존/신규 멤버 모두에게 전달되며, 각 노드는 새 링 기준으로 더 이상 소유하지 않는 사용자를 새 소유 노드로 넘긴다.
+ * - 넘기는 동안 해당 사용자의 락을 잡아 이 노드에서의 변경이 유실되지 않도록 한다.
+ * - 잔액과 내역에 더해 등급과 일일 충전 합계, 만료 lot, 활동 카운터를 함께 넘기고, 넘긴 뒤에는 이 노드에서 모두 지운다.
+ *   (PointService.handoffOf, absorb, deleteUser)
+ * - 받는 노드는 잔액을 덮어쓰지 않고 더한다. 링이 바뀐 직후 새 소유 노드에 먼저 들어온 충전이 있어도 함께 남는다.
+ *   (사용은 받기 전 잔액이 0 이므로 거절될 뿐, 초과 차감되지 않는다.)
+ *   잔액과 내역은 저장소에 한 번에 반영하고 복제 로그에도 남기므로, 복제 노드도 옮겨진 잔액을 본다.
+ * - 넘기기마다 handoffId 를 붙이고, 받는 노드는 사용자별로 마지막에 반영한 id 를 기억해 같은 넘기기를 두 번 더하지 않는다.
+ *   응답을 받지 못한 넘기기는 같은 id 로 다시 보내므로, 실제로는 반영되었더라도 잔액이 두 번 더해지지 않는다.
+ * - 넘기지 못한 사용자는 이 노드에 그대로 두고 handoffRetryInterval 마다 다시 넘긴다.
+ *   그동안 이 노드로 온 쓰기는 PointService 가 락을 잡은 뒤 소유 노드를 다시 확인해 거절한다.
+ */
+@Component
+public class ClusterRebalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterRebalancer.class);
+    private static final int HANDOFF_CONCURRENCY = 16;
+
+    private final PointCluster pointCluster;
+    private final PointStore pointStore;
+    private final UserReentrantLockManager userReentrantLockManager;
+    private final PointService pointService;
+    // 받는 쪽: 사용자별로 마지막에 반영한 handoffId
+    private final Map<Long, String> absorbedHandoffs = new ConcurrentHashMap<>();
+    // 보내는 쪽: 넘기지 못해 다시 보낼 사용자와 그 handoffId
+    private final Map<Long, String> pendingHandoffs = new ConcurrentHashMap<>();
+    private ScheduledExecutorService retrier;
+
+    public ClusterRebalancer(PointCluster pointCluster,
+                             PointStore pointStore,
+                             UserReentrantLockManager userReentrantLockManager,
+                             PointService pointService) {
+        this.pointCluster = pointCluster;
+        this.pointStore = pointStore;
+        this.userReentrantLockManager = userReentrantLockManager;
+        this.pointService = pointService;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!pointCluster.isEnabled()) {
+            return;
+        }
+        retrier = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-handoff-retrier");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = pointCluster.handoffRetryInterval().toMillis();
+        retrier.scheduleWithFixedDelay(this::retryPendingHandoffs, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public Set<String> join(String node) {
+        Set<String> members = new LinkedHashSet<>(pointCluster.members());
+        members.add(node);
+        broadcast(members);
+        return members;
+    }
+
+    public Set<String> leave(String node) {
+        Set<String> members = new LinkedHashSet<>(pointCluster.members());
+        members.remove(node);
+        broadcast(members);
+        return members;
+    }
+
+    /**
+     * 이 노드의 멤버 목록을 바꾸고, 더 이상 소유하지 않는 사용자를 넘긴다.
+     */
+    public void applyMembers(Collection<String> members) {
+        requireEnabled();
+        pointCluster.updateMembers(members);
+        handOffForeignUsers();
+    }
+
+    public void absorb(HandoffRequest handoff) {
+        requireEnabled();
+        UserLock lock = userReentrantLockManager.getLock(handoff.userId());
+        lock.lock();
+        try {
+            if (handoff.handoffId().equals(absorbedHandoffs.get(handoff.userId()))) {
+                return;
+            }
+            pointService.absorb(handoff);
+            absorbedHandoffs.put(handoff.userId(), handoff.handoffId());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 넘기지 못한 사용자를 다시 넘기고, 아직 남은 사용자 수를 반환한다.
+     */
+    public int retryPendingHandoffs() {
+        for (Long userId : List.copyOf(pendingHandoffs.keySet())) {
+            handOff(userId);
+        }
+        return pendingHandoffs.size();
+    }
+
+    @PreDestroy
+    public void leaveOnShutdown() {
+        try {
+            if (!pointCluster.isEnabled() || !pointCluster.leaveOnShutdown()) {
+                return;
+            }
+            if (pointCluster.members().contains(pointCluster.selfUrl()) && pointCluster.members().size() > 1) {
+                try {
+                    leave(pointCluster.selfUrl());
+                } catch (RuntimeException e) {
+                    log.warn("Failed to leave cluster on shutdown", e);
+                }
+            }
+        } finally {
+            if (retrier != null) {
+                retrier.shutdownNow();
+            }
+        }
+    }
+
+    // 기존 멤버와 새 멤버 모두에게 알린다. (빠지는 노드도 자신의 데이터를 넘겨야 하므로)
+    private void broadcast(Set<String> members) {
+        requireEnabled();
+        Set<String> targets = new LinkedHashSet<>(pointCluster.members());
+        targets.addAll(members);
+        List<String> memberList = List.copyOf(members);
+        for (String node : targets) {
+            if (pointCluster.isSelf(node)) {
+                applyMembers(memberList);
+            } else {
+                pointCluster.putMembers(node, memberList);
+            }
+        }
+    }
+
+    private void handOffForeignUsers() {
+        List<Long> foreign = new ArrayList<>();
+        pointStore.forEachUserPoint(userPoint -> {
+            if (!pointCluster.isLocal(userPoint.id())) {
+                foreign.add(userPoint.id());
+            }
+        });
+        if (foreign.isEmpty()) {
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(HANDOFF_CONCURRENCY, foreign.size()));
+        try {
+            CompletableFuture.allOf(foreign.stream()
+                    .map(userId -> CompletableFuture.runAsync(() -> handOff(userId), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+        log.info("Processed handoff of {} users after membership change ({} pending retry)", foreign.size(), pendingHandoffs.size());
+    }
+
+    /**
+     * 실패하면 사용자의 데이터를 지우지 않고 handoffId 와 함께 남겨 두었다가 같은 id 로 다시 보낸다.
+     * 락 안에서 보내고 지우므로, 그동안 이 사용자에 대한 쓰기는 락을 기다린 뒤 소유 노드 확인에서 거절된다.
+     */
+    private void handOff(long userId) {
+        UserLock lock = userReentrantLockManager.getLock(userId);
+        lock.lock();
+        try {
+            String owner = pointCluster.ownerOf(userId);
+            if (owner == null || pointCluster.isSelf(owner)) {
+                pendingHandoffs.remove(userId);
+                return;
+            }
+            String handoffId = pendingHandoffs.computeIfAbsent(userId, id -> UUID.randomUUID().toString());
+            try {
+                pointCluster.sendHandoff(owner, pointService.handoffOf(handoffId, userId));
+            } catch (RuntimeException e) {
+                log.warn("Failed to hand off user {} to {}, will retry", userId, owner, e);
+                return;
+            }
+            pointService.deleteUser(userId);
+            absorbedHandoffs.remove(userId);
+            pendingHandoffs.remove(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void requireEnabled() {
+        if (!pointCluster.isEnabled()) {
+            throw new IllegalArgumentException("Cluster mode is disabled.");
+        }
+    }
+}
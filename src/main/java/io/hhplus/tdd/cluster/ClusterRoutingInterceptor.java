@@ -0,0 +1,64 @@
+package io.hhplus.tdd.cluster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.net.http.HttpResponse;
+
+/**
+ * /point/{id}/** 요청을 userId 의 소유 노드로 보낸다.
+ * - 이 노드가 소유자이거나, 다른 노드가 전달한 요청이면 그대로 처리한다.
+ * - FORWARD 모드는 소유 노드를 대신 호출해 응답을 그대로 돌려주고, REDIRECT 모드는 307 로 소유 노드 주소를 알려준다.
+ */
+public class ClusterRoutingInterceptor implements HandlerInterceptor {
+
+    private static final String POINT_PATH = "/point/";
+
+    private final PointCluster pointCluster;
+
+    public ClusterRoutingInterceptor(PointCluster pointCluster) {
+        this.pointCluster = pointCluster;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!pointCluster.isEnabled() || request.getHeader(PointCluster.FORWARDED_HEADER) != null) {
+            return true;
+        }
+        Long userId = userIdOf(request);
+        if (userId == null || pointCluster.isLocal(userId)) {
+            return true;
+        }
+
+        String owner = pointCluster.ownerOf(userId);
+        String pathAndQuery = request.getRequestURI() + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+        if (pointCluster.routingMode() == ClusterProperties.RoutingMode.REDIRECT) {
+            response.setStatus(307);
+            response.setHeader("Location", owner + pathAndQuery);
+            return false;
+        }
+
+        HttpResponse<byte[]> forwarded = pointCluster.forward(owner, request.getMethod(), pathAndQuery,
+                request.getHeader("Content-Type"), request.getHeader("Accept"), request.getInputStream().readAllBytes());
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().firstValue("Content-Type").ifPresent(response::setContentType);
+        forwarded.headers().firstValue("Retry-After").ifPresent(value -> response.setHeader("Retry-After", value));
+        response.getOutputStream().write(forwarded.body());
+        return false;
+    }
+
+    private static Long userIdOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(POINT_PATH)) {
+            return null;
+        }
+        int end = path.indexOf('/', POINT_PATH.length());
+        String id = end < 0 ? path.substring(POINT_PATH.length()) : path.substring(POINT_PATH.length(), end);
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.hhplus.tdd.cluster;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ClusterWebConfig implements WebMvcConfigurer {
+
+    private final PointCluster pointCluster;
+
+    public ClusterWebConfig(PointCluster pointCluster) {
+        this.pointCluster = pointCluster;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ClusterRoutingInterceptor(pointCluster)).addPathPatterns("/point/**");
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.activity.ActivitySnapshot;
+import io.hhplus.tdd.point.expiry.LotSnapshot;
+import io.hhplus.tdd.point.tier.TierSnapshot;
+
+import java.util.List;
+
+/**
+ * 소유 노드가 바뀐 사용자의 잔액과 내역을 새 소유 노드로 넘길 때의 본문.
+ * 새 소유 노드에서도 만료와 한도가 이어지도록 등급과 일일 충전 합계, 만료 lot, 활동 카운터를 함께 넘긴다.
+ *
+ * @param handoffId 한 번의 넘기기를 가리키는 id. 재시도해도 바뀌지 않으므로 받는 노드는 같은 id 를 한 번만 반영한다.
+ * @param activity  활동 카운터. 세고 있지 않던 사용자면 null 이다.
+ */
+public record HandoffRequest(
+        String handoffId,
+        long userId,
+        long point,
+        List<PointHistory> histories,
+        TierSnapshot tier,
+        List<LotSnapshot> lots,
+        ActivitySnapshot activity
+) {
+}
@@ -0,0 +1,193 @@
+package io.hhplus.tdd.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.exception.NodeUnavailableException;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 클러스터 멤버십과 노드 간 내부 호출을 담당한다.
+ * - 멤버 목록으로 일관된 해시 링을 만들고, userId 마다 소유 노드를 정한다.
+ * - 노드 간 호출은 JDK HttpClient 로 기존 HTTP 엔드포인트를 그대로 사용하며,
+ *   FORWARDED_HEADER 가 붙은 요청은 받은 노드에서 바로 처리해 전달이 반복되지 않도록 한다.
+ * - 클러스터 모드가 꺼져 있으면 모든 사용자를 로컬로 취급한다.
+ */
+@Component
+public class PointCluster {
+
+    public static final String FORWARDED_HEADER = "X-Point-Forwarded-By";
+
+    private final ClusterProperties properties;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private volatile String selfUrl;
+    private volatile ConsistentHashRing ring = ConsistentHashRing.empty();
+
+    public PointCluster(ClusterProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.httpClient = properties.enabled()
+                ? HttpClient.newBuilder().connectTimeout(properties.requestTimeout()).build()
+                : null;
+        if (properties.enabled() && properties.selfUrl() != null) {
+            this.selfUrl = normalize(properties.selfUrl());
+            updateMembers(withSelf(properties.members()));
+        }
+    }
+
+    public static PointCluster standalone() {
+        return new PointCluster(ClusterProperties.disabled(), null);
+    }
+
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        if (!properties.enabled() || selfUrl != null || event.getApplicationContext().getServerNamespace() != null) {
+            return;
+        }
+        selfUrl = "http://127.0.0.1:" + event.getWebServer().getPort();
+        updateMembers(withSelf(properties.members()));
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    public boolean leaveOnShutdown() {
+        return properties.leaveOnShutdown();
+    }
+
+    public ClusterProperties.RoutingMode routingMode() {
+        return properties.routingMode();
+    }
+
+    public Duration handoffRetryInterval() {
+        return properties.handoffRetryInterval();
+    }
+
+    public String selfUrl() {
+        return selfUrl;
+    }
+
+    public Set<String> members() {
+        return ring.nodes();
+    }
+
+    /**
+     * 멤버 목록을 교체한다. 목록에 자기 자신이 없으면 이 노드는 어떤 사용자도 소유하지 않는다. (탈퇴)
+     */
+    public void updateMembers(Collection<String> members) {
+        Set<String> normalized = new LinkedHashSet<>();
+        members.forEach(member -> normalized.add(normalize(member)));
+        ring = new ConsistentHashRing(normalized, properties.virtualNodes());
+    }
+
+    public String ownerOf(long userId) {
+        return ring.ownerOf(userId);
+    }
+
+    public boolean isLocal(long userId) {
+        if (!properties.enabled()) {
+            return true;
+        }
+        String owner = ring.ownerOf(userId);
+        return owner == null || owner.equals(selfUrl);
+    }
+
+    public boolean isSelf(String node) {
+        return node != null && node.equals(selfUrl);
+    }
+
+    public HttpResponse<byte[]> forward(String node, String method, String pathAndQuery,
+                                        String contentType, String accept, byte[] body) {
+        HttpRequest.Builder builder = request(node, pathAndQuery)
+                .method(method, body.length == 0 ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+        if (contentType != null) {
+            builder.header("Content-Type", contentType);
+        }
+        if (accept != null) {
+            builder.header("Accept", accept);
+        }
+        return send(node, builder.build());
+    }
+
+    public UserPoint fetchUserPoint(long userId) {
+        String owner = ownerOf(userId);
+        HttpResponse<byte[]> response = send(owner, request(owner, "/point/" + userId).GET().build());
+        return readBody(owner, response, UserPoint.class);
+    }
+
+    public void putMembers(String node, Collection<String> members) {
+        send(node, request(node, "/internal/cluster/members")
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(writeBody(members)))
+                .build());
+    }
+
+    public void sendHandoff(String node, HandoffRequest handoff) {
+        HttpResponse<byte[]> response = send(node, request(node, "/internal/cluster/handoff")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(writeBody(handoff)))
+                .build());
+        if (response.statusCode() / 100 != 2) {
+            throw new NodeUnavailableException("Handoff to " + node + " failed with status " + response.statusCode(), null);
+        }
+    }
+
+    private HttpRequest.Builder request(String node, String pathAndQuery) {
+        return HttpRequest.newBuilder(URI.create(node + pathAndQuery))
+                .timeout(properties.requestTimeout())
+                .header(FORWARDED_HEADER, selfUrl == null ? "unknown" : selfUrl);
+    }
+
+    private HttpResponse<byte[]> send(String node, HttpRequest request) {
+        try {
+            return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            throw new NodeUnavailableException("Cluster node is unavailable: " + node, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NodeUnavailableException("Interrupted while calling cluster node: " + node, e);
+        }
+    }
+
+    private byte[] writeBody(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to serialize cluster request.", e);
+        }
+    }
+
+    private <T> T readBody(String node, HttpResponse<byte[]> response, Class<T> type) {
+        if (response.statusCode() / 100 != 2) {
+            throw new NodeUnavailableException("Cluster node " + node + " responded with status " + response.statusCode(), null);
+        }
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new NodeUnavailableException("Invalid response from cluster node: " + node, e);
+        }
+    }
+
+    private Set<String> withSelf(Collection<String> members) {
+        Set<String> all = new LinkedHashSet<>(members);
+        all.add(selfUrl);
+        return all;
+    }
+
+    private static String normalize(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,177 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.function.Consumer;
+
+/**
+ * 오래 조회되지 않은 잔액을 힙 밖(direct ByteBuffer)에 모아 두는 선형 탐사 해시 테이블.
+ * - 슬롯 하나가 [userId(8)] [point(8)] [updateMillis(8)] 24바이트다. 슬롯 사용 여부만 힙의 BitSet 에 둔다.
+ *   힙의 ConcurrentHashMap 항목(노드, Long 키, UserPoint)보다 훨씬 작고, GC 가 훑을 객체도 만들지 않는다.
+ * - 채움 비율이 MAX_LOAD 를 넘으면 두 배로, 1/8 아래로 내려가면 절반으로 다시 만든다.
+ *   새 버퍼를 잡지 못하면(direct 메모리 한도) 기존 테이블을 그대로 두고, 넣을 때는 가득 찬 것으로 본다.
+ * - 삭제는 뒤 슬롯을 앞으로 당겨(backward shift) 탐사 사슬을 유지하므로 삭제 표시가 쌓이지 않는다.
+ * - 모든 메서드는 이 객체로 동기화한다. 승격/강등은 사용자 수에 비해 드물기 때문이다.
+ */
+final class ColdUserPoints {
+
+    private static final int SLOT_BYTES = Long.BYTES * 3;
+    private static final int MIN_CAPACITY = 1 << 10;
+    private static final int MAX_CAPACITY = 1 << 26;
+    private static final double MAX_LOAD = 0.7;
+
+    private ByteBuffer slots;
+    private BitSet used;
+    private int mask;
+    private int size;
+
+    ColdUserPoints() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /**
+     * 같은 userId 가 있으면 덮어쓴다. 최대 크기에 닿거나 늘릴 메모리를 잡지 못하면 IllegalStateException 을 던진다.
+     */
+    synchronized void put(UserPoint userPoint) {
+        int slot = find(userPoint.id());
+        if (slot < 0) {
+            if (size + 1 > (mask + 1) * MAX_LOAD) {
+                if (mask + 1 == MAX_CAPACITY) {
+                    throw new IllegalStateException("Cold user point store is full.");
+                }
+                try {
+                    rehash((mask + 1) * 2);
+                } catch (OutOfMemoryError e) {
+                    throw new IllegalStateException("Cold user point store is full.", e);
+                }
+                slot = find(userPoint.id());
+            }
+            slot = -slot - 1;
+            used.set(slot);
+            size++;
+        }
+        int offset = slot * SLOT_BYTES;
+        slots.putLong(offset, userPoint.id())
+                .putLong(offset + Long.BYTES, userPoint.point())
+                .putLong(offset + Long.BYTES * 2, userPoint.updateMillis());
+    }
+
+    /**
+     * 없으면 null 이다.
+     */
+    synchronized UserPoint remove(long userId) {
+        int slot = find(userId);
+        if (slot < 0) {
+            return null;
+        }
+        UserPoint userPoint = read(slot);
+        delete(slot);
+        size--;
+        if (size < (mask + 1) / 8 && mask + 1 > MIN_CAPACITY) {
+            try {
+                rehash((mask + 1) / 2);
+            } catch (OutOfMemoryError e) {
+                // 줄이지 못해도 지금 테이블로 계속 쓸 수 있다.
+            }
+        }
+        return userPoint;
+    }
+
+    synchronized boolean contains(long userId) {
+        return find(userId) >= 0;
+    }
+
+    synchronized void forEach(Consumer<UserPoint> consumer) {
+        for (int slot = used.nextSetBit(0); slot >= 0; slot = used.nextSetBit(slot + 1)) {
+            consumer.accept(read(slot));
+        }
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * 힙 밖에 잡아 둔 바이트 수
+     */
+    synchronized long bytes() {
+        return slots.capacity();
+    }
+
+    /**
+     * userId 가 있으면 그 슬롯을, 없으면 넣을 빈 슬롯 s 를 -(s + 1) 로 반환한다.
+     */
+    private int find(long userId) {
+        int slot = home(userId);
+        while (used.get(slot)) {
+            if (slots.getLong(slot * SLOT_BYTES) == userId) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    private void delete(int slot) {
+        int hole = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (!used.get(next)) {
+                break;
+            }
+            int home = home(slots.getLong(next * SLOT_BYTES));
+            // home 이 (hole, next] 구간(원형)에 있으면 그 항목은 hole 을 지나지 않고도 찾을 수 있으므로 그대로 둔다.
+            boolean reachable = hole <= next ? hole < home && home <= next : hole < home || home <= next;
+            if (reachable) {
+                continue;
+            }
+            copy(next, hole);
+            hole = next;
+        }
+        used.clear(hole);
+    }
+
+    private void copy(int from, int to) {
+        int source = from * SLOT_BYTES;
+        int target = to * SLOT_BYTES;
+        for (int i = 0; i < SLOT_BYTES; i += Long.BYTES) {
+            slots.putLong(target + i, slots.getLong(source + i));
+        }
+    }
+
+    private UserPoint read(int slot) {
+        int offset = slot * SLOT_BYTES;
+        return new UserPoint(slots.getLong(offset), slots.getLong(offset + Long.BYTES), slots.getLong(offset + Long.BYTES * 2));
+    }
+
+    private int home(long userId) {
+        long hash = userId * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        ByteBuffer oldSlots = slots;
+        BitSet oldUsed = used;
+        allocate(capacity);
+        for (int slot = oldUsed.nextSetBit(0); slot >= 0; slot = oldUsed.nextSetBit(slot + 1)) {
+            long userId = oldSlots.getLong(slot * SLOT_BYTES);
+            int target = -find(userId) - 1;
+            used.set(target);
+            for (int i = 0; i < SLOT_BYTES; i += Long.BYTES) {
+                slots.putLong(target * SLOT_BYTES + i, oldSlots.getLong(slot * SLOT_BYTES + i));
+            }
+        }
+    }
+
+    // 둘 다 잡은 뒤에 바꿔 끼우므로, 할당에 실패하면 기존 테이블이 그대로 남는다.
+    private void allocate(int capacity) {
+        ByteBuffer newSlots = ByteBuffer.allocateDirect(capacity * SLOT_BYTES);
+        BitSet newUsed = new BitSet(capacity);
+        slots = newSlots;
+        used = newUsed;
+        mask = capacity - 1;
+    }
+}
@@ -3,29 +3,273 @@ package io.hhplus.tdd.database;
 
 import io.hhplus.tdd.point.PointHistory;
 import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.query.HistoryQuery;
+import io.hhplus.tdd.point.query.TopN;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 /**
- * 해당 Table 클래스는 변경하지 않고 공개된 API 만을 사용해 데이터를 제어합니다.
+ * 포인트 내역을 메모리에 보관한다.
+ * - 내역은 사용자별 append 로그(ConcurrentLinkedQueue)에 쌓이며, id 는 AtomicLong 으로 발급한다.
+ *   여러 스레드가 서로 다른 사용자의 내역을 동시에 추가해도 외부 락 없이 안전하고 id 가 중복되지 않는다.
+ * - 로그를 비우는 삭제는 맵에서 로그를 함께 치운다. 추가와 삭제는 모두 그 사용자 키의 compute 안에서 하므로,
+ *   치운 로그에 내역이 추가되어 사라지는 일이 없다.
+ * - 같은 사용자에 대한 추가가 외부 락 없이 겹치면 로그 순서와 id 순서가 어긋날 수 있으므로, 조회 시 id 순으로 정렬해 반환한다.
+ * - 같은 내역을 updateMillis 기준 시간 단위(PARTITION_MILLIS) 파티션에도 넣어 둔다. 파티션은 금액 범위와 거래 유형을 함께 기록하므로,
+ *   기간/유형/금액 조건 조회와 보관 주기는 조건에 걸리지 않는 파티션을 통째로 건너뛴다.
  */
 @Component
 public class PointHistoryTable {
-    private final List<PointHistory> table = new ArrayList<>();
-    private long cursor = 1;
+    private static final long PARTITION_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final Map<Long, Queue<PointHistory>> table = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, TimePartition> partitions = new ConcurrentSkipListMap<>();
+    private final AtomicLong cursor = new AtomicLong(1);
 
     public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
         throttle(300L);
-        PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
-        table.add(pointHistory);
+        PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+        append(pointHistory);
+        addToPartition(pointHistory);
         return pointHistory;
     }
 
+    /**
+     * 다른 곳에서 발급된 id 를 유지한 채 내역을 추가한다. (복제 적용 등 일괄 반영용)
+     * 이후 insert 가 발급하는 id 와 겹치지 않도록 cursor 를 가장 큰 id 다음으로 올린다.
+     */
+    public void insertAll(Collection<PointHistory> histories) {
+        throttle(300);
+        long maxId = 0;
+        for (PointHistory pointHistory : histories) {
+            append(pointHistory);
+            addToPartition(pointHistory);
+            maxId = Math.max(maxId, pointHistory.id());
+        }
+        reserveIdsThrough(maxId);
+    }
+
+    /**
+     * 연속된 id count 개를 한 번에 발급하고 그 첫 id 를 반환한다. (insertAll 로 한 번에 추가할 내역용)
+     */
+    public long issueIds(int count) {
+        return cursor.getAndAdd(count);
+    }
+
+    /**
+     * 이후 insert 가 maxId 이하의 id 를 발급하지 않도록 cursor 를 올린다. (재시작 후 아카이브에 남은 id 등)
+     */
+    public void reserveIdsThrough(long maxId) {
+        cursor.accumulateAndGet(maxId + 1, Math::max);
+    }
+
     public List<PointHistory> selectAllByUserId(long userId) {
-        return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+        Queue<PointHistory> histories = table.get(userId);
+        if (histories == null) {
+            return List.of();
+        }
+        return sortedById(new ArrayList<>(histories));
+    }
+
+    public List<PointHistory> selectAllUpdatedBefore(long cutoffMillis) {
+        List<PointHistory> result = new ArrayList<>();
+        for (TimePartition partition : partitions.headMap(partitionKey(cutoffMillis), true).values()) {
+            for (PointHistory pointHistory : partition.histories) {
+                if (pointHistory.updateMillis() < cutoffMillis) {
+                    result.add(pointHistory);
+                }
+            }
+        }
+        return sortedById(result);
+    }
+
+    /**
+     * 조건에 맞는 내역을 정렬 순서상 앞에서부터 limit 건 반환한다.
+     * - userId 가 있으면 해당 사용자의 로그만 본다.
+     * - 없으면 기간에 걸치는 파티션만 고르고, 그중 금액 범위나 거래 유형이 맞지 않는 파티션은 건너뛴다.
+     */
+    public List<PointHistory> query(HistoryQuery query) {
+        TopN top = new TopN(query);
+        if (query.userId() != null) {
+            Queue<PointHistory> histories = table.get(query.userId());
+            if (histories != null) {
+                histories.stream().filter(query::matches).forEach(top::offer);
+            }
+            return top.toList();
+        }
+
+        for (TimePartition partition : partitionsOverlapping(query).values()) {
+            if (!partition.mayContain(query)) {
+                continue;
+            }
+            for (PointHistory pointHistory : partition.histories) {
+                if (query.matches(pointHistory)) {
+                    top.offer(pointHistory);
+                }
+            }
+        }
+        return top.toList();
+    }
+
+    public void deleteAll(Collection<PointHistory> histories) {
+        Map<Long, Set<Long>> idsByUser = histories.stream().collect(Collectors.groupingBy(
+                PointHistory::userId, Collectors.mapping(PointHistory::id, Collectors.toSet())));
+        idsByUser.forEach((userId, ids) -> table.computeIfPresent(userId, (id, userHistories) -> {
+            userHistories.removeIf(pointHistory -> ids.contains(pointHistory.id()));
+            return userHistories.isEmpty() ? null : userHistories;
+        }));
+        removeFromPartitions(histories);
+    }
+
+    public void deleteAllByUserId(long userId) {
+        Queue<PointHistory> removed = table.remove(userId);
+        if (removed != null) {
+            removeFromPartitions(removed);
+        }
+    }
+
+    /**
+     * 내역 로그를 가진 사용자 수
+     */
+    int userLogCount() {
+        return table.size();
+    }
+
+    private void append(PointHistory pointHistory) {
+        table.compute(pointHistory.userId(), (id, userHistories) -> {
+            Queue<PointHistory> target = userHistories == null ? new ConcurrentLinkedQueue<>() : userHistories;
+            target.add(pointHistory);
+            return target;
+        });
+    }
+
+    private void removeFromPartitions(Collection<PointHistory> histories) {
+        Map<Long, Set<Long>> idsByPartition = histories.stream().collect(Collectors.groupingBy(
+                pointHistory -> partitionKey(pointHistory.updateMillis()),
+                Collectors.mapping(PointHistory::id, Collectors.toSet())));
+        idsByPartition.forEach((key, ids) -> {
+            TimePartition partition = partitions.get(key);
+            if (partition != null) {
+                partition.histories.removeIf(pointHistory -> ids.contains(pointHistory.id()));
+                removeIfEmpty(key, partition);
+            }
+        });
+    }
+
+    /**
+     * 파티션에 내역을 넣는다. 비어서 치우는 중인 파티션을 만나면 맵에서 빠질 때까지 기다렸다가 새 파티션에 넣는다.
+     */
+    private void addToPartition(PointHistory pointHistory) {
+        long key = partitionKey(pointHistory.updateMillis());
+        while (!partitions.computeIfAbsent(key, k -> new TimePartition()).add(pointHistory)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 빈 파티션을 맵에서 치운다. 넣는 중인 스레드가 없을 때만 닫고, 닫은 뒤에도 비어 있을 때만 지운다.
+     * ConcurrentSkipListMap.compute 는 함수를 여러 번 부를 수 있어 그 안에서 넣고 지우는 대신 닫기로 추가를 막는다.
+     */
+    private void removeIfEmpty(long key, TimePartition partition) {
+        if (!partition.histories.isEmpty() || !partition.retire()) {
+            return;
+        }
+        if (partition.histories.isEmpty()) {
+            partitions.remove(key, partition);
+        } else {
+            partition.reopen();
+        }
+    }
+
+    /**
+     * 내역 파티션 수
+     */
+    int partitionCount() {
+        return partitions.size();
+    }
+
+    private NavigableMap<Long, TimePartition> partitionsOverlapping(HistoryQuery query) {
+        NavigableMap<Long, TimePartition> overlapping = partitions;
+        if (query.fromMillis() != null) {
+            overlapping = overlapping.tailMap(partitionKey(query.fromMillis()), true);
+        }
+        if (query.toMillis() != null) {
+            overlapping = overlapping.headMap(partitionKey(query.toMillis() - 1), true);
+        }
+        return overlapping;
+    }
+
+    private static long partitionKey(long updateMillis) {
+        return Math.floorDiv(updateMillis, PARTITION_MILLIS);
+    }
+
+    private static List<PointHistory> sortedById(List<PointHistory> histories) {
+        histories.sort(Comparator.comparingLong(PointHistory::id));
+        return List.copyOf(histories);
+    }
+
+    /**
+     * 한 시간 구간의 내역. 금액 범위와 거래 유형 비트는 넓어지기만 하므로(삭제해도 줄이지 않는다) 건너뛰기 판단에만 쓴다.
+     * writers 는 넣는 중인 스레드 수이며, 비운 파티션을 치울 때 RETIRED 로 닫아 더는 넣지 못하게 한다.
+     */
+    private static final class TimePartition {
+        private static final int RETIRED = -1;
+
+        private final Queue<PointHistory> histories = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger writers = new AtomicInteger();
+        private final AtomicLong minAmount = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong maxAmount = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicInteger typeBits = new AtomicInteger();
+
+        /**
+         * 닫힌 파티션이면 넣지 않고 false 를 반환한다.
+         */
+        boolean add(PointHistory pointHistory) {
+            int current;
+            do {
+                current = writers.get();
+                if (current == RETIRED) {
+                    return false;
+                }
+            } while (!writers.compareAndSet(current, current + 1));
+            try {
+                minAmount.accumulateAndGet(pointHistory.amount(), Math::min);
+                maxAmount.accumulateAndGet(pointHistory.amount(), Math::max);
+                typeBits.accumulateAndGet(1 << pointHistory.type().ordinal(), (bits, bit) -> bits | bit);
+                histories.add(pointHistory);
+                return true;
+            } finally {
+                writers.decrementAndGet();
+            }
+        }
+
+        boolean retire() {
+            return writers.compareAndSet(0, RETIRED);
+        }
+
+        void reopen() {
+            writers.set(0);
+        }
+
+        boolean mayContain(HistoryQuery query) {
+            return (query.type() == null || (typeBits.get() & (1 << query.type().ordinal())) != 0)
+                    && query.overlapsAmount(minAmount.get(), maxAmount.get());
+        }
     }
 
     private void throttle(long millis) {
@@ -3,30 +3,204 @@ package io.hhplus.tdd.database;
 import io.hhplus.tdd.point.UserPoint;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * 해당 Table 클래스는 변경하지 않고 공개된 API 만을 사용해 데이터를 제어합니다.
+ * 사용자별 포인트 잔액을 보관한다.
+ * - 외부 락 없이도 여러 사용자의 동시 쓰기가 안전하도록 ConcurrentHashMap 을 사용한다.
+ * - 잔액은 자주 쓰이는 hot 영역(힙)과 오래 조회되지 않은 cold 영역(ColdUserPoints, 힙 밖)으로 나뉜다.
+ *   demote 로 마지막 조회가 오래된 잔액을 cold 로 옮기고, cold 에 있는 잔액은 조회/쓰기 때 hot 으로 다시 올린다. (fault-in)
+ *   호출하는 쪽에는 어느 영역에 있는지 드러나지 않는다.
+ * - 한 사용자의 영역 이동과 쓰기는 모두 hot 맵의 같은 키에 대한 compute 안에서 일어나므로, 두 영역에 동시에 있거나 둘 다에서 빠진 순간이 보이지 않는다.
  */
 @Component
 public class UserPointTable {
 
-    private final Map<Long, UserPoint> table = new HashMap<>();
+    private final Map<Long, Hot> table = new ConcurrentHashMap<>();
+    private final ColdUserPoints cold = new ColdUserPoints();
+    private final LongAdder faultIns = new LongAdder();
+    private final LongAdder faultInNanos = new LongAdder();
+    // 한 번이라도 강등했는지. 그 전에는 hot 에 없는 사용자를 cold 에서 찾지 않는다.
+    private volatile boolean tiered;
+
+    /**
+     * hot 영역의 잔액과 마지막으로 조회/저장된 시각. 시각은 강등 대상을 고를 때만 쓰므로 밀리초 단위로 대략 기록한다.
+     */
+    private static final class Hot {
+        private final UserPoint userPoint;
+        private volatile long accessedMillis;
+
+        private Hot(UserPoint userPoint, long accessedMillis) {
+            this.userPoint = userPoint;
+            this.accessedMillis = accessedMillis;
+        }
+
+        private UserPoint touch(long nowMillis) {
+            if (accessedMillis != nowMillis) {
+                accessedMillis = nowMillis;
+            }
+            return userPoint;
+        }
+    }
 
     public UserPoint selectById(Long id) {
         throttle(200);
-        return table.getOrDefault(id, UserPoint.empty(id));
+        long now = System.currentTimeMillis();
+        Hot hot = table.get(id);
+        if (hot != null) {
+            return hot.touch(now);
+        }
+        if (!tiered) {
+            return UserPoint.empty(id);
+        }
+        long begin = System.nanoTime();
+        Hot faulted = table.computeIfAbsent(id, key -> {
+            UserPoint userPoint = cold.remove(key);
+            return userPoint == null ? null : new Hot(userPoint, now);
+        });
+        if (faulted == null) {
+            return UserPoint.empty(id);
+        }
+        faultIns.increment();
+        faultInNanos.add(System.nanoTime() - begin);
+        return faulted.touch(now);
     }
 
     public UserPoint insertOrUpdate(long id, long amount) {
         throttle(300);
         UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
-        table.put(id, userPoint);
+        put(userPoint);
         return userPoint;
     }
 
+    /**
+     * 다른 곳에서 만들어진 잔액을 updateMillis 까지 그대로 저장한다. (복제 적용 등 일괄 반영용)
+     */
+    public void insertOrUpdateAll(Collection<UserPoint> userPoints) {
+        throttle(300);
+        userPoints.forEach(this::put);
+    }
+
+    /**
+     * cold 영역의 잔액도 함께 반환한다. (hot 으로 올리지 않는다)
+     * 도중에 영역을 옮기는 사용자가 양쪽에서 보일 수 있으므로 userId 로 중복을 제거하고 hot 쪽 값을 쓴다.
+     */
+    public List<UserPoint> selectAll() {
+        throttle(200);
+        if (!tiered) {
+            return table.values().stream().map(hot -> hot.userPoint).toList();
+        }
+        Map<Long, UserPoint> all = new HashMap<>();
+        cold.forEach(userPoint -> all.put(userPoint.id(), userPoint));
+        table.values().forEach(hot -> all.put(hot.userPoint.id(), hot.userPoint));
+        return List.copyOf(all.values());
+    }
+
+    public void deleteById(long id) {
+        throttle(300);
+        table.compute(id, (key, hot) -> {
+            if (hot == null && tiered) {
+                cold.remove(key);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * hot 영역이 maxHot 명 이하가 되도록, 마지막 조회가 idleBeforeMillis 이전인 잔액을 오래된 것부터 cold 로 옮긴다.
+     * idleBeforeMillis 이후에 조회된 잔액은 maxHot 을 넘어도 옮기지 않는다. cold 영역이 가득 차면 멈춘다. 옮긴 수를 반환한다.
+     */
+    public int demote(int maxHot, long idleBeforeMillis) {
+        if (table.size() <= maxHot) {
+            return 0;
+        }
+        // 크기를 본 뒤에도 사용자가 빠질 수 있으므로, 넘친 수는 실제로 모은 시각 배열로 다시 센다.
+        long[] accessed = table.values().stream().mapToLong(hot -> hot.accessedMillis).toArray();
+        int excess = accessed.length - maxHot;
+        if (excess <= 0) {
+            return 0;
+        }
+        tiered = true;
+        Arrays.sort(accessed);
+        long threshold = Math.min(accessed[excess - 1], idleBeforeMillis - 1);
+
+        int demoted = 0;
+        List<Long> candidates = new ArrayList<>();
+        table.forEach((id, hot) -> {
+            if (hot.accessedMillis <= threshold) {
+                candidates.add(id);
+            }
+        });
+        for (Long id : candidates) {
+            if (demoted >= excess) {
+                break;
+            }
+            boolean[] moved = new boolean[1];
+            try {
+                table.computeIfPresent(id, (key, hot) -> {
+                    if (hot.accessedMillis > threshold) {
+                        return hot;
+                    }
+                    cold.put(hot.userPoint);
+                    moved[0] = true;
+                    return null;
+                });
+            } catch (IllegalStateException e) {
+                // cold 영역이 가득 찼다. 남은 사용자는 hot 에 둔다.
+                break;
+            }
+            if (moved[0]) {
+                demoted++;
+            }
+        }
+        return demoted;
+    }
+
+    public boolean isHot(long id) {
+        return table.containsKey(id);
+    }
+
+    public int hotCount() {
+        return table.size();
+    }
+
+    public int coldCount() {
+        return cold.size();
+    }
+
+    /**
+     * cold 영역이 힙 밖에 잡아 둔 바이트 수
+     */
+    public long coldBytes() {
+        return cold.bytes();
+    }
+
+    public long faultInCount() {
+        return faultIns.sum();
+    }
+
+    public long faultInNanos() {
+        return faultInNanos.sum();
+    }
+
+    private void put(UserPoint userPoint) {
+        long now = System.currentTimeMillis();
+        table.compute(userPoint.id(), (key, hot) -> {
+            if (hot == null && tiered) {
+                cold.remove(key);
+            }
+            return new Hot(userPoint, now);
+        });
+    }
+
     private void throttle(long millis) {
         try {
             TimeUnit.MILLISECONDS.sleep((long) (Math.random() * millis));
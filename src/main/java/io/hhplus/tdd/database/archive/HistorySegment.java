@@ -0,0 +1,337 @@
+package io.hhplus.tdd.database.archive;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 아카이브된 포인트 내역을 담는 불변 디스크 세그먼트.
+ *
+ * 파일 구조
+ * - [MAGIC] [압축 블록 ...] [블록 인덱스] [인덱스 시작 위치(long)] [MAGIC]
+ * - 내역은 (userId, id) 순으로 정렬되어 ROWS_PER_BLOCK 건씩 블록 단위로 압축된다.
+ * - 블록 인덱스(희소 인덱스)는 블록마다 첫/마지막 userId 와 파일 위치만 가지므로,
+ *   사용자 조회 시 해당 userId 를 포함할 수 있는 블록만 읽어 압축을 푼다.
+ * - 블록 인덱스 앞에는 updateMillis 범위와 가장 큰 내역 id 를 둔다. (재시작 시 id 발급 위치를 잡는 데 쓴다)
+ */
+final class HistorySegment {
+
+    static final int ROWS_PER_BLOCK = 256;
+
+    private static final int MAGIC = 0x50485347;
+    private static final int ROW_BYTES = Long.BYTES * 4 + Byte.BYTES;
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES * 3 + Integer.BYTES * 2;
+    private static final int TRAILER_BYTES = Long.BYTES + Integer.BYTES;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final Path path;
+    private final long[] firstUserIds;
+    private final long[] lastUserIds;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final int[] rowCounts;
+    private final long minUpdateMillis;
+    private final long maxUpdateMillis;
+    private final long maxId;
+
+    private HistorySegment(Path path, long[] firstUserIds, long[] lastUserIds, long[] offsets,
+                           int[] lengths, int[] rowCounts, long minUpdateMillis, long maxUpdateMillis, long maxId) {
+        this.path = path;
+        this.firstUserIds = firstUserIds;
+        this.lastUserIds = lastUserIds;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.rowCounts = rowCounts;
+        this.minUpdateMillis = minUpdateMillis;
+        this.maxUpdateMillis = maxUpdateMillis;
+        this.maxId = maxId;
+    }
+
+    /**
+     * 임시 파일에 모두 기록한 뒤 원자적으로 이름을 바꾸므로, 쓰다 만 세그먼트가 조회 대상에 노출되지 않는다.
+     */
+    static HistorySegment write(Path path, List<PointHistory> histories) throws IOException {
+        if (histories.isEmpty()) {
+            throw new IllegalArgumentException("Segment must contain at least one history.");
+        }
+        List<PointHistory> sorted = new ArrayList<>(histories);
+        sorted.sort(Comparator.comparingLong(PointHistory::userId).thenComparingLong(PointHistory::id));
+
+        int blockCount = (sorted.size() + ROWS_PER_BLOCK - 1) / ROWS_PER_BLOCK;
+        long[] firstUserIds = new long[blockCount];
+        long[] lastUserIds = new long[blockCount];
+        long[] offsets = new long[blockCount];
+        int[] lengths = new int[blockCount];
+        int[] rowCounts = new int[blockCount];
+        long minUpdateMillis = Long.MAX_VALUE;
+        long maxUpdateMillis = Long.MIN_VALUE;
+        long maxId = 0;
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (CountingOutputStream counting = new CountingOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp)));
+             DataOutputStream out = new DataOutputStream(counting)) {
+            out.writeInt(MAGIC);
+
+            ByteBuffer raw = ByteBuffer.allocate(ROWS_PER_BLOCK * ROW_BYTES);
+            byte[] compressed = new byte[raw.capacity() + 64];
+            for (int block = 0; block < blockCount; block++) {
+                int from = block * ROWS_PER_BLOCK;
+                int to = Math.min(from + ROWS_PER_BLOCK, sorted.size());
+                raw.clear();
+                for (int i = from; i < to; i++) {
+                    PointHistory history = sorted.get(i);
+                    raw.putLong(history.id())
+                            .putLong(history.userId())
+                            .putLong(history.amount())
+                            .put((byte) history.type().ordinal())
+                            .putLong(history.updateMillis());
+                    minUpdateMillis = Math.min(minUpdateMillis, history.updateMillis());
+                    maxUpdateMillis = Math.max(maxUpdateMillis, history.updateMillis());
+                    maxId = Math.max(maxId, history.id());
+                }
+
+                deflater.reset();
+                deflater.setInput(raw.array(), 0, raw.position());
+                deflater.finish();
+                int length = 0;
+                while (!deflater.finished()) {
+                    if (length == compressed.length) {
+                        compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                    }
+                    length += deflater.deflate(compressed, length, compressed.length - length);
+                }
+
+                firstUserIds[block] = sorted.get(from).userId();
+                lastUserIds[block] = sorted.get(to - 1).userId();
+                offsets[block] = counting.count();
+                lengths[block] = length;
+                rowCounts[block] = to - from;
+                out.write(compressed, 0, length);
+            }
+
+            out.flush();
+            long indexOffset = counting.count();
+            out.writeLong(minUpdateMillis);
+            out.writeLong(maxUpdateMillis);
+            out.writeLong(maxId);
+            out.writeInt(blockCount);
+            for (int block = 0; block < blockCount; block++) {
+                out.writeLong(firstUserIds[block]);
+                out.writeLong(lastUserIds[block]);
+                out.writeLong(offsets[block]);
+                out.writeInt(lengths[block]);
+                out.writeInt(rowCounts[block]);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(MAGIC);
+        } finally {
+            deflater.end();
+        }
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return new HistorySegment(path, firstUserIds, lastUserIds, offsets, lengths, rowCounts,
+                minUpdateMillis, maxUpdateMillis, maxId);
+    }
+
+    /**
+     * 파일 끝의 블록 인덱스만 읽어 메모리에 올린다. 내역 자체는 조회 시점에 블록 단위로 읽는다.
+     */
+    static HistorySegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < Integer.BYTES + TRAILER_BYTES) {
+                throw new IOException("Corrupted history segment: " + path);
+            }
+            ByteBuffer trailer = readFully(channel, size - TRAILER_BYTES, TRAILER_BYTES);
+            long indexOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC) {
+                throw new IOException("Corrupted history segment: " + path);
+            }
+
+            ByteBuffer header = readFully(channel, indexOffset, Long.BYTES * 3 + Integer.BYTES);
+            long minUpdateMillis = header.getLong();
+            long maxUpdateMillis = header.getLong();
+            long maxId = header.getLong();
+            int blockCount = header.getInt();
+
+            ByteBuffer index = readFully(channel, indexOffset + header.capacity(), blockCount * INDEX_ENTRY_BYTES);
+            long[] firstUserIds = new long[blockCount];
+            long[] lastUserIds = new long[blockCount];
+            long[] offsets = new long[blockCount];
+            int[] lengths = new int[blockCount];
+            int[] rowCounts = new int[blockCount];
+            for (int block = 0; block < blockCount; block++) {
+                firstUserIds[block] = index.getLong();
+                lastUserIds[block] = index.getLong();
+                offsets[block] = index.getLong();
+                lengths[block] = index.getInt();
+                rowCounts[block] = index.getInt();
+            }
+            return new HistorySegment(path, firstUserIds, lastUserIds, offsets, lengths, rowCounts,
+                    minUpdateMillis, maxUpdateMillis, maxId);
+        }
+    }
+
+    List<PointHistory> selectAllByUserId(long userId) {
+        int block = firstBlockNotBefore(userId);
+        if (block == firstUserIds.length || firstUserIds[block] > userId) {
+            return List.of();
+        }
+
+        List<PointHistory> result = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (; block < firstUserIds.length && firstUserIds[block] <= userId; block++) {
+                ByteBuffer rows = readBlock(channel, block);
+                while (rows.hasRemaining()) {
+                    long id = rows.getLong();
+                    long rowUserId = rows.getLong();
+                    long amount = rows.getLong();
+                    TransactionType type = TYPES[rows.get()];
+                    long updateMillis = rows.getLong();
+                    if (rowUserId == userId) {
+                        result.add(new PointHistory(id, rowUserId, amount, type, updateMillis));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read history segment: " + path, e);
+        }
+        return result;
+    }
+
+    /**
+     * 세그먼트의 모든 내역을 (userId, id) 순으로 넘긴다. 사용자를 지정하지 않은 조건 조회에서만 쓴다.
+     */
+    void forEach(Consumer<PointHistory> action) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (int block = 0; block < firstUserIds.length; block++) {
+                ByteBuffer rows = readBlock(channel, block);
+                while (rows.hasRemaining()) {
+                    action.accept(new PointHistory(rows.getLong(), rows.getLong(), rows.getLong(),
+                            TYPES[rows.get()], rows.getLong()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read history segment: " + path, e);
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long minUpdateMillis() {
+        return minUpdateMillis;
+    }
+
+    long maxUpdateMillis() {
+        return maxUpdateMillis;
+    }
+
+    long maxId() {
+        return maxId;
+    }
+
+    long rowCount() {
+        long rows = 0;
+        for (int count : rowCounts) {
+            rows += count;
+        }
+        return rows;
+    }
+
+    // lastUserId >= userId 인 첫 블록 (블록은 userId 순으로 정렬되어 있다)
+    private int firstBlockNotBefore(long userId) {
+        int low = 0;
+        int high = lastUserIds.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lastUserIds[mid] < userId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private ByteBuffer readBlock(FileChannel channel, int block) throws IOException {
+        ByteBuffer compressed = readFully(channel, offsets[block], lengths[block]);
+        byte[] raw = new byte[rowCounts[block] * ROW_BYTES];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed.array(), 0, lengths[block]);
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                inflated += inflater.inflate(raw, inflated, raw.length - inflated);
+            }
+            if (inflated != raw.length) {
+                throw new IOException("Corrupted history block " + block + " in " + path);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted history block " + block + " in " + path, e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of history segment.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        long count() {
+            return count;
+        }
+    }
+}
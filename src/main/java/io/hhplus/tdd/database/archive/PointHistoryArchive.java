@@ -0,0 +1,236 @@
+package io.hhplus.tdd.database.archive;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.query.HistoryQuery;
+import io.hhplus.tdd.point.query.TopN;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 오래된 포인트 내역을 보관하는 디스크 계층.
+ * - 보관 주기(PointHistoryRetention)가 옮긴 내역을 세그먼트 파일 단위로 추가한다.
+ * - 세그먼트는 한 번 기록되면 변경되지 않으며, 조회는 세그먼트별 희소 인덱스로 필요한 블록만 읽는다.
+ * - 보관 주기마다 세그먼트가 하나씩 늘어나므로, compact 가 이어진 작은 세그먼트를 하나로 합쳐 세그먼트 수(메모리의 인덱스, 조회마다 여는 파일)를 제한한다.
+ *   합친 파일 이름에는 원래 세그먼트 번호 범위(segment-first-last.seg)를 남기고, 불러올 때 그 범위에 든 옛 파일은 버린다.
+ * - 세그먼트 목록은 통째로 바꿔 끼우므로 조회는 합치기 전이나 후 중 한쪽 목록만 본다.
+ * - point.history.retention.enabled 가 꺼져 있으면 디스크를 전혀 사용하지 않는다.
+ */
+@Component
+public class PointHistoryArchive {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int COMPACTION_MIN_SEGMENTS = 4;
+    private static final long COMPACTION_TARGET_ROWS = HistorySegment.ROWS_PER_BLOCK * 1024L;
+
+    private final boolean enabled;
+    private final Path directory;
+    // 쓰기(archive, compact)는 this 로 동기화하고, 조회는 그 순간의 목록을 잠금 없이 읽는다.
+    private volatile List<HistorySegment> segments = List.of();
+    private final List<Path> retiredFiles = new ArrayList<>();
+    private long segmentSequence;
+
+    public PointHistoryArchive(@Value("${point.history.retention.enabled:false}") boolean enabled,
+                               @Value("${point.history.archive.dir:data/history-archive}") Path directory) {
+        this.enabled = enabled;
+        this.directory = directory;
+        if (enabled) {
+            loadSegments();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public synchronized void archive(List<PointHistory> histories) {
+        if (!enabled) {
+            throw new IllegalStateException("History archive is disabled.");
+        }
+        if (histories.isEmpty()) {
+            return;
+        }
+        Path path = directory.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, ++segmentSequence, SEGMENT_SUFFIX));
+        List<HistorySegment> next = new ArrayList<>(segments);
+        next.add(write(path, histories));
+        segments = List.copyOf(next);
+    }
+
+    /**
+     * 행 수가 COMPACTION_TARGET_ROWS 보다 작은 세그먼트가 COMPACTION_MIN_SEGMENTS 개 이상 이어져 있으면 하나로 합치고, 합친 세그먼트 수를 반환한다.
+     */
+    public int compact() {
+        return compact(COMPACTION_MIN_SEGMENTS, COMPACTION_TARGET_ROWS);
+    }
+
+    /**
+     * 합친 세그먼트가 targetRows 에 닿으면 거기서 멈추므로, 큰 세그먼트는 다시 합쳐지지 않는다.
+     * 바꿔 끼운 옛 파일은 이미 시작한 조회가 끝나도록 바로 지우지 않고 다음 compact 에서 지운다.
+     */
+    synchronized int compact(int minSegments, long targetRows) {
+        if (!enabled) {
+            return 0;
+        }
+        deleteRetiredFiles();
+
+        List<HistorySegment> current = segments;
+        int start = 0;
+        int end = 0;
+        long rows = 0;
+        for (int i = 0; i < current.size(); i++) {
+            HistorySegment segment = current.get(i);
+            if (segment.rowCount() >= targetRows) {
+                if (end - start >= minSegments) {
+                    break;
+                }
+                start = i + 1;
+                end = i + 1;
+                rows = 0;
+                continue;
+            }
+            end = i + 1;
+            rows += segment.rowCount();
+            if (end - start >= 2 && rows >= targetRows) {
+                break;
+            }
+        }
+        List<HistorySegment> run = current.subList(start, end);
+        if (run.size() < 2 || (run.size() < minSegments && rows < targetRows)) {
+            return 0;
+        }
+
+        List<PointHistory> histories = new ArrayList<>((int) rows);
+        run.forEach(segment -> segment.forEach(histories::add));
+        long first = sequenceRangeOf(run.get(0).path())[0];
+        long last = sequenceRangeOf(run.get(run.size() - 1).path())[1];
+        HistorySegment merged = write(directory.resolve(
+                String.format("%s%019d-%019d%s", SEGMENT_PREFIX, first, last, SEGMENT_SUFFIX)), histories);
+
+        List<HistorySegment> next = new ArrayList<>(current.subList(0, start));
+        next.add(merged);
+        next.addAll(current.subList(end, current.size()));
+        segments = List.copyOf(next);
+        run.forEach(segment -> retiredFiles.add(segment.path()));
+        return run.size();
+    }
+
+    public List<PointHistory> selectAllByUserId(long userId) {
+        if (segments.isEmpty()) {
+            return List.of();
+        }
+        List<PointHistory> result = new ArrayList<>();
+        for (HistorySegment segment : segments) {
+            result.addAll(segment.selectAllByUserId(userId));
+        }
+        return result;
+    }
+
+    /**
+     * 조건에 맞는 내역을 정렬 순서상 앞에서부터 limit 건 반환한다.
+     * 세그먼트마다 updateMillis 범위를 갖고 있으므로 조회 기간과 겹치지 않는 세그먼트는 열지 않는다.
+     */
+    public List<PointHistory> query(HistoryQuery query) {
+        if (segments.isEmpty()) {
+            return List.of();
+        }
+        TopN top = new TopN(query);
+        for (HistorySegment segment : segments) {
+            if (!query.overlapsTime(segment.minUpdateMillis(), segment.maxUpdateMillis())) {
+                continue;
+            }
+            if (query.userId() != null) {
+                segment.selectAllByUserId(query.userId()).stream().filter(query::matches).forEach(top::offer);
+            } else {
+                segment.forEach(history -> {
+                    if (query.matches(history)) {
+                        top.offer(history);
+                    }
+                });
+            }
+        }
+        return top.toList();
+    }
+
+    /**
+     * 아카이브된 내역 중 가장 큰 id. 없으면 0 이다.
+     */
+    public long maxHistoryId() {
+        return segments.stream().mapToLong(HistorySegment::maxId).max().orElse(0);
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    private HistorySegment write(Path path, List<PointHistory> histories) {
+        try {
+            return HistorySegment.write(path, histories);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write history segment: " + path, e);
+        }
+    }
+
+    private void deleteRetiredFiles() {
+        retiredFiles.removeIf(path -> {
+            try {
+                Files.deleteIfExists(path);
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        });
+    }
+
+    /**
+     * 합친 세그먼트를 쓴 뒤 옛 파일을 지우기 전에 멈췄다면, 합친 세그먼트의 번호 범위에 든 옛 파일을 여기서 지운다.
+     * 합치기는 이어진 세그먼트만 대상으로 하므로 범위는 서로 겹치지 않거나 한쪽이 다른 쪽을 포함한다.
+     */
+    private void loadSegments() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> segmentFiles;
+            try (Stream<Path> files = Files.list(directory)) {
+                segmentFiles = files
+                        .filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                        .filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .sorted(Comparator.<Path>comparingLong(path -> sequenceRangeOf(path)[0])
+                                .thenComparing(Comparator.<Path>comparingLong(path -> sequenceRangeOf(path)[1]).reversed()))
+                        .toList();
+            }
+            List<HistorySegment> loaded = new ArrayList<>();
+            for (Path path : segmentFiles) {
+                long[] range = sequenceRangeOf(path);
+                if (range[0] <= segmentSequence) {
+                    Files.delete(path);
+                    continue;
+                }
+                loaded.add(HistorySegment.open(path));
+                segmentSequence = range[1];
+            }
+            segments = List.copyOf(loaded);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load history archive: " + directory, e);
+        }
+    }
+
+    // segment-n.seg 는 [n, n], 합친 세그먼트 segment-first-last.seg 는 [first, last] 이다.
+    private static long[] sequenceRangeOf(Path path) {
+        String name = path.getFileName().toString();
+        String sequences = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+        int dash = sequences.indexOf('-');
+        if (dash < 0) {
+            long sequence = Long.parseLong(sequences);
+            return new long[]{sequence, sequence};
+        }
+        return new long[]{Long.parseLong(sequences.substring(0, dash)), Long.parseLong(sequences.substring(dash + 1))};
+    }
+}
@@ -0,0 +1,61 @@
+package io.hhplus.tdd.database.archive;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 보관 기간(point.history.retention.max-age)이 지난 내역을 메모리 테이블에서 디스크 아카이브로 옮긴다.
+ * - 세그먼트 기록이 끝난 뒤에 메모리에서 삭제하므로, 중간에 실패해도 내역이 유실되지 않는다.
+ * - 옮기는 도중 같은 내역이 양쪽에 잠시 존재할 수 있어, 조회 측에서 id 기준으로 병합한다.
+ * - 옮긴 뒤에는 아카이브의 작은 세그먼트를 합쳐, 주기마다 늘어나는 세그먼트 수를 제한한다.
+ * - 아카이브는 재시작 후에도 남지만 메모리 테이블의 id 발급 위치는 1 부터 다시 시작하므로, 생성 시 아카이브의 가장 큰 id 다음으로 올린다.
+ *   그러지 않으면 새 내역이 아카이브된 내역과 같은 id 를 받아 병합 조회에서 한쪽이 사라진다.
+ */
+@Component
+public class PointHistoryRetention {
+
+    private static final Logger log = LoggerFactory.getLogger(PointHistoryRetention.class);
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointHistoryArchive pointHistoryArchive;
+    private final Duration maxAge;
+
+    public PointHistoryRetention(PointHistoryTable pointHistoryTable,
+                                 PointHistoryArchive pointHistoryArchive,
+                                 @Value("${point.history.retention.max-age:30d}") Duration maxAge) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.pointHistoryArchive = pointHistoryArchive;
+        this.maxAge = maxAge;
+        pointHistoryTable.reserveIdsThrough(pointHistoryArchive.maxHistoryId());
+    }
+
+    @Scheduled(fixedDelayString = "${point.history.retention.interval-millis:60000}")
+    public void run() {
+        if (pointHistoryArchive.isEnabled()) {
+            archiveUpdatedBefore(System.currentTimeMillis() - maxAge.toMillis());
+            int merged = pointHistoryArchive.compact();
+            if (merged > 0) {
+                log.info("Merged {} history archive segments", merged);
+            }
+        }
+    }
+
+    public int archiveUpdatedBefore(long cutoffMillis) {
+        List<PointHistory> expired = pointHistoryTable.selectAllUpdatedBefore(cutoffMillis);
+        if (expired.isEmpty()) {
+            return 0;
+        }
+        pointHistoryArchive.archive(expired);
+        pointHistoryTable.deleteAll(expired);
+        log.info("Archived {} point histories updated before {}", expired.size(), cutoffMillis);
+        return expired.size();
+    }
+}
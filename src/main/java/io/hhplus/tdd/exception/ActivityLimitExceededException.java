@@ -0,0 +1,7 @@
+package io.hhplus.tdd.exception;
+
+public class ActivityLimitExceededException extends PointException {
+    public ActivityLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.exception;
+
+/**
+ * 동시 처리 한도를 넘어 거절된 요청. 잠시 뒤 다시 시도하면 처리될 수 있다.
+ * 과부하 때 한꺼번에 쏟아지는 거절이므로 PointException 처럼 스택 트레이스를 만들지 않고, 고정 메시지 인스턴스(INSTANCE)를 재사용한다.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public static final ConcurrencyLimitExceededException INSTANCE = new ConcurrencyLimitExceededException("Too many concurrent requests.");
+
+    public ConcurrencyLimitExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,7 @@
+package io.hhplus.tdd.exception;
+
+public class DailyChargeCapExceededException extends PointException {
+    public DailyChargeCapExceededException(String message) {
+        super(message);
+    }
+}
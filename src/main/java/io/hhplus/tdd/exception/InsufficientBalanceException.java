@@ -1,6 +1,9 @@
 package io.hhplus.tdd.exception;
 
 public class InsufficientBalanceException extends PointException {
+
+    public static final InsufficientBalanceException INSTANCE = new InsufficientBalanceException("Insufficient balance.");
+
     public InsufficientBalanceException(String message) {
         super(message);
     }
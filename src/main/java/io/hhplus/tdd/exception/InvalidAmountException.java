@@ -1,7 +1,10 @@
 package io.hhplus.tdd.exception;
 
 public class InvalidAmountException extends PointException {
+
+    public static final InvalidAmountException NOT_POSITIVE = new InvalidAmountException("Amount must be > 0.");
+
     public InvalidAmountException(String message) {
         super(message);
     }
-}
\ No newline at end of file
+}
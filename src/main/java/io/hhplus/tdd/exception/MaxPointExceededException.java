@@ -1,6 +1,9 @@
 package io.hhplus.tdd.exception;
 
 public class MaxPointExceededException extends PointException {
+
+    public static final MaxPointExceededException INSTANCE = new MaxPointExceededException("Point exceed max limit.");
+
     public MaxPointExceededException(String message) {
         super(message);
     }
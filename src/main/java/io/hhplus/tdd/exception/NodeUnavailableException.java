@@ -0,0 +1,7 @@
+package io.hhplus.tdd.exception;
+
+public class NodeUnavailableException extends RuntimeException {
+    public NodeUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,7 +1,12 @@
 package io.hhplus.tdd.exception;
 
+/**
+ * 포인트 규칙에 따라 요청을 거절할 때 던진다. (잔액 부족, 금액 범위, 한도 초과 등)
+ * - 정상적인 거절이 잦으므로 스택 트레이스를 만들지 않는다. 거절 이유는 메시지로 충분하고, 호출 위치는 고정되어 있다.
+ * - suppressed 예외도 받지 않으므로 상태가 바뀌지 않는다. 메시지가 고정된 거절은 하위 클래스의 상수 인스턴스를 재사용해 생성 비용까지 없앤다.
+ */
 public class PointException extends RuntimeException {
     public PointException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.exception;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 처리율 한도를 넘어 거절된 요청. 재시도 시각이 요청마다 달라 인스턴스를 재사용하지는 않지만, 스택 트레이스는 만들지 않는다.
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterNanos;
+
+    public RateLimitExceededException(String message, long retryAfterNanos) {
+        super(message, null, false, false);
+        this.retryAfterNanos = retryAfterNanos;
+    }
+
+    /**
+     * Retry-After 헤더 값 (초 단위 올림, 최소 1초)
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1L, (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
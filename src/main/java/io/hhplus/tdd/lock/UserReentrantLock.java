@@ -1,10 +1,20 @@
 package io.hhplus.tdd.lock;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * UserReentrantLockManager.getLock 으로 받은 락은 한 번 lock 하고 한 번 unlock 해야 한다.
+ * - getLock 이 holders 를 올리고 unlock 이 내린다. holders 가 0 인 락만 관리자에서 치울(retire) 수 있으므로,
+ *   락을 받아 두고 아직 잡지 않았거나 기다리는 중인 스레드가 있으면 그 락은 치워지지 않는다.
+ * - 치운 락은 holders 가 -1 로 고정되어 다시 retain 되지 않는다. 관리자는 그 사용자에게 새 락을 만든다.
+ */
 public class UserReentrantLock implements UserLock {
 
+    private static final int RETIRED = -1;
+
     private final ReentrantLock lock;
+    private final AtomicInteger holders = new AtomicInteger();
 
     public UserReentrantLock(ReentrantLock lock) {
         this.lock = lock;
@@ -15,10 +25,35 @@ public class UserReentrantLock implements UserLock {
         lock.lock();
     }
 
+    /**
+     * 락을 잡지 않은 스레드가 풀면 IllegalMonitorStateException 을 던진다.
+     * 조용히 무시하면 잘못 짝지어진 lock/unlock 이 다른 스레드의 임계 구역을 깨뜨려도 드러나지 않는다.
+     */
     @Override
     public void unlock() {
-        if (lock.isHeldByCurrentThread()) {
-            lock.unlock();
+        lock.unlock();
+        holders.getAndUpdate(count -> count > 0 ? count - 1 : count);
+    }
+
+    /**
+     * 이미 치운 락이면 false 다.
+     */
+    boolean retain() {
+        while (true) {
+            int count = holders.get();
+            if (count == RETIRED) {
+                return false;
+            }
+            if (holders.compareAndSet(count, count + 1)) {
+                return true;
+            }
         }
     }
+
+    /**
+     * 받아 간 스레드가 없을 때만 치운다.
+     */
+    boolean retire() {
+        return holders.compareAndSet(0, RETIRED);
+    }
 }
@@ -4,15 +4,57 @@ import org.springframework.stereotype.Component;
 
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
 
 @Component
 public class UserReentrantLockManager {
 
     // KEY: userId (사용자 식별자)
     // VALUE: 해당 사용자 전용 락 객체 (UserLock)
-    private final ConcurrentHashMap<Long, UserLock> lockMap = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, UserReentrantLock> lockMap = new ConcurrentHashMap<>();
 
+    /**
+     * 받은 락은 lock/unlock 을 한 번씩 짝지어 써야 한다. (UserReentrantLock 참고)
+     */
     public UserLock getLock(long userId) {
-        return lockMap.computeIfAbsent(userId, id -> new UserReentrantLock(new ReentrantLock()));
+        UserReentrantLock lock = lockMap.get(userId);
+        if (lock != null && lock.retain()) {
+            return lock;
+        }
+        return lockMap.compute(userId, (id, current) -> {
+            if (current != null && current.retain()) {
+                return current;
+            }
+            UserReentrantLock created = new UserReentrantLock(new ReentrantLock());
+            created.retain();
+            return created;
+        });
+    }
+
+    /**
+     * evictable 을 만족하고 지금 받아 간 스레드가 없는 사용자의 락을 치운다. 치운 수를 반환한다.
+     * 치운 뒤 같은 사용자가 다시 요청하면 새 락을 만든다. 옛 락은 더 이상 누구에게도 주어지지 않으므로 상호 배제가 깨지지 않는다.
+     */
+    public int evictUnused(LongPredicate evictable) {
+        int evicted = 0;
+        for (Long userId : lockMap.keySet()) {
+            if (!evictable.test(userId)) {
+                continue;
+            }
+            boolean[] retired = new boolean[1];
+            lockMap.computeIfPresent(userId, (id, lock) -> {
+                retired[0] = lock.retire();
+                return retired[0] ? null : lock;
+            });
+            if (retired[0]) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    // evictUnused 로 치우지 않는 한, 한 번이라도 요청된 사용자 수만큼 늘어난다. (부하/소크 테스트에서 증가량을 추적한다)
+    public int size() {
+        return lockMap.size();
     }
 }
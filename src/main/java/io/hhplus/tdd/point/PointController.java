@@ -1,5 +1,7 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.point.query.HistoryQuery;
+import io.hhplus.tdd.point.query.HistorySort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,6 +13,28 @@ import java.util.List;
 public class PointController {
     private final PointService pointService;
 
+    @GetMapping
+    public List<UserPoint> points(
+            @RequestParam("ids") List<Long> ids
+    ) {
+        return pointService.getUserPoints(ids);
+    }
+
+    @GetMapping("histories")
+    public List<PointHistory> queryHistories(
+            @RequestParam(value = "userId", required = false) Long userId,
+            @RequestParam(value = "type", required = false) TransactionType type,
+            @RequestParam(value = "from", required = false) Long fromMillis,
+            @RequestParam(value = "to", required = false) Long toMillis,
+            @RequestParam(value = "minAmount", required = false) Long minAmount,
+            @RequestParam(value = "maxAmount", required = false) Long maxAmount,
+            @RequestParam(value = "sort", defaultValue = "OLDEST") HistorySort sort,
+            @RequestParam(value = "limit", defaultValue = "100") int limit
+    ) {
+        return pointService.queryHistories(
+                new HistoryQuery(userId, type, fromMillis, toMillis, minAmount, maxAmount, sort, limit));
+    }
+
     @GetMapping("{id}")
     public UserPoint point(
             @PathVariable("id") long id
@@ -40,4 +64,12 @@ public class PointController {
     ) {
         return pointService.use(id, amount);
     }
+
+    @PatchMapping("{id}/transfer")
+    public UserPoint transfer(
+            @PathVariable("id") long id,
+            @RequestBody TransferRequest request
+    ) {
+        return pointService.transfer(id, request.toUserId(), request.amount());
+    }
 }
\ No newline at end of file
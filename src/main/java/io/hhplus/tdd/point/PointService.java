@@ -1,51 +1,339 @@
 package io.hhplus.tdd.point;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.cluster.HandoffRequest;
+import io.hhplus.tdd.cluster.PointCluster;
+import io.hhplus.tdd.database.archive.PointHistoryArchive;
+import io.hhplus.tdd.exception.NodeUnavailableException;
 import io.hhplus.tdd.lock.UserReentrantLockManager;
+import io.hhplus.tdd.point.activity.ActivityTracker;
+import io.hhplus.tdd.point.expiry.PointLotLedger;
+import io.hhplus.tdd.point.query.HistoryQuery;
+import io.hhplus.tdd.point.query.TopN;
+import io.hhplus.tdd.point.tier.TierRuleEngine;
+import io.hhplus.tdd.point.tier.TierStatus;
+import io.hhplus.tdd.ratelimit.AdaptiveConcurrencyLimiter;
+import io.hhplus.tdd.ratelimit.PointRateLimiter;
+import io.hhplus.tdd.replication.ReplicationLog;
+import io.hhplus.tdd.storage.PointCommit;
+import io.hhplus.tdd.storage.PointMutation;
+import io.hhplus.tdd.storage.PointStore;
+import io.hhplus.tdd.tracing.PointTracer;
+import io.hhplus.tdd.tracing.TracePhase;
 import org.springframework.stereotype.Service;
 import io.hhplus.tdd.lock.UserLock;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
 
 @Service
-public record PointService(UserPointTable userPointTable,
-                           PointHistoryTable pointHistoryTable,
-                           UserReentrantLockManager userReentrantLockManager) {
+public record PointService(PointStore pointStore,
+                           UserReentrantLockManager userReentrantLockManager,
+                           UserPointBatchReader userPointBatchReader,
+                           PointHistoryArchive pointHistoryArchive,
+                           PointRateLimiter pointRateLimiter,
+                           PointCluster pointCluster,
+                           ReplicationLog replicationLog,
+                           PointLotLedger pointLotLedger,
+                           AdaptiveConcurrencyLimiter concurrencyLimiter,
+                           PointTracer pointTracer,
+                           TierRuleEngine tierRuleEngine,
+                           ActivityTracker activityTracker) {
 
     public UserPoint getUserPoint(long userId) {
-        return userPointTable.selectById(userId);
+        try (AdaptiveConcurrencyLimiter.Permit ignored = concurrencyLimiter.acquire()) {
+            return pointStore.selectById(userId);
+        }
+    }
+
+    /**
+     * 배치 하나를 요청 하나로 보고 동시 처리 허가를 하나 받는다. 배치 안의 동시 조회 수는 UserPointBatchReader 가 제한한다.
+     */
+    public List<UserPoint> getUserPoints(Collection<Long> userIds) {
+        try (AdaptiveConcurrencyLimiter.Permit ignored = concurrencyLimiter.acquire()) {
+            return userPointBatchReader.readAll(userIds);
+        }
     }
 
+    /**
+     * 아카이브된 오래된 내역과 저장소의 최근 내역을 id 순으로 병합해 반환한다.
+     * - 보관 작업은 아카이브에 먼저 쓰고 저장소에서 지우므로, 저장소를 먼저 읽고 아카이브를 나중에 읽어야 옮겨지는 내역이 빠지지 않는다.
+     * - 아카이브로 옮겨지는 도중에는 같은 내역이 양쪽에 있을 수 있으므로 id 기준으로 중복을 제거한다.
+     */
     public List<PointHistory> getPointHistories(long userId) {
-        return pointHistoryTable.selectAllByUserId(userId);
+        List<PointHistory> recent = pointStore.selectHistories(userId);
+        List<PointHistory> archived = pointHistoryArchive.selectAllByUserId(userId);
+        if (archived.isEmpty()) {
+            return recent;
+        }
+
+        TreeMap<Long, PointHistory> merged = new TreeMap<>();
+        archived.forEach(history -> merged.put(history.id(), history));
+        recent.forEach(history -> merged.put(history.id(), history));
+        return List.copyOf(merged.values());
+    }
+
+    /**
+     * 조건에 맞는 내역을 저장소와 아카이브에서 각각 limit 건씩 받아 다시 TopN 으로 합친다.
+     * - 조건 평가와 건수 제한은 각 계층 안에서 끝나므로 합칠 때는 최대 2 * limit 건만 다룬다.
+     * - 아카이브로 옮겨지는 도중 양쪽에 있는 내역은 id 로 중복을 제거한다. 저장소를 먼저 조회해야 옮겨지는 내역이 빠지지 않는다.
+     * - 클러스터 모드에서는 이 노드가 가진 사용자의 내역만 조회된다.
+     */
+    public List<PointHistory> queryHistories(HistoryQuery query) {
+        List<PointHistory> recent = pointStore.queryHistories(query);
+        List<PointHistory> archived = pointHistoryArchive.query(query);
+        if (archived.isEmpty()) {
+            return recent;
+        }
+
+        Set<Long> seen = new HashSet<>();
+        TopN top = new TopN(query);
+        for (PointHistory history : recent) {
+            seen.add(history.id());
+            top.offer(history);
+        }
+        for (PointHistory history : archived) {
+            if (seen.add(history.id())) {
+                top.offer(history);
+            }
+        }
+        return top.toList();
     }
 
     public UserPoint charge(long userId, long amount) {
+        pointRateLimiter.acquire(userId);
+        try (AdaptiveConcurrencyLimiter.Permit ignored = concurrencyLimiter.acquire()) {
+            UserLock lock = userReentrantLockManager.getLock(userId);
+            long phase = pointTracer.phaseStart();
+            lock.lock();
+            phase = pointTracer.endPhase(TracePhase.LOCK_WAIT, phase);
+            try {
+                requireOwned(userId);
+                UserPoint before = pointStore.selectById(userId);
+                phase = pointTracer.endPhase(TracePhase.SELECT, phase);
+                UserPoint after = tierRuleEngine.charge(before, amount, System.currentTimeMillis());
+                activityTracker.check(userId, TransactionType.CHARGE, amount, after.updateMillis());
+                phase = pointTracer.endPhase(TracePhase.VALIDATE, phase);
+                PointCommit commit = pointStore.commit(List.of(new PointMutation(before, after, amount, TransactionType.CHARGE))).get(0);
+                pointTracer.endPhase(TracePhase.COMMIT, phase);
+                tierRuleEngine.recordCharge(userId, amount, after.updateMillis());
+                activityTracker.record(userId, TransactionType.CHARGE, amount, after.updateMillis());
+                replicationLog.append(commit.userPoint(), commit.history());
+                pointLotLedger.charge(userId, amount, after.updateMillis());
+                return after;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public UserPoint use(long userId, long amount) {
+        pointRateLimiter.acquire(userId);
+        try (AdaptiveConcurrencyLimiter.Permit ignored = concurrencyLimiter.acquire()) {
+            UserLock lock = userReentrantLockManager.getLock(userId);
+            long phase = pointTracer.phaseStart();
+            lock.lock();
+            phase = pointTracer.endPhase(TracePhase.LOCK_WAIT, phase);
+            try {
+                requireOwned(userId);
+                UserPoint before = pointStore.selectById(userId);
+                phase = pointTracer.endPhase(TracePhase.SELECT, phase);
+                UserPoint after = tierRuleEngine.use(before, amount);
+                activityTracker.check(userId, TransactionType.USE, amount, after.updateMillis());
+                phase = pointTracer.endPhase(TracePhase.VALIDATE, phase);
+                PointCommit commit = pointStore.commit(List.of(new PointMutation(before, after, amount, TransactionType.USE))).get(0);
+                pointTracer.endPhase(TracePhase.COMMIT, phase);
+                activityTracker.record(userId, TransactionType.USE, amount, after.updateMillis());
+                replicationLog.append(commit.userPoint(), commit.history());
+                pointLotLedger.use(userId, amount);
+                return after;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * fromUserId 의 포인트를 toUserId 로 송금하고, 송금 후 보내는 사용자의 포인트를 반환한다.
+     * - 두 사용자의 락은 항상 userId 오름차순으로 획득하여 교차 송금 시에도 데드락이 발생하지 않는다.
+     * - 양쪽 잔액 검증을 모두 마친 뒤에 쓰기를 시작하므로, 검증 실패 시 어느 쪽도 변경되지 않는다.
+     * - 금액 범위는 보내는 사용자의 등급으로, 잔액 상한은 각자의 등급으로 검사한다. 받은 금액은 일일 충전 한도에 들어가지 않는다.
+     * - 내역은 보내는 쪽 USE, 받는 쪽 CHARGE 한 쌍으로 같은 시각에 기록되며, 두 사용자의 잔액과 함께 한 번에 반영된다.
+     * - 받는 사용자에게 넘어간 금액은 보내는 사용자의 충전분 만료 시각을 그대로 유지한다.
+     * - 최근 거래 한도는 보내는 사용자의 USE 로 확인하고, 활동 카운터에는 보내는 쪽 USE, 받는 쪽 CHARGE 로 센다.
+     * - 처리율 한도, 동시 처리 한도 순으로 확인한 뒤 락을 잡는다. (락 대기도 동시 처리 한도에 포함된다)
+     * - 클러스터 모드에서는 두 사용자가 같은 노드에 있을 때만 송금할 수 있다. 락을 잡은 뒤 두 사용자 모두 다시 확인한다.
+     * - 복제 로그에는 두 사용자의 변경이 각각 기록되므로, 복제 노드에서는 잠시 한쪽만 반영된 상태가 보일 수 있다.
+     */
+    public UserPoint transfer(long fromUserId, long toUserId, long amount) {
+        if (fromUserId == toUserId) {
+            throw new IllegalArgumentException("Cannot transfer points to the same user.");
+        }
+        if (!pointCluster.isLocal(toUserId)) {
+            throw new IllegalArgumentException("Cannot transfer points to a user on another node.");
+        }
+        pointRateLimiter.acquire(fromUserId);
+        try (AdaptiveConcurrencyLimiter.Permit ignored = concurrencyLimiter.acquire()) {
+            UserLock firstLock = userReentrantLockManager.getLock(Math.min(fromUserId, toUserId));
+            UserLock secondLock = userReentrantLockManager.getLock(Math.max(fromUserId, toUserId));
+            long phase = pointTracer.phaseStart();
+            firstLock.lock();
+            try {
+                secondLock.lock();
+                phase = pointTracer.endPhase(TracePhase.LOCK_WAIT, phase);
+                try {
+                    requireOwned(fromUserId);
+                    requireOwned(toUserId);
+                    UserPoint senderBefore = pointStore.selectById(fromUserId);
+                    UserPoint receiverBefore = pointStore.selectById(toUserId);
+                    phase = pointTracer.endPhase(TracePhase.SELECT, phase);
+                    UserPoint sender = tierRuleEngine.use(senderBefore, amount);
+                    UserPoint receiver = tierRuleEngine.receive(receiverBefore, amount);
+                    activityTracker.check(fromUserId, TransactionType.USE, amount, sender.updateMillis());
+                    phase = pointTracer.endPhase(TracePhase.VALIDATE, phase);
+                    receiver = new UserPoint(toUserId, receiver.point(), sender.updateMillis());
+
+                    List<PointCommit> commits = pointStore.commit(List.of(
+                            new PointMutation(senderBefore, sender, amount, TransactionType.USE),
+                            new PointMutation(receiverBefore, receiver, amount, TransactionType.CHARGE)));
+                    pointTracer.endPhase(TracePhase.COMMIT, phase);
+                    activityTracker.record(fromUserId, TransactionType.USE, amount, sender.updateMillis());
+                    activityTracker.record(toUserId, TransactionType.CHARGE, amount, receiver.updateMillis());
+                    for (PointCommit commit : commits) {
+                        replicationLog.append(commit.userPoint(), commit.history());
+                    }
+                    pointLotLedger.transfer(fromUserId, toUserId, amount);
+                    return sender;
+                } finally {
+                    secondLock.unlock();
+                }
+            } finally {
+                firstLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 사용자의 등급을 바꾼다. 진행 중인 충전/사용과 겹치지 않도록 사용자 락 안에서 바꾼다.
+     */
+    public TierStatus assignTier(long userId, String tierName) {
         UserLock lock = userReentrantLockManager.getLock(userId);
         lock.lock();
         try {
-            UserPoint before = userPointTable.selectById(userId);
-            UserPoint after = before.charge(amount);
-            userPointTable.insertOrUpdate(userId, after.point());
-            pointHistoryTable.insert(userId, amount, TransactionType.CHARGE, after.updateMillis());
-            return after;
+            tierRuleEngine.assign(userId, tierName);
+            return tierRuleEngine.status(userId, System.currentTimeMillis());
         } finally {
             lock.unlock();
         }
     }
 
-    public UserPoint use(long userId, long amount) {
+    /**
+     * 만료 시각이 지난 충전분의 남은 금액을 USE 내역으로 차감하고, 차감한 금액을 반환한다.
+     * 잔액보다 많이 차감하지 않는다. (lot 밖에서 잔액이 줄어든 경우)
+     * 만료된 lot 은 차감을 저장한 뒤에 지우므로, 저장이 실패해도 만료 금액이 사라지지 않는다.
+     */
+    public long expire(long userId, long nowMillis) {
         UserLock lock = userReentrantLockManager.getLock(userId);
         lock.lock();
         try {
-            UserPoint before = userPointTable.selectById(userId);
+            long expired = pointLotLedger.expiredAmount(userId, nowMillis);
+            if (expired == 0) {
+                return 0;
+            }
+            UserPoint before = pointStore.selectById(userId);
+            long amount = Math.min(expired, before.point());
+            if (amount == 0) {
+                pointLotLedger.expire(userId, nowMillis);
+                return 0;
+            }
             UserPoint after = before.use(amount);
-            userPointTable.insertOrUpdate(userId, after.point());
-            pointHistoryTable.insert(userId, amount, TransactionType.USE, after.updateMillis());
-            return after;
+            PointCommit commit;
+            try {
+                commit = pointStore.commit(List.of(new PointMutation(before, after, amount, TransactionType.USE))).get(0);
+            } catch (RuntimeException e) {
+                // lot 을 지우기 전이므로 다음 만료 처리에서 같은 금액을 다시 차감한다.
+                pointLotLedger.retryExpiry(userId);
+                throw e;
+            }
+            pointLotLedger.expire(userId, nowMillis);
+            replicationLog.append(commit.userPoint(), commit.history());
+            return amount;
         } finally {
             lock.unlock();
         }
     }
+
+    /**
+     * 사용자의 잔액과 내역, 만료 lot, 활동 카운터, 등급과 일일 충전 합계를 모두 지우고, 복제 노드에도 삭제를 기록한다.
+     * 워밍업 임시 사용자를 정리할 때 쓴다. 아카이브로 옮겨진 내역은 지우지 않는다.
+     */
+    public void deleteUser(long userId) {
+        UserLock lock = userReentrantLockManager.getLock(userId);
+        lock.lock();
+        try {
+            pointStore.deleteUser(userId);
+            pointLotLedger.forget(userId);
+            activityTracker.forget(userId);
+            tierRuleEngine.forget(userId);
+            replicationLog.appendDeletion(userId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다른 노드로 넘길 사용자의 잔액, 내역, 등급과 일일 충전 합계, 만료 lot, 활동 카운터를 모은다.
+     * 넘긴 뒤 지울 때까지 바뀌지 않도록 호출하는 쪽이 사용자 락을 잡고 있어야 한다.
+     */
+    public HandoffRequest handoffOf(String handoffId, long userId) {
+        UserLock lock = userReentrantLockManager.getLock(userId);
+        lock.lock();
+        try {
+            return new HandoffRequest(handoffId, userId, pointStore.selectById(userId).point(), pointStore.selectHistories(userId),
+                    tierRuleEngine.snapshot(userId), pointLotLedger.snapshot(userId), activityTracker.snapshot(userId));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 다른 노드에서 넘겨받은 사용자를 반영한다.
+     * - 잔액은 덮어쓰지 않고 더하며, 내역은 이 노드에서 새 id 를 받아 잔액과 함께 한 번에 저장한 뒤 복제 로그에 남긴다.
+     * - 등급은 넘겨받은 것으로 바꾸고, 일일 충전 합계, 만료 lot, 활동 카운터는 이 노드의 것과 합친다.
+     *   이 단계는 설정이 달라도 예외를 던지지 않으므로, 저장한 뒤 실패해 같은 넘기기가 다시 더해지는 일이 없다.
+     */
+    public void absorb(HandoffRequest handoff) {
+        long userId = handoff.userId();
+        UserLock lock = userReentrantLockManager.getLock(userId);
+        lock.lock();
+        try {
+            UserPoint before = pointStore.selectById(userId);
+            UserPoint after = new UserPoint(userId, before.point() + handoff.point(), System.currentTimeMillis());
+            List<PointCommit> commits = pointStore.absorb(before, after, handoff.histories());
+            if (commits.isEmpty()) {
+                replicationLog.append(after, null);
+            }
+            for (PointCommit commit : commits) {
+                replicationLog.append(commit.userPoint(), commit.history());
+            }
+            tierRuleEngine.restore(userId, handoff.tier());
+            pointLotLedger.restore(userId, handoff.lots());
+            activityTracker.restore(userId, handoff.activity());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 라우팅을 통과한 뒤 락을 기다리는 동안 멤버가 바뀌어 잔액이 새 소유 노드로 넘어갔을 수 있다.
+     * 락을 잡은 뒤 다시 확인해, 이미 넘긴 사용자에 대한 쓰기가 이 노드에 남아 유실되지 않도록 503 으로 거절한다.
+     * (클라이언트가 다시 보내면 라우팅이 새 소유 노드로 보낸다)
+     */
+    private void requireOwned(long userId) {
+        if (!pointCluster.isLocal(userId)) {
+            throw new NodeUnavailableException("User " + userId + " has moved to " + pointCluster.ownerOf(userId) + ".", null);
+        }
+    }
 }
@@ -0,0 +1,7 @@
+package io.hhplus.tdd.point;
+
+public record TransferRequest(
+        long toUserId,
+        long amount
+) {
+}
@@ -18,10 +18,17 @@ public record UserPoint(
     }
 
     public UserPoint charge(long amount) {
+        return charge(amount, MAX_TOTAL_POINT);
+    }
+
+    /**
+     * 등급별 잔액 상한(maxTotalPoint)을 적용해 충전한다.
+     */
+    public UserPoint charge(long amount, long maxTotalPoint) {
         validateAmount(amount);
         long newTotal = this.point + amount;
-        if (newTotal > MAX_TOTAL_POINT) {
-            throw new MaxPointExceededException("Point exceed max limit.");
+        if (newTotal > maxTotalPoint) {
+            throw MaxPointExceededException.INSTANCE;
         }
 
         return new UserPoint(this.id, newTotal, System.currentTimeMillis());
@@ -30,7 +37,7 @@ public record UserPoint(
     public UserPoint use(long amount) {
         validateAmount(amount);
         if (this.point < amount) {
-            throw new InsufficientBalanceException("Insufficient balance.");
+            throw InsufficientBalanceException.INSTANCE;
         }
 
         return new UserPoint(this.id, this.point - amount, System.currentTimeMillis());
@@ -38,7 +45,7 @@ public record UserPoint(
 
     private void validateAmount(long amount) {
         if (amount <= 0) {
-            throw new InvalidAmountException("Amount must be > 0.");
+            throw InvalidAmountException.NOT_POSITIVE;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.cluster.PointCluster;
+import io.hhplus.tdd.storage.PointStore;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 사용자의 잔액을 한 번에 조회한다.
+ * - 조회는 고정 크기 스레드풀로 병렬 수행되어, 전체 소요 시간이 조회 건수의 합이 아니라 가장 느린 조회에 수렴한다.
+ * - 스레드풀 크기(point.lookup.max-concurrency)가 저장소에 동시에 들어가는 조회 수의 상한이 된다.
+ * - 클러스터 모드에서는 다른 노드가 소유한 사용자를 해당 노드에서 조회한다.
+ */
+@Component
+public class UserPointBatchReader {
+
+    public static final int MAX_BATCH_SIZE = 1_000;
+
+    private final PointStore pointStore;
+    private final PointCluster pointCluster;
+    private final ExecutorService executor;
+
+    public UserPointBatchReader(PointStore pointStore,
+                                @Value("${point.lookup.max-concurrency:128}") int maxConcurrency,
+                                PointCluster pointCluster) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("point.lookup.max-concurrency must be > 0.");
+        }
+        this.pointStore = pointStore;
+        this.pointCluster = pointCluster;
+        this.executor = Executors.newFixedThreadPool(maxConcurrency, daemonThreadFactory());
+    }
+
+    /**
+     * 요청 순서를 유지하되, 중복된 userId 는 한 번만 조회해 반환한다.
+     */
+    public List<UserPoint> readAll(Collection<Long> userIds) {
+        LinkedHashSet<Long> distinctIds = new LinkedHashSet<>(userIds);
+        if (distinctIds.contains(null)) {
+            throw new IllegalArgumentException("User id must not be null.");
+        }
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Too many user ids. Max batch size is " + MAX_BATCH_SIZE + ".");
+        }
+
+        List<CompletableFuture<UserPoint>> futures = distinctIds.stream()
+                .map(id -> CompletableFuture.supplyAsync(() -> read(id), executor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private UserPoint read(long userId) {
+        return pointCluster.isLocal(userId) ? pointStore.selectById(userId) : pointCluster.fetchUserPoint(userId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "point-lookup-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.activity;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/point")
+@RequiredArgsConstructor
+public class ActivityController {
+    private final ActivityTracker activityTracker;
+
+    @GetMapping("{id}/activity")
+    public ActivityStatus activity(
+            @PathVariable("id") long id
+    ) {
+        return activityTracker.status(id, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,86 @@
+package io.hhplus.tdd.point.activity;
+
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 사용자별 최근 충전/사용 횟수와 금액(슬라이딩 윈도우) 설정. 사용자마다 링 두 개를 힙에 두므로 기본으로 꺼 둔다.
+ *
+ * @param fineBucket      짧은 윈도우용 링의 버킷 간격. fineBucket * fineBuckets 이하의 윈도우는 이 링으로 센다.
+ * @param fineBuckets     짧은 윈도우용 링의 버킷 수
+ * @param coarseBucket    긴 윈도우용 링의 버킷 간격
+ * @param coarseBuckets   긴 윈도우용 링의 버킷 수. coarseBucket * coarseBuckets 가 셀 수 있는 가장 긴 윈도우이자,
+ *                        활동이 없는 사용자를 정리하는 유휴 시간이다.
+ * @param windows         GET /point/{id}/activity 가 보여 주는 윈도우 목록
+ * @param rules           충전/사용 전에 확인하는 한도 목록. 비어 있으면 세기만 한다.
+ * @param maxTrackedUsers 카운터를 유지하는 최대 사용자 수. 넘으면 유휴 사용자를, 그래도 넘으면 가장 오래 활동이 없던 사용자를 정리한다.
+ *                        가장 긴 한도 윈도우 안에 활동한 사용자는 정리하지 않으며, 그런 사용자로 가득 차면 새 사용자는 세지 않는다.
+ * @param sweepInterval   유휴 사용자 정리 주기
+ */
+@ConfigurationProperties(prefix = "point.activity")
+public record ActivityProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5s") Duration fineBucket,
+        @DefaultValue("60") int fineBuckets,
+        @DefaultValue("1m") Duration coarseBucket,
+        @DefaultValue("60") int coarseBuckets,
+        @DefaultValue({"1m", "5m", "60m"}) List<Duration> windows,
+        List<Rule> rules,
+        @DefaultValue("100000") int maxTrackedUsers,
+        @DefaultValue("1m") Duration sweepInterval
+) {
+    public ActivityProperties {
+        windows = windows == null ? List.of() : List.copyOf(windows);
+        rules = rules == null ? List.of() : List.copyOf(rules);
+        if (fineBucket.toMillis() <= 0 || coarseBucket.toMillis() <= 0 || fineBuckets <= 0 || coarseBuckets <= 0) {
+            throw new IllegalArgumentException("point.activity buckets must be positive.");
+        }
+        if (maxTrackedUsers <= 0 || sweepInterval.toMillis() <= 0) {
+            throw new IllegalArgumentException("point.activity.max-tracked-users and sweep-interval must be positive.");
+        }
+        long horizon = coarseBucket.toMillis() * coarseBuckets;
+        for (Duration window : windows) {
+            checkWindow(window, horizon);
+        }
+        for (Rule rule : rules) {
+            checkWindow(rule.window(), horizon);
+        }
+    }
+
+    private static void checkWindow(Duration window, long horizon) {
+        if (window.toMillis() <= 0 || window.toMillis() > horizon) {
+            throw new IllegalArgumentException("Activity window " + window + " must be positive and at most " + Duration.ofMillis(horizon) + ".");
+        }
+    }
+
+    /**
+     * window 동안 type 거래가 maxCount 번 또는 maxAmount 원을 넘게 되는 요청을 거절한다. 0 이면 그 항목은 제한하지 않는다.
+     * 송금은 보내는 쪽의 USE 로 확인한다.
+     */
+    public record Rule(
+            TransactionType type,
+            Duration window,
+            @DefaultValue("0") long maxCount,
+            @DefaultValue("0") long maxAmount
+    ) {
+        public Rule {
+            if (type == null || window == null || maxCount < 0 || maxAmount < 0) {
+                throw new IllegalArgumentException("Invalid activity rule.");
+            }
+        }
+    }
+
+    public static ActivityProperties defaults() {
+        return new ActivityProperties(true, Duration.ofSeconds(5), 60, Duration.ofMinutes(1), 60,
+                List.of(Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(60)), List.of(), 100_000, Duration.ofMinutes(1));
+    }
+
+    public static ActivityProperties disabled() {
+        return new ActivityProperties(false, Duration.ofSeconds(5), 60, Duration.ofMinutes(1), 60,
+                List.of(), List.of(), 1, Duration.ofMinutes(1));
+    }
+}
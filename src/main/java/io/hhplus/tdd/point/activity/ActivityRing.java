@@ -0,0 +1,111 @@
+package io.hhplus.tdd.point.activity;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 일정 간격의 시간 버킷을 원형으로 재사용하는 카운터. 버킷마다 거래 유형별 횟수와 금액을 long 하나에 담는다.
+ * - 상위 23비트가 횟수, 하위 40비트가 금액이다. 한 버킷 안에서 넘치면 최댓값에 머문다. (약 838만 건, 1조 원)
+ * - head 는 마지막으로 기록된 버킷 번호(millis / bucketMillis)다. 더 뒤의 버킷에 기록하면 그 사이 슬롯을 비우고 head 를 옮긴다.
+ *   그래서 슬롯 i 에는 head - length 보다 크고 head 이하이며 length 로 나눈 나머지가 i 인 버킷만 들어 있다.
+ * - 동기화하지 않는다. UserActivity 가 감싸서 쓴다.
+ */
+final class ActivityRing {
+
+    private static final int COUNT_SHIFT = 40;
+    private static final long AMOUNT_MASK = (1L << COUNT_SHIFT) - 1;
+    private static final long MAX_COUNT = (1L << (Long.SIZE - 1 - COUNT_SHIFT)) - 1;
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final long bucketMillis;
+    private final long[] use;
+    private final long[] charge;
+    private long head = NONE;
+
+    ActivityRing(long bucketMillis, int buckets) {
+        this.bucketMillis = bucketMillis;
+        this.use = new long[buckets];
+        this.charge = new long[buckets];
+    }
+
+    /**
+     * 링이 기억하는 기간보다 오래된 기록은 버린다.
+     */
+    void add(TransactionType type, long amount, long millis) {
+        long bucket = Math.floorDiv(millis, bucketMillis);
+        advance(bucket);
+        if (bucket <= head - use.length) {
+            return;
+        }
+        long[] slots = type == TransactionType.USE ? use : charge;
+        int slot = (int) Math.floorMod(bucket, (long) slots.length);
+        slots[slot] = combine(slots[slot], 1L << COUNT_SHIFT | amount);
+    }
+
+    ActivitySnapshot.Ring snapshot() {
+        return new ActivitySnapshot.Ring(bucketMillis, head, use.clone(), charge.clone());
+    }
+
+    /**
+     * 다른 노드에서 넘겨받은 링의 버킷을 같은 버킷 번호끼리 더한다. 이 링이 기억하는 기간보다 오래된 버킷은 버린다.
+     */
+    void merge(ActivitySnapshot.Ring other) {
+        if (other.bucketMillis() != bucketMillis || other.use().length != use.length) {
+            throw new IllegalArgumentException("Activity ring settings differ between nodes.");
+        }
+        if (other.head() == NONE) {
+            return;
+        }
+        for (long bucket = other.head() - use.length + 1; bucket <= other.head(); bucket++) {
+            advance(bucket);
+            if (bucket <= head - use.length) {
+                continue;
+            }
+            int slot = (int) Math.floorMod(bucket, (long) use.length);
+            use[slot] = combine(use[slot], other.use()[slot]);
+            charge[slot] = combine(charge[slot], other.charge()[slot]);
+        }
+    }
+
+    private static long combine(long packed, long added) {
+        long count = Math.min((packed >>> COUNT_SHIFT) + (added >>> COUNT_SHIFT), MAX_COUNT);
+        long sum = Math.min((packed & AMOUNT_MASK) + (added & AMOUNT_MASK), AMOUNT_MASK);
+        return count << COUNT_SHIFT | sum;
+    }
+
+    /**
+     * nowMillis 가 속한 버킷부터 과거로 buckets 개 버킷의 합을 out 에 더한다.
+     * out: [USE 횟수, USE 금액, CHARGE 횟수, CHARGE 금액]
+     */
+    void sum(int buckets, long nowMillis, long[] out) {
+        if (head == NONE) {
+            return;
+        }
+        long now = Math.floorDiv(nowMillis, bucketMillis);
+        long from = Math.max(now - buckets + 1, head - use.length + 1);
+        long to = Math.min(now, head);
+        for (long bucket = from; bucket <= to; bucket++) {
+            int slot = (int) Math.floorMod(bucket, (long) use.length);
+            out[0] += use[slot] >>> COUNT_SHIFT;
+            out[1] += use[slot] & AMOUNT_MASK;
+            out[2] += charge[slot] >>> COUNT_SHIFT;
+            out[3] += charge[slot] & AMOUNT_MASK;
+        }
+    }
+
+    private void advance(long bucket) {
+        if (head == NONE) {
+            head = bucket;
+            return;
+        }
+        if (bucket <= head) {
+            return;
+        }
+        long steps = Math.min(bucket - head, use.length);
+        for (long i = 1; i <= steps; i++) {
+            int slot = (int) Math.floorMod(head + i, (long) use.length);
+            use[slot] = 0;
+            charge[slot] = 0;
+        }
+        head = bucket;
+    }
+}
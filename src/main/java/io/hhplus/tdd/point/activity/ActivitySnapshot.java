@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.activity;
+
+/**
+ * 다른 노드로 넘기는 한 사용자의 활동 카운터. 링 설정(버킷 간격과 수)은 노드마다 같아야 한다.
+ */
+public record ActivitySnapshot(
+        Ring fine,
+        Ring coarse,
+        long lastMillis
+) {
+    /**
+     * @param head 마지막으로 기록된 버킷 번호. use/charge 는 ActivityRing 의 슬롯 배열 그대로다.
+     */
+    public record Ring(long bucketMillis, long head, long[] use, long[] charge) {
+    }
+}
@@ -0,0 +1,9 @@
+package io.hhplus.tdd.point.activity;
+
+import java.util.List;
+
+public record ActivityStatus(
+        long userId,
+        List<ActivityWindow> windows
+) {
+}
@@ -0,0 +1,307 @@
+package io.hhplus.tdd.point.activity;
+
+import io.hhplus.tdd.exception.ActivityLimitExceededException;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 사용자별 최근 1/5/60분 같은 윈도우의 충전/사용 횟수와 금액을 내역 조회 없이 센다.
+ * - 사용자마다 짧은 간격(기본 5초 x 60)과 긴 간격(기본 1분 x 60) 링을 하나씩 둔다. 기본 설정에서 사용자당 약 2KB 이며 윈도우 길이와 상관없이 고정이다.
+ *   윈도우는 그 길이를 담을 수 있는 가장 촘촘한 링에서 버킷 합으로 구한다. 윈도우 목록과 한도는 생성 시 (링, 버킷 수)로 바꿔 둔다.
+ * - check 는 PointService 가 검증을 마친 뒤 저장 전에, record 는 저장 뒤에 부른다. 둘 다 해당 사용자의 락 안이므로 확인과 기록 사이에 다른 거래가 끼지 않는다.
+ * - 링이 기억하는 가장 긴 기간 동안 활동이 없으면 모든 합이 0 이므로, 주기적으로 그런 사용자를 정리한다.
+ *   사용자 수가 maxTrackedUsers 에 닿으면 그 자리에서 정리하고, 그래도 넘치면 가장 오래 활동이 없던 사용자부터 10% 를 정리한다.
+ *   이때 가장 긴 한도 윈도우 안에 활동한 사용자는 정리하지 않는다. 정리하면 카운터가 0 으로 돌아가 한도를 우회할 수 있기 때문이다.
+ *   그런 사용자만 남아 자리가 없으면 새 사용자는 세지 않고(point.activity.untracked.records), 누군가 윈도우를 벗어날 때까지 다시 정리하지 않는다.
+ * - 정리는 computeIfPresent 로, 기록은 compute 로 하므로 정리와 겹친 기록이 떨어진 카운터에 쌓여 사라지지 않는다.
+ * - 만료 차감(expire)은 사용자의 거래가 아니므로 세지 않는다.
+ */
+@Component
+public class ActivityTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityTracker.class);
+
+    /**
+     * @param fine    짧은 윈도우용 링을 쓰는지
+     * @param buckets 더할 버킷 수
+     */
+    record WindowSpec(Duration window, boolean fine, int buckets) {
+    }
+
+    private record CompiledRule(ActivityProperties.Rule rule, WindowSpec spec) {
+    }
+
+    private final ActivityProperties properties;
+    private final List<WindowSpec> windows;
+    private final List<CompiledRule> rules;
+    private final long idleMillis;
+    private final long guardMillis;
+    private final Map<Long, UserActivity> activities = new ConcurrentHashMap<>();
+    private final Counter rejectedCounter;
+    private final Counter evictedCounter;
+    private final Counter untrackedCounter;
+    // 자리가 없을 때, 보호 중인 사용자 중 가장 먼저 한도 윈도우를 벗어나는 시각. 그 전에는 정리를 다시 시도하지 않는다.
+    private volatile long fullUntilMillis = Long.MIN_VALUE;
+    private ScheduledExecutorService sweeper;
+
+    public ActivityTracker(ActivityProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.idleMillis = properties.coarseBucket().toMillis() * properties.coarseBuckets();
+        this.windows = properties.windows().stream().map(this::spec).toList();
+        this.rules = properties.rules().stream().map(rule -> new CompiledRule(rule, spec(rule.window()))).toList();
+        this.guardMillis = properties.rules().stream().mapToLong(rule -> rule.window().toMillis()).max().orElse(0);
+        this.rejectedCounter = meterRegistry.counter("point.activity.rejected");
+        this.evictedCounter = meterRegistry.counter("point.activity.evicted.users");
+        this.untrackedCounter = meterRegistry.counter("point.activity.untracked.records");
+        Gauge.builder("point.activity.tracked.users", activities, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-activity-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.sweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweepSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    /**
+     * 이번 거래(amount)를 더하면 한도를 넘는 규칙이 있으면 ActivityLimitExceededException 을 던진다.
+     */
+    public void check(long userId, TransactionType type, long amount, long nowMillis) {
+        if (!properties.enabled() || rules.isEmpty()) {
+            return;
+        }
+        UserActivity activity = activities.get(userId);
+        if (activity == null) {
+            return;
+        }
+        long[] sums = new long[4];
+        for (CompiledRule compiled : rules) {
+            ActivityProperties.Rule rule = compiled.rule();
+            if (rule.type() != type) {
+                continue;
+            }
+            Arrays.fill(sums, 0);
+            activity.sum(compiled.spec(), nowMillis, sums);
+            int offset = type == TransactionType.USE ? 0 : 2;
+            boolean tooMany = rule.maxCount() > 0 && sums[offset] + 1 > rule.maxCount();
+            boolean tooMuch = rule.maxAmount() > 0 && sums[offset + 1] + amount > rule.maxAmount();
+            if (tooMany || tooMuch) {
+                rejectedCounter.increment();
+                throw new ActivityLimitExceededException("Too many " + type.name() + " transactions in the last " + rule.window() + ".");
+            }
+        }
+    }
+
+    public void record(long userId, TransactionType type, long amount, long millis) {
+        if (!properties.enabled() || !admit(userId, millis)) {
+            return;
+        }
+        activities.compute(userId, (id, activity) -> {
+            UserActivity target = activity == null ? new UserActivity(properties) : activity;
+            target.record(type, amount, millis);
+            return target;
+        });
+    }
+
+    /**
+     * 다른 노드로 넘길 사용자의 카운터. 세고 있지 않으면 null 이다.
+     */
+    public ActivitySnapshot snapshot(long userId) {
+        UserActivity activity = activities.get(userId);
+        return activity == null ? null : activity.snapshot();
+    }
+
+    /**
+     * 다른 노드에서 넘겨받은 카운터를 이 노드의 카운터에 더한다. 링 설정이 다르면 더하지 않고 경고만 남긴다.
+     */
+    public void restore(long userId, ActivitySnapshot snapshot) {
+        if (!properties.enabled() || snapshot == null) {
+            return;
+        }
+        if (!matches(snapshot.fine(), properties.fineBucket(), properties.fineBuckets())
+                || !matches(snapshot.coarse(), properties.coarseBucket(), properties.coarseBuckets())) {
+            log.warn("Dropped activity counters of user {} handed off with different ring settings", userId);
+            return;
+        }
+        if (!admit(userId, snapshot.lastMillis())) {
+            return;
+        }
+        activities.compute(userId, (id, activity) -> {
+            UserActivity target = activity == null ? new UserActivity(properties) : activity;
+            target.merge(snapshot);
+            return target;
+        });
+    }
+
+    /**
+     * 설정한 윈도우마다 nowMillis 까지의 합을 반환한다.
+     */
+    public ActivityStatus status(long userId, long nowMillis) {
+        UserActivity activity = activities.get(userId);
+        List<ActivityWindow> result = new ArrayList<>(windows.size());
+        for (WindowSpec spec : windows) {
+            long[] sums = new long[4];
+            if (activity != null) {
+                activity.sum(spec, nowMillis, sums);
+            }
+            result.add(new ActivityWindow(spec.window(), sums[0], sums[1], sums[2], sums[3]));
+        }
+        return new ActivityStatus(userId, result);
+    }
+
+    /**
+     * 짧은 링이 window 를 담을 수 있으면 짧은 링을, 아니면 긴 링을 쓴다.
+     */
+    public ActivityWindow window(long userId, Duration window, long nowMillis) {
+        WindowSpec spec = spec(window);
+        long[] sums = new long[4];
+        UserActivity activity = activities.get(userId);
+        if (activity != null) {
+            activity.sum(spec, nowMillis, sums);
+        }
+        return new ActivityWindow(window, sums[0], sums[1], sums[2], sums[3]);
+    }
+
+    public void forget(long userId) {
+        activities.remove(userId);
+    }
+
+    public int trackedUserCount() {
+        return activities.size();
+    }
+
+    /**
+     * nowMillis 기준으로 가장 긴 기간 동안 활동이 없던 사용자를 정리하고, 정리한 수를 반환한다.
+     */
+    public int evictIdle(long nowMillis) {
+        int evicted = 0;
+        for (Long userId : activities.keySet()) {
+            boolean[] removed = new boolean[1];
+            activities.computeIfPresent(userId, (id, activity) -> {
+                removed[0] = nowMillis - activity.lastMillis() >= idleMillis;
+                return removed[0] ? null : activity;
+            });
+            if (removed[0]) {
+                evicted++;
+            }
+        }
+        evictedCounter.increment(evicted);
+        return evicted;
+    }
+
+    private static boolean matches(ActivitySnapshot.Ring ring, Duration bucket, int buckets) {
+        return ring.bucketMillis() == bucket.toMillis() && ring.use().length == buckets && ring.charge().length == buckets;
+    }
+
+    /**
+     * 이미 세는 사용자이거나 새 사용자를 더할 자리가 있으면 true 를 반환한다. 자리가 없으면 세지 않은 기록으로 센다.
+     */
+    private boolean admit(long userId, long millis) {
+        if (activities.size() >= properties.maxTrackedUsers() && !activities.containsKey(userId)
+                && (millis < fullUntilMillis || !makeRoom(millis))) {
+            untrackedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 자리를 만들고, 새 사용자를 더할 자리가 있으면 true 를 반환한다.
+     * 여러 스레드가 동시에 한도에 닿으면 한 스레드만 정리하고, 나머지는 정리가 끝난 뒤 다시 확인한다.
+     */
+    private synchronized boolean makeRoom(long nowMillis) {
+        if (activities.size() < properties.maxTrackedUsers()) {
+            return true;
+        }
+        evictIdle(nowMillis);
+        int excess = activities.size() - properties.maxTrackedUsers() * 9 / 10;
+        if (excess <= 0) {
+            return true;
+        }
+        long guardedAfter = nowMillis - guardMillis;
+        long[] lastMillis = activities.values().stream().mapToLong(UserActivity::lastMillis).sorted().toArray();
+        int evictable = 0;
+        while (evictable < lastMillis.length && lastMillis[evictable] <= guardedAfter) {
+            evictable++;
+        }
+        if (evictable == 0) {
+            fullUntilMillis = lastMillis[0] + guardMillis;
+            log.warn("Activity counters are full of users active within {}; not tracking new users until {}",
+                    Duration.ofMillis(guardMillis), fullUntilMillis);
+            return false;
+        }
+        long threshold = lastMillis[Math.min(excess, evictable) - 1];
+        int evicted = 0;
+        for (Long userId : activities.keySet()) {
+            if (evicted >= excess) {
+                break;
+            }
+            boolean[] removed = new boolean[1];
+            activities.computeIfPresent(userId, (id, activity) -> {
+                removed[0] = activity.lastMillis() <= threshold;
+                return removed[0] ? null : activity;
+            });
+            if (removed[0]) {
+                evicted++;
+            }
+        }
+        evictedCounter.increment(evicted);
+        log.warn("Evicted {} active users from activity counters; max-tracked-users {} reached", evicted, properties.maxTrackedUsers());
+        return activities.size() < properties.maxTrackedUsers();
+    }
+
+    private WindowSpec spec(Duration window) {
+        long millis = window.toMillis();
+        long fineMillis = properties.fineBucket().toMillis();
+        if (millis <= fineMillis * properties.fineBuckets()) {
+            return new WindowSpec(window, true, (int) ((millis + fineMillis - 1) / fineMillis));
+        }
+        long coarseMillis = properties.coarseBucket().toMillis();
+        if (millis > idleMillis) {
+            throw new IllegalArgumentException("Activity window " + window + " exceeds " + Duration.ofMillis(idleMillis) + ".");
+        }
+        return new WindowSpec(window, false, (int) ((millis + coarseMillis - 1) / coarseMillis));
+    }
+
+    private void sweepSafely() {
+        try {
+            int evicted = evictIdle(System.currentTimeMillis());
+            if (evicted > 0) {
+                log.debug("Evicted {} idle users from activity counters", evicted);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Activity sweep failed", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.activity;
+
+import java.time.Duration;
+
+/**
+ * 최근 window 동안의 거래 횟수와 금액의 합. 버킷 단위로 세므로 실제로는 window 보다 최대 버킷 하나만큼 짧은 기간일 수 있다.
+ */
+public record ActivityWindow(
+        Duration window,
+        long useCount,
+        long useAmount,
+        long chargeCount,
+        long chargeAmount
+) {
+}
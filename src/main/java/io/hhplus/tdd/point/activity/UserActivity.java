@@ -0,0 +1,42 @@
+package io.hhplus.tdd.point.activity;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 한 사용자의 짧은 윈도우용 링과 긴 윈도우용 링. 기록은 사용자 락 안에서, 조회는 API 스레드에서도 오므로 자체적으로 동기화한다.
+ */
+final class UserActivity {
+
+    private final ActivityRing fine;
+    private final ActivityRing coarse;
+    private long lastMillis = Long.MIN_VALUE;
+
+    UserActivity(ActivityProperties properties) {
+        this.fine = new ActivityRing(properties.fineBucket().toMillis(), properties.fineBuckets());
+        this.coarse = new ActivityRing(properties.coarseBucket().toMillis(), properties.coarseBuckets());
+    }
+
+    synchronized void record(TransactionType type, long amount, long millis) {
+        fine.add(type, amount, millis);
+        coarse.add(type, amount, millis);
+        lastMillis = Math.max(lastMillis, millis);
+    }
+
+    synchronized void sum(ActivityTracker.WindowSpec spec, long nowMillis, long[] out) {
+        (spec.fine() ? fine : coarse).sum(spec.buckets(), nowMillis, out);
+    }
+
+    synchronized ActivitySnapshot snapshot() {
+        return new ActivitySnapshot(fine.snapshot(), coarse.snapshot(), lastMillis);
+    }
+
+    synchronized void merge(ActivitySnapshot snapshot) {
+        fine.merge(snapshot.fine());
+        coarse.merge(snapshot.coarse());
+        lastMillis = Math.max(lastMillis, snapshot.lastMillis());
+    }
+
+    synchronized long lastMillis() {
+        return lastMillis;
+    }
+}
@@ -0,0 +1,77 @@
+package io.hhplus.tdd.point.codec;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 내부 호출자용 바이너리 포맷 (빅엔디언).
+ * - 첫 바이트가 값의 종류를 나타낸다: 1 UserPoint, 2 PointHistory, 3 목록
+ * - UserPoint  : id(8) point(8) updateMillis(8)
+ * - PointHistory : id(8) userId(8) amount(8) type(1, ordinal) updateMillis(8)
+ * - 목록 : 원소 수(4) 뒤에 각 원소를 종류 바이트와 함께 기록
+ */
+public final class PointBinaryCodec {
+
+    public static final byte USER_POINT = 1;
+    public static final byte POINT_HISTORY = 2;
+    public static final byte LIST = 3;
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private PointBinaryCodec() {
+    }
+
+    public static void write(DataOutputStream out, Object value) throws IOException {
+        if (value instanceof UserPoint userPoint) {
+            out.writeByte(USER_POINT);
+            out.writeLong(userPoint.id());
+            out.writeLong(userPoint.point());
+            out.writeLong(userPoint.updateMillis());
+        } else if (value instanceof PointHistory history) {
+            out.writeByte(POINT_HISTORY);
+            out.writeLong(history.id());
+            out.writeLong(history.userId());
+            out.writeLong(history.amount());
+            out.writeByte(history.type().ordinal());
+            out.writeLong(history.updateMillis());
+        } else if (value instanceof List<?> values) {
+            out.writeByte(LIST);
+            out.writeInt(values.size());
+            for (Object element : values) {
+                write(out, element);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported value: " + (value == null ? null : value.getClass()));
+        }
+    }
+
+    public static Object read(DataInputStream in) throws IOException {
+        return read(in, in.readByte());
+    }
+
+    /**
+     * 종류 바이트를 이미 읽은 뒤 나머지를 읽는다. (종류 바이트로 끝을 표시하는 스트림용)
+     */
+    public static Object read(DataInputStream in, byte kind) throws IOException {
+        return switch (kind) {
+            case USER_POINT -> new UserPoint(in.readLong(), in.readLong(), in.readLong());
+            case POINT_HISTORY -> new PointHistory(in.readLong(), in.readLong(), in.readLong(), TYPES[in.readByte()], in.readLong());
+            case LIST -> {
+                int size = in.readInt();
+                List<Object> values = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    values.add(read(in));
+                }
+                yield values;
+            }
+            default -> throw new IOException("Unknown point value kind: " + kind);
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point.codec;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class PointCodecConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Jackson 컨버터보다 먼저 선택되도록 맨 앞에 둔다.
+        converters.add(0, new PointHttpMessageConverter());
+    }
+}
@@ -0,0 +1,84 @@
+package io.hhplus.tdd.point.codec;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * UserPoint, PointHistory 및 그 목록 응답을 Jackson 대신 PointJsonWriter / PointBinaryCodec 으로 직접 기록한다.
+ * 그 외 타입(ErrorResponse 등)과 요청 본문 읽기는 기존 Jackson 컨버터가 그대로 처리한다.
+ */
+public class PointHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public PointHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON, PointMediaTypes.BINARY);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return isPointType(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isPointType(type != null ? type : clazz) && canWrite(mediaType);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        if (contentType != null && PointMediaTypes.BINARY.isCompatibleWith(contentType)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputMessage.getBody()));
+            PointBinaryCodec.write(out, value);
+            out.flush();
+            return;
+        }
+        PointJsonWriter writer = new PointJsonWriter(outputMessage.getBody());
+        writer.write(value);
+        writer.flush();
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported.");
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading is not supported.");
+    }
+
+    private static boolean isPointType(Type type) {
+        if (type == UserPoint.class || type == PointHistory.class) {
+            return true;
+        }
+        if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)) {
+            Type element = parameterized.getActualTypeArguments()[0];
+            return element == UserPoint.class || element == PointHistory.class;
+        }
+        return false;
+    }
+}
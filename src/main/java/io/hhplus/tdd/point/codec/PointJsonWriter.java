@@ -0,0 +1,164 @@
+package io.hhplus.tdd.point.codec;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * UserPoint / PointHistory 전용 JSON 직렬화기.
+ * - 필드 이름과 타입 문자열은 미리 인코딩한 바이트로 두고, 숫자만 직접 ASCII 로 기록한다.
+ * - 내부 버퍼가 찰 때마다 출력 스트림으로 흘려보내므로 응답 전체를 메모리에 만들지 않는다.
+ * - 출력 형태는 Jackson 기본 직렬화 결과와 같다. (필드 순서, type 소문자 표기)
+ */
+public final class PointJsonWriter {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+    // long 최댓값 자릿수(19) + 부호
+    private static final int MAX_LONG_LENGTH = 20;
+    private static final int MAX_ROW_LENGTH = 256;
+
+    private static final byte[] USER_POINT_ID = ascii("{\"id\":");
+    private static final byte[] USER_POINT_POINT = ascii(",\"point\":");
+    private static final byte[] HISTORY_USER_ID = ascii(",\"userId\":");
+    private static final byte[] HISTORY_AMOUNT = ascii(",\"amount\":");
+    private static final byte[] HISTORY_TYPE = ascii(",\"type\":");
+    private static final byte[] UPDATE_MILLIS = ascii(",\"updateMillis\":");
+    private static final byte[] LONG_MIN_VALUE = ascii(Long.toString(Long.MIN_VALUE));
+    private static final byte[][] TYPE_VALUES = new byte[TransactionType.values().length][];
+
+    static {
+        for (TransactionType type : TransactionType.values()) {
+            TYPE_VALUES[type.ordinal()] = ascii("\"" + type.toJson() + "\"");
+        }
+    }
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+
+    public PointJsonWriter(OutputStream out) {
+        this.out = out;
+        this.buffer = new byte[DEFAULT_BUFFER_SIZE];
+    }
+
+    public void writeUserPoint(UserPoint userPoint) throws IOException {
+        ensureCapacity(MAX_ROW_LENGTH);
+        put(USER_POINT_ID);
+        putLong(userPoint.id());
+        put(USER_POINT_POINT);
+        putLong(userPoint.point());
+        put(UPDATE_MILLIS);
+        putLong(userPoint.updateMillis());
+        buffer[position++] = '}';
+    }
+
+    public void writePointHistory(PointHistory history) throws IOException {
+        ensureCapacity(MAX_ROW_LENGTH);
+        put(USER_POINT_ID);
+        putLong(history.id());
+        put(HISTORY_USER_ID);
+        putLong(history.userId());
+        put(HISTORY_AMOUNT);
+        putLong(history.amount());
+        put(HISTORY_TYPE);
+        put(TYPE_VALUES[history.type().ordinal()]);
+        put(UPDATE_MILLIS);
+        putLong(history.updateMillis());
+        buffer[position++] = '}';
+    }
+
+    /**
+     * UserPoint 와 PointHistory 가 섞인 목록도 원소별로 알맞게 기록한다.
+     */
+    public void writeList(List<?> values) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = '[';
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                ensureCapacity(1);
+                buffer[position++] = ',';
+            }
+            write(values.get(i));
+        }
+        ensureCapacity(1);
+        buffer[position++] = ']';
+    }
+
+    public void write(Object value) throws IOException {
+        if (value instanceof UserPoint userPoint) {
+            writeUserPoint(userPoint);
+        } else if (value instanceof PointHistory history) {
+            writePointHistory(history);
+        } else if (value instanceof List<?> values) {
+            writeList(values);
+        } else {
+            throw new IllegalArgumentException("Unsupported value: " + (value == null ? null : value.getClass()));
+        }
+    }
+
+    /**
+     * 줄 단위 JSON(NDJSON)에서 값 사이에 넣는다.
+     */
+    public void newLine() throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = '\n';
+    }
+
+    public void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        out.flush();
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (buffer.length - position < length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private void put(byte[] bytes) {
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void putLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            put(LONG_MIN_VALUE);
+            return;
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+        int length = digitCount(value);
+        int index = position + length;
+        do {
+            buffer[--index] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+        position += length;
+    }
+
+    private static int digitCount(long value) {
+        long threshold = 10;
+        for (int digits = 1; digits < MAX_LONG_LENGTH - 1; digits++) {
+            if (value < threshold) {
+                return digits;
+            }
+            threshold *= 10;
+        }
+        return MAX_LONG_LENGTH - 1;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.codec;
+
+import org.springframework.http.MediaType;
+
+public final class PointMediaTypes {
+
+    /**
+     * 내부 호출자용 바이너리 응답 포맷. Accept 헤더로 요청하면 JSON 대신 이 포맷으로 응답한다.
+     */
+    public static final String BINARY_VALUE = "application/vnd.hhplus.point+binary";
+    public static final MediaType BINARY = MediaType.parseMediaType(BINARY_VALUE);
+
+    private PointMediaTypes() {
+    }
+}
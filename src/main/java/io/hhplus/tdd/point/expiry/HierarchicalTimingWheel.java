@@ -0,0 +1,183 @@
+package io.hhplus.tdd.point.expiry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * 만료 시각이 있는 항목을 전체 스캔 없이 시각 순으로 꺼내기 위한 계층형 타이밍 휠. (스레드 안전하지 않음)
+ * - 0 단계는 tickMillis 간격의 슬롯 wheelSize 개로 [currentTime, currentTime + tickMillis * wheelSize) 를 덮고,
+ *   i 단계는 한 슬롯이 (i-1) 단계 전체 구간인 휠이다. 덮지 못하는 먼 만료 시각이 들어오면 단계를 늘린다.
+ * - 시간이 i 단계 슬롯 경계에 닿으면 그 슬롯의 항목을 아래 단계로 다시 나눠 담고, 0 단계 슬롯이 지나가면 통째로 만료시킨다.
+ *   따라서 항목 하나는 단계 수만큼만 옮겨지고, 만료는 슬롯 단위 묶음으로 처리된다.
+ * - 항목은 만료 시각 이후 tickMillis 안에 만료된다.
+ * - 만료 시각이 정해지면 단계마다 들어갈 슬롯이 하나로 정해지므로, cancel 은 단계 수만큼의 슬롯만 확인해 항목을 뺀다.
+ * - 비어 있는 구간은 다음 슬롯 경계까지 건너뛰므로, 오래 멈췄다가 advance 해도 빈 틱을 하나씩 돌지 않는다.
+ */
+final class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final ToLongFunction<T> deadlineOf;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private long currentTime;
+    private int size;
+
+    HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis, ToLongFunction<T> deadlineOf) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMillis must be > 0 and wheelSize must be >= 2.");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.deadlineOf = deadlineOf;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        this.levels.add(new Level<>(tickMillis, wheelSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    long currentTime() {
+        return currentTime;
+    }
+
+    /**
+     * 항목을 등록한다. 만료 시각이 이미 지난 구간이면 등록하지 않고 false 를 반환한다.
+     */
+    boolean schedule(T item) {
+        if (deadlineOf.applyAsLong(item) < currentTime) {
+            return false;
+        }
+        insert(item);
+        size++;
+        return true;
+    }
+
+    /**
+     * 등록된 항목을 만료 전에 뺀다. (항목은 동일성으로 찾는다) 이미 만료됐거나 등록되지 않은 항목이면 false 를 반환한다.
+     */
+    boolean cancel(T item) {
+        long deadline = deadlineOf.applyAsLong(item);
+        for (Level<T> level : levels) {
+            if (level.remove(deadline, item)) {
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 시간을 nowMillis 까지 진행하며 만료된 항목을 onExpire 로 넘기고, 만료된 항목 수를 반환한다.
+     */
+    int advance(long nowMillis, Consumer<T> onExpire) {
+        int expired = 0;
+        long target = nowMillis - Math.floorMod(nowMillis, tickMillis);
+        while (currentTime < target) {
+            currentTime = nextStop(target);
+            // 방금 지나간 0 단계 슬롯을 먼저 비운다. 아래에서 다시 나눠 담는 항목이 같은 인덱스(한 바퀴 뒤)에 들어갈 수 있다.
+            Set<T> due = levels.get(0).take(currentTime - tickMillis);
+            if (due != null) {
+                due.forEach(onExpire);
+                expired += due.size();
+                size -= due.size();
+            }
+            for (int i = levels.size() - 1; i > 0; i--) {
+                Level<T> level = levels.get(i);
+                if (Math.floorMod(currentTime, level.tickMillis) == 0) {
+                    Set<T> cascaded = level.take(currentTime);
+                    if (cascaded != null) {
+                        cascaded.forEach(this::insert);
+                    }
+                }
+            }
+        }
+        return expired;
+    }
+
+    // 0 단계에 항목이 있으면 한 틱씩, 없으면 항목이 있는 상위 단계의 다음 슬롯 경계까지 건너뛴다.
+    private long nextStop(long target) {
+        if (levels.get(0).count > 0) {
+            return currentTime + tickMillis;
+        }
+        long next = target;
+        for (int i = 1; i < levels.size(); i++) {
+            Level<T> level = levels.get(i);
+            if (level.count > 0) {
+                next = Math.min(next, currentTime - Math.floorMod(currentTime, level.tickMillis) + level.tickMillis);
+            }
+        }
+        return next;
+    }
+
+    private void insert(T item) {
+        long deadline = deadlineOf.applyAsLong(item);
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                Level<T> below = levels.get(i - 1);
+                levels.add(new Level<>(below.tickMillis * wheelSize, wheelSize));
+            }
+            Level<T> level = levels.get(i);
+            long base = currentTime - Math.floorMod(currentTime, level.tickMillis);
+            if (deadline - base < level.tickMillis * wheelSize) {
+                level.add(deadline, item);
+                return;
+            }
+        }
+    }
+
+    private static final class Level<T> {
+        private final long tickMillis;
+        private final Set<T>[] slots;
+        private int count;
+
+        @SuppressWarnings("unchecked")
+        Level(long tickMillis, int wheelSize) {
+            this.tickMillis = tickMillis;
+            this.slots = new Set[wheelSize];
+        }
+
+        void add(long deadline, T item) {
+            int index = indexOf(deadline);
+            if (slots[index] == null) {
+                slots[index] = Collections.newSetFromMap(new IdentityHashMap<>());
+            }
+            slots[index].add(item);
+            count++;
+        }
+
+        boolean remove(long deadline, T item) {
+            int index = indexOf(deadline);
+            Set<T> items = slots[index];
+            if (items == null || !items.remove(item)) {
+                return false;
+            }
+            if (items.isEmpty()) {
+                slots[index] = null;
+            }
+            count--;
+            return true;
+        }
+
+        // time 이 속한 슬롯을 비우고 그 항목을 반환한다.
+        Set<T> take(long time) {
+            int index = indexOf(time);
+            Set<T> items = slots[index];
+            if (items == null) {
+                return null;
+            }
+            slots[index] = null;
+            count -= items.size();
+            return items;
+        }
+
+        private int indexOf(long time) {
+            return (int) Math.floorMod(Math.floorDiv(time, tickMillis), (long) slots.length);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point.expiry;
+
+/**
+ * 다른 노드로 넘기는 lot 하나의 남은 금액과 만료 시각
+ */
+public record LotSnapshot(
+        long amount,
+        long expiresAtMillis
+) {
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point.expiry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 만료 설정
+ *
+ * @param validity    충전한 포인트가 유효한 기간. 지나면 남은 금액이 USE 내역으로 차감된다.
+ * @param tick        만료 처리 주기이자 타이밍 휠 0 단계의 슬롯 간격. 만료는 만료 시각 이후 최대 tick 안에 처리된다.
+ * @param wheelSize   타이밍 휠 한 단계의 슬롯 수
+ * @param concurrency 만료 대상 사용자를 동시에 처리하는 스레드 수
+ */
+@ConfigurationProperties(prefix = "point.expiry")
+public record PointExpiryProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("365d") Duration validity,
+        @DefaultValue("1s") Duration tick,
+        @DefaultValue("512") int wheelSize,
+        @DefaultValue("16") int concurrency
+) {
+    public static PointExpiryProperties disabled() {
+        return new PointExpiryProperties(false, Duration.ofDays(365), Duration.ofSeconds(1), 512, 1);
+    }
+}
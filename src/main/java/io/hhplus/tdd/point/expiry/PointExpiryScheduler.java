@@ -0,0 +1,107 @@
+package io.hhplus.tdd.point.expiry;
+
+import io.hhplus.tdd.point.PointService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * tick 마다 만료된 lot 이 있는 사용자를 꺼내 PointService.expire 로 차감한다.
+ * 사용자별 차감은 서로 독립적이므로 concurrency 개의 스레드로 나눠 처리한다.
+ */
+@Component
+public class PointExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(PointExpiryScheduler.class);
+
+    private final PointExpiryProperties properties;
+    private final PointLotLedger pointLotLedger;
+    private final PointService pointService;
+    private final Counter expiredUsersCounter;
+    private final Counter expiredAmountCounter;
+    private ScheduledExecutorService ticker;
+    private ExecutorService workers;
+
+    public PointExpiryScheduler(PointExpiryProperties properties,
+                                PointLotLedger pointLotLedger,
+                                PointService pointService,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pointLotLedger = pointLotLedger;
+        this.pointService = pointService;
+        this.expiredUsersCounter = meterRegistry.counter("point.expiry.users");
+        this.expiredAmountCounter = meterRegistry.counter("point.expiry.amount");
+        Gauge.builder("point.expiry.scheduled.lots", pointLotLedger, PointLotLedger::scheduledLotCount).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-expiry-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        workers = Executors.newFixedThreadPool(properties.concurrency(), runnable -> {
+            Thread thread = new Thread(runnable, "point-expiry-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = properties.tick().toMillis();
+        ticker.scheduleWithFixedDelay(this::runSafely, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * nowMillis 기준으로 만료된 금액을 차감하고, 차감한 금액의 합을 반환한다.
+     */
+    public long expireDue(long nowMillis) {
+        Set<Long> userIds = pointLotLedger.pollExpiredUsers(nowMillis);
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        LongAdder expired = new LongAdder();
+        CompletableFuture.allOf(userIds.stream()
+                .map(userId -> CompletableFuture.runAsync(() -> {
+                    long amount = pointService.expire(userId, nowMillis);
+                    if (amount > 0) {
+                        expiredUsersCounter.increment();
+                        expiredAmountCounter.increment(amount);
+                        expired.add(amount);
+                    }
+                }, workers == null ? Runnable::run : workers))
+                .toArray(CompletableFuture[]::new)).join();
+        log.info("Expired {} points of {} users", expired.sum(), userIds.size());
+        return expired.sum();
+    }
+
+    private void runSafely() {
+        try {
+            expireDue(System.currentTimeMillis());
+        } catch (RuntimeException e) {
+            log.warn("Point expiry failed", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package io.hhplus.tdd.point.expiry;
+
+/**
+ * 한 번의 충전으로 생긴 만료 단위. remaining 은 사용자 락 안에서만 줄어들고, 만료 처리 스레드는 락 없이 0 인지만 확인한다.
+ */
+final class PointLot {
+
+    private final long userId;
+    private final long expiresAtMillis;
+    private volatile long remaining;
+
+    PointLot(long userId, long amount, long expiresAtMillis) {
+        this.userId = userId;
+        this.remaining = amount;
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    long userId() {
+        return userId;
+    }
+
+    long expiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    long remaining() {
+        return remaining;
+    }
+
+    long take(long amount) {
+        long taken = Math.min(amount, remaining);
+        remaining -= taken;
+        return taken;
+    }
+}
@@ -0,0 +1,215 @@
+package io.hhplus.tdd.point.expiry;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 충전 단위(lot)와 만료 일정을 관리한다.
+ * - 충전마다 만료 시각이 있는 lot 이 생기고, 사용/송금은 만료가 가까운 lot 부터 차감한다. (송금된 금액은 원래 만료 시각을 유지한다)
+ * - 모든 lot 은 타이밍 휠에 등록되어, 만료 처리 시 내역 테이블을 스캔하지 않고 만료 시각이 지난 lot 의 사용자만 꺼낸다.
+ *   모두 쓰였거나 지워진 lot 은 바로 휠에서 빼서, 유효 기간 동안 휠에 쌓이지 않게 한다.
+ * - 만료 기능 도입 전 잔액이나 다른 노드에서 넘겨받은 잔액처럼 lot 이 없는 금액은 만료되지 않으며, lot 을 모두 쓴 뒤에 차감된다.
+ * - charge, use, transfer, expire 는 해당 사용자의 락 안에서 호출되어야 한다. 만료 기능이 꺼져 있으면 아무것도 하지 않는다.
+ */
+@Component
+public class PointLotLedger {
+
+    private static final Comparator<PointLot> BY_EXPIRY = Comparator.comparingLong(PointLot::expiresAtMillis);
+
+    private final boolean enabled;
+    private final long validityMillis;
+    private final Map<Long, PriorityQueue<PointLot>> lotsByUser = new ConcurrentHashMap<>();
+    private final HierarchicalTimingWheel<PointLot> wheel;
+    private final Set<Long> overdueUsers = new HashSet<>();
+
+    public PointLotLedger(PointExpiryProperties properties) {
+        this(properties, System.currentTimeMillis());
+    }
+
+    PointLotLedger(PointExpiryProperties properties, long startMillis) {
+        this.enabled = properties.enabled();
+        this.validityMillis = properties.validity().toMillis();
+        this.wheel = new HierarchicalTimingWheel<>(properties.tick().toMillis(), properties.wheelSize(), startMillis,
+                PointLot::expiresAtMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void charge(long userId, long amount, long chargedMillis) {
+        if (!enabled) {
+            return;
+        }
+        add(new PointLot(userId, amount, chargedMillis + validityMillis));
+    }
+
+    public void use(long userId, long amount) {
+        if (!enabled) {
+            return;
+        }
+        take(userId, amount, false);
+    }
+
+    public void transfer(long fromUserId, long toUserId, long amount) {
+        if (!enabled) {
+            return;
+        }
+        for (PointLot taken : take(fromUserId, amount, true)) {
+            add(new PointLot(toUserId, taken.remaining(), taken.expiresAtMillis()));
+        }
+    }
+
+    /**
+     * nowMillis 이전에 만료된 lot 의 남은 금액 합. lot 은 그대로 둔다.
+     */
+    public long expiredAmount(long userId, long nowMillis) {
+        PriorityQueue<PointLot> lots = lotsByUser.get(userId);
+        if (lots == null) {
+            return 0;
+        }
+        long expired = 0;
+        for (PointLot lot : lots) {
+            if (lot.expiresAtMillis() < nowMillis) {
+                expired += lot.remaining();
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * nowMillis 이전에 만료된 lot 을 모두 제거하고, 그 남은 금액의 합을 반환한다.
+     * 차감을 저장한 뒤에 부른다. 저장이 실패하면 lot 을 남겨 두고 retryExpiry 로 다음 처리에서 다시 확인한다.
+     */
+    public long expire(long userId, long nowMillis) {
+        PriorityQueue<PointLot> lots = lotsByUser.get(userId);
+        if (lots == null) {
+            return 0;
+        }
+        long expired = 0;
+        while (!lots.isEmpty() && lots.peek().expiresAtMillis() < nowMillis) {
+            PointLot lot = lots.poll();
+            expired += lot.remaining();
+            unschedule(lot);
+        }
+        if (lots.isEmpty()) {
+            lotsByUser.remove(userId);
+        }
+        return expired;
+    }
+
+    /**
+     * 다른 노드로 넘길 사용자의 lot 중 남은 금액이 있는 것
+     */
+    public List<LotSnapshot> snapshot(long userId) {
+        PriorityQueue<PointLot> lots = lotsByUser.get(userId);
+        if (lots == null) {
+            return List.of();
+        }
+        return lots.stream()
+                .filter(lot -> lot.remaining() > 0)
+                .map(lot -> new LotSnapshot(lot.remaining(), lot.expiresAtMillis()))
+                .toList();
+    }
+
+    /**
+     * 다른 노드에서 넘겨받은 lot 을 원래 만료 시각 그대로 더한다.
+     */
+    public void restore(long userId, List<LotSnapshot> lots) {
+        if (!enabled || lots == null) {
+            return;
+        }
+        for (LotSnapshot lot : lots) {
+            add(new PointLot(userId, lot.amount(), lot.expiresAtMillis()));
+        }
+    }
+
+    /**
+     * 사용자의 lot 을 모두 지우고 휠에서도 뺀다.
+     */
+    public void forget(long userId) {
+        PriorityQueue<PointLot> lots = lotsByUser.remove(userId);
+        if (lots != null) {
+            lots.forEach(this::unschedule);
+        }
+    }
+
+    /**
+     * 타이밍 휠을 nowMillis 까지 진행하고, 만료된 lot 에 남은 금액이 있는 사용자를 반환한다.
+     */
+    public Set<Long> pollExpiredUsers(long nowMillis) {
+        synchronized (wheel) {
+            Set<Long> users = new HashSet<>(overdueUsers);
+            overdueUsers.clear();
+            wheel.advance(nowMillis, lot -> {
+                if (lot.remaining() > 0) {
+                    users.add(lot.userId());
+                }
+            });
+            return users;
+        }
+    }
+
+    /**
+     * 휠에서 이미 꺼낸 사용자를 다음 pollExpiredUsers 에서 다시 반환한다. (차감 저장에 실패한 경우)
+     */
+    public void retryExpiry(long userId) {
+        synchronized (wheel) {
+            overdueUsers.add(userId);
+        }
+    }
+
+    public int scheduledLotCount() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+
+    private void add(PointLot lot) {
+        lotsByUser.computeIfAbsent(lot.userId(), id -> new PriorityQueue<>(BY_EXPIRY)).add(lot);
+        synchronized (wheel) {
+            // 휠이 이미 지나간 만료 시각(만료 처리 직전에 송금된 lot 등)은 다음 처리에서 바로 확인한다.
+            if (!wheel.schedule(lot)) {
+                overdueUsers.add(lot.userId());
+            }
+        }
+    }
+
+    private void unschedule(PointLot lot) {
+        synchronized (wheel) {
+            wheel.cancel(lot);
+        }
+    }
+
+    private List<PointLot> take(long userId, long amount, boolean collect) {
+        PriorityQueue<PointLot> lots = lotsByUser.get(userId);
+        if (lots == null) {
+            return List.of();
+        }
+        List<PointLot> taken = collect ? new ArrayList<>() : List.of();
+        long left = amount;
+        while (left > 0 && !lots.isEmpty()) {
+            PointLot lot = lots.peek();
+            long takenAmount = lot.take(left);
+            left -= takenAmount;
+            if (collect) {
+                taken.add(new PointLot(userId, takenAmount, lot.expiresAtMillis()));
+            }
+            if (lot.remaining() == 0) {
+                unschedule(lots.poll());
+            }
+        }
+        if (lots.isEmpty()) {
+            lotsByUser.remove(userId);
+        }
+        return taken;
+    }
+}
@@ -0,0 +1,66 @@
+package io.hhplus.tdd.point.query;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 포인트 내역 조회 조건. null 인 조건은 적용하지 않는다.
+ *
+ * @param userId     특정 사용자의 내역만 조회한다. null 이면 전체 사용자가 대상이다.
+ * @param fromMillis updateMillis 하한 (포함)
+ * @param toMillis   updateMillis 상한 (제외)
+ * @param minAmount  금액 하한 (포함)
+ * @param maxAmount  금액 상한 (포함)
+ * @param sort       정렬 순서. 저장소는 이 순서로 앞의 limit 건만 남긴다.
+ * @param limit      반환할 최대 건수 (1 ~ MAX_LIMIT)
+ */
+public record HistoryQuery(
+        Long userId,
+        TransactionType type,
+        Long fromMillis,
+        Long toMillis,
+        Long minAmount,
+        Long maxAmount,
+        HistorySort sort,
+        int limit
+) {
+    public static final int MAX_LIMIT = 1_000;
+
+    public HistoryQuery {
+        if (sort == null) {
+            sort = HistorySort.OLDEST;
+        }
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ".");
+        }
+        if (fromMillis != null && toMillis != null && fromMillis >= toMillis) {
+            throw new IllegalArgumentException("fromMillis must be before toMillis.");
+        }
+        if (minAmount != null && maxAmount != null && minAmount > maxAmount) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount.");
+        }
+    }
+
+    public boolean matches(PointHistory history) {
+        return (userId == null || history.userId() == userId)
+                && (type == null || history.type() == type)
+                && (fromMillis == null || history.updateMillis() >= fromMillis)
+                && (toMillis == null || history.updateMillis() < toMillis)
+                && (minAmount == null || history.amount() >= minAmount)
+                && (maxAmount == null || history.amount() <= maxAmount);
+    }
+
+    /**
+     * updateMillis 가 [minMillis, maxMillis] 인 데이터 묶음에 조건을 만족하는 내역이 있을 수 있는지.
+     */
+    public boolean overlapsTime(long minMillis, long maxMillis) {
+        return (fromMillis == null || maxMillis >= fromMillis) && (toMillis == null || minMillis < toMillis);
+    }
+
+    /**
+     * 금액이 [min, max] 인 데이터 묶음에 조건을 만족하는 내역이 있을 수 있는지.
+     */
+    public boolean overlapsAmount(long min, long max) {
+        return (minAmount == null || max >= minAmount) && (maxAmount == null || min <= maxAmount);
+    }
+}
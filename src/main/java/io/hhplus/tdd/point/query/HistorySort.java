@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point.query;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.Comparator;
+
+/**
+ * 내역 조회 결과의 정렬 순서. 같은 값이면 id 순으로 정한다.
+ */
+public enum HistorySort {
+    OLDEST(Comparator.comparingLong(PointHistory::id)),
+    LATEST(Comparator.comparingLong(PointHistory::id).reversed()),
+    AMOUNT_DESC(Comparator.comparingLong(PointHistory::amount).reversed().thenComparingLong(PointHistory::id)),
+    AMOUNT_ASC(Comparator.comparingLong(PointHistory::amount).thenComparingLong(PointHistory::id));
+
+    private final Comparator<PointHistory> comparator;
+
+    HistorySort(Comparator<PointHistory> comparator) {
+        this.comparator = comparator;
+    }
+
+    public Comparator<PointHistory> comparator() {
+        return comparator;
+    }
+}
@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point.query;
+
+import io.hhplus.tdd.point.PointHistory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 정렬 순서상 앞쪽 limit 건만 남기는 크기 제한 힙.
+ * 힙의 머리는 지금까지 남긴 것 중 가장 뒤쪽 항목이므로, 새 항목은 그보다 앞일 때만 들어간다. (항목당 O(log limit))
+ * 한 스레드에서만 쓴다.
+ */
+public final class TopN {
+
+    private final Comparator<PointHistory> order;
+    private final int limit;
+    private final PriorityQueue<PointHistory> heap;
+
+    public TopN(HistoryQuery query) {
+        this.order = query.sort().comparator();
+        this.limit = query.limit();
+        this.heap = new PriorityQueue<>(Math.min(limit, 64) + 1, order.reversed());
+    }
+
+    public void offer(PointHistory history) {
+        if (heap.size() < limit) {
+            heap.add(history);
+        } else if (order.compare(history, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(history);
+        }
+    }
+
+    /**
+     * limit 건이 찼는지. 정렬 순서대로 들어오는 입력이면 이후 항목은 더 볼 필요가 없다.
+     */
+    public boolean isFull() {
+        return heap.size() >= limit;
+    }
+
+    public List<PointHistory> toList() {
+        List<PointHistory> result = new ArrayList<>(heap);
+        result.sort(order);
+        return result;
+    }
+}
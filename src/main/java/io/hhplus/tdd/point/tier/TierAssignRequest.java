@@ -0,0 +1,4 @@
+package io.hhplus.tdd.point.tier;
+
+public record TierAssignRequest(String tier) {
+}
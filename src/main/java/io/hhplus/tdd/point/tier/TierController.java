@@ -0,0 +1,35 @@
+package io.hhplus.tdd.point.tier;
+
+import io.hhplus.tdd.point.PointService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/point")
+@RequiredArgsConstructor
+public class TierController {
+    private final PointService pointService;
+    private final TierRuleEngine tierRuleEngine;
+
+    @GetMapping("tiers")
+    public List<TierProperties.Tier> tiers() {
+        return tierRuleEngine.tiers();
+    }
+
+    @GetMapping("{id}/tier")
+    public TierStatus tier(
+            @PathVariable("id") long id
+    ) {
+        return tierRuleEngine.status(id, System.currentTimeMillis());
+    }
+
+    @PutMapping("{id}/tier")
+    public TierStatus assign(
+            @PathVariable("id") long id,
+            @RequestBody TierAssignRequest request
+    ) {
+        return pointService.assignTier(id, request.tier());
+    }
+}
@@ -0,0 +1,58 @@
+package io.hhplus.tdd.point.tier;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 사용자 등급별 한도 설정
+ *
+ * @param definitions     등급 목록. 첫 번째 등급이 따로 지정하지 않은 사용자의 기본 등급이다. 비어 있으면 기존 한도(DEFAULT)만 쓴다.
+ * @param zone            일일 충전 한도의 날짜 경계를 정하는 시간대
+ * @param denseUserIds    userId 가 0 ~ denseUserIds-1 인 사용자의 등급은 byte 배열로 찾는다. 그 밖의 id 는 Map 으로 찾는다.
+ */
+@ConfigurationProperties(prefix = "point.tier")
+public record TierProperties(
+        List<Tier> definitions,
+        @DefaultValue("Asia/Seoul") ZoneId zone,
+        @DefaultValue("1048576") int denseUserIds
+) {
+    public static final Tier DEFAULT = new Tier("DEFAULT", UserPoint.MAX_TOTAL_POINT, 1, Long.MAX_VALUE, 0);
+
+    public TierProperties {
+        definitions = definitions == null || definitions.isEmpty() ? List.of(DEFAULT) : List.copyOf(definitions);
+        if (denseUserIds < 0) {
+            throw new IllegalArgumentException("point.tier.dense-user-ids must not be negative.");
+        }
+    }
+
+    /**
+     * @param maxBalance     충전/송금 받은 뒤 잔액 상한
+     * @param minAmount      한 번에 충전/사용/송금할 수 있는 최소 금액
+     * @param maxAmount      한 번에 충전/사용/송금할 수 있는 최대 금액
+     * @param dailyChargeCap 하루 동안 충전할 수 있는 금액의 합. 0 이면 제한하지 않는다. (송금 받은 금액은 포함하지 않는다)
+     */
+    public record Tier(
+            String name,
+            @DefaultValue("10000000") long maxBalance,
+            @DefaultValue("1") long minAmount,
+            @DefaultValue("9223372036854775807") long maxAmount,
+            @DefaultValue("0") long dailyChargeCap
+    ) {
+        public Tier {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("Tier name is required.");
+            }
+            if (minAmount <= 0 || maxAmount < minAmount || maxBalance <= 0 || dailyChargeCap < 0) {
+                throw new IllegalArgumentException("Invalid limits for tier " + name + ".");
+            }
+        }
+    }
+
+    public static TierProperties defaults() {
+        return new TierProperties(List.of(DEFAULT), ZoneId.of("Asia/Seoul"), 1024);
+    }
+}
@@ -0,0 +1,234 @@
+package io.hhplus.tdd.point.tier;
+
+import io.hhplus.tdd.exception.DailyChargeCapExceededException;
+import io.hhplus.tdd.exception.InvalidAmountException;
+import io.hhplus.tdd.point.UserPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 등급별 잔액/거래 금액/일일 충전 한도를 검사한다.
+ *
+ * - 등급 정의는 기동 시 한 번 등급 id(배열 인덱스) 별 long 배열로 컴파일한다. 검사 중에는 Map 조회나 객체 생성 없이 배열만 읽는다.
+ * - 사용자의 등급 id 는 denseUserIds 미만의 userId 면 byte 배열에서, 그 밖의 id 면 Map 에서 찾는다. 지정하지 않은 사용자는 0(첫 등급)이다.
+ * - 일일 충전 합계는 충전이 저장된 뒤 recordCharge 로 누적한다. 한도가 있는 등급의 사용자만 기록하며,
+ *   날짜가 바뀐 뒤 처음 기록할 때 지난 날짜의 합계를 한 번에 지운다.
+ * - charge/use/receive/recordCharge 는 PointService 가 해당 사용자의 락을 잡은 상태에서 부른다.
+ *   그래서 검사와 누적 사이에 같은 사용자의 다른 충전이 끼어들지 않는다.
+ */
+@Component
+public class TierRuleEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(TierRuleEngine.class);
+
+    private final List<TierProperties.Tier> tiers;
+    private final Map<String, Byte> tierIdsByName = new HashMap<>();
+    private final long[] maxBalance;
+    private final long[] minAmount;
+    private final long[] maxAmount;
+    private final long[] dailyChargeCap;
+
+    private final byte[] denseTierIds;
+    private final Map<Long, Byte> sparseTierIds = new ConcurrentHashMap<>();
+
+    private final ZoneId zone;
+    private volatile DayWindow today = new DayWindow(Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE);
+    private final Map<Long, DailyCharge> dailyCharges = new ConcurrentHashMap<>();
+    private final AtomicLong purgedDay = new AtomicLong(Long.MIN_VALUE);
+
+    public TierRuleEngine(TierProperties properties) {
+        this.tiers = properties.definitions();
+        if (tiers.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("At most " + Byte.MAX_VALUE + " tiers can be defined.");
+        }
+        int count = tiers.size();
+        this.maxBalance = new long[count];
+        this.minAmount = new long[count];
+        this.maxAmount = new long[count];
+        this.dailyChargeCap = new long[count];
+        for (int id = 0; id < count; id++) {
+            TierProperties.Tier tier = tiers.get(id);
+            if (tierIdsByName.put(tier.name(), (byte) id) != null) {
+                throw new IllegalArgumentException("Duplicate tier name: " + tier.name());
+            }
+            maxBalance[id] = tier.maxBalance();
+            minAmount[id] = tier.minAmount();
+            maxAmount[id] = tier.maxAmount();
+            dailyChargeCap[id] = tier.dailyChargeCap();
+        }
+        this.denseTierIds = new byte[properties.denseUserIds()];
+        this.zone = properties.zone();
+    }
+
+    public static TierRuleEngine defaults() {
+        return new TierRuleEngine(TierProperties.defaults());
+    }
+
+    public List<TierProperties.Tier> tiers() {
+        return tiers;
+    }
+
+    public void assign(long userId, String tierName) {
+        Byte tierId = tierIdsByName.get(tierName);
+        if (tierId == null) {
+            throw new IllegalArgumentException("Unknown tier: " + tierName);
+        }
+        if (userId >= 0 && userId < denseTierIds.length) {
+            denseTierIds[(int) userId] = tierId;
+        } else if (tierId == 0) {
+            sparseTierIds.remove(userId);
+        } else {
+            sparseTierIds.put(userId, tierId);
+        }
+    }
+
+    /**
+     * 사용자의 등급 지정과 일일 충전 합계를 지운다.
+     */
+    public void forget(long userId) {
+        if (userId >= 0 && userId < denseTierIds.length) {
+            denseTierIds[(int) userId] = 0;
+        } else {
+            sparseTierIds.remove(userId);
+        }
+        dailyCharges.remove(userId);
+    }
+
+    /**
+     * 다른 노드로 넘길 사용자의 등급과 일일 충전 합계
+     */
+    public TierSnapshot snapshot(long userId) {
+        DailyCharge charged = dailyCharges.get(userId);
+        return new TierSnapshot(tiers.get(tierIdOf(userId)).name(),
+                charged == null ? Long.MIN_VALUE : charged.day(), charged == null ? 0 : charged.amount());
+    }
+
+    /**
+     * 다른 노드에서 넘겨받은 등급을 지정하고 일일 충전 합계를 더한다.
+     * - 이 노드에 먼저 들어온 충전이 있으면 같은 날끼리 더하고, 날이 다르면 더 최근 날의 합계를 남긴다.
+     * - 이 노드에 없는 등급이면 등급은 그대로 두고 경고만 남긴다. (넘기기를 재시도해도 풀리지 않으므로 거절하지 않는다)
+     */
+    public void restore(long userId, TierSnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        if (tierIdsByName.containsKey(snapshot.tier())) {
+            assign(userId, snapshot.tier());
+        } else {
+            log.warn("Kept the current tier of user {} handed off with unknown tier {}", userId, snapshot.tier());
+        }
+        if (snapshot.chargedAmount() == 0) {
+            return;
+        }
+        dailyCharges.merge(userId, new DailyCharge(snapshot.chargedDay(), snapshot.chargedAmount()), (mine, theirs) ->
+                mine.day() == theirs.day() ? new DailyCharge(mine.day(), mine.amount() + theirs.amount())
+                        : mine.day() > theirs.day() ? mine : theirs);
+    }
+
+    public TierProperties.Tier tierOf(long userId) {
+        return tiers.get(tierIdOf(userId));
+    }
+
+    public TierStatus status(long userId, long nowMillis) {
+        int tierId = tierIdOf(userId);
+        long charged = chargedOn(userId, dayOf(nowMillis));
+        long cap = dailyChargeCap[tierId];
+        return new TierStatus(userId, tiers.get(tierId), charged, cap == 0 ? null : Math.max(0, cap - charged));
+    }
+
+    /**
+     * 충전 금액 범위, 일일 충전 한도, 등급의 잔액 상한을 검사하고 충전 후 잔액을 반환한다. 일일 합계는 바꾸지 않는다.
+     */
+    public UserPoint charge(UserPoint before, long amount, long nowMillis) {
+        int tierId = tierIdOf(before.id());
+        checkAmount(tierId, amount);
+        long cap = dailyChargeCap[tierId];
+        if (cap > 0 && amount > 0 && chargedOn(before.id(), dayOf(nowMillis)) + amount > cap) {
+            throw new DailyChargeCapExceededException("Daily charge cap of " + cap + " exceeded for tier " + tiers.get(tierId).name() + ".");
+        }
+        return before.charge(amount, maxBalance[tierId]);
+    }
+
+    /**
+     * 저장까지 끝난 충전을 그날의 충전 합계에 더한다.
+     */
+    public void recordCharge(long userId, long amount, long updateMillis) {
+        if (dailyChargeCap[tierIdOf(userId)] == 0) {
+            return;
+        }
+        long day = dayOf(updateMillis);
+        dailyCharges.compute(userId, (id, charged) ->
+                charged == null || charged.day() != day ? new DailyCharge(day, amount) : new DailyCharge(day, charged.amount() + amount));
+        long purged = purgedDay.get();
+        if (day > purged && purgedDay.compareAndSet(purged, day)) {
+            dailyCharges.values().removeIf(charged -> charged.day() < day);
+        }
+    }
+
+    public UserPoint use(UserPoint before, long amount) {
+        checkAmount(tierIdOf(before.id()), amount);
+        return before.use(amount);
+    }
+
+    /**
+     * 송금 받는 쪽. 금액 범위와 일일 충전 한도는 보내는 쪽에서만 보고, 받는 쪽은 등급의 잔액 상한만 본다.
+     */
+    public UserPoint receive(UserPoint before, long amount) {
+        return before.charge(amount, maxBalance[tierIdOf(before.id())]);
+    }
+
+    // 0 이하 금액은 UserPoint 가 기존 메시지로 거절한다.
+    private void checkAmount(int tierId, long amount) {
+        if (amount > 0 && (amount < minAmount[tierId] || amount > maxAmount[tierId])) {
+            throw new InvalidAmountException("Amount must be between " + minAmount[tierId] + " and " + maxAmount[tierId]
+                    + " for tier " + tiers.get(tierId).name() + ".");
+        }
+    }
+
+    private int tierIdOf(long userId) {
+        if (userId >= 0 && userId < denseTierIds.length) {
+            return denseTierIds[(int) userId];
+        }
+        Byte tierId = sparseTierIds.get(userId);
+        return tierId == null ? 0 : tierId;
+    }
+
+    private long chargedOn(long userId, long day) {
+        DailyCharge charged = dailyCharges.get(userId);
+        return charged == null || charged.day() != day ? 0 : charged.amount();
+    }
+
+    /**
+     * zone 기준 epoch day. 대부분의 호출은 캐시된 오늘 구간 안에 있으므로 시간대 계산 없이 비교만 한다.
+     */
+    private long dayOf(long millis) {
+        DayWindow window = today;
+        if (millis >= window.startMillis() && millis < window.endMillis()) {
+            return window.epochDay();
+        }
+        LocalDate date = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+        window = new DayWindow(date.toEpochDay(),
+                date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli());
+        if (window.epochDay() >= today.epochDay()) {
+            today = window;
+        }
+        return window.epochDay();
+    }
+
+    private record DayWindow(long epochDay, long startMillis, long endMillis) {
+    }
+
+    private record DailyCharge(long day, long amount) {
+    }
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.tier;
+
+/**
+ * 다른 노드로 넘기는 한 사용자의 등급과 일일 충전 합계
+ *
+ * @param chargedDay    chargedAmount 를 충전한 날(zone 기준 epoch day)
+ * @param chargedAmount 그날의 충전 합계. 기록이 없으면 0 이다.
+ */
+public record TierSnapshot(
+        String tier,
+        long chargedDay,
+        long chargedAmount
+) {
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point.tier;
+
+/**
+ * 사용자의 등급과 오늘 남은 충전 한도. dailyChargeCap 이 0 이면 remainingToday 는 null 이다.
+ */
+public record TierStatus(
+        long userId,
+        TierProperties.Tier tier,
+        long chargedToday,
+        Long remainingToday
+) {
+}
@@ -0,0 +1,112 @@
+package io.hhplus.tdd.ratelimit;
+
+import io.hhplus.tdd.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * PointService 작업의 동시 처리 수를 관측한 지연 시간에 맞춰 조정하고, 한도를 넘는 요청은 바로 거절한다.
+ * - 테이블이 느려져 지연 시간이 늘면 한도가 줄어 요청이 무한정 쌓이지 않고, 빨라지면 다시 늘어 처리량을 끌어올린다.
+ * - 한도 계산은 완료 시점마다 하되, 다른 스레드가 계산 중이면 그 표본은 건너뛴다. (완료 경로에서 락을 기다리지 않는다)
+ * - 거절은 ConcurrencyLimitExceededException(503, 재시도 가능)으로 응답된다.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final ConcurrencyLimitProperties properties;
+    private final LimitAlgorithm algorithm;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final Counter rejectedCounter;
+    private double estimatedLimit;
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.algorithm = switch (properties.algorithm()) {
+            case GRADIENT -> new GradientLimit(properties.tolerance(), properties.smoothing());
+            case AIMD -> new AimdLimit(properties.backoffRatio(), properties.latencyThreshold().toNanos());
+        };
+        this.estimatedLimit = properties.initialLimit();
+        this.limit = properties.initialLimit();
+        this.rejectedCounter = meterRegistry.counter("point.concurrency.rejected");
+        Gauge.builder("point.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit).register(meterRegistry);
+        Gauge.builder("point.concurrency.inflight", inflight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+
+    /**
+     * 처리 슬롯을 얻는다. 작업이 끝나면 반드시 Permit 을 닫아야 하며(try-with-resources), 닫을 때 지연 시간이 한도 계산에 반영된다.
+     */
+    public Permit acquire() {
+        return acquire(System.nanoTime());
+    }
+
+    Permit acquire(long nowNanos) {
+        if (!properties.enabled()) {
+            return Permit.NOOP;
+        }
+        while (true) {
+            int current = inflight.get();
+            if (current >= limit) {
+                rejectedCounter.increment();
+                throw ConcurrencyLimitExceededException.INSTANCE;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return new Permit(this, nowNanos, current + 1);
+            }
+        }
+    }
+
+    private void release(long rttNanos, int inflightAtStart) {
+        inflight.decrementAndGet();
+        if (!updateLock.tryLock()) {
+            return;
+        }
+        try {
+            double updated = algorithm.update(estimatedLimit, rttNanos, inflightAtStart);
+            estimatedLimit = Math.max(properties.minLimit(), Math.min(properties.maxLimit(), updated));
+            limit = (int) estimatedLimit;
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    public static final class Permit implements AutoCloseable {
+
+        private static final Permit NOOP = new Permit(null, 0, 0);
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long startNanos;
+        private final int inflightAtStart;
+
+        private Permit(AdaptiveConcurrencyLimiter limiter, long startNanos, int inflightAtStart) {
+            this.limiter = limiter;
+            this.startNanos = startNanos;
+            this.inflightAtStart = inflightAtStart;
+        }
+
+        @Override
+        public void close() {
+            release(System.nanoTime());
+        }
+
+        void release(long nowNanos) {
+            if (limiter != null) {
+                limiter.release(nowNanos - startNanos, inflightAtStart);
+            }
+        }
+    }
+}
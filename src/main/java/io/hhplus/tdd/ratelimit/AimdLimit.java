@@ -0,0 +1,26 @@
+package io.hhplus.tdd.ratelimit;
+
+/**
+ * 지연 시간이 기준을 넘으면 한도를 backoffRatio 배로 줄이고, 아니면 한도를 절반 이상 쓰고 있을 때 1씩 늘린다.
+ */
+final class AimdLimit implements LimitAlgorithm {
+
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    AimdLimit(double backoffRatio, long latencyThresholdNanos) {
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+    }
+
+    @Override
+    public double update(double limit, long rttNanos, int inflight) {
+        if (rttNanos > latencyThresholdNanos) {
+            return limit * backoffRatio;
+        }
+        if (inflight * 2 >= limit) {
+            return limit + 1;
+        }
+        return limit;
+    }
+}
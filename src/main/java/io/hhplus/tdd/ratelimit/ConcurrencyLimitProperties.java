@@ -0,0 +1,37 @@
+package io.hhplus.tdd.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * PointService 동시 처리 한도 설정
+ *
+ * @param algorithm        GRADIENT: 부하 없는 지연 시간 대비 최근 지연 시간 비율로 한도를 조정, AIMD: latencyThreshold 를 넘으면 줄이고 아니면 1씩 늘림
+ * @param initialLimit     기동 직후 한도
+ * @param tolerance        GRADIENT 에서 최근 지연 시간이 부하 없는 지연 시간의 몇 배까지 늘어나도 한도를 줄이지 않을지
+ * @param smoothing        GRADIENT 에서 새로 계산한 한도를 반영하는 비율 (0~1)
+ * @param backoffRatio     AIMD 에서 지연 시간이 기준을 넘었을 때 한도에 곱하는 값
+ * @param latencyThreshold AIMD 에서 한도를 줄이는 지연 시간 기준
+ */
+@ConfigurationProperties(prefix = "point.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("GRADIENT") Algorithm algorithm,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("1000") int maxLimit,
+        @DefaultValue("2.0") double tolerance,
+        @DefaultValue("0.2") double smoothing,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("1s") Duration latencyThreshold
+) {
+    public enum Algorithm {
+        GRADIENT, AIMD
+    }
+
+    public static ConcurrencyLimitProperties disabled() {
+        return new ConcurrencyLimitProperties(false, Algorithm.GRADIENT, 1, 1, 1, 2.0, 0.2, 0.9, Duration.ofSeconds(1));
+    }
+}
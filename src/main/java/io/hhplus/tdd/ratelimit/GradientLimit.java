@@ -0,0 +1,64 @@
+package io.hhplus.tdd.ratelimit;
+
+/**
+ * 부하가 없을 때의 지연 시간(noLoadRtt) 대비 최근 평균 지연 시간이 늘어난 비율만큼 한도를 줄이고,
+ * 비슷하면 sqrt(limit) 만큼 여유를 더해 한도를 늘려 본다. 수렴하면 대기열이 생기기 시작하는 동시 처리 수 근처에 머문다.
+ * - 최근 평균은 약 10건을 반영하는 지수 이동 평균이다.
+ * - 테이블이 영구적으로 느려지거나 빨라지는 경우를 따라가도록, PROBE_INTERVAL 건마다 한도를 sqrt(limit) 로 낮추고
+ *   낮춘 한도 안에서 시작된 요청 PROBE_SAMPLES 건의 최소 지연 시간으로 noLoadRtt 를 다시 잰다.
+ *   부하가 걸린 상태의 지연 시간을 기준으로 삼으면 한도가 계속 커지기만 하므로, 잠시 처리량을 낮춰서라도 부하 없는 값을 잰다.
+ * - 처리 중인 요청이 한도의 절반도 안 되면 한도를 다 쓰지 않는 상태이므로 한도를 바꾸지 않는다.
+ */
+final class GradientLimit implements LimitAlgorithm {
+
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);
+    private static final double MIN_GRADIENT = 0.5;
+    private static final int PROBE_INTERVAL = 1_000;
+    private static final int PROBE_SAMPLES = 20;
+
+    private final double tolerance;
+    private final double smoothing;
+    private double shortRtt;
+    private long noLoadRtt;
+    private int samplesSinceProbe;
+    private boolean probing;
+    private int probeSamples;
+    private long probeMinRtt;
+
+    GradientLimit(double tolerance, double smoothing) {
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+    }
+
+    @Override
+    public double update(double limit, long rttNanos, int inflight) {
+        shortRtt = shortRtt == 0 ? rttNanos : shortRtt + (rttNanos - shortRtt) * SHORT_ALPHA;
+        if (probing) {
+            // 한도를 낮추기 전에 시작된 요청은 부하 상태의 지연 시간이므로 제외한다.
+            if (inflight <= limit) {
+                probeMinRtt = Math.min(probeMinRtt, rttNanos);
+                if (++probeSamples >= PROBE_SAMPLES) {
+                    noLoadRtt = probeMinRtt;
+                    probing = false;
+                }
+            }
+            return limit;
+        }
+
+        noLoadRtt = noLoadRtt == 0 ? rttNanos : Math.min(noLoadRtt, rttNanos);
+        if (++samplesSinceProbe >= PROBE_INTERVAL) {
+            samplesSinceProbe = 0;
+            probing = true;
+            probeSamples = 0;
+            probeMinRtt = Long.MAX_VALUE;
+            return Math.sqrt(limit);
+        }
+        if (inflight < limit / 2) {
+            return limit;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * noLoadRtt / shortRtt));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        return limit * (1 - smoothing) + newLimit * smoothing;
+    }
+}
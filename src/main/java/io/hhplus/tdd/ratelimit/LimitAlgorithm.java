@@ -0,0 +1,14 @@
+package io.hhplus.tdd.ratelimit;
+
+/**
+ * 완료된 요청 하나의 지연 시간으로 다음 동시 처리 한도를 계산한다. 호출은 한 번에 한 스레드에서만 일어난다.
+ */
+interface LimitAlgorithm {
+
+    /**
+     * @param limit    현재 한도
+     * @param rttNanos 완료된 요청의 처리 시간
+     * @param inflight 그 요청이 시작될 때 처리 중이던 요청 수 (자신 포함)
+     */
+    double update(double limit, long rttNanos, int inflight);
+}
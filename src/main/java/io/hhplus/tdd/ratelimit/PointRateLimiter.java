@@ -0,0 +1,99 @@
+package io.hhplus.tdd.ratelimit;
+
+import io.hhplus.tdd.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 + 전역 토큰 버킷으로 포인트 변경 요청을 제한한다.
+ * - 락 획득이나 테이블 조회 전에 호출되어, 한도를 넘은 요청은 즉시 RateLimitExceededException 으로 거절된다.
+ * - 사용자 한도를 먼저 확인하므로, 한 사용자의 폭주 요청이 전역 토큰을 소모하지 않는다.
+ * - 사용자별 버킷 수는 maxTrackedUsers 로 제한되며, 한도에 닿으면 가득 찬(유휴) 버킷을 정리한다.
+ *   정리 후에도 여유가 없으면 새 사용자에게는 전역 한도만 적용한다.
+ */
+@Component
+public class PointRateLimiter {
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long NEVER_SWEPT = Long.MIN_VALUE;
+
+    private final RateLimitProperties properties;
+    private final TokenBucket globalBucket;
+    private final Map<Long, TokenBucket> userBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong lastSweepNanos = new AtomicLong(NEVER_SWEPT);
+
+    private final Counter allowedCounter;
+    private final Counter userRejectedCounter;
+    private final Counter globalRejectedCounter;
+    private final Counter evictedCounter;
+
+    public PointRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.globalBucket = new TokenBucket(properties.globalPermitsPerSecond(), properties.globalBurst());
+
+        this.allowedCounter = meterRegistry.counter("point.ratelimit.requests", "result", "allowed");
+        this.userRejectedCounter = meterRegistry.counter("point.ratelimit.requests", "result", "rejected", "scope", "user");
+        this.globalRejectedCounter = meterRegistry.counter("point.ratelimit.requests", "result", "rejected", "scope", "global");
+        this.evictedCounter = meterRegistry.counter("point.ratelimit.evicted.buckets");
+        Gauge.builder("point.ratelimit.tracked.users", userBuckets, Map::size).register(meterRegistry);
+    }
+
+    public void acquire(long userId) {
+        acquire(userId, System.nanoTime());
+    }
+
+    void acquire(long userId, long nowNanos) {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        TokenBucket userBucket = userBucket(userId, nowNanos);
+        if (userBucket != null && !userBucket.tryAcquire(nowNanos)) {
+            userRejectedCounter.increment();
+            throw new RateLimitExceededException("Too many requests for this user.", userBucket.nanosUntilAvailable(nowNanos));
+        }
+        if (!globalBucket.tryAcquire(nowNanos)) {
+            globalRejectedCounter.increment();
+            throw new RateLimitExceededException("Too many requests.", globalBucket.nanosUntilAvailable(nowNanos));
+        }
+        allowedCounter.increment();
+    }
+
+    public int trackedUserCount() {
+        return userBuckets.size();
+    }
+
+    private TokenBucket userBucket(long userId, long nowNanos) {
+        TokenBucket bucket = userBuckets.get(userId);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (userBuckets.size() >= properties.maxTrackedUsers()) {
+            evictFullBuckets(nowNanos);
+            if (userBuckets.size() >= properties.maxTrackedUsers()) {
+                return null;
+            }
+        }
+        return userBuckets.computeIfAbsent(userId,
+                id -> new TokenBucket(properties.userPermitsPerSecond(), properties.userBurst()));
+    }
+
+    // 여러 스레드가 동시에 한도에 닿아도 정리는 SWEEP_INTERVAL 마다 한 스레드만 수행한다.
+    private void evictFullBuckets(long nowNanos) {
+        long last = lastSweepNanos.get();
+        boolean sweptRecently = last != NEVER_SWEPT && nowNanos - last < SWEEP_INTERVAL_NANOS;
+        if (sweptRecently || !lastSweepNanos.compareAndSet(last, nowNanos)) {
+            return;
+        }
+        int before = userBuckets.size();
+        userBuckets.values().removeIf(bucket -> bucket.isFull(nowNanos));
+        evictedCounter.increment(Math.max(0, before - userBuckets.size()));
+    }
+}
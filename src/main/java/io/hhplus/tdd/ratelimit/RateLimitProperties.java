@@ -0,0 +1,23 @@
+package io.hhplus.tdd.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 포인트 변경 요청(charge/use/transfer)에 적용하는 처리율 한도
+ *
+ * @param maxTrackedUsers 사용자별 버킷을 유지하는 최대 사용자 수. 넘으면 가득 찬(유휴) 버킷부터 제거한다.
+ */
+@ConfigurationProperties(prefix = "point.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("20") double userPermitsPerSecond,
+        @DefaultValue("40") int userBurst,
+        @DefaultValue("2000") double globalPermitsPerSecond,
+        @DefaultValue("4000") int globalBurst,
+        @DefaultValue("100000") int maxTrackedUsers
+) {
+    public static RateLimitProperties disabled() {
+        return new RateLimitProperties(false, 1, 1, 1, 1, 1);
+    }
+}
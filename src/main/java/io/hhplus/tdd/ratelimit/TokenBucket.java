@@ -0,0 +1,60 @@
+package io.hhplus.tdd.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 락 없이 동작하는 토큰 버킷.
+ * - 남은 토큰 수와 마지막 충전 시각을 따로 두는 대신, "버킷이 다시 가득 차는 시각" 하나만 AtomicLong 으로 관리한다. (GCRA)
+ * - 토큰 하나를 꺼낼 때마다 그 시각을 토큰 간격만큼 뒤로 미루고, 현재 시각보다 용량 이상 앞서 나가면 거절한다.
+ * - 상태가 long 하나이므로 CAS 한 번으로 판정과 갱신이 끝난다.
+ */
+public final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final AtomicLong fullAtNanos;
+
+    // 한 번도 사용하지 않은(가득 찬) 상태
+    private static final long FULL = Long.MIN_VALUE;
+
+    public TokenBucket(double permitsPerSecond, int capacity) {
+        if (permitsPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Rate and capacity must be > 0.");
+        }
+        this.nanosPerToken = Math.max(1L, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.capacityNanos = nanosPerToken * capacity;
+        this.fullAtNanos = new AtomicLong(FULL);
+    }
+
+    public boolean tryAcquire(long nowNanos) {
+        while (true) {
+            long fullAt = fullAtNanos.get();
+            long next = notBefore(fullAt, nowNanos) + nanosPerToken;
+            if (next - nowNanos > capacityNanos) {
+                return false;
+            }
+            if (fullAtNanos.compareAndSet(fullAt, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 다음 토큰을 얻을 수 있을 때까지 남은 시간
+     */
+    public long nanosUntilAvailable(long nowNanos) {
+        return Math.max(0L, notBefore(fullAtNanos.get(), nowNanos) + nanosPerToken - capacityNanos - nowNanos);
+    }
+
+    /**
+     * 가득 찬 버킷은 새로 만든 버킷과 구별되지 않으므로, 제거해도 한도 판정이 달라지지 않는다.
+     */
+    public boolean isFull(long nowNanos) {
+        return notBefore(fullAtNanos.get(), nowNanos) == nowNanos;
+    }
+
+    private static long notBefore(long fullAt, long nowNanos) {
+        return fullAt == FULL ? nowNanos : Math.max(fullAt, nowNanos);
+    }
+}
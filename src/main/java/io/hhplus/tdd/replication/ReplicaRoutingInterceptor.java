@@ -0,0 +1,54 @@
+package io.hhplus.tdd.replication;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 복제 노드에서 /point/** 요청을 거른다.
+ * - 쓰기 요청은 주 노드 주소로 307 응답한다.
+ * - 조회 요청에 시퀀스 토큰이 있으면 그 시퀀스까지 반영되기를 기다리고, 시간 안에 반영되지 않으면 주 노드로 307 응답한다.
+ */
+public class ReplicaRoutingInterceptor implements HandlerInterceptor {
+
+    private final ReplicationProperties properties;
+    private final ReplicaSynchronizer replicaSynchronizer;
+
+    public ReplicaRoutingInterceptor(ReplicationProperties properties, ReplicaSynchronizer replicaSynchronizer) {
+        this.properties = properties;
+        this.replicaSynchronizer = replicaSynchronizer;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!replicaSynchronizer.isEnabled()) {
+            return true;
+        }
+        if (!"GET".equals(request.getMethod())) {
+            redirectToPrimary(request, response);
+            return false;
+        }
+
+        String token = request.getHeader(ReplicationLog.SEQ_HEADER);
+        if (token == null) {
+            return true;
+        }
+        long seq;
+        try {
+            seq = Long.parseLong(token.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + ReplicationLog.SEQ_HEADER + " header.");
+        }
+        if (replicaSynchronizer.awaitApplied(seq, properties.readYourWritesTimeout().toMillis())) {
+            return true;
+        }
+        redirectToPrimary(request, response);
+        return false;
+    }
+
+    private void redirectToPrimary(HttpServletRequest request, HttpServletResponse response) {
+        String pathAndQuery = request.getRequestURI() + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+        response.setStatus(307);
+        response.setHeader("Location", properties.primaryUrl() + pathAndQuery);
+    }
+}
@@ -0,0 +1,250 @@
+package io.hhplus.tdd.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.exception.NodeUnavailableException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 복제 노드에서 주 노드의 변경 로그를 받아 자신의 테이블에 적용한다.
+ * - 처음이거나 로그를 이어 받을 수 없으면 스냅샷을 받고, 이후에는 마지막으로 적용한 시퀀스 다음부터 long polling 으로 받는다.
+ * - 스냅샷은 시퀀스를 먼저 정한 뒤 테이블을 읽으므로, 직후 레코드 일부가 이미 스냅샷에 들어 있을 수 있다.
+ *   사용자별 내역 id 는 커밋 순서대로 증가하므로, 사용자별로 마지막 적용한 내역 id 이하인 레코드는 건너뛴다.
+ * - 받아 온 묶음은 사용자별 마지막 잔액과 새 내역만 한 번에 반영한다.
+ * - awaitApplied 로 읽기 요청이 자신이 쓴 시퀀스까지 반영되기를 기다릴 수 있다. (read-your-writes)
+ */
+@Component
+public class ReplicaSynchronizer {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaSynchronizer.class);
+    private static final long NOT_SYNCED = -1L;
+
+    private final ReplicationProperties properties;
+    private final UserPointTable userPointTable;
+    private final PointHistoryTable pointHistoryTable;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Map<Long, Long> lastHistoryIdByUser = new HashMap<>();
+
+    private volatile Thread worker;
+    private volatile long epoch;
+    private volatile long appliedSeq = NOT_SYNCED;
+    private volatile long primarySeq;
+    private volatile long caughtUpMillis = System.currentTimeMillis();
+
+    public ReplicaSynchronizer(ReplicationProperties properties,
+                               UserPointTable userPointTable,
+                               PointHistoryTable pointHistoryTable,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.userPointTable = userPointTable;
+        this.pointHistoryTable = pointHistoryTable;
+        this.objectMapper = objectMapper;
+        this.httpClient = isEnabled()
+                ? HttpClient.newBuilder().connectTimeout(properties.requestTimeout()).build()
+                : null;
+        if (isEnabled()) {
+            Gauge.builder("point.replication.lag.records", this, synchronizer -> synchronizer.status().lagRecords())
+                    .register(meterRegistry);
+            Gauge.builder("point.replication.lag.millis", this, synchronizer -> synchronizer.status().lagMillis())
+                    .register(meterRegistry);
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.role() == ReplicationProperties.Role.REPLICA;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!isEnabled()) {
+            return;
+        }
+        worker = new Thread(this::run, "point-replica-sync");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        Thread current = worker;
+        worker = null;
+        if (current != null) {
+            current.interrupt();
+            current.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public long appliedSeq() {
+        return appliedSeq;
+    }
+
+    public ReplicationStatus status() {
+        long applied = Math.max(appliedSeq, 0);
+        long lagRecords = Math.max(primarySeq - applied, 0);
+        long lagMillis = lagRecords == 0 && appliedSeq != NOT_SYNCED ? 0 : System.currentTimeMillis() - caughtUpMillis;
+        return new ReplicationStatus(properties.role(), epoch, applied, primarySeq, lagRecords, lagMillis);
+    }
+
+    /**
+     * seq 까지 적용될 때까지 최대 timeout 동안 기다리고, 적용되었는지 반환한다.
+     */
+    public boolean awaitApplied(long seq, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (this) {
+            long remaining;
+            while (appliedSeq < seq) {
+                remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+    }
+
+    private void run() {
+        while (worker == Thread.currentThread()) {
+            try {
+                if (appliedSeq == NOT_SYNCED) {
+                    loadSnapshot(fetch("/internal/replication/snapshot", ReplicationSnapshot.class));
+                    continue;
+                }
+                ReplicationBatch batch = fetch("/internal/replication/log?after=" + appliedSeq
+                        + "&limit=" + properties.batchSize()
+                        + "&waitMillis=" + properties.pollWait().toMillis(), ReplicationBatch.class);
+                if (batch.snapshotRequired() || batch.epoch() != epoch) {
+                    log.info("Replication log cannot be continued from seq {}, reloading snapshot", appliedSeq);
+                    appliedSeq = NOT_SYNCED;
+                    continue;
+                }
+                apply(batch);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Failed to replicate from {}: {}", properties.primaryUrl(), e.getMessage());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(properties.retryBackoff().toMillis());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void loadSnapshot(ReplicationSnapshot snapshot) {
+        Set<Long> userIds = snapshot.userPoints().stream().map(UserPoint::id).collect(Collectors.toSet());
+        for (UserPoint stale : userPointTable.selectAll()) {
+            if (!userIds.contains(stale.id())) {
+                userPointTable.deleteById(stale.id());
+                pointHistoryTable.deleteAllByUserId(stale.id());
+            }
+        }
+        userIds.forEach(pointHistoryTable::deleteAllByUserId);
+        userPointTable.insertOrUpdateAll(snapshot.userPoints());
+        pointHistoryTable.insertAll(snapshot.histories());
+
+        lastHistoryIdByUser.clear();
+        snapshot.histories().forEach(history -> lastHistoryIdByUser.merge(history.userId(), history.id(), Math::max));
+        epoch = snapshot.epoch();
+        primarySeq = snapshot.seq();
+        markApplied(snapshot.seq());
+        log.info("Loaded replication snapshot at seq {} ({} users)", snapshot.seq(), userIds.size());
+    }
+
+    private void apply(ReplicationBatch batch) {
+        primarySeq = batch.lastSeq();
+        if (batch.records().isEmpty()) {
+            markApplied(appliedSeq);
+            return;
+        }
+
+        Map<Long, UserPoint> latestPoints = new LinkedHashMap<>();
+        List<PointHistory> newHistories = new ArrayList<>();
+        for (ReplicationRecord record : batch.records()) {
+            PointHistory history = record.history();
+            if (record.deleted()) {
+                deleteUser(record.userPoint().id(), latestPoints, newHistories);
+                continue;
+            }
+            if (history == null) {
+                latestPoints.put(record.userPoint().id(), record.userPoint());
+                continue;
+            }
+            long lastHistoryId = lastHistoryIdByUser.getOrDefault(history.userId(), 0L);
+            if (history.id() <= lastHistoryId) {
+                continue;
+            }
+            lastHistoryIdByUser.put(history.userId(), history.id());
+            latestPoints.put(record.userPoint().id(), record.userPoint());
+            newHistories.add(history);
+        }
+        if (!latestPoints.isEmpty()) {
+            userPointTable.insertOrUpdateAll(latestPoints.values());
+            pointHistoryTable.insertAll(newHistories);
+        }
+        markApplied(batch.records().get(batch.records().size() - 1).seq());
+    }
+
+    /**
+     * 같은 배치에서 앞서 모은 이 사용자의 변경은 버리고 바로 지운다. 다른 사용자의 변경과는 겹치지 않으므로 순서는 상관없다.
+     */
+    private void deleteUser(long userId, Map<Long, UserPoint> latestPoints, List<PointHistory> newHistories) {
+        latestPoints.remove(userId);
+        newHistories.removeIf(history -> history.userId() == userId);
+        userPointTable.deleteById(userId);
+        pointHistoryTable.deleteAllByUserId(userId);
+        lastHistoryIdByUser.remove(userId);
+    }
+
+    private void markApplied(long seq) {
+        synchronized (this) {
+            appliedSeq = seq;
+            notifyAll();
+        }
+        if (seq >= primarySeq) {
+            caughtUpMillis = System.currentTimeMillis();
+        }
+    }
+
+    private <T> T fetch(String pathAndQuery, Class<T> type) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(properties.primaryUrl() + pathAndQuery))
+                .timeout(properties.requestTimeout().plus(properties.pollWait()))
+                .GET()
+                .build();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 != 2) {
+                throw new NodeUnavailableException("Primary responded with status " + response.statusCode(), null);
+            }
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new NodeUnavailableException("Primary is unavailable: " + properties.primaryUrl(), e);
+        }
+    }
+}
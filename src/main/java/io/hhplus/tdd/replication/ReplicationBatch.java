@@ -0,0 +1,16 @@
+package io.hhplus.tdd.replication;
+
+import java.util.List;
+
+/**
+ * @param epoch            주 노드 기동 시 정해지는 값. 바뀌었다면 주 노드가 재시작된 것이므로 스냅샷부터 다시 받아야 한다.
+ * @param lastSeq          응답 시점에 주 노드가 가진 마지막 시퀀스
+ * @param snapshotRequired 요청한 시퀀스 이후의 레코드가 이미 로그에서 밀려나 이어 받을 수 없는 경우 true
+ */
+public record ReplicationBatch(
+        long epoch,
+        long lastSeq,
+        boolean snapshotRequired,
+        List<ReplicationRecord> records
+) {
+}
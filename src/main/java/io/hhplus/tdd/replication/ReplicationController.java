@@ -0,0 +1,39 @@
+package io.hhplus.tdd.replication;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 복제용 내부 API. 외부에 노출하지 않는 것을 전제로 한다.
+ */
+@RestController
+@RequestMapping("/internal/replication")
+@RequiredArgsConstructor
+public class ReplicationController {
+    private final ReplicationProperties replicationProperties;
+    private final ReplicationLog replicationLog;
+    private final ReplicaSynchronizer replicaSynchronizer;
+
+    @GetMapping("log")
+    public ReplicationBatch log(
+            @RequestParam("after") long after,
+            @RequestParam(value = "limit", defaultValue = "1000") int limit,
+            @RequestParam(value = "waitMillis", defaultValue = "0") long waitMillis
+    ) throws InterruptedException {
+        return replicationLog.readAfter(after, Math.min(limit, replicationProperties.batchSize()), waitMillis);
+    }
+
+    @GetMapping("snapshot")
+    public ReplicationSnapshot snapshot() {
+        return replicationLog.snapshot();
+    }
+
+    @GetMapping("status")
+    public ReplicationStatus status() {
+        if (replicaSynchronizer.isEnabled()) {
+            return replicaSynchronizer.status();
+        }
+        long lastSeq = replicationLog.lastSeq();
+        return new ReplicationStatus(replicationProperties.role(), replicationLog.epoch(), lastSeq, lastSeq, 0, 0);
+    }
+}
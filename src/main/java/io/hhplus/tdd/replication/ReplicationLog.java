@@ -0,0 +1,118 @@
+package io.hhplus.tdd.replication;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주 노드에서 커밋된 변경을 순서대로 보관하는 고정 크기 링 버퍼.
+ * - PointService 가 사용자 락을 잡은 채 테이블 쓰기 직후 append 하므로, 같은 사용자의 레코드는 커밋 순서대로 시퀀스가 붙는다.
+ * - 복제 노드는 readAfter 로 마지막으로 받은 시퀀스 이후를 가져간다. 새 레코드가 없으면 wait 만큼 기다렸다가 응답한다.
+ * - 용량을 넘으면 오래된 레코드부터 덮어쓰며, 그보다 뒤처진 복제 노드는 스냅샷부터 다시 받는다.
+ * - PRIMARY 가 아니면 아무것도 보관하지 않는다.
+ */
+@Component
+public class ReplicationLog {
+
+    /**
+     * 응답에는 이 노드에 반영된 마지막 시퀀스가 담기고, 요청에 담아 보내면 복제 노드가 그 시퀀스까지 반영된 뒤 응답한다.
+     */
+    public static final String SEQ_HEADER = "X-Point-Replication-Seq";
+
+    private final UserPointTable userPointTable;
+    private final PointHistoryTable pointHistoryTable;
+    private final boolean enabled;
+    private final long epoch = System.currentTimeMillis();
+    private final ReplicationRecord[] ring;
+    private long lastSeq;
+
+    public ReplicationLog(ReplicationProperties properties, UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+        this.userPointTable = userPointTable;
+        this.pointHistoryTable = pointHistoryTable;
+        this.enabled = properties.role() == ReplicationProperties.Role.PRIMARY;
+        this.ring = new ReplicationRecord[enabled ? properties.logCapacity() : 0];
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * history 는 null 일 수 있다. (내역 없이 잔액만 바뀐 경우)
+     */
+    public void append(UserPoint userPoint, PointHistory history) {
+        append(userPoint, history, false);
+    }
+
+    /**
+     * 사용자의 잔액과 내역이 모두 지워졌음을 기록한다.
+     */
+    public void appendDeletion(long userId) {
+        append(UserPoint.empty(userId), null, true);
+    }
+
+    private void append(UserPoint userPoint, PointHistory history, boolean deleted) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            long seq = ++lastSeq;
+            ring[(int) (seq % ring.length)] = new ReplicationRecord(seq, userPoint, history, deleted);
+            notifyAll();
+        }
+    }
+
+    public synchronized long lastSeq() {
+        return lastSeq;
+    }
+
+    public ReplicationBatch readAfter(long afterSeq, int limit, long waitMillis) throws InterruptedException {
+        requireEnabled();
+        synchronized (this) {
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitMillis);
+            long remaining;
+            while (afterSeq == lastSeq && (remaining = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+
+            long firstSeq = Math.max(1, lastSeq - ring.length + 1);
+            if (afterSeq > lastSeq || afterSeq + 1 < firstSeq) {
+                return new ReplicationBatch(epoch, lastSeq, true, List.of());
+            }
+            long toSeq = Math.min(lastSeq, afterSeq + limit);
+            List<ReplicationRecord> records = new ArrayList<>((int) (toSeq - afterSeq));
+            for (long seq = afterSeq + 1; seq <= toSeq; seq++) {
+                records.add(ring[(int) (seq % ring.length)]);
+            }
+            return new ReplicationBatch(epoch, lastSeq, false, records);
+        }
+    }
+
+    /**
+     * 시퀀스를 먼저 정하고 내역, 잔액 순으로 읽는다.
+     * 그 사이 커밋된 변경은 스냅샷과 이후 레코드 양쪽에 있을 수 있으며, 복제 노드가 내역 id 로 걸러 낸다.
+     */
+    public ReplicationSnapshot snapshot() {
+        requireEnabled();
+        long seq = lastSeq();
+        List<PointHistory> histories = pointHistoryTable.selectAllUpdatedBefore(Long.MAX_VALUE);
+        List<UserPoint> userPoints = userPointTable.selectAll();
+        return new ReplicationSnapshot(epoch, seq, userPoints, histories);
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new IllegalArgumentException("Replication log is only available on the primary.");
+        }
+    }
+}
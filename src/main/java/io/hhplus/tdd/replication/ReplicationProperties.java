@@ -0,0 +1,46 @@
+package io.hhplus.tdd.replication;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 주/복제 노드 복제 설정
+ *
+ * @param role                  STANDALONE: 복제하지 않음, PRIMARY: 변경 로그를 남기고 제공, REPLICA: 주 노드의 로그를 받아 적용하고 조회만 처리
+ * @param primaryUrl            REPLICA 가 로그를 받아 올 주 노드 주소. 쓰기 요청도 이 주소로 307 응답한다.
+ * @param logCapacity           주 노드가 메모리에 보관하는 최근 변경 레코드 수. 이보다 뒤처진 복제 노드는 스냅샷부터 다시 받는다.
+ * @param batchSize             복제 노드가 한 번에 받아 오는 최대 레코드 수
+ * @param pollWait              새 레코드가 없을 때 주 노드가 응답을 보류하는 최대 시간 (long polling)
+ * @param retryBackoff          주 노드 호출 실패 후 다시 시도하기까지 기다리는 시간
+ * @param readYourWritesTimeout 복제 노드가 요청의 시퀀스 토큰까지 적용되기를 기다리는 최대 시간. 넘으면 주 노드로 307 응답한다.
+ */
+@ConfigurationProperties(prefix = "point.replication")
+public record ReplicationProperties(
+        @DefaultValue("STANDALONE") Role role,
+        String primaryUrl,
+        @DefaultValue("100000") int logCapacity,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("1s") Duration pollWait,
+        @DefaultValue("1s") Duration retryBackoff,
+        @DefaultValue("500ms") Duration readYourWritesTimeout,
+        @DefaultValue("5s") Duration requestTimeout
+) {
+    public enum Role {
+        STANDALONE, PRIMARY, REPLICA
+    }
+
+    public ReplicationProperties {
+        if (role == Role.REPLICA && (primaryUrl == null || primaryUrl.isBlank())) {
+            throw new IllegalArgumentException("point.replication.primary-url is required for a replica.");
+        }
+        if (primaryUrl != null && primaryUrl.endsWith("/")) {
+            primaryUrl = primaryUrl.substring(0, primaryUrl.length() - 1);
+        }
+    }
+
+    public static ReplicationProperties standalone() {
+        return new ReplicationProperties(Role.STANDALONE, null, 1, 1, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1));
+    }
+}
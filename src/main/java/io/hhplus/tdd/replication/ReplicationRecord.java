@@ -0,0 +1,18 @@
+package io.hhplus.tdd.replication;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 주 노드에서 커밋된 한 사용자의 변경. 변경 후 잔액과 그 변경으로 추가된 내역을 함께 담는다.
+ * 잔액은 증감이 아닌 절대값이므로, 같은 레코드를 다시 적용해도 결과가 같다.
+ * - history 가 null 이면 내역 없이 잔액만 바뀐 레코드다. (내역 없이 넘겨받은 잔액 등)
+ * - deleted 이면 사용자의 잔액과 내역을 모두 지운 레코드다.
+ */
+public record ReplicationRecord(
+        long seq,
+        UserPoint userPoint,
+        PointHistory history,
+        boolean deleted
+) {
+}
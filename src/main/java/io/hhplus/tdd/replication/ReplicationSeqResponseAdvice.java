@@ -0,0 +1,41 @@
+package io.hhplus.tdd.replication;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * /point/** 응답에 이 노드에 반영된 마지막 시퀀스를 담는다.
+ * 주 노드의 쓰기 응답에 담긴 값은 그 쓰기 이후의 시퀀스이므로, 클라이언트가 복제 노드 조회 시 그대로 보내면 자신의 쓰기를 읽을 수 있다.
+ */
+@ControllerAdvice
+public class ReplicationSeqResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final ReplicationLog replicationLog;
+    private final ReplicaSynchronizer replicaSynchronizer;
+
+    public ReplicationSeqResponseAdvice(ReplicationLog replicationLog, ReplicaSynchronizer replicaSynchronizer) {
+        this.replicationLog = replicationLog;
+        this.replicaSynchronizer = replicaSynchronizer;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return replicationLog.isEnabled() || replicaSynchronizer.isEnabled();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request.getURI().getPath().startsWith("/point")) {
+            long seq = replicationLog.isEnabled() ? replicationLog.lastSeq() : replicaSynchronizer.appliedSeq();
+            response.getHeaders().set(ReplicationLog.SEQ_HEADER, String.valueOf(seq));
+        }
+        return body;
+    }
+}
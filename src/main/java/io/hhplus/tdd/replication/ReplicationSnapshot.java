@@ -0,0 +1,17 @@
+package io.hhplus.tdd.replication;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.List;
+
+/**
+ * 주 노드의 전체 잔액/내역. seq 는 테이블을 읽기 직전의 마지막 시퀀스이며, 복제 노드는 seq 이후 레코드부터 이어 받는다.
+ */
+public record ReplicationSnapshot(
+        long epoch,
+        long seq,
+        List<UserPoint> userPoints,
+        List<PointHistory> histories
+) {
+}
@@ -0,0 +1,17 @@
+package io.hhplus.tdd.replication;
+
+/**
+ * @param appliedSeq  이 노드에 반영된 마지막 시퀀스 (주 노드는 로그의 마지막 시퀀스)
+ * @param primarySeq  마지막으로 확인한 주 노드의 시퀀스
+ * @param lagRecords  아직 반영하지 못한 레코드 수
+ * @param lagMillis   마지막으로 주 노드를 모두 따라잡은 뒤 지난 시간. 따라잡은 상태면 0
+ */
+public record ReplicationStatus(
+        ReplicationProperties.Role role,
+        long epoch,
+        long appliedSeq,
+        long primarySeq,
+        long lagRecords,
+        long lagMillis
+) {
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.replication;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ReplicationWebConfig implements WebMvcConfigurer {
+
+    private final ReplicationProperties replicationProperties;
+    private final ReplicaSynchronizer replicaSynchronizer;
+
+    public ReplicationWebConfig(ReplicationProperties replicationProperties, ReplicaSynchronizer replicaSynchronizer) {
+        this.replicationProperties = replicationProperties;
+        this.replicaSynchronizer = replicaSynchronizer;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReplicaRoutingInterceptor(replicationProperties, replicaSynchronizer)).addPathPatterns("/point/**");
+    }
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.storage;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * PointStore.commit 으로 반영된 잔액과 발급된 내역
+ */
+public record PointCommit(
+        UserPoint userPoint,
+        PointHistory history
+) {
+}
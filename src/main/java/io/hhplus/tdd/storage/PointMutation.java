@@ -0,0 +1,21 @@
+package io.hhplus.tdd.storage;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 한 사용자의 잔액 변경과 그 내역. 내역 시각은 after.updateMillis() 를 쓴다.
+ *
+ * @param before 변경 전 잔액. 반영 도중 실패하면 이 값으로 되돌린다.
+ * @param after  변경 후 잔액
+ */
+public record PointMutation(
+        UserPoint before,
+        UserPoint after,
+        long amount,
+        TransactionType type
+) {
+    public long userId() {
+        return after.id();
+    }
+}
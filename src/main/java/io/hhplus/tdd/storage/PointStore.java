@@ -0,0 +1,82 @@
+package io.hhplus.tdd.storage;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.query.HistoryQuery;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * PointService 가 잔액과 내역을 읽고 쓰는 저장소.
+ * - 같은 사용자에 대한 쓰기는 호출하는 쪽(PointService)이 사용자 락으로 직렬화한다. 구현은 서로 다른 사용자의 동시 호출만 안전하면 된다.
+ * - 구현은 point.storage.backend 로 고른다. (TABLE: 메모리 테이블, DISK: 내장 LSM 트리)
+ */
+public interface PointStore {
+
+    /**
+     * 잔액이 저장된 적 없는 사용자는 0 포인트로 반환한다.
+     */
+    UserPoint selectById(long userId);
+
+    UserPoint insertOrUpdate(long userId, long amount);
+
+    /**
+     * 내역을 추가하고, 저장소 전체에서 증가하는 id 를 발급해 반환한다.
+     */
+    PointHistory appendHistory(long userId, long amount, TransactionType type, long updateMillis);
+
+    /**
+     * 잔액 변경과 내역 추가를 한 단위로 반영하고, 반영된 잔액과 발급된 내역을 mutations 순서대로 반환한다.
+     * 도중에 예외가 나거나 프로세스가 종료되어도 잔액만 바뀌고 내역이 빠진 상태(또는 그 반대)가 남지 않는다.
+     * 여러 사용자의 변경(송금)도 함께 반영되거나 함께 빠진다.
+     */
+    List<PointCommit> commit(List<PointMutation> mutations);
+
+    /**
+     * 한 사용자의 잔액 변경과 여러 내역 추가를 한 단위로 반영하고, 반영된 잔액과 발급된 내역을 histories 순서대로 반환한다.
+     * (다른 노드에서 넘겨받은 사용자 반영용)
+     * - histories 의 id 는 쓰지 않고 이 저장소에서 새로 발급한다. 금액, 유형, 시각은 그대로 둔다.
+     * - 내역 수와 상관없이 한 번에 쓰며, commit 과 마찬가지로 잔액과 내역이 함께 반영되거나 함께 빠진다.
+     */
+    List<PointCommit> absorb(UserPoint before, UserPoint after, List<PointHistory> histories);
+
+    /**
+     * 사용자의 내역을 id 순으로 모두 반환한다.
+     */
+    List<PointHistory> selectHistories(long userId);
+
+    /**
+     * 사용자의 내역 중 id 가 afterId 보다 큰 것을 id 순으로 최대 limit 건 반환한다.
+     */
+    List<PointHistory> selectHistories(long userId, long afterId, int limit);
+
+    /**
+     * 조건에 맞는 내역을 query.sort() 순으로 최대 query.limit() 건 반환한다.
+     * 정렬과 건수 제한은 저장소 안에서 크기 제한 힙(TopN)으로 처리하므로, 조건에 맞는 내역 전체를 만들지 않는다.
+     */
+    List<PointHistory> queryHistories(HistoryQuery query);
+
+    /**
+     * 잔액이 저장된 모든 사용자의 잔액을 consumer 에 넘긴다. 순서는 구현마다 다르다. (내보내기용)
+     */
+    void forEachUserPoint(Consumer<UserPoint> consumer);
+
+    /**
+     * 잔액이 저장된 사용자가 하나도 없으면 true 를 반환한다. (가져오기 전 확인용)
+     */
+    boolean isEmpty();
+
+    /**
+     * 잔액과 내역을 updateMillis 와 내역 id 까지 그대로 한 번에 저장한다. (가져오기용)
+     * - 사용자 락을 잡지 않으므로, 같은 사용자에 대한 다른 쓰기가 없을 때(서비스 투입 전, 점검 중)만 불러야 한다.
+     * - 이후 발급하는 내역 id 가 가져온 id 와 겹치지 않도록 id 발급 위치를 올린다.
+     */
+    void bulkLoad(List<UserPoint> userPoints, List<PointHistory> histories);
+
+    /**
+     * 사용자의 잔액과 내역을 모두 지운다. (워밍업 임시 사용자 정리 등)
+     */
+    void deleteUser(long userId);
+}
@@ -0,0 +1,50 @@
+package io.hhplus.tdd.storage;
+
+import io.hhplus.tdd.cluster.ClusterProperties;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.expiry.PointExpiryProperties;
+import io.hhplus.tdd.replication.ReplicationProperties;
+import io.hhplus.tdd.storage.disk.DiskPointStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PointStoreConfig {
+
+    /**
+     * 복제, 클러스터 이관, 보관 주기는 메모리 테이블을 직접 읽고 쓰므로 DISK 저장소와 함께 켜면 서로 다른 데이터를 보게 된다.
+     * 만료 lot(PointLotLedger)은 메모리에만 있어서, DISK 저장소와 함께 켜면 재시작 후 잔액은 남고 lot 은 사라져 만료되지 않는다.
+     * 이런 조합은 기동 시점에 거부한다.
+     */
+    @Bean
+    public PointStore pointStore(StorageProperties properties,
+                                 UserPointTable userPointTable,
+                                 PointHistoryTable pointHistoryTable,
+                                 ClusterProperties clusterProperties,
+                                 ReplicationProperties replicationProperties,
+                                 @Value("${point.history.retention.enabled:false}") boolean retentionEnabled,
+                                 PointExpiryProperties expiryProperties,
+                                 MeterRegistry meterRegistry) {
+        if (properties.backend() == StorageProperties.Backend.TABLE) {
+            return new TablePointStore(userPointTable, pointHistoryTable);
+        }
+        if (clusterProperties.enabled()
+                || replicationProperties.role() != ReplicationProperties.Role.STANDALONE
+                || retentionEnabled
+                || expiryProperties.enabled()) {
+            throw new IllegalStateException(
+                    "point.storage.backend=disk cannot be combined with cluster, replication, history retention or point expiry.");
+        }
+
+        DiskPointStore store = DiskPointStore.open(properties.dir(), properties.pageCache().toBytes(),
+                properties.memtableSize().toBytes(), properties.syncWrites());
+        Gauge.builder("point.storage.page-cache.hits", store, DiskPointStore::pageCacheHits).register(meterRegistry);
+        Gauge.builder("point.storage.page-cache.misses", store, DiskPointStore::pageCacheMisses).register(meterRegistry);
+        Gauge.builder("point.storage.tables", store, DiskPointStore::tableCount).register(meterRegistry);
+        return store;
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.storage;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * 잔액/내역 저장소 설정
+ *
+ * @param backend      TABLE: 메모리 테이블, DISK: dir 아래의 내장 LSM 트리
+ * @param dir          DISK 저장소의 데이터 디렉터리
+ * @param pageCache    DISK 저장소가 최근 읽은 데이터 블록을 메모리에 두는 용량. 데이터가 이보다 크면 나머지는 디스크에서 읽는다.
+ * @param memtableSize DISK 저장소가 쓰기를 메모리에 모았다가 파일로 내리는 크기
+ * @param syncWrites   true 이면 쓰기마다 로그를 fsync 한다. false 이면 프로세스 종료에는 안전하지만 OS 장애 시 최근 쓰기를 잃을 수 있다.
+ */
+@ConfigurationProperties(prefix = "point.storage")
+public record StorageProperties(
+        @DefaultValue("TABLE") Backend backend,
+        @DefaultValue("data/point-store") Path dir,
+        @DefaultValue("64MB") DataSize pageCache,
+        @DefaultValue("4MB") DataSize memtableSize,
+        @DefaultValue("false") boolean syncWrites
+) {
+    public enum Backend {
+        TABLE, DISK
+    }
+}
@@ -0,0 +1,140 @@
+package io.hhplus.tdd.storage;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.query.HistoryQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 기존 메모리 테이블(UserPointTable, PointHistoryTable)을 그대로 쓰는 저장소.
+ * 복제, 클러스터 이관, 보관 주기처럼 테이블을 직접 다루는 기능과 같은 데이터를 보므로 기본값이다.
+ * - commit 은 잔액, 내역 순으로 쓰고 쓴 것을 기억해 두었다가, 도중에 예외가 나면 내역을 지우고 잔액을 변경 전 값으로 되돌린다.
+ *   테이블 호출 수는 따로 쓸 때와 같으므로 사용자 락을 잡고 있는 시간이 늘지 않는다. (되돌릴 때만 늘어난다)
+ * - 프로세스가 종료되면 테이블이 통째로 사라지므로 재시작 후 복구할 것은 없다.
+ * - bulkLoad 는 테이블의 일괄 API(insertOrUpdateAll, insertAll)를 묶음마다 한 번씩만 부른다.
+ */
+public class TablePointStore implements PointStore {
+
+    private final UserPointTable userPointTable;
+    private final PointHistoryTable pointHistoryTable;
+
+    public TablePointStore(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+        this.userPointTable = userPointTable;
+        this.pointHistoryTable = pointHistoryTable;
+    }
+
+    @Override
+    public UserPoint selectById(long userId) {
+        return userPointTable.selectById(userId);
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long userId, long amount) {
+        return userPointTable.insertOrUpdate(userId, amount);
+    }
+
+    @Override
+    public PointHistory appendHistory(long userId, long amount, TransactionType type, long updateMillis) {
+        return pointHistoryTable.insert(userId, amount, type, updateMillis);
+    }
+
+    @Override
+    public List<PointCommit> commit(List<PointMutation> mutations) {
+        List<UserPoint> undoBalances = new ArrayList<>(mutations.size());
+        List<PointHistory> undoHistories = new ArrayList<>(mutations.size());
+        try {
+            List<UserPoint> saved = new ArrayList<>(mutations.size());
+            for (PointMutation mutation : mutations) {
+                undoBalances.add(mutation.before());
+                saved.add(userPointTable.insertOrUpdate(mutation.userId(), mutation.after().point()));
+            }
+            List<PointCommit> commits = new ArrayList<>(mutations.size());
+            for (int i = 0; i < mutations.size(); i++) {
+                PointMutation mutation = mutations.get(i);
+                PointHistory history = pointHistoryTable.insert(mutation.userId(), mutation.amount(), mutation.type(),
+                        mutation.after().updateMillis());
+                undoHistories.add(history);
+                commits.add(new PointCommit(saved.get(i), history));
+            }
+            return commits;
+        } catch (RuntimeException e) {
+            pointHistoryTable.deleteAll(undoHistories);
+            userPointTable.insertOrUpdateAll(undoBalances);
+            throw e;
+        }
+    }
+
+    /**
+     * id 를 한 번에 발급받아 내역을 insertAll 로 한 번에 추가한다.
+     */
+    @Override
+    public List<PointCommit> absorb(UserPoint before, UserPoint after, List<PointHistory> histories) {
+        long firstId = pointHistoryTable.issueIds(histories.size());
+        List<PointHistory> issued = new ArrayList<>(histories.size());
+        for (int i = 0; i < histories.size(); i++) {
+            PointHistory history = histories.get(i);
+            issued.add(new PointHistory(firstId + i, after.id(), history.amount(), history.type(), history.updateMillis()));
+        }
+        UserPoint saved = userPointTable.insertOrUpdate(after.id(), after.point());
+        try {
+            if (!issued.isEmpty()) {
+                pointHistoryTable.insertAll(issued);
+            }
+        } catch (RuntimeException e) {
+            pointHistoryTable.deleteAll(issued);
+            userPointTable.insertOrUpdateAll(List.of(before));
+            throw e;
+        }
+        return issued.stream().map(history -> new PointCommit(saved, history)).toList();
+    }
+
+    @Override
+    public List<PointHistory> selectHistories(long userId) {
+        return pointHistoryTable.selectAllByUserId(userId);
+    }
+
+    @Override
+    public List<PointHistory> selectHistories(long userId, long afterId, int limit) {
+        return pointHistoryTable.selectAllByUserId(userId).stream()
+                .filter(history -> history.id() > afterId)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<PointHistory> queryHistories(HistoryQuery query) {
+        return pointHistoryTable.query(query);
+    }
+
+    @Override
+    public void forEachUserPoint(Consumer<UserPoint> consumer) {
+        userPointTable.selectAll().forEach(consumer);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return userPointTable.hotCount() + userPointTable.coldCount() == 0;
+    }
+
+    @Override
+    public void bulkLoad(List<UserPoint> userPoints, List<PointHistory> histories) {
+        if (!userPoints.isEmpty()) {
+            userPointTable.insertOrUpdateAll(userPoints);
+        }
+        if (!histories.isEmpty()) {
+            pointHistoryTable.insertAll(histories);
+        }
+    }
+
+    @Override
+    public void deleteUser(long userId) {
+        userPointTable.deleteById(userId);
+        pointHistoryTable.deleteAllByUserId(userId);
+    }
+}
@@ -0,0 +1,16 @@
+package io.hhplus.tdd.storage.disk;
+
+/**
+ * 키 순으로 정렬된 항목을 하나씩 읽는다. 값이 LsmTree.TOMBSTONE 이면 삭제된 키다.
+ */
+interface Cursor {
+
+    /**
+     * 현재 항목의 키. 끝에 도달했으면 null 이다.
+     */
+    Key key();
+
+    byte[] value();
+
+    void advance();
+}
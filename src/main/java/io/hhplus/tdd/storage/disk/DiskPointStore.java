@@ -0,0 +1,356 @@
+package io.hhplus.tdd.storage.disk;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.query.HistoryQuery;
+import io.hhplus.tdd.point.query.HistorySort;
+import io.hhplus.tdd.point.query.TopN;
+import io.hhplus.tdd.storage.PointCommit;
+import io.hhplus.tdd.storage.PointMutation;
+import io.hhplus.tdd.storage.PointStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 외부 서비스 없이 프로세스 안에서 동작하는 디스크 저장소.
+ * - 잔액은 balances, 내역은 histories 디렉터리의 LSM 트리에 저장하며, 모든 트리가 하나의 PageCache 를 나눠 쓴다.
+ * - 데이터는 (userId, id) 순으로 정렬되어 있으므로 사용자 내역 조회는 연속된 블록만 읽는다.
+ * - 내역은 history-times 트리에 (updateMillis, id) 순으로 한 번 더 쓴다. 전체 사용자 대상 조회는 이 시간 색인에서
+ *   요청한 기간에 해당하는 구간만 읽는다.
+ * - 내역 id 는 재시작 시 histories 에 기록된 가장 큰 id 다음부터 발급한다.
+ * - 세 트리에 대한 쓰기는 저장소 디렉터리의 로그(wal.log) 하나에 남긴다. 한 호출의 쓰기(commit 이면 잔액, 내역, 시간 색인 모두)는
+ *   한 레코드로 먼저 쓰고 나서 트리에 반영하므로, 도중에 종료되어도 재시작 후에는 모두 반영되거나 모두 빠진다.
+ *   트리마다 로그를 쓰던 때보다 요청당 쓰기(fsync) 횟수가 줄어든다.
+ * - 로그가 memtableBytes 를 넘으면 세 트리의 메모리 테이블을 모두 SSTable 로 내리고 로그를 비운다. (checkpoint)
+ *   로그에 쓴 뒤 트리에 반영하기 전에 비워지지 않도록, 쓰기는 checkpointLock 의 읽기 락, checkpoint 는 쓰기 락을 잡는다.
+ */
+public class DiskPointStore implements PointStore, Closeable {
+
+    private static final int BALANCE_BYTES = Long.BYTES * 2;
+    private static final int HISTORY_BYTES = Long.BYTES * 2 + Byte.BYTES;
+    private static final int TIME_INDEX_BYTES = Long.BYTES * 2 + Byte.BYTES;
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final String WAL_FILE = "wal.log";
+    private static final int BALANCES = 0;
+    private static final int HISTORIES = 1;
+    private static final int HISTORY_TIMES = 2;
+
+    private final LsmTree balances;
+    private final LsmTree histories;
+    private final LsmTree historyTimes;
+    private final PageCache pageCache;
+    private final WriteAheadLog wal;
+    private final long checkpointBytes;
+    private final ReentrantReadWriteLock checkpointLock = new ReentrantReadWriteLock();
+    private final AtomicLong historyCursor;
+
+    private DiskPointStore(LsmTree balances, LsmTree histories, LsmTree historyTimes, PageCache pageCache,
+                           WriteAheadLog wal, long checkpointBytes) {
+        this.balances = balances;
+        this.histories = histories;
+        this.historyTimes = historyTimes;
+        this.pageCache = pageCache;
+        this.wal = wal;
+        this.checkpointBytes = checkpointBytes;
+        this.historyCursor = new AtomicLong(histories.maxId() + 1);
+    }
+
+    /**
+     * 트리의 SSTable 을 열고 로그를 재생해 마지막으로 온전히 쓰인 레코드까지 복구한다.
+     */
+    public static DiskPointStore open(Path directory, long pageCacheBytes, long memtableBytes, boolean syncWrites) {
+        PageCache pageCache = new PageCache(pageCacheBytes);
+        try {
+            LsmTree balances = LsmTree.open(directory.resolve("balances"), pageCache, memtableBytes);
+            LsmTree histories = LsmTree.open(directory.resolve("histories"), pageCache, memtableBytes);
+            LsmTree historyTimes = LsmTree.open(directory.resolve("history-times"), pageCache, memtableBytes);
+            LsmTree[] trees = {balances, histories, historyTimes};
+            WriteAheadLog wal = WriteAheadLog.open(directory.resolve(WAL_FILE), syncWrites,
+                    (tree, key, value) -> trees[tree].put(key, value));
+            return new DiskPointStore(balances, histories, historyTimes, pageCache, wal, memtableBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open point store: " + directory, e);
+        }
+    }
+
+    @Override
+    public UserPoint selectById(long userId) {
+        byte[] value = balances.get(new Key(userId, 0));
+        if (value == null) {
+            return UserPoint.empty(userId);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        return new UserPoint(userId, buffer.getLong(), buffer.getLong());
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long userId, long amount) {
+        UserPoint userPoint = new UserPoint(userId, amount, System.currentTimeMillis());
+        write(List.of(balanceEntry(userPoint)));
+        return userPoint;
+    }
+
+    @Override
+    public PointHistory appendHistory(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory history = new PointHistory(historyCursor.getAndIncrement(), userId, amount, type, updateMillis);
+        List<WriteAheadLog.Entry> entries = new ArrayList<>(2);
+        addHistoryEntries(entries, history);
+        write(entries);
+        return history;
+    }
+
+    /**
+     * 잔액, 내역, 시간 색인을 모두 한 로그 레코드로 쓴다. 잔액 시각은 내역 시각(after.updateMillis())과 같다.
+     */
+    @Override
+    public List<PointCommit> commit(List<PointMutation> mutations) {
+        List<WriteAheadLog.Entry> entries = new ArrayList<>(mutations.size() * 3);
+        List<PointCommit> commits = new ArrayList<>(mutations.size());
+        for (PointMutation mutation : mutations) {
+            UserPoint after = mutation.after();
+            PointHistory history = new PointHistory(historyCursor.getAndIncrement(), mutation.userId(), mutation.amount(),
+                    mutation.type(), after.updateMillis());
+            entries.add(balanceEntry(after));
+            addHistoryEntries(entries, history);
+            commits.add(new PointCommit(after, history));
+        }
+        write(entries);
+        return commits;
+    }
+
+    @Override
+    public List<PointCommit> absorb(UserPoint before, UserPoint after, List<PointHistory> histories) {
+        long firstId = historyCursor.getAndAdd(histories.size());
+        List<WriteAheadLog.Entry> entries = new ArrayList<>(1 + histories.size() * 2);
+        List<PointCommit> commits = new ArrayList<>(histories.size());
+        entries.add(balanceEntry(after));
+        for (int i = 0; i < histories.size(); i++) {
+            PointHistory history = histories.get(i);
+            PointHistory issued = new PointHistory(firstId + i, after.id(), history.amount(), history.type(), history.updateMillis());
+            addHistoryEntries(entries, issued);
+            commits.add(new PointCommit(after, issued));
+        }
+        write(entries);
+        return commits;
+    }
+
+    @Override
+    public List<PointHistory> selectHistories(long userId) {
+        return selectHistories(userId, Long.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<PointHistory> selectHistories(long userId, long afterId, int limit) {
+        if (afterId == Long.MAX_VALUE || limit <= 0) {
+            return List.of();
+        }
+        List<PointHistory> result = new ArrayList<>();
+        long fromId = afterId == Long.MIN_VALUE ? Long.MIN_VALUE : afterId + 1;
+        histories.scanUser(userId, fromId, (key, value) -> {
+            result.add(decodeHistory(key, value));
+            return result.size() < limit;
+        });
+        return result;
+    }
+
+    /**
+     * userId 가 있으면 사용자 구간을, 없으면 시간 색인의 기간 구간을 읽으며 조건에 맞는 내역을 TopN 에 넣는다.
+     * 사용자 구간은 id 순이므로 OLDEST 정렬은 limit 건이 차면 바로 멈춘다.
+     */
+    @Override
+    public List<PointHistory> queryHistories(HistoryQuery query) {
+        TopN top = new TopN(query);
+        if (query.userId() != null) {
+            boolean idOrdered = query.sort() == HistorySort.OLDEST;
+            histories.scanUser(query.userId(), Long.MIN_VALUE, (key, value) -> {
+                PointHistory history = decodeHistory(key, value);
+                if (query.matches(history)) {
+                    top.offer(history);
+                }
+                return !(idOrdered && top.isFull());
+            });
+            return top.toList();
+        }
+
+        Key from = new Key(query.fromMillis() == null ? Long.MIN_VALUE : query.fromMillis(), Long.MIN_VALUE);
+        Key to = query.toMillis() == null ? null : new Key(query.toMillis(), Long.MIN_VALUE);
+        historyTimes.scanRange(from, to, (key, value) -> {
+            ByteBuffer buffer = ByteBuffer.wrap(value);
+            PointHistory history = new PointHistory(key.id(), buffer.getLong(), buffer.getLong(), TYPES[buffer.get()], key.userId());
+            if (query.matches(history)) {
+                top.offer(history);
+            }
+            return true;
+        });
+        return top.toList();
+    }
+
+    @Override
+    public void forEachUserPoint(Consumer<UserPoint> consumer) {
+        balances.scanRange(new Key(Long.MIN_VALUE, Long.MIN_VALUE), null, (key, value) -> {
+            ByteBuffer buffer = ByteBuffer.wrap(value);
+            consumer.accept(new UserPoint(key.userId(), buffer.getLong(), buffer.getLong()));
+            return true;
+        });
+    }
+
+    @Override
+    public boolean isEmpty() {
+        boolean[] found = {false};
+        balances.scanRange(new Key(Long.MIN_VALUE, Long.MIN_VALUE), null, (key, value) -> {
+            found[0] = true;
+            return false;
+        });
+        return !found[0];
+    }
+
+    /**
+     * 묶음 전체를 로그 레코드 하나로 쓰므로, 건마다 쓸 때보다 로그 헤더와 fsync 가 묶음 수만큼만 든다.
+     */
+    @Override
+    public void bulkLoad(List<UserPoint> userPoints, List<PointHistory> histories) {
+        List<WriteAheadLog.Entry> entries = new ArrayList<>(userPoints.size() + histories.size() * 2);
+        long maxId = 0;
+        for (UserPoint userPoint : userPoints) {
+            entries.add(balanceEntry(userPoint));
+        }
+        for (PointHistory history : histories) {
+            addHistoryEntries(entries, history);
+            maxId = Math.max(maxId, history.id());
+        }
+        historyCursor.accumulateAndGet(maxId + 1, Math::max);
+        write(entries);
+    }
+
+    /**
+     * 내역은 키마다 삭제 표시를 남기므로, 조회로 id 를 모은 뒤 지운다.
+     */
+    @Override
+    public void deleteUser(long userId) {
+        List<WriteAheadLog.Entry> entries = new ArrayList<>();
+        entries.add(new WriteAheadLog.Entry(BALANCES, new Key(userId, 0), LsmTree.TOMBSTONE));
+        for (PointHistory history : selectHistories(userId)) {
+            entries.add(new WriteAheadLog.Entry(HISTORIES, new Key(userId, history.id()), LsmTree.TOMBSTONE));
+            entries.add(new WriteAheadLog.Entry(HISTORY_TIMES, new Key(history.updateMillis(), history.id()), LsmTree.TOMBSTONE));
+        }
+        write(entries);
+    }
+
+    public long pageCacheHits() {
+        return pageCache.hits();
+    }
+
+    public long pageCacheMisses() {
+        return pageCache.misses();
+    }
+
+    public int tableCount() {
+        return balances.tableCount() + histories.tableCount() + historyTimes.tableCount();
+    }
+
+    /**
+     * 현재 로그 크기. checkpoint 가 끝나면 0 으로 돌아간다.
+     */
+    public long walBytes() {
+        try {
+            return wal.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(List<WriteAheadLog.Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        checkpointLock.readLock().lock();
+        try {
+            wal.append(entries);
+            for (WriteAheadLog.Entry entry : entries) {
+                tree(entry.tree()).put(entry.key(), entry.value());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write point store log", e);
+        } finally {
+            checkpointLock.readLock().unlock();
+        }
+        if (walBytes() >= checkpointBytes) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * 다른 스레드가 먼저 checkpoint 했으면 다시 내리지 않는다.
+     */
+    private void checkpoint() {
+        checkpointLock.writeLock().lock();
+        try {
+            if (wal.size() < checkpointBytes) {
+                return;
+            }
+            balances.checkpoint();
+            histories.checkpoint();
+            historyTimes.checkpoint();
+            wal.reset();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to checkpoint point store log", e);
+        } finally {
+            checkpointLock.writeLock().unlock();
+        }
+    }
+
+    private LsmTree tree(int tree) {
+        return switch (tree) {
+            case BALANCES -> balances;
+            case HISTORIES -> histories;
+            default -> historyTimes;
+        };
+    }
+
+    private static WriteAheadLog.Entry balanceEntry(UserPoint userPoint) {
+        return new WriteAheadLog.Entry(BALANCES, new Key(userPoint.id(), 0), ByteBuffer.allocate(BALANCE_BYTES)
+                .putLong(userPoint.point())
+                .putLong(userPoint.updateMillis())
+                .array());
+    }
+
+    private static void addHistoryEntries(List<WriteAheadLog.Entry> entries, PointHistory history) {
+        entries.add(new WriteAheadLog.Entry(HISTORIES, new Key(history.userId(), history.id()), ByteBuffer.allocate(HISTORY_BYTES)
+                .putLong(history.amount())
+                .put((byte) history.type().ordinal())
+                .putLong(history.updateMillis())
+                .array()));
+        entries.add(new WriteAheadLog.Entry(HISTORY_TIMES, new Key(history.updateMillis(), history.id()), ByteBuffer.allocate(TIME_INDEX_BYTES)
+                .putLong(history.userId())
+                .putLong(history.amount())
+                .put((byte) history.type().ordinal())
+                .array()));
+    }
+
+    private static PointHistory decodeHistory(Key key, byte[] value) {
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        return new PointHistory(key.id(), key.userId(), buffer.getLong(), TYPES[buffer.get()], buffer.getLong());
+    }
+
+    @Override
+    public void close() {
+        try {
+            wal.close();
+            balances.close();
+            histories.close();
+            historyTimes.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
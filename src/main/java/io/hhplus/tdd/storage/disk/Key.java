@@ -0,0 +1,16 @@
+package io.hhplus.tdd.storage.disk;
+
+/**
+ * LSM 트리의 키. userId 로 먼저 정렬되므로 한 사용자의 데이터는 파일 안에서 연속된 구간에 모인다.
+ * 잔액은 (userId, 0), 내역은 (userId, 내역 id) 로 저장한다. 시간 색인은 userId 자리에 updateMillis 를 넣어 (updateMillis, 내역 id) 로 저장한다.
+ */
+record Key(long userId, long id) implements Comparable<Key> {
+
+    static final int BYTES = Long.BYTES * 2;
+
+    @Override
+    public int compareTo(Key other) {
+        int compared = Long.compare(userId, other.userId);
+        return compared != 0 ? compared : Long.compare(id, other.id);
+    }
+}
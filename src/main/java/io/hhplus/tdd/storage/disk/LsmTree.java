@@ -0,0 +1,371 @@
+package io.hhplus.tdd.storage.disk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * 한 디렉터리에 데이터를 두는 LSM 트리.
+ * - 쓰기는 메모리 테이블(ConcurrentSkipListMap)에 반영하고, 메모리 테이블이 memtableBytes 를 넘으면 SSTable 로 내린다.
+ *   로그는 트리 밖에서 남긴다. 여러 트리에 걸친 쓰기를 한 레코드로 묶을 수 있도록 저장소(DiskPointStore)가 로그 하나를 갖고,
+ *   재시작하면 그 로그를 다시 put 으로 재생한다.
+ * - SSTable 은 flush 횟수를 이진 카운터처럼 묶어 병합한다. 같은 수의 flush 를 담은 최신 SSTable 이 FANOUT 개가 되면
+ *   하나로 합치므로, SSTable 수는 log(flush 수) 에 비례하고 각 항목은 그 횟수만큼만 다시 쓰인다.
+ * - 조회는 메모리 테이블, 최신 SSTable 부터 오래된 순으로 보며 처음 찾은 값(또는 삭제 표시)을 쓴다.
+ * - 쓰기는 writeMonitor 로 직렬화되고, flush/병합도 쓰는 스레드에서 이어서 처리한다.
+ *   조회는 읽기 락만 잡으므로 서로 막지 않으며, 메모리 테이블/SSTable 목록을 바꾸고 병합된 파일을 닫을 때만 쓰기 락을 잡는다.
+ */
+final class LsmTree implements Closeable {
+
+    /**
+     * 삭제 표시. 값 배열의 동일성으로 구분한다.
+     */
+    static final byte[] TOMBSTONE = new byte[0];
+
+    private static final int FANOUT = 4;
+    private static final String TABLE_SUFFIX = ".sst";
+    private static final int ENTRY_OVERHEAD_BYTES = 64;
+
+    private final Path directory;
+    private final PageCache pageCache;
+    private final long memtableBytes;
+    private final Object writeMonitor = new Object();
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private volatile ConcurrentSkipListMap<Key, byte[]> memtable;
+    private volatile List<SsTable> tables;
+    private volatile long maxId;
+    private long memtableSize;
+    private long nextFlush;
+
+    private LsmTree(Path directory, PageCache pageCache, long memtableBytes,
+                    ConcurrentSkipListMap<Key, byte[]> memtable, long memtableSize, List<SsTable> tables, long maxId) {
+        this.directory = directory;
+        this.pageCache = pageCache;
+        this.memtableBytes = memtableBytes;
+        this.memtable = memtable;
+        this.memtableSize = memtableSize;
+        this.tables = tables;
+        this.maxId = maxId;
+        this.nextFlush = tables.isEmpty() ? 1 : tables.get(0).lastFlush() + 1;
+    }
+
+    /**
+     * 디렉터리의 SSTable 을 연다. 메모리 테이블에 있던 쓰기는 호출하는 쪽이 로그를 재생해 채운다.
+     * 병합 도중 종료되어 입력 SSTable 이 병합 결과와 함께 남아 있으면, 범위가 포함되는 입력 쪽을 지운다.
+     */
+    static LsmTree open(Path directory, PageCache pageCache, long memtableBytes) throws IOException {
+        Files.createDirectories(directory);
+        List<Path> tableFiles = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.toList()) {
+                String name = path.getFileName().toString();
+                if (name.endsWith(".tmp")) {
+                    Files.delete(path);
+                } else if (name.endsWith(TABLE_SUFFIX)) {
+                    tableFiles.add(path);
+                }
+            }
+        }
+
+        List<long[]> ranges = tableFiles.stream().map(LsmTree::flushRange).toList();
+        List<SsTable> tables = new ArrayList<>();
+        for (int i = 0; i < tableFiles.size(); i++) {
+            if (isCoveredByAnother(ranges, i)) {
+                Files.delete(tableFiles.get(i));
+            } else {
+                tables.add(SsTable.open(tableFiles.get(i), ranges.get(i)[0], ranges.get(i)[1], pageCache));
+            }
+        }
+        tables.sort(Comparator.comparingLong(SsTable::lastFlush).reversed());
+
+        long maxId = tables.stream().mapToLong(SsTable::maxId).reduce(0, Math::max);
+        return new LsmTree(directory, pageCache, memtableBytes, new ConcurrentSkipListMap<>(), 0, List.copyOf(tables), maxId);
+    }
+
+    void put(Key key, byte[] value) {
+        synchronized (writeMonitor) {
+            try {
+                byte[] previous = memtable.put(key, value);
+                memtableSize += entryBytes(value) - (previous == null ? 0 : entryBytes(previous));
+                if (key.id() > maxId) {
+                    maxId = key.id();
+                }
+                if (memtableSize >= memtableBytes) {
+                    flush();
+                    compact();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write to " + directory, e);
+            }
+        }
+    }
+
+    void delete(Key key) {
+        put(key, TOMBSTONE);
+    }
+
+    /**
+     * 키의 값을 반환한다. 없거나 삭제되었으면 null 이다.
+     */
+    byte[] get(Key key) {
+        swapLock.readLock().lock();
+        try {
+            byte[] value = memtable.get(key);
+            for (Iterator<SsTable> iterator = tables.iterator(); value == null && iterator.hasNext(); ) {
+                value = iterator.next().get(key);
+            }
+            return value == TOMBSTONE ? null : value;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read from " + directory, e);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 범위 조회에서 항목마다 호출된다. false 를 반환하면 조회를 멈춘다.
+     * 읽기 락을 잡은 채로 호출하므로 visit 안에서 같은 트리에 쓰면 안 된다.
+     */
+    interface Visitor {
+        boolean visit(Key key, byte[] value);
+    }
+
+    /**
+     * userId 의 항목 중 id 가 fromId 이상인 것을 id 순으로 visitor 에 넘긴다. userId 가 없는 SSTable 은 블룸 필터로 건너뛴다.
+     */
+    void scanUser(long userId, long fromId, Visitor visitor) {
+        scan(new Key(userId, fromId), userId == Long.MAX_VALUE ? null : new Key(userId + 1, Long.MIN_VALUE), true, visitor);
+    }
+
+    /**
+     * [from, to) 범위의 항목을 키 순으로 visitor 에 넘긴다. to 가 null 이면 끝까지 읽는다.
+     */
+    void scanRange(Key from, Key to, Visitor visitor) {
+        scan(from, to, false, visitor);
+    }
+
+    private void scan(Key from, Key to, boolean singleUser, Visitor visitor) {
+        swapLock.readLock().lock();
+        try {
+            List<Cursor> sources = new ArrayList<>();
+            sources.add(memtableCursor(memtable.tailMap(from).entrySet().iterator()));
+            for (SsTable table : tables) {
+                if (!singleUser || table.mightContain(from.userId())) {
+                    sources.add(table.cursor(from));
+                }
+            }
+            for (Cursor cursor = new MergingCursor(sources); cursor.key() != null; cursor.advance()) {
+                if (to != null && cursor.key().compareTo(to) >= 0) {
+                    return;
+                }
+                if (cursor.value() != TOMBSTONE && !visitor.visit(cursor.key(), cursor.value())) {
+                    return;
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 지금까지 쓰인 키 중 가장 큰 id. (삭제된 키 포함)
+     */
+    long maxId() {
+        return maxId;
+    }
+
+    int tableCount() {
+        return tables.size();
+    }
+
+    /**
+     * 메모리 테이블이 비어 있지 않으면 크기와 상관없이 SSTable 로 내린다. 반환된 뒤에는 지금까지의 쓰기가 모두 파일에 있다.
+     */
+    void checkpoint() {
+        synchronized (writeMonitor) {
+            try {
+                if (!memtable.isEmpty()) {
+                    flush();
+                    compact();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to flush " + directory, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (writeMonitor) {
+            swapLock.writeLock().lock();
+            try {
+                for (SsTable table : tables) {
+                    table.close();
+                }
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        ConcurrentSkipListMap<Key, byte[]> flushing = memtable;
+        long flush = nextFlush++;
+        SsTable table = SsTable.write(directory, flush, flush, memtableCursor(flushing.entrySet().iterator()),
+                flushing.size(), false, 0, pageCache);
+
+        List<SsTable> updated = new ArrayList<>(tables.size() + 1);
+        updated.add(table);
+        updated.addAll(tables);
+        swapLock.writeLock().lock();
+        try {
+            tables = List.copyOf(updated);
+            memtable = new ConcurrentSkipListMap<>();
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        memtableSize = 0;
+    }
+
+    /**
+     * 최신 FANOUT 개의 SSTable 이 같은 수의 flush 를 담고 있으면 하나로 합치고, 합친 결과로 다시 확인한다.
+     * 가장 오래된 SSTable 까지 합칠 때는 가려야 할 더 오래된 값이 없으므로 삭제 표시를 버린다.
+     */
+    private void compact() throws IOException {
+        while (tables.size() >= FANOUT) {
+            List<SsTable> current = tables;
+            List<SsTable> inputs = current.subList(0, FANOUT);
+            long span = flushSpan(inputs.get(0));
+            if (inputs.stream().anyMatch(table -> flushSpan(table) != span)) {
+                return;
+            }
+
+            List<Cursor> sources = inputs.stream().map(table -> table.cursor(null)).toList();
+            long expectedEntries = inputs.stream().mapToLong(SsTable::entryCount).sum();
+            long inputMaxId = inputs.stream().mapToLong(SsTable::maxId).max().orElse(0);
+            SsTable merged = SsTable.write(directory, inputs.get(FANOUT - 1).firstFlush(), inputs.get(0).lastFlush(),
+                    new MergingCursor(sources), expectedEntries, current.size() == FANOUT, inputMaxId, pageCache);
+
+            List<SsTable> updated = new ArrayList<>();
+            updated.add(merged);
+            updated.addAll(current.subList(FANOUT, current.size()));
+            swapLock.writeLock().lock();
+            try {
+                tables = List.copyOf(updated);
+                for (SsTable input : inputs) {
+                    input.close();
+                }
+            } finally {
+                swapLock.writeLock().unlock();
+            }
+            for (SsTable input : inputs) {
+                Files.deleteIfExists(input.path());
+            }
+        }
+    }
+
+    private static long flushSpan(SsTable table) {
+        return table.lastFlush() - table.firstFlush() + 1;
+    }
+
+    private static long[] flushRange(Path path) {
+        String name = path.getFileName().toString();
+        String[] bounds = name.substring(0, name.length() - TABLE_SUFFIX.length()).split("-");
+        return new long[]{Long.parseLong(bounds[0]), Long.parseLong(bounds[1])};
+    }
+
+    private static boolean isCoveredByAnother(List<long[]> ranges, int index) {
+        long[] range = ranges.get(index);
+        for (int i = 0; i < ranges.size(); i++) {
+            long[] other = ranges.get(i);
+            if (i != index && other[0] <= range[0] && range[1] <= other[1]
+                    && (other[0] != range[0] || other[1] != range[1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long entryBytes(byte[] value) {
+        return Key.BYTES + value.length + ENTRY_OVERHEAD_BYTES;
+    }
+
+    private static Cursor memtableCursor(Iterator<Map.Entry<Key, byte[]>> iterator) {
+        return new Cursor() {
+            private Map.Entry<Key, byte[]> current = iterator.hasNext() ? iterator.next() : null;
+
+            @Override
+            public Key key() {
+                return current == null ? null : current.getKey();
+            }
+
+            @Override
+            public byte[] value() {
+                return current == null ? null : current.getValue();
+            }
+
+            @Override
+            public void advance() {
+                current = iterator.hasNext() ? iterator.next() : null;
+            }
+        };
+    }
+
+    /**
+     * 여러 커서를 키 순으로 합친다. 같은 키가 여러 커서에 있으면 목록 앞쪽(더 최신) 커서의 값을 쓰고 나머지는 건너뛴다.
+     * 커서 수가 SSTable 수 정도로 적으므로 우선순위 큐 대신 매번 선형으로 최솟값을 찾는다.
+     */
+    private static final class MergingCursor implements Cursor {
+
+        private final List<Cursor> sources;
+        private Key key;
+        private byte[] value;
+
+        private MergingCursor(List<Cursor> sources) {
+            this.sources = sources;
+            advance();
+        }
+
+        @Override
+        public Key key() {
+            return key;
+        }
+
+        @Override
+        public byte[] value() {
+            return value;
+        }
+
+        @Override
+        public void advance() {
+            Cursor newest = null;
+            for (Cursor source : sources) {
+                if (source.key() != null && (newest == null || source.key().compareTo(newest.key()) < 0)) {
+                    newest = source;
+                }
+            }
+            if (newest == null) {
+                key = null;
+                value = null;
+                return;
+            }
+            key = newest.key();
+            value = newest.value();
+            for (Cursor source : sources) {
+                if (key.equals(source.key())) {
+                    source.advance();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.hhplus.tdd.storage.disk;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SSTable 데이터 블록을 담는 LRU 페이지 캐시. 용량은 블록 바이트 수로 센다.
+ * - 락 경합을 줄이도록 블록 키의 해시로 SEGMENTS 개의 구간에 나눠 각자 LRU 를 유지한다.
+ * - 블록 읽기는 구간 락 밖에서 하므로, 같은 블록을 동시에 처음 읽으면 두 번 읽을 수 있다. (결과는 같다)
+ * - 지워진 SSTable 의 블록은 따로 비우지 않고 LRU 에서 밀려나게 둔다.
+ */
+final class PageCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    PageCache(long capacityBytes) {
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(Math.max(1, capacityBytes / SEGMENTS));
+        }
+    }
+
+    interface PageLoader {
+        ByteBuffer load() throws IOException;
+    }
+
+    /**
+     * 반환된 버퍼는 읽기 전용이며, 호출마다 위치가 독립적인 복사본(duplicate)이다.
+     */
+    ByteBuffer get(SsTable table, int block, PageLoader loader) throws IOException {
+        PageKey key = new PageKey(table, block);
+        Segment segment = segments[(key.hashCode() & 0x7fffffff) % SEGMENTS];
+        ByteBuffer page = segment.get(key);
+        if (page != null) {
+            hits.increment();
+            return page.duplicate();
+        }
+        misses.increment();
+        page = loader.load().asReadOnlyBuffer();
+        segment.put(key, page);
+        return page.duplicate();
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    private record PageKey(SsTable table, int block) {
+    }
+
+    private static final class Segment {
+
+        private final long capacityBytes;
+        private final LinkedHashMap<PageKey, ByteBuffer> pages = new LinkedHashMap<>(16, 0.75f, true);
+        private long sizeBytes;
+
+        private Segment(long capacityBytes) {
+            this.capacityBytes = capacityBytes;
+        }
+
+        synchronized ByteBuffer get(PageKey key) {
+            return pages.get(key);
+        }
+
+        synchronized void put(PageKey key, ByteBuffer page) {
+            ByteBuffer previous = pages.put(key, page);
+            if (previous != null) {
+                sizeBytes -= previous.capacity();
+            }
+            sizeBytes += page.capacity();
+            Iterator<Map.Entry<PageKey, ByteBuffer>> eldest = pages.entrySet().iterator();
+            while (sizeBytes > capacityBytes && eldest.hasNext()) {
+                sizeBytes -= eldest.next().getValue().capacity();
+                eldest.remove();
+            }
+        }
+    }
+}
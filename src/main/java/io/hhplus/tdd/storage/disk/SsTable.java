@@ -0,0 +1,378 @@
+package io.hhplus.tdd.storage.disk;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 키 순으로 정렬된 불변 파일. 메모리 테이블을 내리거나 여러 SSTable 을 병합해 만든다.
+ *
+ * 파일 구조
+ * - [MAGIC] [데이터 블록 ...] [블록 인덱스] [블룸 필터] [인덱스 시작 위치(long)] [항목 수(long)] [최대 id(long)] [MAGIC]
+ * - 데이터 블록은 약 BLOCK_BYTES 크기이며 [userId(long)] [id(long)] [값 길이(int), 삭제는 -1] [값] 이 이어진다.
+ * - 블록 인덱스는 블록마다 첫 키와 파일 위치만 가지므로, 키 하나를 찾을 때 블록 하나만 읽는다. 블록은 PageCache 를 거쳐 읽는다.
+ * - 파일 이름의 두 숫자는 이 파일이 담고 있는 메모리 테이블 flush 번호의 범위다. (병합 결과는 입력들의 범위를 합친 것)
+ */
+final class SsTable implements Closeable {
+
+    static final int BLOCK_BYTES = 4096;
+
+    private static final int MAGIC = 0x504C534D;
+    private static final int INDEX_ENTRY_BYTES = Long.BYTES * 3 + Integer.BYTES;
+    private static final int TRAILER_BYTES = Long.BYTES * 3 + Integer.BYTES;
+
+    private final Path path;
+    private final long firstFlush;
+    private final long lastFlush;
+    private final FileChannel channel;
+    private final PageCache pageCache;
+    private final long[] firstUserIds;
+    private final long[] firstIds;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final BloomFilter bloomFilter;
+    private final long entryCount;
+    private final long maxId;
+
+    private SsTable(Path path, long firstFlush, long lastFlush, FileChannel channel, PageCache pageCache,
+                    long[] firstUserIds, long[] firstIds, long[] offsets, int[] lengths,
+                    BloomFilter bloomFilter, long entryCount, long maxId) {
+        this.path = path;
+        this.firstFlush = firstFlush;
+        this.lastFlush = lastFlush;
+        this.channel = channel;
+        this.pageCache = pageCache;
+        this.firstUserIds = firstUserIds;
+        this.firstIds = firstIds;
+        this.offsets = offsets;
+        this.lengths = lengths;
+        this.bloomFilter = bloomFilter;
+        this.entryCount = entryCount;
+        this.maxId = maxId;
+    }
+
+    static String fileName(long firstFlush, long lastFlush) {
+        return String.format("%019d-%019d.sst", firstFlush, lastFlush);
+    }
+
+    /**
+     * source 의 항목을 끝까지 기록한다. 임시 파일에 모두 쓰고 fsync 한 뒤 이름을 바꾸므로, 쓰다 만 파일은 열리지 않는다.
+     *
+     * @param expectedEntries 블룸 필터 크기를 정하는 항목 수 (상한이면 충분하다)
+     * @param dropTombstones  더 오래된 SSTable 이 없어 삭제 표시를 남길 필요가 없으면 true
+     * @param maxIdFloor      삭제 표시를 버리더라도 이미 발급된 id 를 다시 쓰지 않도록 유지할 최대 id
+     */
+    static SsTable write(Path directory, long firstFlush, long lastFlush, Cursor source, long expectedEntries,
+                         boolean dropTombstones, long maxIdFloor, PageCache pageCache) throws IOException {
+        Path path = directory.resolve(fileName(firstFlush, lastFlush));
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        BloomFilter bloomFilter = BloomFilter.withExpectedKeys(expectedEntries);
+        BlockIndexBuilder index = new BlockIndexBuilder();
+        long entryCount = 0;
+        long maxId = maxIdFloor;
+
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            writeFully(out, ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC).flip());
+            long position = Integer.BYTES;
+            ByteBuffer block = ByteBuffer.allocate(BLOCK_BYTES);
+            Key blockFirstKey = null;
+            for (; source.key() != null; source.advance()) {
+                Key key = source.key();
+                byte[] value = source.value();
+                boolean tombstone = value == LsmTree.TOMBSTONE;
+                if (tombstone && dropTombstones) {
+                    continue;
+                }
+                int entryBytes = Key.BYTES + Integer.BYTES + (tombstone ? 0 : value.length);
+                if (blockFirstKey != null && block.position() + entryBytes > block.capacity()) {
+                    index.add(blockFirstKey, position, block.position());
+                    position += writeFully(out, block.flip());
+                    block.clear();
+                    blockFirstKey = null;
+                }
+                if (blockFirstKey == null) {
+                    blockFirstKey = key;
+                    if (entryBytes > block.capacity()) {
+                        block = ByteBuffer.allocate(entryBytes);
+                    }
+                }
+                block.putLong(key.userId()).putLong(key.id()).putInt(tombstone ? -1 : value.length);
+                if (!tombstone) {
+                    block.put(value);
+                }
+                bloomFilter.add(key.userId());
+                entryCount++;
+                maxId = Math.max(maxId, key.id());
+            }
+            if (blockFirstKey != null) {
+                index.add(blockFirstKey, position, block.position());
+                position += writeFully(out, block.flip());
+            }
+
+            ByteBuffer footer = ByteBuffer.allocate(Integer.BYTES + index.count * INDEX_ENTRY_BYTES
+                    + bloomFilter.serializedBytes() + TRAILER_BYTES);
+            footer.putInt(index.count);
+            for (int i = 0; i < index.count; i++) {
+                footer.putLong(index.firstUserIds[i]).putLong(index.firstIds[i]).putLong(index.offsets[i]).putInt(index.lengths[i]);
+            }
+            bloomFilter.write(footer);
+            footer.putLong(position).putLong(entryCount).putLong(maxId).putInt(MAGIC);
+            writeFully(out, footer.flip());
+            out.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return new SsTable(path, firstFlush, lastFlush, FileChannel.open(path, StandardOpenOption.READ), pageCache,
+                Arrays.copyOf(index.firstUserIds, index.count), Arrays.copyOf(index.firstIds, index.count),
+                Arrays.copyOf(index.offsets, index.count), Arrays.copyOf(index.lengths, index.count),
+                bloomFilter, entryCount, maxId);
+    }
+
+    /**
+     * 파일 끝의 블록 인덱스와 블룸 필터만 메모리에 올린다. 데이터 블록은 조회 시점에 읽는다.
+     */
+    static SsTable open(Path path, long firstFlush, long lastFlush, PageCache pageCache) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < Integer.BYTES + TRAILER_BYTES) {
+                throw new IOException("Corrupted SSTable: " + path);
+            }
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_BYTES);
+            readFully(channel, trailer, size - TRAILER_BYTES);
+            trailer.flip();
+            long indexOffset = trailer.getLong();
+            long entryCount = trailer.getLong();
+            long maxId = trailer.getLong();
+            if (trailer.getInt() != MAGIC) {
+                throw new IOException("Corrupted SSTable: " + path);
+            }
+
+            ByteBuffer footer = ByteBuffer.allocate((int) (size - TRAILER_BYTES - indexOffset));
+            readFully(channel, footer, indexOffset);
+            footer.flip();
+            int blockCount = footer.getInt();
+            long[] firstUserIds = new long[blockCount];
+            long[] firstIds = new long[blockCount];
+            long[] offsets = new long[blockCount];
+            int[] lengths = new int[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                firstUserIds[i] = footer.getLong();
+                firstIds[i] = footer.getLong();
+                offsets[i] = footer.getLong();
+                lengths[i] = footer.getInt();
+            }
+            BloomFilter bloomFilter = BloomFilter.read(footer);
+            return new SsTable(path, firstFlush, lastFlush, channel, pageCache,
+                    firstUserIds, firstIds, offsets, lengths, bloomFilter, entryCount, maxId);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long firstFlush() {
+        return firstFlush;
+    }
+
+    long lastFlush() {
+        return lastFlush;
+    }
+
+    long entryCount() {
+        return entryCount;
+    }
+
+    long maxId() {
+        return maxId;
+    }
+
+    boolean mightContain(long userId) {
+        return bloomFilter.mightContain(userId);
+    }
+
+    /**
+     * 키의 값을 반환한다. 없으면 null, 삭제 표시면 LsmTree.TOMBSTONE 이다.
+     */
+    byte[] get(Key key) throws IOException {
+        if (!bloomFilter.mightContain(key.userId())) {
+            return null;
+        }
+        int block = blockFor(key);
+        if (block < 0) {
+            return null;
+        }
+        ByteBuffer buffer = block(block);
+        while (buffer.hasRemaining()) {
+            long userId = buffer.getLong();
+            long id = buffer.getLong();
+            int length = buffer.getInt();
+            int compared = userId != key.userId() ? Long.compare(userId, key.userId()) : Long.compare(id, key.id());
+            if (compared == 0) {
+                return readValue(buffer, length);
+            }
+            if (compared > 0) {
+                return null;
+            }
+            buffer.position(buffer.position() + Math.max(0, length));
+        }
+        return null;
+    }
+
+    /**
+     * from 이상인 첫 항목부터 읽는 커서. from 이 null 이면 처음부터 읽는다.
+     */
+    Cursor cursor(Key from) {
+        return new TableCursor(from);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 첫 키가 key 이하인 마지막 블록. key 가 첫 블록보다 앞이면 -1 이다.
+     */
+    private int blockFor(Key key) {
+        int low = 0;
+        int high = firstUserIds.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int compared = firstUserIds[mid] != key.userId()
+                    ? Long.compare(firstUserIds[mid], key.userId())
+                    : Long.compare(firstIds[mid], key.id());
+            if (compared <= 0) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private ByteBuffer block(int block) throws IOException {
+        return pageCache.get(this, block, () -> {
+            ByteBuffer buffer = ByteBuffer.allocate(lengths[block]);
+            readFully(channel, buffer, offsets[block]);
+            return buffer.flip();
+        });
+    }
+
+    private static byte[] readValue(ByteBuffer buffer, int length) {
+        if (length < 0) {
+            return LsmTree.TOMBSTONE;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return value;
+    }
+
+    static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of file at " + position);
+            }
+            position += read;
+        }
+    }
+
+    private static int writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        int written = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        return written;
+    }
+
+    private static final class BlockIndexBuilder {
+
+        private long[] firstUserIds = new long[16];
+        private long[] firstIds = new long[16];
+        private long[] offsets = new long[16];
+        private int[] lengths = new int[16];
+        private int count;
+
+        void add(Key firstKey, long offset, int length) {
+            if (count == firstUserIds.length) {
+                int capacity = count * 2;
+                firstUserIds = Arrays.copyOf(firstUserIds, capacity);
+                firstIds = Arrays.copyOf(firstIds, capacity);
+                offsets = Arrays.copyOf(offsets, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            firstUserIds[count] = firstKey.userId();
+            firstIds[count] = firstKey.id();
+            offsets[count] = offset;
+            lengths[count] = length;
+            count++;
+        }
+    }
+
+    private final class TableCursor implements Cursor {
+
+        private int block;
+        private ByteBuffer buffer;
+        private Key key;
+        private byte[] value;
+
+        private TableCursor(Key from) {
+            block = from == null ? 0 : Math.max(0, blockFor(from));
+            if (block < firstUserIds.length) {
+                buffer = load(block);
+            }
+            advance();
+            while (from != null && key != null && key.compareTo(from) < 0) {
+                advance();
+            }
+        }
+
+        @Override
+        public Key key() {
+            return key;
+        }
+
+        @Override
+        public byte[] value() {
+            return value;
+        }
+
+        @Override
+        public void advance() {
+            while (buffer != null && !buffer.hasRemaining()) {
+                block++;
+                buffer = block < firstUserIds.length ? load(block) : null;
+            }
+            if (buffer == null) {
+                key = null;
+                value = null;
+                return;
+            }
+            key = new Key(buffer.getLong(), buffer.getLong());
+            value = readValue(buffer, buffer.getInt());
+        }
+
+        private ByteBuffer load(int index) {
+            try {
+                return block(index);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read SSTable block: " + path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.hhplus.tdd.storage.disk;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * 저장소의 모든 트리에 대한 쓰기를 순서대로 남기는 로그. 한 번에 넘긴 쓰기 묶음은 하나의 레코드가 된다.
+ *
+ * 레코드 구조: [본문 길이(int)] [CRC32C(int)] ([트리 번호(byte)] [userId(long)] [id(long)] [값 길이(int), 삭제는 -1] [값])+
+ * 쓰다가 멈춘 마지막 레코드는 길이나 CRC 가 맞지 않으므로, 재생 시 그 레코드를 통째로 버리고 잘라 낸다.
+ * 그래서 한 레코드에 담긴 쓰기는 재시작 후에 모두 남거나 모두 빠진다.
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int ENTRY_HEADER_BYTES = Byte.BYTES + Key.BYTES + Integer.BYTES;
+
+    /**
+     * 로그에 남길 쓰기 하나. tree 는 재생할 때 어느 트리에 넣을지 구분하는 번호다.
+     */
+    record Entry(int tree, Key key, byte[] value) {
+    }
+
+    interface Replayer {
+        void replay(int tree, Key key, byte[] value);
+    }
+
+    private final FileChannel channel;
+    private final boolean syncWrites;
+    private final CRC32C crc = new CRC32C();
+    private ByteBuffer buffer = ByteBuffer.allocate(256);
+
+    private WriteAheadLog(FileChannel channel, boolean syncWrites) {
+        this.channel = channel;
+        this.syncWrites = syncWrites;
+    }
+
+    /**
+     * 로그를 열고 남아 있는 레코드의 쓰기를 순서대로 replayer 에 넘긴 뒤, 손상된 꼬리를 잘라 이어 쓸 위치로 옮긴다.
+     */
+    static WriteAheadLog open(Path path, boolean syncWrites, Replayer replayer) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long valid = replay(channel, replayer);
+        channel.truncate(valid);
+        channel.position(valid);
+        return new WriteAheadLog(channel, syncWrites);
+    }
+
+    private static long replay(FileChannel channel, Replayer replayer) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        CRC32C crc = new CRC32C();
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            SsTable.readFully(channel, header, position);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length < ENTRY_HEADER_BYTES || position + HEADER_BYTES + length > size) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(length);
+            SsTable.readFully(channel, body, position + HEADER_BYTES);
+            crc.reset();
+            crc.update(body.array(), 0, length);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            body.flip();
+            while (body.hasRemaining()) {
+                int tree = body.get();
+                Key key = new Key(body.getLong(), body.getLong());
+                int valueLength = body.getInt();
+                byte[] value = LsmTree.TOMBSTONE;
+                if (valueLength >= 0) {
+                    value = new byte[valueLength];
+                    body.get(value);
+                }
+                replayer.replay(tree, key, value);
+            }
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    /**
+     * entries 를 한 레코드로 한 번에 쓴다. 여러 스레드가 부르면 호출 순서대로 이어 붙는다.
+     */
+    synchronized void append(List<Entry> entries) throws IOException {
+        int length = 0;
+        for (Entry entry : entries) {
+            length += ENTRY_HEADER_BYTES + (entry.value() == LsmTree.TOMBSTONE ? 0 : entry.value().length);
+        }
+        if (buffer.capacity() < HEADER_BYTES + length) {
+            buffer = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, HEADER_BYTES + length));
+        }
+        buffer.clear();
+        buffer.position(HEADER_BYTES);
+        for (Entry entry : entries) {
+            boolean tombstone = entry.value() == LsmTree.TOMBSTONE;
+            buffer.put((byte) entry.tree())
+                    .putLong(entry.key().userId())
+                    .putLong(entry.key().id())
+                    .putInt(tombstone ? -1 : entry.value().length);
+            if (!tombstone) {
+                buffer.put(entry.value());
+            }
+        }
+        crc.reset();
+        crc.update(buffer.array(), HEADER_BYTES, length);
+        buffer.putInt(0, length).putInt(Integer.BYTES, (int) crc.getValue());
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (syncWrites) {
+            channel.force(false);
+        }
+    }
+
+    synchronized long size() throws IOException {
+        return channel.position();
+    }
+
+    /**
+     * 모든 트리의 메모리 테이블이 SSTable 로 내려간 뒤 호출한다. 그 사이에 종료되면 같은 쓰기가 다시 재생되지만 결과는 같다.
+     */
+    synchronized void reset() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,147 @@
+package io.hhplus.tdd.tiering;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.lock.UserReentrantLockManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.Comparator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * 대부분의 사용자는 거의 거래하지 않는데, 잔액과 사용자 락이 힙에 계속 남아 GC 가 훑을 객체가 사용자 수만큼 늘어난다.
+ * 주기적으로 오래 조회되지 않은 잔액을 UserPointTable 의 cold 영역(힙 밖)으로 옮기고, cold 사용자의 락 항목을 치운다.
+ * - hot 사용자 수 상한은 hotBudget / ENTRY_BYTES 다. 힙 사용률이 heapThreshold 를 넘으면 지금 hot 사용자 수의 절반으로 낮춘다.
+ *   힙 사용률은 old 영역의 GC 직후 사용량(getCollectionUsage)으로 본다. 순간 사용량은 치우지 않은 garbage 를 포함해
+ *   young GC 사이마다 기준을 넘나들므로, 살아 있는 객체가 적어도 매 주기 hot 사용자를 줄이게 된다.
+ * - minIdle 안에 쓰인 잔액은 옮기지 않으므로 거래 중인 사용자가 오가며 흔들리지 않는다.
+ * - cold 잔액은 selectById/insertOrUpdate 때 hot 으로 돌아오고(fault-in), 락은 다음 getLock 에서 새로 만든다.
+ *   PointService 는 이 과정을 알지 못한다.
+ * - 디스크 저장소(point.storage.backend=disk)를 쓰면 UserPointTable 이 비어 있으므로 락 항목만 정리한다.
+ */
+@Component
+public class PointTieringManager {
+
+    private static final Logger log = LoggerFactory.getLogger(PointTieringManager.class);
+
+    private final TieringProperties properties;
+    private final UserPointTable userPointTable;
+    private final UserReentrantLockManager userReentrantLockManager;
+    private final DoubleSupplier heapUsage;
+    private final Counter demotedCounter;
+    private final Counter evictedLocksCounter;
+    private ScheduledExecutorService sweeper;
+
+    public PointTieringManager(TieringProperties properties, UserPointTable userPointTable,
+                               UserReentrantLockManager userReentrantLockManager, MeterRegistry meterRegistry) {
+        this(properties, userPointTable, userReentrantLockManager, meterRegistry, PointTieringManager::heapUsage);
+    }
+
+    PointTieringManager(TieringProperties properties, UserPointTable userPointTable,
+                        UserReentrantLockManager userReentrantLockManager, MeterRegistry meterRegistry, DoubleSupplier heapUsage) {
+        this.properties = properties;
+        this.userPointTable = userPointTable;
+        this.userReentrantLockManager = userReentrantLockManager;
+        this.heapUsage = heapUsage;
+        this.demotedCounter = meterRegistry.counter("point.tiering.demoted");
+        this.evictedLocksCounter = meterRegistry.counter("point.tiering.evicted.locks");
+        Gauge.builder("point.tiering.hot.users", userPointTable, UserPointTable::hotCount).register(meterRegistry);
+        Gauge.builder("point.tiering.cold.users", userPointTable, UserPointTable::coldCount).register(meterRegistry);
+        Gauge.builder("point.tiering.cold.bytes", userPointTable, UserPointTable::coldBytes).register(meterRegistry);
+        Gauge.builder("point.lock.entries", userReentrantLockManager, UserReentrantLockManager::size).register(meterRegistry);
+        FunctionTimer.builder("point.tiering.fault-in", userPointTable, UserPointTable::faultInCount,
+                UserPointTable::faultInNanos, TimeUnit.NANOSECONDS).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-tiering-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = properties.sweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweepSafely, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    /**
+     * 이번에 hot 으로 남길 사용자 수 상한
+     */
+    public int hotTarget() {
+        int target = properties.maxHotUsers();
+        if (heapUsage.getAsDouble() > properties.heapThreshold()) {
+            target = Math.min(target, userPointTable.hotCount() / 2);
+        }
+        return target;
+    }
+
+    /**
+     * 잔액을 강등하고 cold 사용자의 락 항목을 치운다.
+     */
+    public SweepResult sweep(long nowMillis) {
+        int demoted = userPointTable.demote(hotTarget(), nowMillis - properties.minIdle().toMillis());
+        int evictedLocks = userReentrantLockManager.evictUnused(userId -> !userPointTable.isHot(userId));
+        demotedCounter.increment(demoted);
+        evictedLocksCounter.increment(evictedLocks);
+        return new SweepResult(demoted, evictedLocks);
+    }
+
+    public record SweepResult(int demoted, int evictedLocks) {
+    }
+
+    private void sweepSafely() {
+        try {
+            SweepResult result = sweep(System.currentTimeMillis());
+            if (result.demoted() > 0 || result.evictedLocks() > 0) {
+                log.debug("Tiering sweep demoted {} users and evicted {} locks.", result.demoted(), result.evictedLocks());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Tiering sweep failed.", e);
+        } catch (OutOfMemoryError e) {
+            // 던지면 예약된 정리가 조용히 멈춘다. 남겨 두고 다음 주기에 다시 시도한다.
+            log.error("Tiering sweep ran out of memory.", e);
+        }
+    }
+
+    /**
+     * GC 직후 사용량을 제공하는 힙 풀 중 최대 크기가 가장 큰 것(old 영역, 단일 세대 GC 면 힙 전체)의 사용률.
+     * 아직 그 풀을 GC 한 적이 없으면 0 이다.
+     */
+    private static double heapUsage() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.getCollectionUsage() != null)
+                .max(Comparator.comparingLong(pool -> pool.getUsage().getMax()))
+                .map(PointTieringManager::collectionUsage)
+                .orElse(0.0);
+    }
+
+    private static double collectionUsage(MemoryPoolMXBean pool) {
+        MemoryUsage afterGc = pool.getCollectionUsage();
+        long max = afterGc.getMax() > 0 ? afterGc.getMax() : Runtime.getRuntime().maxMemory();
+        return (double) afterGc.getUsed() / max;
+    }
+}
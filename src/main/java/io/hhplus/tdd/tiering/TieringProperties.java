@@ -0,0 +1,50 @@
+package io.hhplus.tdd.tiering;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 오래 조회되지 않은 잔액을 힙 밖(cold)으로 옮기는 설정
+ *
+ * @param hotBudget     hot 잔액과 그 사용자 락이 힙에서 쓸 수 있는 예산. 한 명당 ENTRY_BYTES 로 어림해 hot 사용자 수 상한을 정한다.
+ * @param heapThreshold 힙 사용률이 이 값을 넘으면 예산과 상관없이 hot 사용자를 절반으로 줄인다. 1 이면 힙 사용률을 보지 않는다.
+ * @param minIdle       이 시간 안에 조회/저장된 잔액은 예산을 넘어도 옮기지 않는다.
+ * @param sweepInterval 강등과 락 정리 주기
+ */
+@ConfigurationProperties(prefix = "point.tiering")
+public record TieringProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("256MB") DataSize hotBudget,
+        @DefaultValue("0.85") double heapThreshold,
+        @DefaultValue("5m") Duration minIdle,
+        @DefaultValue("10s") Duration sweepInterval
+) {
+    /**
+     * hot 사용자 한 명이 힙에 남기는 대략의 바이트 수. (ConcurrentHashMap 노드, Long 키, UserPoint, 접근 시각, 사용자 락과 그 맵 항목)
+     */
+    public static final long ENTRY_BYTES = 256;
+
+    public TieringProperties {
+        if (hotBudget.toBytes() < ENTRY_BYTES || heapThreshold <= 0 || heapThreshold > 1) {
+            throw new IllegalArgumentException("point.tiering.hot-budget must fit one entry and heap-threshold must be in (0, 1].");
+        }
+        if (minIdle.isNegative() || sweepInterval.toMillis() <= 0) {
+            throw new IllegalArgumentException("point.tiering.min-idle must not be negative and sweep-interval must be positive.");
+        }
+    }
+
+    public int maxHotUsers() {
+        return (int) Math.min(Integer.MAX_VALUE, hotBudget.toBytes() / ENTRY_BYTES);
+    }
+
+    public static TieringProperties defaults() {
+        return new TieringProperties(true, DataSize.ofMegabytes(256), 0.85, Duration.ofMinutes(5), Duration.ofSeconds(10));
+    }
+
+    public static TieringProperties disabled() {
+        return new TieringProperties(false, DataSize.ofMegabytes(256), 0.85, Duration.ofMinutes(5), Duration.ofSeconds(10));
+    }
+}
@@ -0,0 +1,149 @@
+package io.hhplus.tdd.tracing;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 표본으로 뽑힌 /point 요청의 구간별 소요 시간을 재고, 끝난 결과를 고정 크기 링 버퍼에 남긴다.
+ * - 추적 중인 요청은 처리 스레드의 ThreadLocal 에 두므로, 구간 기록에 락이나 공유 쓰기가 없다.
+ * - 꺼져 있으면 phaseStart 는 필드 하나만 확인하고 0 을 반환하며, endPhase 도 0 을 받으면 바로 돌아간다.
+ * - 링 버퍼는 칸 하나를 원자적으로 바꿔 끼우기만 하므로, 조회 중에도 기록이 막히지 않는다.
+ */
+@Component
+public class PointTracer {
+
+    private static final int PHASE_COUNT = TracePhase.values().length;
+
+    private final TracingProperties properties;
+    private final ThreadLocal<ActiveTrace> current = new ThreadLocal<>();
+    private final AtomicReferenceArray<TraceRecord> records;
+    private final AtomicLong written = new AtomicLong();
+
+    public PointTracer(TracingProperties properties) {
+        if (properties.capacity() <= 0) {
+            throw new IllegalArgumentException("point.tracing.capacity must be > 0.");
+        }
+        this.properties = properties;
+        this.records = new AtomicReferenceArray<>(properties.capacity());
+    }
+
+    public static PointTracer disabled() {
+        return new PointTracer(TracingProperties.disabled());
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * 요청을 추적할지 정하고, 추적한다면 현재 스레드에 시작 시각을 남긴다.
+     *
+     * @param forced 표본 비율과 관계없이 추적한다.
+     */
+    public void begin(String method, String path, boolean forced) {
+        if (!properties.enabled()) {
+            return;
+        }
+        if (forced || ThreadLocalRandom.current().nextDouble() < properties.sampleRate()) {
+            current.set(new ActiveTrace(method, path, System.currentTimeMillis(), System.nanoTime()));
+        }
+    }
+
+    /**
+     * 현재 스레드의 추적을 끝내고 링 버퍼에 기록한다. 추적 중이 아니면 아무것도 하지 않는다.
+     */
+    public void finish(int status) {
+        if (!properties.enabled()) {
+            return;
+        }
+        ActiveTrace trace = current.get();
+        if (trace == null) {
+            return;
+        }
+        current.remove();
+
+        long totalNanos = System.nanoTime() - trace.startNanos;
+        long phaseNanosSum = 0;
+        Map<TracePhase, Long> phaseMicros = new EnumMap<>(TracePhase.class);
+        for (TracePhase phase : TracePhase.values()) {
+            long nanos = trace.phaseNanos[phase.ordinal()];
+            phaseNanosSum += nanos;
+            phaseMicros.put(phase, TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+        TraceRecord record = new TraceRecord(trace.method, trace.path, status, trace.startMillis,
+                TimeUnit.NANOSECONDS.toMicros(totalNanos), phaseMicros,
+                TimeUnit.NANOSECONDS.toMicros(Math.max(0, totalNanos - phaseNanosSum)));
+        records.set((int) (written.getAndIncrement() % records.length()), record);
+    }
+
+    /**
+     * 구간 시작 시각. 현재 요청을 추적하지 않으면 0 이다.
+     */
+    public long phaseStart() {
+        if (!properties.enabled() || current.get() == null) {
+            return 0;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * phaseStart 이후의 시간을 phase 에 더하고, 다음 구간의 시작 시각으로 쓸 현재 시각을 반환한다.
+     * startNanos 가 0 이면(추적하지 않는 요청) 아무것도 하지 않고 0 을 반환한다.
+     */
+    public long endPhase(TracePhase phase, long startNanos) {
+        if (startNanos == 0) {
+            return 0;
+        }
+        ActiveTrace trace = current.get();
+        if (trace == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        trace.phaseNanos[phase.ordinal()] += now - startNanos;
+        return now;
+    }
+
+    /**
+     * 링 버퍼에 남아 있는 추적 결과 중 오래 걸린 순으로 limit 개를 반환한다.
+     */
+    public List<TraceRecord> slowest(int limit) {
+        List<TraceRecord> snapshot = new ArrayList<>(records.length());
+        for (int i = 0; i < records.length(); i++) {
+            TraceRecord record = records.get(i);
+            if (record != null) {
+                snapshot.add(record);
+            }
+        }
+        snapshot.sort(Comparator.comparingLong(TraceRecord::totalMicros).reversed());
+        return List.copyOf(snapshot.subList(0, Math.min(Math.max(limit, 0), snapshot.size())));
+    }
+
+    public long recordedCount() {
+        return written.get();
+    }
+
+    private static final class ActiveTrace {
+
+        private final String method;
+        private final String path;
+        private final long startMillis;
+        private final long startNanos;
+        private final long[] phaseNanos = new long[PHASE_COUNT];
+
+        private ActiveTrace(String method, String path, long startMillis, long startNanos) {
+            this.method = method;
+            this.path = path;
+            this.startMillis = startMillis;
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.tracing;
+
+/**
+ * 포인트 변경 요청 안에서 따로 재는 구간. 한 요청에서 같은 구간을 여러 번 지나면(송금 등) 합산한다.
+ */
+public enum TracePhase {
+    /** 사용자 락을 얻기까지 기다린 시간 */
+    LOCK_WAIT,
+    /** 저장소 잔액 조회 (PointStore.selectById) */
+    SELECT,
+    /** UserPoint.charge/use 의 금액, 잔액 검증 */
+    VALIDATE,
+    /** 저장소 잔액 저장과 내역 추가를 한 단위로 반영 (PointStore.commit) */
+    COMMIT
+}
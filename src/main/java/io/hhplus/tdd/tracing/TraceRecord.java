@@ -0,0 +1,21 @@
+package io.hhplus.tdd.tracing;
+
+import java.util.Map;
+
+/**
+ * 끝난 요청 하나의 추적 결과
+ *
+ * @param totalMicros 컨트롤러 진입부터 응답 완료까지 걸린 시간
+ * @param phaseMicros 구간별 시간. 지나지 않은 구간은 0 이다.
+ * @param otherMicros 전체 시간 중 구간으로 재지 않은 나머지 (요청 변환, 처리율 한도, 응답 직렬화 등)
+ */
+public record TraceRecord(
+        String method,
+        String path,
+        int status,
+        long startMillis,
+        long totalMicros,
+        Map<TracePhase, Long> phaseMicros,
+        long otherMicros
+) {
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 추적 결과 조회용 관리 API. 외부에 노출하지 않는 것을 전제로 한다.
+ */
+@RestController
+@RequestMapping("/internal/traces")
+@RequiredArgsConstructor
+public class TracingController {
+    private final PointTracer pointTracer;
+
+    @GetMapping("slowest")
+    public List<TraceRecord> slowest(
+            @RequestParam(value = "limit", defaultValue = "20") int limit
+    ) {
+        return pointTracer.slowest(limit);
+    }
+}
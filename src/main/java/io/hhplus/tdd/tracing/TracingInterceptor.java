@@ -0,0 +1,32 @@
+package io.hhplus.tdd.tracing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * /point 요청의 시작과 끝에서 추적을 열고 닫는다. 응답이 모두 쓰인 뒤(afterCompletion) 닫으므로 직렬화 시간까지 포함된다.
+ */
+public class TracingInterceptor implements HandlerInterceptor {
+
+    public static final String TRACE_HEADER = "X-Point-Trace";
+
+    private final PointTracer pointTracer;
+
+    public TracingInterceptor(PointTracer pointTracer) {
+        this.pointTracer = pointTracer;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (pointTracer.isEnabled()) {
+            pointTracer.begin(request.getMethod(), request.getRequestURI(), request.getHeader(TRACE_HEADER) != null);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        pointTracer.finish(response.getStatus());
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.tracing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 요청 단위 구간 추적 설정
+ *
+ * @param sampleRate 추적할 /point 요청의 비율 (0~1). X-Point-Trace 헤더가 있는 요청은 비율과 관계없이 추적한다.
+ * @param capacity   최근 추적 결과를 보관하는 개수. 넘으면 가장 오래된 것부터 덮어쓴다.
+ */
+@ConfigurationProperties(prefix = "point.tracing")
+public record TracingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0.01") double sampleRate,
+        @DefaultValue("1024") int capacity
+) {
+    public static TracingProperties disabled() {
+        return new TracingProperties(false, 0, 1);
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.tracing;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class TracingWebConfig implements WebMvcConfigurer {
+
+    private final PointTracer pointTracer;
+
+    public TracingWebConfig(PointTracer pointTracer) {
+        this.pointTracer = pointTracer;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 클러스터/복제 라우팅에 쓴 시간도 포함되도록 가장 먼저 실행한다.
+        registry.addInterceptor(new TracingInterceptor(pointTracer)).addPathPatterns("/point/**").order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,140 @@
+package io.hhplus.tdd.warmup;
+
+import io.hhplus.tdd.cluster.PointCluster;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.codec.PointMediaTypes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+/**
+ * 기동 직후 실제 HTTP 경로로 임시 사용자 요청을 보내, 첫 트래픽이 들어오기 전에 컨트롤러/서비스/직렬화/오류 응답 경로를 JIT 컴파일시킨다.
+ * - ApplicationRunner 는 ApplicationReadyEvent 전에 실행되므로, 워밍업이 끝난 뒤에야 readiness 가 ACCEPTING_TRAFFIC 이 된다.
+ * - 실제 사용자와 겹치지 않도록 음수 id 를 쓰며, 끝나면 PointService.deleteUser 로 잔액과 내역, 만료 lot, 활동 카운터, 일일 충전 합계를 지우고
+ *   복제 노드에도 삭제를 기록한다.
+ *   클러스터 모드에서는 다른 노드에 임시 데이터가 남지 않도록 이 노드가 소유한 id 만 쓴다.
+ * - 처음/마지막 10% 요청의 지연 시간 중앙값을 남겨 워밍업 효과를 확인할 수 있다.
+ */
+@Component
+public class PointWarmupRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(PointWarmupRunner.class);
+    private static final int REQUEST_KINDS = 8;
+
+    private final WarmupProperties properties;
+    private final Environment environment;
+    private final PointService pointService;
+    private final PointCluster pointCluster;
+
+    public PointWarmupRunner(WarmupProperties properties,
+                             Environment environment,
+                             PointService pointService,
+                             PointCluster pointCluster) {
+        this.properties = properties;
+        this.environment = environment;
+        this.pointService = pointService;
+        this.pointCluster = pointCluster;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        String port = environment.getProperty("local.server.port");
+        if (!properties.enabled() || port == null) {
+            return;
+        }
+
+        String baseUrl = "http://127.0.0.1:" + port;
+        long[] userIds = scratchUserIds();
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        long[] latencies = new long[properties.requests()];
+        AtomicInteger failures = new AtomicInteger();
+        long startNanos = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(properties.concurrency());
+        try {
+            for (int i = 0; i < properties.requests(); i++) {
+                int index = i;
+                executor.execute(() -> {
+                    long requestStart = System.nanoTime();
+                    try {
+                        httpClient.send(request(baseUrl, userIds[index % userIds.length], index), HttpResponse.BodyHandlers.discarding());
+                    } catch (IOException e) {
+                        failures.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    latencies[index] = System.nanoTime() - requestStart;
+                });
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(properties.timeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Warm-up did not finish within {}, continuing startup", properties.timeout());
+            }
+        } finally {
+            executor.shutdownNow();
+            cleanUp(userIds);
+        }
+
+        int window = Math.max(1, properties.requests() / 10);
+        log.info("Warm-up sent {} requests in {}ms ({} failed). median latency first {}: {}us, last {}: {}us",
+                properties.requests(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), failures.get(),
+                window, medianMicros(latencies, 0, window),
+                window, medianMicros(latencies, latencies.length - window, latencies.length));
+    }
+
+    private long[] scratchUserIds() {
+        return LongStream.iterate(-1L, userId -> userId - 1)
+                .filter(pointCluster::isLocal)
+                .limit(properties.userCount())
+                .toArray();
+    }
+
+    private static HttpRequest request(String baseUrl, long userId, int index) {
+        String point = baseUrl + "/point/" + userId;
+        return switch (index % REQUEST_KINDS) {
+            case 0, 4 -> patch(point + "/charge", "1000");
+            case 1 -> HttpRequest.newBuilder(URI.create(point)).GET().build();
+            case 2 -> patch(point + "/use", "500");
+            case 3 -> patch(point + "/use", "100000000");
+            case 5 -> patch(point + "/charge", "0");
+            case 6 -> HttpRequest.newBuilder(URI.create(point + "/histories")).GET().build();
+            default -> HttpRequest.newBuilder(URI.create(point)).header("Accept", PointMediaTypes.BINARY_VALUE).GET().build();
+        };
+    }
+
+    private static HttpRequest patch(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void cleanUp(long[] userIds) {
+        CompletableFuture.allOf(Arrays.stream(userIds)
+                .mapToObj(userId -> CompletableFuture.runAsync(() -> pointService.deleteUser(userId)))
+                .toArray(CompletableFuture[]::new)).join();
+    }
+
+    private static long medianMicros(long[] latencies, int from, int to) {
+        long[] window = Arrays.stream(latencies, from, to).filter(latency -> latency > 0).sorted().toArray();
+        return window.length == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(window[window.length / 2]);
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 기동 직후 워밍업 설정
+ *
+ * @param requests    보낼 요청 수. 충전/사용/조회/오류 응답을 고르게 섞는다.
+ * @param concurrency 동시에 요청을 보내는 스레드 수
+ * @param userCount   워밍업에 쓰는 임시 사용자 수. 사용자별 요청 한도에 걸리지 않도록 requests / userCount 가 user-burst 이하가 되게 잡는다.
+ * @param timeout     워밍업 전체 제한 시간. 넘으면 남은 요청을 버리고 기동을 계속한다.
+ */
+@ConfigurationProperties(prefix = "point.warmup")
+public record WarmupProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("2000") int requests,
+        @DefaultValue("64") int concurrency,
+        @DefaultValue("64") int userCount,
+        @DefaultValue("60s") Duration timeout
+) {
+}
@@ -0,0 +1,135 @@
+package io.hhplus.tdd.wire;
+
+import io.hhplus.tdd.exception.ConcurrencyLimitExceededException;
+import io.hhplus.tdd.exception.NodeUnavailableException;
+import io.hhplus.tdd.exception.PointException;
+import io.hhplus.tdd.exception.RateLimitExceededException;
+import io.hhplus.tdd.exception.UserNotFoundException;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 내부 호출자용 길이 접두 바이너리 프로토콜 (빅엔디언).
+ *
+ * 프레임: [길이(4, 자신 제외)] [본문]
+ * - 요청 본문: requestId(8) opcode(1) userId(8) 뒤에 opcode 별 필드
+ *   GET(1): 없음 / CHARGE(2), USE(3): amount(8) / TRANSFER(4): toUserId(8) amount(8)
+ * - 응답 본문: requestId(8) status(2) 뒤에 상태별 필드
+ *   200: UserPoint id(8) point(8) updateMillis(8)
+ *   그 외: retryAfterSeconds(4) 메시지 길이(2) 메시지(UTF-8)
+ *
+ * 상태 코드는 HTTP API(ApiControllerAdvice)와 같은 값을 쓴다. 추가로 클러스터에서 다른 노드 소유 사용자는 421(메시지는 소유 노드),
+ * 복제 노드로 온 쓰기는 307(메시지는 주 노드 주소)이다.
+ * 클라이언트는 응답을 기다리지 않고 요청을 이어 보낼 수 있으며(pipelining), 응답은 처리가 끝난 순서로 오므로 requestId 로 짝을 맞춘다.
+ */
+public final class PointWireProtocol {
+
+    public static final byte GET = 1;
+    public static final byte CHARGE = 2;
+    public static final byte USE = 3;
+    public static final byte TRANSFER = 4;
+
+    public static final short OK = 200;
+    public static final short REDIRECT = 307;
+    public static final short BAD_REQUEST = 400;
+    public static final short NOT_FOUND = 404;
+    public static final short MISDIRECTED = 421;
+    public static final short TOO_MANY_REQUESTS = 429;
+    public static final short INTERNAL_ERROR = 500;
+    public static final short UNAVAILABLE = 503;
+
+    static final int LENGTH_BYTES = Integer.BYTES;
+    static final int REQUEST_HEADER_BYTES = Long.BYTES + Byte.BYTES + Long.BYTES;
+    static final int MAX_REQUEST_BYTES = REQUEST_HEADER_BYTES + Long.BYTES * 2;
+    static final int OK_RESPONSE_BYTES = Long.BYTES + Short.BYTES + Long.BYTES * 3;
+    private static final int MAX_MESSAGE_BYTES = 1024;
+
+    private PointWireProtocol() {
+    }
+
+    /**
+     * opcode 별 요청 본문 길이. 모르는 opcode 면 -1.
+     */
+    public static int requestLength(byte opcode) {
+        return switch (opcode) {
+            case GET -> REQUEST_HEADER_BYTES;
+            case CHARGE, USE -> REQUEST_HEADER_BYTES + Long.BYTES;
+            case TRANSFER -> REQUEST_HEADER_BYTES + Long.BYTES * 2;
+            default -> -1;
+        };
+    }
+
+    /**
+     * 요청 프레임을 buffer 에 쓴다. GET 은 amount, toUserId 를, CHARGE/USE 는 toUserId 를 쓰지 않는다.
+     */
+    public static void writeRequest(ByteBuffer buffer, long requestId, byte opcode, long userId, long toUserId, long amount) {
+        int length = requestLength(opcode);
+        if (length < 0) {
+            throw new IllegalArgumentException("Unknown opcode: " + opcode);
+        }
+        buffer.putInt(length).putLong(requestId).put(opcode).putLong(userId);
+        if (opcode == TRANSFER) {
+            buffer.putLong(toUserId);
+        }
+        if (opcode != GET) {
+            buffer.putLong(amount);
+        }
+    }
+
+    static ByteBuffer okResponse(long requestId, UserPoint userPoint) {
+        return ByteBuffer.allocate(LENGTH_BYTES + OK_RESPONSE_BYTES)
+                .putInt(OK_RESPONSE_BYTES)
+                .putLong(requestId)
+                .putShort(OK)
+                .putLong(userPoint.id())
+                .putLong(userPoint.point())
+                .putLong(userPoint.updateMillis())
+                .flip();
+    }
+
+    static ByteBuffer errorResponse(long requestId, short status, int retryAfterSeconds, String message) {
+        byte[] text = (message == null ? "" : message).getBytes(StandardCharsets.UTF_8);
+        int textLength = Math.min(text.length, MAX_MESSAGE_BYTES);
+        int length = Long.BYTES + Short.BYTES + Integer.BYTES + Short.BYTES + textLength;
+        return ByteBuffer.allocate(LENGTH_BYTES + length)
+                .putInt(length)
+                .putLong(requestId)
+                .putShort(status)
+                .putInt(retryAfterSeconds)
+                .putShort((short) textLength)
+                .put(text, 0, textLength)
+                .flip();
+    }
+
+    /**
+     * ApiControllerAdvice 와 같은 규칙으로 도메인 예외를 상태 코드로 바꾼다.
+     */
+    static short statusOf(RuntimeException e) {
+        if (e instanceof RateLimitExceededException) {
+            return TOO_MANY_REQUESTS;
+        }
+        if (e instanceof ConcurrencyLimitExceededException || e instanceof NodeUnavailableException) {
+            return UNAVAILABLE;
+        }
+        if (e instanceof UserNotFoundException) {
+            return NOT_FOUND;
+        }
+        if (e instanceof PointException || e instanceof IllegalArgumentException) {
+            return BAD_REQUEST;
+        }
+        return INTERNAL_ERROR;
+    }
+
+    static ByteBuffer errorResponse(long requestId, RuntimeException e) {
+        short status = statusOf(e);
+        if (status == INTERNAL_ERROR) {
+            return errorResponse(requestId, status, 0, "An unexpected error occurred.");
+        }
+        int retryAfterSeconds = e instanceof RateLimitExceededException rateLimited
+                ? (int) rateLimited.getRetryAfterSeconds()
+                : e instanceof ConcurrencyLimitExceededException ? 1 : 0;
+        return errorResponse(requestId, status, retryAfterSeconds, e.getMessage());
+    }
+}
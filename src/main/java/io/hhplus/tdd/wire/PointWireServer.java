@@ -0,0 +1,352 @@
+package io.hhplus.tdd.wire;
+
+import io.hhplus.tdd.cluster.PointCluster;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.replication.ReplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PointWireProtocol 을 처리하는 NIO TCP 리스너. HTTP 와 같은 PointService 연산(처리율/동시 처리 한도 포함)을 그대로 호출한다.
+ *
+ * - I/O 스레드 하나가 Selector 로 모든 연결의 accept/read/write 를 처리하고, 요청 처리는 worker 스레드에 넘긴다.
+ *   PointService 는 사용자 락과 저장소에서 블로킹되므로 I/O 스레드에서 호출하지 않는다.
+ * - 한 번 읽은 버퍼에 들어 있는 요청 프레임은 모두 바로 worker 에 넘기므로(pipelining), 같은 연결의 요청도 동시에 처리된다.
+ *   응답은 끝난 순서대로 requestId 와 함께 돌려준다. (multiplexing)
+ * - worker 는 응답을 연결의 송신 큐에 넣고 I/O 스레드를 깨우기만 한다. I/O 스레드는 쌓인 응답을 한 번의 gathering write 로 보낸다.
+ * - 연결마다 응답하지 않은 요청이 maxInFlight 에 이르면 그 연결을 읽지 않고, 절반 아래로 줄면 다시 읽는다. (배압)
+ * - 길이나 opcode 가 맞지 않는 프레임을 받으면 프레임 경계를 믿을 수 없으므로 연결을 닫는다.
+ */
+@Component
+public class PointWireServer {
+
+    private static final Logger log = LoggerFactory.getLogger(PointWireServer.class);
+
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    private static final int MAX_GATHER = 64;
+
+    private final WireProperties properties;
+    private final PointService pointService;
+    private final PointCluster pointCluster;
+    private final ReplicationProperties replicationProperties;
+    private final Counter requestCounter;
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Queue<Connection> writeReady = new ConcurrentLinkedQueue<>();
+    private volatile boolean running;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread ioThread;
+    private ExecutorService workers;
+
+    public PointWireServer(WireProperties properties,
+                           PointService pointService,
+                           PointCluster pointCluster,
+                           ReplicationProperties replicationProperties,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pointService = pointService;
+        this.pointCluster = pointCluster;
+        this.replicationProperties = replicationProperties;
+        this.requestCounter = meterRegistry.counter("point.wire.requests");
+        Gauge.builder("point.wire.connections", connectionCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.enabled()) {
+            return;
+        }
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(properties.port()));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        AtomicInteger workerSequence = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(properties.workerThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "point-wire-worker-" + workerSequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        ioThread = new Thread(this::runLoop, "point-wire-io");
+        ioThread.setDaemon(true);
+        ioThread.start();
+        log.info("Point wire protocol listening on port {}", localPort());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        ioThread.join(TimeUnit.SECONDS.toMillis(1));
+        workers.shutdownNow();
+    }
+
+    public int localPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public int connectionCount() {
+        return connectionCount.get();
+    }
+
+    private void runLoop() {
+        try {
+            while (running) {
+                selector.select();
+                Connection ready;
+                while ((ready = writeReady.poll()) != null) {
+                    ready.onResponsesQueued();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection connection = (Connection) key.attachment();
+                    if (key.isWritable()) {
+                        connection.write();
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        connection.read();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.error("Point wire selector failed", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection connection) {
+                    connection.close();
+                }
+            }
+            closeQuietly();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        connectionCount.incrementAndGet();
+    }
+
+    private ByteBuffer handle(long requestId, byte opcode, long userId, long toUserId, long amount) {
+        requestCounter.increment();
+        try {
+            if (!pointCluster.isLocal(userId)) {
+                return PointWireProtocol.errorResponse(requestId, PointWireProtocol.MISDIRECTED, 0, pointCluster.ownerOf(userId));
+            }
+            if (opcode != PointWireProtocol.GET && replicationProperties.role() == ReplicationProperties.Role.REPLICA) {
+                return PointWireProtocol.errorResponse(requestId, PointWireProtocol.REDIRECT, 0, replicationProperties.primaryUrl());
+            }
+            UserPoint userPoint = switch (opcode) {
+                case PointWireProtocol.GET -> pointService.getUserPoint(userId);
+                case PointWireProtocol.CHARGE -> pointService.charge(userId, amount);
+                case PointWireProtocol.USE -> pointService.use(userId, amount);
+                default -> pointService.transfer(userId, toUserId, amount);
+            };
+            return PointWireProtocol.okResponse(requestId, userPoint);
+        } catch (RuntimeException e) {
+            if (PointWireProtocol.statusOf(e) == PointWireProtocol.INTERNAL_ERROR) {
+                log.warn("Point wire request {} failed", requestId, e);
+            }
+            return PointWireProtocol.errorResponse(requestId, e);
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            log.debug("Failed to close point wire listener", e);
+        }
+    }
+
+    /**
+     * 연결 하나의 상태. readBuffer, pending, key 는 I/O 스레드만 만지고, responses/inFlight/queued 는 worker 와 공유한다.
+     */
+    private final class Connection {
+
+        private final SocketChannel channel;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        private final Queue<ByteBuffer> responses = new ConcurrentLinkedQueue<>();
+        private final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicBoolean queued = new AtomicBoolean();
+        private SelectionKey key;
+        private boolean readPaused;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void read() {
+            try {
+                if (channel.read(readBuffer) < 0) {
+                    close();
+                    return;
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            dispatchFrames();
+        }
+
+        /**
+         * readBuffer 에 완성된 프레임을 모두 worker 에 넘긴다. maxInFlight 에 이르면 남은 프레임은 버퍼에 두고 읽기를 멈춘다.
+         */
+        private void dispatchFrames() {
+            readBuffer.flip();
+            while (readBuffer.remaining() >= PointWireProtocol.LENGTH_BYTES) {
+                if (inFlight.get() >= properties.maxInFlight()) {
+                    pauseReading();
+                    break;
+                }
+                int position = readBuffer.position();
+                int length = readBuffer.getInt(position);
+                if (length < PointWireProtocol.REQUEST_HEADER_BYTES || length > PointWireProtocol.MAX_REQUEST_BYTES) {
+                    log.warn("Closing point wire connection {}: invalid frame length {}", remoteAddress(), length);
+                    close();
+                    return;
+                }
+                if (readBuffer.remaining() < PointWireProtocol.LENGTH_BYTES + length) {
+                    break;
+                }
+                readBuffer.position(position + PointWireProtocol.LENGTH_BYTES);
+                long requestId = readBuffer.getLong();
+                byte opcode = readBuffer.get();
+                if (PointWireProtocol.requestLength(opcode) != length) {
+                    log.warn("Closing point wire connection {}: opcode {} with length {}", remoteAddress(), opcode, length);
+                    close();
+                    return;
+                }
+                long userId = readBuffer.getLong();
+                long toUserId = opcode == PointWireProtocol.TRANSFER ? readBuffer.getLong() : 0;
+                long amount = opcode == PointWireProtocol.GET ? 0 : readBuffer.getLong();
+                inFlight.incrementAndGet();
+                workers.execute(() -> complete(handle(requestId, opcode, userId, toUserId, amount)));
+            }
+            readBuffer.compact();
+        }
+
+        private void pauseReading() {
+            if (!readPaused) {
+                readPaused = true;
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+            }
+        }
+
+        // worker 스레드
+        private void complete(ByteBuffer response) {
+            responses.add(response);
+            inFlight.decrementAndGet();
+            if (queued.compareAndSet(false, true)) {
+                writeReady.add(this);
+                selector.wakeup();
+            }
+        }
+
+        void onResponsesQueued() {
+            queued.set(false);
+            if (!key.isValid()) {
+                return;
+            }
+            write();
+            if (readPaused && key.isValid() && inFlight.get() <= properties.maxInFlight() / 2) {
+                readPaused = false;
+                key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+                dispatchFrames();
+            }
+        }
+
+        void write() {
+            ByteBuffer response;
+            while ((response = responses.poll()) != null) {
+                pending.add(response);
+            }
+            try {
+                while (!pending.isEmpty()) {
+                    ByteBuffer[] batch = pending.stream().limit(MAX_GATHER).toArray(ByteBuffer[]::new);
+                    channel.write(batch);
+                    while (!pending.isEmpty() && !pending.peek().hasRemaining()) {
+                        pending.poll();
+                    }
+                    if (batch[batch.length - 1].hasRemaining()) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            int interest = key.interestOps();
+            key.interestOps(pending.isEmpty() ? interest & ~SelectionKey.OP_WRITE : interest | SelectionKey.OP_WRITE);
+        }
+
+        void close() {
+            if (key != null && !key.isValid()) {
+                return;
+            }
+            if (key != null) {
+                key.cancel();
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close point wire connection", e);
+            }
+            connectionCount.decrementAndGet();
+        }
+
+        private Object remoteAddress() {
+            try {
+                return channel.getRemoteAddress();
+            } catch (IOException e) {
+                return "unknown";
+            }
+        }
+    }
+}
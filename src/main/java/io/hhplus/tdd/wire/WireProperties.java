@@ -0,0 +1,29 @@
+package io.hhplus.tdd.wire;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 내부 호출자용 바이너리 프로토콜 리스너 설정
+ *
+ * @param port          TCP 포트. 0 이면 임의의 빈 포트를 쓴다.
+ * @param workerThreads PointService 를 호출하는 스레드 수. 락 대기나 저장소 지연으로 블로킹되므로 I/O 스레드와 분리한다.
+ * @param maxInFlight   연결 하나가 응답을 받지 않은 채 보낼 수 있는 요청 수. 넘으면 응답이 절반 아래로 줄 때까지 그 연결을 읽지 않는다.
+ */
+@ConfigurationProperties(prefix = "point.wire")
+public record WireProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("9090") int port,
+        @DefaultValue("64") int workerThreads,
+        @DefaultValue("1024") int maxInFlight
+) {
+    public WireProperties {
+        if (workerThreads <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("point.wire.worker-threads and max-in-flight must be positive.");
+        }
+    }
+
+    public static WireProperties disabled() {
+        return new WireProperties(false, 0, 1, 1);
+    }
+}
@@ -0,0 +1,71 @@
+package io.hhplus.tdd;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.exception.InsufficientBalanceException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorBodiesTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ErrorBodiesTest.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ErrorBodies errorBodies = new ErrorBodies(objectMapper);
+
+    @Test
+    void 본문은_Jackson_으로_직렬화한_ErrorResponse_와_같고_고정_메시지_인스턴스면_같은_배열을_쓴다() throws Exception {
+        byte[] body = errorBodies.body(400, InsufficientBalanceException.INSTANCE);
+
+        assertThat(body).isEqualTo(objectMapper.writeValueAsBytes(new ErrorResponse("400", "Insufficient balance.")));
+        assertThat(errorBodies.body(400, InsufficientBalanceException.INSTANCE)).isSameAs(body);
+        assertThat(errorBodies.body(503, InsufficientBalanceException.INSTANCE)).isNotSameAs(body);
+    }
+
+    @Test
+    void 요청_값이_들어갈_수_있는_예외_메시지는_보관하지_않고_매번_직렬화한다() {
+        for (int i = 0; i < 2_000; i++) {
+            errorBodies.body(400, new IllegalArgumentException("Unknown tier: " + i));
+        }
+
+        assertThat(errorBodies.size()).isZero();
+        IllegalArgumentException e = new IllegalArgumentException("Unknown tier: x");
+        byte[] uncached = errorBodies.body(400, e);
+        assertThat(errorBodies.body(400, e)).isEqualTo(uncached).isNotSameAs(uncached);
+        // 같은 문구라도 고정 인스턴스가 아니면 보관하지 않는다.
+        assertThat(errorBodies.body(400, new InsufficientBalanceException("Insufficient balance."))).isNotSameAs(
+                errorBodies.body(400, InsufficientBalanceException.INSTANCE));
+    }
+
+    @Test
+    @Tag("load")
+    void 미리_직렬화한_본문은_요청마다_직렬화하는_것보다_싸다() throws Exception {
+        int rounds = 500_000;
+        long sink = 0;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            for (int i = 0; i < rounds; i++) {
+                sink += objectMapper.writeValueAsBytes(new ErrorResponse("400", "Insufficient balance.")).length;
+                sink += errorBodies.body(400, InsufficientBalanceException.INSTANCE).length;
+            }
+        }
+
+        long serializeStart = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            sink += objectMapper.writeValueAsBytes(new ErrorResponse("400", "Insufficient balance.")).length;
+        }
+        long serializeNanos = System.nanoTime() - serializeStart;
+
+        long cachedStart = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            sink += errorBodies.body(400, InsufficientBalanceException.INSTANCE).length;
+        }
+        long cachedNanos = System.nanoTime() - cachedStart;
+
+        log.info("error body: Jackson {} ns/op, pre-serialized {} ns/op (sink {})",
+                serializeNanos / rounds, cachedNanos / rounds, sink);
+        assertThat(cachedNanos).isLessThan(serializeNanos);
+    }
+}
@@ -0,0 +1,265 @@
+package io.hhplus.tdd.bulk;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.storage.PointMutation;
+import io.hhplus.tdd.storage.TablePointStore;
+import io.hhplus.tdd.storage.disk.DiskPointStore;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointBulkServiceTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointBulkServiceTest.class);
+
+    private static final long MB = 1024 * 1024;
+    private static final BulkProperties PROPERTIES = new BulkProperties(false, Path.of("unused"), 4, 4, 500, 200);
+
+    @TempDir
+    Path directory;
+
+    /**
+     * userId 가 음수인 사용자도 섞어, 사용자마다 잔액 하나와 내역 historiesPerUser 건을 만든다.
+     */
+    private static void seed(DiskPointStore store, int users, int historiesPerUser) {
+        List<UserPoint> userPoints = new ArrayList<>(users);
+        List<PointHistory> histories = new ArrayList<>(users * historiesPerUser);
+        long id = 1;
+        for (long userId = -3; userId < users - 3; userId++) {
+            userPoints.add(new UserPoint(userId, userId * 10 + 1_000, 1_000 + userId));
+            for (int i = 0; i < historiesPerUser; i++) {
+                TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+                histories.add(new PointHistory(id++, userId, i + 1, type, 2_000 + i));
+            }
+        }
+        store.bulkLoad(userPoints, histories);
+    }
+
+    private static long countFiles(Path directory, String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).count();
+        }
+    }
+
+    @Test
+    void 내보낸_잔액과_내역을_다른_저장소로_그대로_가져온다() {
+        for (BulkFormat format : BulkFormat.values()) {
+            Path base = directory.resolve(format.name());
+            try (DiskPointStore source = DiskPointStore.open(base.resolve("source"), 8 * MB, 4 * MB, false);
+                 DiskPointStore target = DiskPointStore.open(base.resolve("target"), 8 * MB, 4 * MB, false)) {
+                seed(source, 100, 7);
+
+                BulkReport exported = new PointBulkService(source, PROPERTIES).export(base.resolve("out"), format);
+                BulkReport imported = new PointBulkService(target, PROPERTIES).importFrom(base.resolve("out"));
+
+                assertThat(exported.userPoints()).as(format.name()).isEqualTo(100);
+                assertThat(exported.histories()).as(format.name()).isEqualTo(700);
+                assertThat(imported.files()).as(format.name()).isEqualTo(exported.files());
+                assertThat(imported.userPoints() + imported.histories()).as(format.name()).isEqualTo(800);
+                for (long userId = -3; userId < 97; userId++) {
+                    assertThat(target.selectById(userId)).as(format.name()).isEqualTo(source.selectById(userId));
+                    assertThat(target.selectHistories(userId)).as(format.name()).isEqualTo(source.selectHistories(userId));
+                }
+            }
+        }
+    }
+
+    @Test
+    void 가져온_뒤_새로_발급하는_내역_id_는_가져온_id_와_겹치지_않는다() {
+        try (DiskPointStore source = DiskPointStore.open(directory.resolve("source"), 8 * MB, 4 * MB, false);
+             DiskPointStore target = DiskPointStore.open(directory.resolve("target"), 8 * MB, 4 * MB, false)) {
+            seed(source, 10, 3);
+            new PointBulkService(source, PROPERTIES).export(directory.resolve("out"), BulkFormat.BINARY);
+            new PointBulkService(target, PROPERTIES).importFrom(directory.resolve("out"));
+
+            PointHistory next = target.appendHistory(1L, 10, TransactionType.CHARGE, 3_000);
+
+            assertThat(next.id()).isEqualTo(31);
+        }
+    }
+
+    @Test
+    void 테이블_저장소에도_묶음_단위로_가져온다() {
+        try (DiskPointStore source = DiskPointStore.open(directory.resolve("source"), 8 * MB, 4 * MB, false)) {
+            seed(source, 20, 5);
+            new PointBulkService(source, PROPERTIES).export(directory.resolve("out"), BulkFormat.CSV);
+            TablePointStore target = new TablePointStore(new UserPointTable(), new PointHistoryTable());
+
+            new PointBulkService(target, PROPERTIES).importFrom(directory.resolve("out"));
+
+            assertThat(target.selectHistories(5L)).isEqualTo(source.selectHistories(5L));
+            assertThat(target.selectById(5L)).isEqualTo(source.selectById(5L));
+            assertThat(target.appendHistory(5L, 1, TransactionType.CHARGE, 3_000).id()).isEqualTo(101);
+        }
+    }
+
+    @Test
+    void 잔액이_있는_저장소로는_가져오지_않는다() {
+        try (DiskPointStore source = DiskPointStore.open(directory.resolve("source"), 8 * MB, 4 * MB, false)) {
+            seed(source, 4, 2);
+            new PointBulkService(source, PROPERTIES).export(directory.resolve("out"), BulkFormat.BINARY);
+            TablePointStore target = new TablePointStore(new UserPointTable(), new PointHistoryTable());
+            PointBulkService service = new PointBulkService(target, PROPERTIES);
+            service.importFrom(directory.resolve("out"));
+
+            assertThatThrownBy(() -> service.importFrom(directory.resolve("out")))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(target.selectHistories(0L)).hasSize(2);
+        }
+    }
+
+    @Nested
+    class API_경로 {
+
+        private PointBulkService service(boolean enabled) {
+            BulkProperties properties = new BulkProperties(enabled, directory.resolve("bulk"), 4, 4, 500, 200);
+            return new PointBulkService(new TablePointStore(new UserPointTable(), new PointHistoryTable()), properties);
+        }
+
+        @Test
+        void 기준_디렉터리_안의_상대_경로로_푼다() {
+            assertThat(service(true).resolveDir("2024/../exports/out"))
+                    .isEqualTo(directory.resolve("bulk").resolve("exports/out").toAbsolutePath().normalize());
+        }
+
+        @Test
+        void 기준_디렉터리_밖을_가리키면_거절한다() {
+            PointBulkService service = service(true);
+
+            for (String dir : List.of("../source", "exports/../../source", directory.resolve("source").toString(), "/etc", ".")) {
+                assertThatThrownBy(() -> service.resolveDir(dir)).as(dir).isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+
+        @Test
+        void 기준_디렉터리_밖으로_이어진_심볼릭_링크는_거절한다() throws IOException {
+            Files.createDirectories(directory.resolve("bulk"));
+            Files.createDirectories(directory.resolve("outside"));
+            Files.createSymbolicLink(directory.resolve("bulk").resolve("link"), directory.resolve("outside"));
+
+            assertThatThrownBy(() -> service(true).resolveDir("link"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void 꺼져_있으면_거절한다() {
+            assertThatThrownBy(() -> service(false).resolveDir("out"))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("disabled");
+        }
+    }
+
+    @Nested
+    class 청크_파일 {
+
+        @Test
+        void 파티션마다_chunkRows_행씩_나눠_쓴다() throws IOException {
+            try (DiskPointStore source = DiskPointStore.open(directory.resolve("source"), 8 * MB, 4 * MB, false)) {
+                seed(source, 40, 50);    // 파티션당 사용자 10명, 내역 500건
+
+                BulkReport report = new PointBulkService(source, new BulkProperties(false, Path.of("unused"), 4, 2, 200, 100))
+                        .export(directory.resolve("out"), BulkFormat.NDJSON);
+
+                assertThat(countFiles(directory.resolve("out"), "balances-")).isEqualTo(4);
+                assertThat(countFiles(directory.resolve("out"), "histories-")).isEqualTo(4 * 3);
+                assertThat(report.files()).isEqualTo(16);
+                assertThat(Files.exists(directory.resolve("out").resolve("histories-p0000-00003.ndjson.gz"))).isTrue();
+            }
+        }
+
+        @Test
+        void 이미_청크_파일이_있는_디렉터리로는_내보내지_않는다() {
+            try (DiskPointStore source = DiskPointStore.open(directory.resolve("source"), 8 * MB, 4 * MB, false)) {
+                seed(source, 4, 1);
+                PointBulkService service = new PointBulkService(source, PROPERTIES);
+                service.export(directory.resolve("out"), BulkFormat.CSV);
+
+                assertThatThrownBy(() -> service.export(directory.resolve("out"), BulkFormat.CSV))
+                        .isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+
+        @Test
+        void 끝_표시가_없는_바이너리_청크는_잘린_파일로_거절한다() throws IOException {
+            Path out = Files.createDirectories(directory.resolve("out"));
+            try (OutputStream stream = new GZIPOutputStream(Files.newOutputStream(out.resolve("balances-p0000-00001.bin.gz")))) {
+                stream.write(new byte[]{1, 0, 0, 0});
+            }
+            TablePointStore target = new TablePointStore(new UserPointTable(), new PointHistoryTable());
+
+            assertThatThrownBy(() -> new PointBulkService(target, PROPERTIES).importFrom(out))
+                    .isInstanceOf(UncheckedIOException.class);
+        }
+
+        @Test
+        void 형식이_맞지_않는_CSV_행은_파일과_줄을_알려_준다() throws IOException {
+            Path out = Files.createDirectories(directory.resolve("out"));
+            try (OutputStream stream = new GZIPOutputStream(Files.newOutputStream(out.resolve("histories-p0000-00001.csv.gz")))) {
+                stream.write("id,userId,amount,type,updateMillis\n1,1,100,charge,5\n2,1,100,refund,6\n".getBytes(StandardCharsets.US_ASCII));
+            }
+            TablePointStore target = new TablePointStore(new UserPointTable(), new PointHistoryTable());
+
+            assertThatThrownBy(() -> new PointBulkService(target, PROPERTIES).importFrom(out))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("histories-p0000-00001.csv.gz")
+                    .hasMessageContaining("line 3");
+        }
+    }
+
+    @Test
+    @Tag("load")
+    void 일괄_가져오기가_건별_커밋보다_빠르다() {
+        int users = 2_000;
+        int historiesPerUser = 10;
+        try (DiskPointStore source = DiskPointStore.open(directory.resolve("source"), 32 * MB, 16 * MB, true);
+             DiskPointStore bulk = DiskPointStore.open(directory.resolve("bulk"), 32 * MB, 16 * MB, true);
+             DiskPointStore single = DiskPointStore.open(directory.resolve("single"), 32 * MB, 16 * MB, true)) {
+            seed(source, users, historiesPerUser);
+            new PointBulkService(source, BulkProperties.defaults()).export(directory.resolve("out"), BulkFormat.BINARY);
+
+            BulkReport report = new PointBulkService(bulk, BulkProperties.defaults()).importFrom(directory.resolve("out"));
+
+            // 같은 내역을 charge 처럼 한 건씩 commit 한다. (잔액과 내역 한 쌍이 로그 레코드 하나)
+            long begin = System.nanoTime();
+            int rows = 0;
+            for (long userId = -3; userId < users - 3; userId++) {
+                long balance = 0;
+                for (PointHistory history : source.selectHistories(userId)) {
+                    long after = history.type() == TransactionType.CHARGE ? balance + history.amount() : balance - history.amount();
+                    single.commit(List.of(new PointMutation(new UserPoint(userId, balance, 0), new UserPoint(userId, after,
+                            history.updateMillis()), history.amount(), history.type())));
+                    balance = after;
+                    rows++;
+                }
+            }
+            double singleRowsPerMinute = rows * 60_000.0 / Math.max(1, (System.nanoTime() - begin) / 1_000_000);
+
+            log.info("synced disk store: bulk import {} rows/min ({} rows in {} ms), per-row commit {} rows/min",
+                    Math.round(report.rowsPerMinute()), report.userPoints() + report.histories(), report.elapsedMillis(),
+                    Math.round(singleRowsPerMinute));
+            assertThat(bulk.selectHistories(7L)).isEqualTo(source.selectHistories(7L));
+            assertThat(report.rowsPerMinute()).isGreaterThan(singleRowsPerMinute);
+        }
+    }
+}
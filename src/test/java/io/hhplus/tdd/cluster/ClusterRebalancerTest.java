@@ -0,0 +1,242 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.archive.PointHistoryArchive;
+import io.hhplus.tdd.exception.NodeUnavailableException;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserReentrantLockManager;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointBatchReader;
+import io.hhplus.tdd.point.activity.ActivityProperties;
+import io.hhplus.tdd.point.activity.ActivityTracker;
+import io.hhplus.tdd.point.activity.ActivityWindow;
+import io.hhplus.tdd.point.expiry.LotSnapshot;
+import io.hhplus.tdd.point.expiry.PointExpiryProperties;
+import io.hhplus.tdd.point.expiry.PointLotLedger;
+import io.hhplus.tdd.point.tier.TierProperties;
+import io.hhplus.tdd.point.tier.TierRuleEngine;
+import io.hhplus.tdd.ratelimit.AdaptiveConcurrencyLimiter;
+import io.hhplus.tdd.ratelimit.ConcurrencyLimitProperties;
+import io.hhplus.tdd.ratelimit.PointRateLimiter;
+import io.hhplus.tdd.ratelimit.RateLimitProperties;
+import io.hhplus.tdd.replication.ReplicationLog;
+import io.hhplus.tdd.replication.ReplicationProperties;
+import io.hhplus.tdd.storage.TablePointStore;
+import io.hhplus.tdd.tracing.PointTracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 노드 간 호출 없이 한 노드의 넘기기/받기와 소유 노드 재확인을 확인한다.
+ */
+class ClusterRebalancerTest {
+
+    private static final String SELF = "http://node-a";
+    private static final String OTHER = "http://node-b";
+    private static final TierProperties.Tier VIP = new TierProperties.Tier("VIP", 10_000_000L, 1, 1_000_000L, 100_000L);
+
+    private final Node node = new Node(SELF);
+    private final UserPointTable userPointTable = node.userPointTable;
+    private final PointHistoryTable pointHistoryTable = node.pointHistoryTable;
+    private final UserReentrantLockManager lockManager = node.lockManager;
+    private final RecordingCluster cluster = node.cluster;
+    private final ClusterRebalancer rebalancer = node.rebalancer;
+
+    /**
+     * 넘기기 본문을 기록하고, failures 만큼은 응답을 받지 못한 것처럼 실패한다.
+     */
+    private static class RecordingCluster extends PointCluster {
+        private final List<HandoffRequest> sent = new CopyOnWriteArrayList<>();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        RecordingCluster(String self) {
+            super(new ClusterProperties(true, self, List.of(), ClusterProperties.RoutingMode.FORWARD, 16,
+                    Duration.ofSeconds(1), false, Duration.ofSeconds(1)), null);
+        }
+
+        @Override
+        public void sendHandoff(String node, HandoffRequest handoff) {
+            sent.add(handoff);
+            if (failures.getAndDecrement() > 0) {
+                throw new NodeUnavailableException("Cluster node is unavailable: " + node, null);
+            }
+        }
+    }
+
+    /**
+     * 한 노드의 저장소와 사용자별 상태. 만료, 등급 한도, 활동 카운터, 복제 로그를 모두 켠다.
+     */
+    private static class Node {
+        private final UserPointTable userPointTable = new UserPointTable();
+        private final PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        private final UserReentrantLockManager lockManager = new UserReentrantLockManager();
+        private final ReplicationLog replicationLog = new ReplicationLog(new ReplicationProperties(ReplicationProperties.Role.PRIMARY,
+                null, 64, 100, Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1)), userPointTable, pointHistoryTable);
+        private final PointLotLedger pointLotLedger = new PointLotLedger(
+                new PointExpiryProperties(true, Duration.ofDays(365), Duration.ofSeconds(1), 512, 1));
+        private final TierRuleEngine tierRuleEngine = new TierRuleEngine(
+                new TierProperties(List.of(TierProperties.DEFAULT, VIP), ZoneId.of("Asia/Seoul"), 16));
+        private final ActivityTracker activityTracker = new ActivityTracker(ActivityProperties.defaults(), new SimpleMeterRegistry());
+        private final RecordingCluster cluster;
+        private final PointService pointService;
+        private final ClusterRebalancer rebalancer;
+
+        Node(String self) {
+            cluster = new RecordingCluster(self);
+            TablePointStore pointStore = new TablePointStore(userPointTable, pointHistoryTable);
+            pointService = new PointService(pointStore,
+                    lockManager, new UserPointBatchReader(pointStore, 4, cluster),
+                    new PointHistoryArchive(false, Path.of("unused")),
+                    new PointRateLimiter(RateLimitProperties.disabled(), new SimpleMeterRegistry()), cluster,
+                    replicationLog, pointLotLedger,
+                    new AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.disabled(), new SimpleMeterRegistry()),
+                    PointTracer.disabled(), tierRuleEngine, activityTracker);
+            rebalancer = new ClusterRebalancer(cluster, pointStore, lockManager, pointService);
+        }
+    }
+
+    private static HandoffRequest handoff(String handoffId, long point, List<PointHistory> histories) {
+        return new HandoffRequest(handoffId, 1L, point, histories, null, List.of(), null);
+    }
+
+    @Test
+    void 같은_handoffId_로_다시_받아도_잔액은_한_번만_더한다() {
+        PointHistory history = new PointHistory(7L, 1L, 500L, TransactionType.CHARGE, 1L);
+        userPointTable.insertOrUpdate(1L, 100L);
+
+        rebalancer.absorb(handoff("h-1", 500L, List.of(history)));
+        rebalancer.absorb(handoff("h-1", 500L, List.of(history)));
+
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(600L);
+        assertThat(pointHistoryTable.selectAllByUserId(1L)).hasSize(1);
+
+        rebalancer.absorb(handoff("h-2", 50L, List.of()));
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(650L);
+    }
+
+    @Test
+    void 넘기기가_실패하면_데이터를_남겨_두고_같은_handoffId_로_다시_보낸다() {
+        userPointTable.insertOrUpdate(1L, 300L);
+        pointHistoryTable.insert(1L, 300L, TransactionType.CHARGE, 1L);
+        cluster.failures.set(1);
+
+        rebalancer.applyMembers(List.of(OTHER));
+
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(300L);
+        assertThat(pointHistoryTable.selectAllByUserId(1L)).hasSize(1);
+
+        assertThat(rebalancer.retryPendingHandoffs()).isZero();
+
+        assertThat(cluster.sent).hasSize(2);
+        assertThat(cluster.sent.get(1)).isEqualTo(cluster.sent.get(0));
+        assertThat(cluster.sent.get(1).point()).isEqualTo(300L);
+        assertThat(userPointTable.selectAll()).isEmpty();
+        assertThat(pointHistoryTable.selectAllByUserId(1L)).isEmpty();
+    }
+
+    @Test
+    void 소유_노드로_돌아온_사용자는_다시_넘기지_않는다() {
+        userPointTable.insertOrUpdate(1L, 300L);
+        cluster.failures.set(1);
+        rebalancer.applyMembers(List.of(OTHER));
+
+        cluster.updateMembers(List.of(SELF));
+
+        assertThat(rebalancer.retryPendingHandoffs()).isZero();
+        assertThat(cluster.sent).hasSize(1);
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(300L);
+    }
+
+    @Test
+    void 등급_일일_충전_합계_만료_lot_활동_카운터를_함께_넘기고_보낸_노드에서는_지운다() throws InterruptedException {
+        node.pointService.assignTier(1L, "VIP");
+        node.pointService.charge(1L, 1_000L);
+        node.pointService.use(1L, 200L);
+        long seq = node.replicationLog.lastSeq();
+
+        rebalancer.applyMembers(List.of(OTHER));
+
+        HandoffRequest sent = cluster.sent.get(0);
+        assertThat(sent.point()).isEqualTo(800L);
+        assertThat(sent.histories()).hasSize(2);
+        assertThat(sent.tier().tier()).isEqualTo("VIP");
+        assertThat(sent.tier().chargedAmount()).isEqualTo(1_000L);
+        assertThat(sent.lots()).extracting(LotSnapshot::amount).containsExactly(800L);
+        assertThat(sent.activity()).isNotNull();
+
+        long now = System.currentTimeMillis();
+        assertThat(node.tierRuleEngine.status(1L, now).tier()).isEqualTo(TierProperties.DEFAULT);
+        assertThat(node.tierRuleEngine.status(1L, now).chargedToday()).isZero();
+        assertThat(node.pointLotLedger.snapshot(1L)).isEmpty();
+        assertThat(node.activityTracker.snapshot(1L)).isNull();
+        assertThat(node.replicationLog.readAfter(seq, 10, 0).records()).singleElement()
+                .satisfies(record -> assertThat(record.deleted()).isTrue());
+    }
+
+    @Test
+    void 넘겨받은_잔액과_내역은_한_번에_저장해_복제_로그에_남기고_등급_만료_lot_활동_카운터를_이어간다() throws InterruptedException {
+        node.pointService.assignTier(1L, "VIP");
+        node.pointService.charge(1L, 1_000L);
+        node.pointService.use(1L, 200L);
+        HandoffRequest handoff = node.pointService.handoffOf("h-1", 1L);
+        Node receiver = new Node(OTHER);
+        receiver.pointService.charge(1L, 100L);
+        long seq = receiver.replicationLog.lastSeq();
+
+        receiver.rebalancer.absorb(handoff);
+
+        long now = System.currentTimeMillis();
+        assertThat(receiver.userPointTable.selectById(1L).point()).isEqualTo(900L);
+        assertThat(receiver.pointHistoryTable.selectAllByUserId(1L)).extracting(PointHistory::amount)
+                .containsExactly(100L, 1_000L, 200L);
+        assertThat(receiver.replicationLog.readAfter(seq, 10, 0).records())
+                .hasSize(2)
+                .allSatisfy(record -> assertThat(record.userPoint().point()).isEqualTo(900L));
+        assertThat(receiver.tierRuleEngine.status(1L, now).tier()).isEqualTo(VIP);
+        assertThat(receiver.tierRuleEngine.status(1L, now).chargedToday()).isEqualTo(1_000L);
+        assertThat(receiver.pointLotLedger.expiredAmount(1L, Long.MAX_VALUE)).isEqualTo(900L);
+        ActivityWindow window = receiver.activityTracker.window(1L, Duration.ofMinutes(1), now);
+        assertThat(window.chargeCount()).isEqualTo(2);
+        assertThat(window.chargeAmount()).isEqualTo(1_100L);
+        assertThat(window.useCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 락을_기다리는_동안_다른_노드로_넘어간_사용자의_충전은_거절한다() throws Exception {
+        PointService pointService = node.pointService;
+        UserLock lock = lockManager.getLock(1L);
+        lock.lock();
+        CompletableFuture<UserPoint> charge;
+        try {
+            charge = CompletableFuture.supplyAsync(() -> pointService.charge(1L, 1_000L));
+            // 라우팅을 통과해 락을 기다리는 중에 멤버가 바뀐다.
+            TimeUnit.MILLISECONDS.sleep(100);
+            cluster.updateMembers(List.of(OTHER));
+        } finally {
+            lock.unlock();
+        }
+
+        assertThatThrownBy(() -> charge.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(NodeUnavailableException.class);
+        assertThat(userPointTable.selectAll()).isEmpty();
+        assertThat(pointHistoryTable.selectAllByUserId(1L)).isEmpty();
+    }
+}
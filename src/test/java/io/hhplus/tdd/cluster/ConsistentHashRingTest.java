@@ -0,0 +1,62 @@
+package io.hhplus.tdd.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of("http://127.0.0.1:8081", "http://127.0.0.1:8082", "http://127.0.0.1:8083");
+    private static final int USER_COUNT = 30_000;
+
+    @Test
+    void 노드_목록의_순서와_무관하게_같은_소유자를_정한다() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        ConsistentHashRing reversed = new ConsistentHashRing(List.of(NODES.get(2), NODES.get(1), NODES.get(0)), 128);
+
+        for (long userId = 1; userId <= 1_000; userId++) {
+            assertThat(ring.ownerOf(userId)).isEqualTo(reversed.ownerOf(userId));
+        }
+    }
+
+    @Test
+    void 사용자가_노드에_고르게_배정된다() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            counts.merge(ring.ownerOf(userId), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(3);
+        counts.values().forEach(count -> assertThat(count).isBetween(USER_COUNT / 3 * 7 / 10, USER_COUNT / 3 * 13 / 10));
+    }
+
+    @Test
+    void 노드가_추가되면_새_노드로_옮겨지는_사용자만_소유자가_바뀐다() {
+        ConsistentHashRing before = new ConsistentHashRing(NODES, 128);
+        String added = "http://127.0.0.1:8084";
+        ConsistentHashRing after = new ConsistentHashRing(
+                List.of(NODES.get(0), NODES.get(1), NODES.get(2), added), 128);
+
+        int moved = 0;
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            String oldOwner = before.ownerOf(userId);
+            String newOwner = after.ownerOf(userId);
+            if (!oldOwner.equals(newOwner)) {
+                assertThat(newOwner).isEqualTo(added);
+                moved++;
+            }
+        }
+        assertThat(moved).isBetween(USER_COUNT / 4 / 2, USER_COUNT / 4 * 3 / 2);
+    }
+
+    @Test
+    void 노드가_없으면_소유자가_없다() {
+        assertThat(ConsistentHashRing.empty().ownerOf(1L)).isNull();
+    }
+}
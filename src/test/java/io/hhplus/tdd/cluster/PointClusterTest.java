@@ -0,0 +1,172 @@
+package io.hhplus.tdd.cluster;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한 JVM 안에서 루프백 포트로 여러 노드를 띄워 클러스터 동작을 확인한다.
+ */
+class PointClusterTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointClusterTest.class);
+
+    private static final int USER_COUNT = 24;
+    private static final long CHARGE_AMOUNT = 1_000L;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void 노드_종료() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    private ConfigurableApplicationContext startNode(String routingMode) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.jmx.enabled=false",
+                        "point.cluster.enabled=true",
+                        "point.cluster.routing-mode=" + routingMode,
+                        "point.cluster.leave-on-shutdown=false",
+                        "point.rate-limit.enabled=false")
+                .run();
+        nodes.add(context);
+        return context;
+    }
+
+    private static String urlOf(ConfigurableApplicationContext node) {
+        return node.getBean(PointCluster.class).selfUrl();
+    }
+
+    private HttpResponse<String> send(String url, String method, String path, String body) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void join(ConfigurableApplicationContext via, ConfigurableApplicationContext node) throws Exception {
+        HttpResponse<String> response = send(urlOf(via), "POST", "/internal/cluster/join", "{\"url\": \"" + urlOf(node) + "\"}");
+        assertThat(response.statusCode()).isEqualTo(200);
+    }
+
+    private void chargeAllUsersVia(ConfigurableApplicationContext node) {
+        long startNanos = System.nanoTime();
+        CompletableFuture.allOf(LongStream.rangeClosed(1, USER_COUNT)
+                .mapToObj(userId -> CompletableFuture.runAsync(() -> {
+                    try {
+                        HttpResponse<String> response = send(urlOf(node), "PATCH", "/point/" + userId + "/charge", String.valueOf(CHARGE_AMOUNT));
+                        assertThat(response.statusCode()).isEqualTo(200);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }))
+                .toArray(CompletableFuture[]::new)).join();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        log.info("{}개 노드에서 {}명 충전 소요 시간: {}ms", nodes.size(), USER_COUNT, elapsedMillis);
+    }
+
+    private void assertEveryNodeAnswersBalances(long expected) throws Exception {
+        for (ConfigurableApplicationContext node : nodes) {
+            for (long userId = 1; userId <= USER_COUNT; userId++) {
+                HttpResponse<String> response = send(urlOf(node), "GET", "/point/" + userId, null);
+                assertThat(response.statusCode()).isIn(200, 307);
+                if (response.statusCode() == 200) {
+                    assertThat(response.body()).contains("\"point\":" + expected);
+                }
+            }
+        }
+    }
+
+    // 각 사용자는 소유 노드 한 곳에만 저장되어 있어야 한다.
+    private void assertUsersArePartitioned() {
+        int stored = 0;
+        for (ConfigurableApplicationContext node : nodes) {
+            PointCluster cluster = node.getBean(PointCluster.class);
+            List<UserPoint> local = node.getBean(UserPointTable.class).selectAll();
+            local.forEach(userPoint -> assertThat(cluster.isLocal(userPoint.id())).isTrue());
+            stored += local.size();
+        }
+        assertThat(stored).isEqualTo(USER_COUNT);
+    }
+
+    @Test
+    void 어느_노드로_요청해도_소유_노드에서_처리되고_노드_추가_제거시_데이터가_옮겨진다() throws Exception {
+        ConfigurableApplicationContext first = startNode("forward");
+        ConfigurableApplicationContext second = startNode("forward");
+        ConfigurableApplicationContext third = startNode("forward");
+        join(first, second);
+        join(first, third);
+        assertThat(third.getBean(PointCluster.class).members()).hasSize(3);
+
+        chargeAllUsersVia(second);
+        assertUsersArePartitioned();
+        assertEveryNodeAnswersBalances(CHARGE_AMOUNT);
+
+        ConfigurableApplicationContext fourth = startNode("forward");
+        join(third, fourth);
+        assertUsersArePartitioned();
+        assertThat(fourth.getBean(UserPointTable.class).selectAll()).isNotEmpty();
+        assertEveryNodeAnswersBalances(CHARGE_AMOUNT);
+
+        HttpResponse<String> left = send(urlOf(first), "POST", "/internal/cluster/leave", "{\"url\": \"" + urlOf(fourth) + "\"}");
+        assertThat(left.statusCode()).isEqualTo(200);
+        assertThat(fourth.getBean(UserPointTable.class).selectAll()).isEmpty();
+        nodes.remove(fourth);
+        fourth.close();
+        assertUsersArePartitioned();
+        assertEveryNodeAnswersBalances(CHARGE_AMOUNT);
+    }
+
+    @Test
+    void 리다이렉트_모드에서는_소유_노드_주소를_307로_알려준다() throws Exception {
+        ConfigurableApplicationContext first = startNode("redirect");
+        ConfigurableApplicationContext second = startNode("redirect");
+        join(first, second);
+
+        PointCluster cluster = first.getBean(PointCluster.class);
+        long foreignUserId = LongStream.rangeClosed(1, 1_000)
+                .filter(userId -> !cluster.isLocal(userId))
+                .findFirst()
+                .orElseThrow();
+
+        HttpResponse<String> response = send(urlOf(first), "GET", "/point/" + foreignUserId, null);
+
+        assertThat(response.statusCode()).isEqualTo(307);
+        assertThat(response.headers().firstValue("Location")).hasValue(urlOf(second) + "/point/" + foreignUserId);
+    }
+
+    @Test
+    void 다건_조회는_사용자별_소유_노드에서_조회해_합친다() throws Exception {
+        ConfigurableApplicationContext first = startNode("forward");
+        ConfigurableApplicationContext second = startNode("forward");
+        join(first, second);
+        chargeAllUsersVia(first);
+
+        String ids = String.join(",", LongStream.rangeClosed(1, USER_COUNT).mapToObj(String::valueOf).toList());
+        HttpResponse<String> response = send(urlOf(second), "GET", "/point?ids=" + ids, null);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body().split("\"point\":" + CHARGE_AMOUNT, -1)).hasSize(USER_COUNT + 1);
+    }
+}
@@ -0,0 +1,147 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TableConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TableConcurrencyTest.class);
+
+    private static final int USER_COUNT = 16;
+    private static final int WRITES_PER_USER = 20;
+
+    private static long runPerUser(PerUserWrite write) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(USER_COUNT);
+        CountDownLatch latch = new CountDownLatch(USER_COUNT);
+
+        long startNanos = System.nanoTime();
+        for (long userId = 1; userId <= USER_COUNT; userId++) {
+            long id = userId;
+            executor.execute(() -> {
+                try {
+                    for (int i = 1; i <= WRITES_PER_USER; i++) {
+                        write.run(id, i);
+                    }
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+        executor.shutdown();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    @FunctionalInterface
+    private interface PerUserWrite {
+        void run(long userId, int sequence);
+    }
+
+    @Nested
+    class 포인트_내역_테이블 {
+
+        @Test
+        void 여러_사용자가_외부_락_없이_동시에_추가해도_id가_중복되지_않고_유실되지_않는다() throws InterruptedException {
+            PointHistoryTable table = new PointHistoryTable();
+            Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+            long elapsedMillis = runPerUser((userId, sequence) ->
+                    ids.add(table.insert(userId, sequence, TransactionType.CHARGE, sequence).id()));
+            log.info("{}명 x {}건 내역 동시 추가 소요 시간: {}ms, 처리량: {} ops/s", USER_COUNT, WRITES_PER_USER,
+                    elapsedMillis, USER_COUNT * WRITES_PER_USER * 1000.0 / Math.max(elapsedMillis, 1));
+
+            assertThat(ids).hasSize(USER_COUNT * WRITES_PER_USER);
+            for (long userId = 1; userId <= USER_COUNT; userId++) {
+                List<PointHistory> histories = table.selectAllByUserId(userId);
+                assertThat(histories).hasSize(WRITES_PER_USER);
+                assertThat(histories).extracting(PointHistory::amount)
+                        .containsExactlyElementsOf(LongStream.rangeClosed(1, WRITES_PER_USER).boxed().toList());
+            }
+        }
+
+        @Test
+        void 같은_사용자에_대한_추가가_겹쳐도_id_순으로_조회된다() throws InterruptedException {
+            PointHistoryTable table = new PointHistoryTable();
+
+            runPerUser((userId, sequence) -> table.insert(1L, sequence, TransactionType.USE, sequence));
+
+            List<PointHistory> histories = table.selectAllByUserId(1L);
+            assertThat(histories).hasSize(USER_COUNT * WRITES_PER_USER);
+            assertThat(histories).isSortedAccordingTo(Comparator.comparingLong(PointHistory::id));
+        }
+
+        @Test
+        void 삭제로_비워진_사용자_로그는_남기지_않는다() {
+            PointHistoryTable table = new PointHistoryTable();
+            PointHistory first = table.insert(1L, 100L, TransactionType.CHARGE, 1L);
+            PointHistory second = table.insert(1L, 50L, TransactionType.USE, 2L);
+            table.insert(2L, 10L, TransactionType.CHARGE, 3L);
+
+            table.deleteAll(List.of(first));
+            assertThat(table.userLogCount()).isEqualTo(2);
+            table.deleteAll(List.of(second));
+            table.deleteAllByUserId(2L);
+
+            assertThat(table.userLogCount()).isZero();
+            assertThat(table.selectAllByUserId(1L)).isEmpty();
+            table.insert(1L, 70L, TransactionType.CHARGE, 4L);
+            assertThat(table.selectAllByUserId(1L)).extracting(PointHistory::amount).containsExactly(70L);
+        }
+
+        @Test
+        void 비워진_파티션을_치우는_중에_추가한_내역도_유실되지_않는다() throws InterruptedException {
+            PointHistoryTable table = new PointHistoryTable();
+
+            // 짝수 사용자는 넣자마자 지워 같은 파티션이 비워졌다 채워지기를 반복하게 한다.
+            runPerUser((userId, sequence) -> {
+                PointHistory pointHistory = table.insert(userId, sequence, TransactionType.CHARGE, 1L);
+                if (userId % 2 == 0) {
+                    table.deleteAll(List.of(pointHistory));
+                }
+            });
+
+            List<PointHistory> remaining = table.selectAllUpdatedBefore(Long.MAX_VALUE);
+            assertThat(remaining).hasSize(USER_COUNT / 2 * WRITES_PER_USER)
+                    .allSatisfy(pointHistory -> assertThat(pointHistory.userId() % 2).isEqualTo(1L));
+            assertThat(table.partitionCount()).isEqualTo(1);
+
+            table.deleteAll(remaining);
+            table.insert(1L, 10L, TransactionType.CHARGE, TimeUnit.HOURS.toMillis(5));
+            table.deleteAllByUserId(1L);
+            assertThat(table.partitionCount()).isZero();
+            assertThat(table.userLogCount()).isZero();
+        }
+    }
+
+    @Nested
+    class 유저_포인트_테이블 {
+
+        @Test
+        void 여러_사용자가_외부_락_없이_동시에_갱신해도_마지막_값이_남는다() throws InterruptedException {
+            UserPointTable table = new UserPointTable();
+
+            long elapsedMillis = runPerUser(table::insertOrUpdate);
+            log.info("{}명 x {}건 잔액 동시 갱신 소요 시간: {}ms", USER_COUNT, WRITES_PER_USER, elapsedMillis);
+
+            for (long userId = 1; userId <= USER_COUNT; userId++) {
+                assertThat(table.selectById(userId).point()).isEqualTo(WRITES_PER_USER);
+            }
+        }
+    }
+}
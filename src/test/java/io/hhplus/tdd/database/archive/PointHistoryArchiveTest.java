@@ -0,0 +1,286 @@
+package io.hhplus.tdd.database.archive;
+
+import io.hhplus.tdd.cluster.PointCluster;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.lock.UserReentrantLockManager;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPointBatchReader;
+import io.hhplus.tdd.point.query.HistoryQuery;
+import io.hhplus.tdd.point.query.HistorySort;
+import io.hhplus.tdd.point.expiry.PointExpiryProperties;
+import io.hhplus.tdd.point.expiry.PointLotLedger;
+import io.hhplus.tdd.point.activity.ActivityProperties;
+import io.hhplus.tdd.point.activity.ActivityTracker;
+import io.hhplus.tdd.point.tier.TierRuleEngine;
+import io.hhplus.tdd.ratelimit.AdaptiveConcurrencyLimiter;
+import io.hhplus.tdd.ratelimit.ConcurrencyLimitProperties;
+import io.hhplus.tdd.ratelimit.PointRateLimiter;
+import io.hhplus.tdd.ratelimit.RateLimitProperties;
+import io.hhplus.tdd.replication.ReplicationLog;
+import io.hhplus.tdd.replication.ReplicationProperties;
+import io.hhplus.tdd.storage.TablePointStore;
+import io.hhplus.tdd.tracing.PointTracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointHistoryArchiveTest {
+
+    private static final long OLD = 1_000L;
+
+    @TempDir
+    Path directory;
+
+    private static List<PointHistory> histories(int userCount, int perUser) {
+        List<PointHistory> histories = new ArrayList<>();
+        long id = 1;
+        for (int i = 0; i < perUser; i++) {
+            for (long userId = 1; userId <= userCount; userId++) {
+                TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+                histories.add(new PointHistory(id++, userId, 100 + i, type, OLD + i));
+            }
+        }
+        return histories;
+    }
+
+    private static PointService pointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+                                             PointHistoryArchive archive) {
+        TablePointStore pointStore = new TablePointStore(userPointTable, pointHistoryTable);
+        return new PointService(pointStore,
+                new UserReentrantLockManager(), new UserPointBatchReader(pointStore, 4, PointCluster.standalone()), archive,
+                new PointRateLimiter(RateLimitProperties.disabled(), new SimpleMeterRegistry()), PointCluster.standalone(),
+                new ReplicationLog(ReplicationProperties.standalone(), userPointTable, pointHistoryTable),
+                new PointLotLedger(PointExpiryProperties.disabled()),
+                new AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.disabled(), new SimpleMeterRegistry()),
+                PointTracer.disabled(), TierRuleEngine.defaults(),
+                new ActivityTracker(ActivityProperties.disabled(), new SimpleMeterRegistry()));
+    }
+
+    @Nested
+    class 세그먼트 {
+
+        @Test
+        void 여러_블록에_걸친_사용자의_내역을_id_순으로_모두_조회한다() throws Exception {
+            List<PointHistory> histories = histories(10, 100);
+            HistorySegment segment = HistorySegment.write(directory.resolve("test.seg"), histories);
+
+            List<PointHistory> result = segment.selectAllByUserId(7L);
+
+            assertThat(result).hasSize(100);
+            assertThat(result).containsExactlyElementsOf(
+                    histories.stream().filter(history -> history.userId() == 7L).toList());
+        }
+
+        @Test
+        void 세그먼트에_없는_사용자는_빈_리스트를_반환한다() throws Exception {
+            HistorySegment segment = HistorySegment.write(directory.resolve("test.seg"), histories(3, 10));
+
+            assertThat(segment.selectAllByUserId(0L)).isEmpty();
+            assertThat(segment.selectAllByUserId(4L)).isEmpty();
+        }
+
+        @Test
+        void 파일을_다시_열어도_인덱스와_내역이_같다() throws Exception {
+            List<PointHistory> histories = histories(5, 200);
+            HistorySegment written = HistorySegment.write(directory.resolve("test.seg"), histories);
+
+            HistorySegment reopened = HistorySegment.open(written.path());
+
+            assertThat(reopened.selectAllByUserId(3L)).isEqualTo(written.selectAllByUserId(3L));
+            assertThat(reopened.minUpdateMillis()).isEqualTo(OLD);
+            assertThat(reopened.maxUpdateMillis()).isEqualTo(OLD + 199);
+            assertThat(reopened.maxId()).isEqualTo(1_000L);
+        }
+    }
+
+    @Nested
+    class 아카이브 {
+
+        @Test
+        void 여러_세그먼트의_내역을_합쳐서_조회한다() {
+            PointHistoryArchive archive = new PointHistoryArchive(true, directory);
+            archive.archive(List.of(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, OLD)));
+            archive.archive(List.of(new PointHistory(2L, 1L, 50L, TransactionType.USE, OLD + 1)));
+
+            assertThat(archive.segmentCount()).isEqualTo(2);
+            assertThat(archive.selectAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 2L);
+        }
+
+        @Test
+        void 재시작하면_디렉터리의_세그먼트를_다시_불러온다() {
+            new PointHistoryArchive(true, directory)
+                    .archive(List.of(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, OLD)));
+
+            PointHistoryArchive restarted = new PointHistoryArchive(true, directory);
+            restarted.archive(List.of(new PointHistory(2L, 1L, 50L, TransactionType.USE, OLD + 1)));
+
+            assertThat(restarted.segmentCount()).isEqualTo(2);
+            assertThat(restarted.selectAllByUserId(1L)).hasSize(2);
+        }
+
+        @Test
+        void 이어진_작은_세그먼트를_하나로_합치고_옛_파일은_다음_합치기에서_지운다() throws Exception {
+            PointHistoryArchive archive = new PointHistoryArchive(true, directory);
+            for (long id = 1; id <= 6; id++) {
+                archive.archive(List.of(new PointHistory(id, id % 2, 100L, TransactionType.CHARGE, OLD + id)));
+            }
+
+            assertThat(archive.compact(4, 1_000)).isEqualTo(6);
+
+            assertThat(archive.segmentCount()).isEqualTo(1);
+            assertThat(archive.selectAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 3L, 5L);
+            assertThat(archive.selectAllByUserId(0L)).extracting(PointHistory::id).containsExactly(2L, 4L, 6L);
+            assertThat(archive.maxHistoryId()).isEqualTo(6L);
+            try (Stream<Path> files = Files.list(directory)) {
+                assertThat(files.count()).isEqualTo(7);
+            }
+
+            assertThat(archive.compact(4, 1_000)).isZero();
+            try (Stream<Path> files = Files.list(directory)) {
+                assertThat(files.count()).isEqualTo(1);
+            }
+        }
+
+        @Test
+        void 큰_세그먼트는_건너뛰고_합칠_만큼_작은_세그먼트가_모이지_않으면_그대로_둔다() {
+            PointHistoryArchive archive = new PointHistoryArchive(true, directory);
+            archive.archive(List.of(new PointHistory(1L, 1L, 100L, TransactionType.CHARGE, OLD)));
+            archive.archive(List.of(new PointHistory(2L, 1L, 100L, TransactionType.CHARGE, OLD)));
+            archive.archive(histories(1, 10).stream()
+                    .map(history -> new PointHistory(history.id() + 2, 1L, history.amount(), history.type(), history.updateMillis()))
+                    .toList());
+            archive.archive(List.of(new PointHistory(13L, 1L, 100L, TransactionType.CHARGE, OLD)));
+
+            assertThat(archive.compact(3, 5)).isZero();
+            assertThat(archive.segmentCount()).isEqualTo(4);
+        }
+
+        @Test
+        void 옛_파일을_지우기_전에_재시작해도_합친_세그먼트만_불러오고_번호를_이어간다() {
+            PointHistoryArchive archive = new PointHistoryArchive(true, directory);
+            for (long id = 1; id <= 4; id++) {
+                archive.archive(List.of(new PointHistory(id, 1L, 100L, TransactionType.CHARGE, OLD + id)));
+            }
+            archive.compact(4, 1_000);
+
+            PointHistoryArchive restarted = new PointHistoryArchive(true, directory);
+            restarted.archive(List.of(new PointHistory(5L, 1L, 100L, TransactionType.CHARGE, OLD + 5)));
+
+            assertThat(restarted.segmentCount()).isEqualTo(2);
+            assertThat(restarted.selectAllByUserId(1L)).extracting(PointHistory::id).containsExactly(1L, 2L, 3L, 4L, 5L);
+            assertThat(new PointHistoryArchive(true, directory).selectAllByUserId(1L)).hasSize(5);
+        }
+
+        @Test
+        void 비활성화되어_있으면_아무것도_조회되지_않는다() {
+            PointHistoryArchive archive = new PointHistoryArchive(false, directory);
+
+            assertThat(archive.isEnabled()).isFalse();
+            assertThat(archive.selectAllByUserId(1L)).isEmpty();
+        }
+    }
+
+    @Nested
+    class 보관_주기 {
+
+        @Test
+        void 재시작하면_아카이브된_id_다음부터_내역_id_를_발급한다() {
+            new PointHistoryArchive(true, directory).archive(List.of(
+                    new PointHistory(7L, 1L, 100L, TransactionType.CHARGE, OLD),
+                    new PointHistory(9L, 2L, 50L, TransactionType.USE, OLD + 1)));
+
+            PointHistoryTable restartedTable = new PointHistoryTable();
+            PointHistoryArchive restartedArchive = new PointHistoryArchive(true, directory);
+            new PointHistoryRetention(restartedTable, restartedArchive, Duration.ofDays(30));
+
+            assertThat(restartedArchive.maxHistoryId()).isEqualTo(9L);
+            assertThat(restartedTable.insert(1L, 10L, TransactionType.CHARGE, OLD + 2).id()).isEqualTo(10L);
+        }
+
+        @Test
+        void 기준_시각_이전의_내역만_아카이브로_옮기고_전체_조회는_두_계층을_병합한다() {
+            UserPointTable userPointTable = new UserPointTable();
+            PointHistoryTable pointHistoryTable = new PointHistoryTable();
+            PointHistoryArchive archive = new PointHistoryArchive(true, directory);
+            PointHistoryRetention retention = new PointHistoryRetention(pointHistoryTable, archive, Duration.ofDays(30));
+            PointService pointService = pointService(userPointTable, pointHistoryTable, archive);
+
+            long now = System.currentTimeMillis();
+            pointHistoryTable.insert(1L, 1000L, TransactionType.CHARGE, OLD);
+            pointHistoryTable.insert(1L, 300L, TransactionType.USE, OLD + 1);
+            pointHistoryTable.insert(1L, 500L, TransactionType.CHARGE, now);
+
+            int archived = retention.archiveUpdatedBefore(now);
+
+            assertThat(archived).isEqualTo(2);
+            assertThat(pointHistoryTable.selectAllByUserId(1L)).extracting(PointHistory::updateMillis).containsExactly(now);
+            assertThat(pointService.getPointHistories(1L))
+                    .extracting(PointHistory::amount)
+                    .containsExactly(1000L, 300L, 500L);
+        }
+
+        @Test
+        void 조회_도중_아카이브로_옮겨진_내역도_빠지지_않는다() {
+            UserPointTable userPointTable = new UserPointTable();
+            PointHistoryTable pointHistoryTable = new PointHistoryTable();
+            PointHistoryRetention[] retention = new PointHistoryRetention[1];
+            // 아카이브를 읽은 직후, 저장소에 남은 내역을 모두 아카이브로 옮긴다.
+            PointHistoryArchive archive = new PointHistoryArchive(true, directory) {
+                @Override
+                public List<PointHistory> selectAllByUserId(long userId) {
+                    List<PointHistory> archived = super.selectAllByUserId(userId);
+                    retention[0].archiveUpdatedBefore(Long.MAX_VALUE);
+                    return archived;
+                }
+            };
+            retention[0] = new PointHistoryRetention(pointHistoryTable, archive, Duration.ofDays(30));
+            PointService pointService = pointService(userPointTable, pointHistoryTable, archive);
+            pointHistoryTable.insert(1L, 1000L, TransactionType.CHARGE, OLD);
+            pointHistoryTable.insert(1L, 300L, TransactionType.USE, OLD + 1);
+
+            assertThat(pointService.getPointHistories(1L))
+                    .extracting(PointHistory::amount)
+                    .containsExactly(1000L, 300L);
+            assertThat(pointHistoryTable.selectAllByUserId(1L)).isEmpty();
+        }
+
+        @Test
+        void 조건_조회_도중_아카이브로_옮겨진_내역도_빠지지_않는다() {
+            UserPointTable userPointTable = new UserPointTable();
+            PointHistoryTable pointHistoryTable = new PointHistoryTable();
+            PointHistoryRetention[] retention = new PointHistoryRetention[1];
+            // 아카이브를 조회한 직후, 저장소에 남은 내역을 모두 아카이브로 옮긴다.
+            PointHistoryArchive archive = new PointHistoryArchive(true, directory) {
+                @Override
+                public List<PointHistory> query(HistoryQuery query) {
+                    List<PointHistory> archived = super.query(query);
+                    retention[0].archiveUpdatedBefore(Long.MAX_VALUE);
+                    return archived;
+                }
+            };
+            retention[0] = new PointHistoryRetention(pointHistoryTable, archive, Duration.ofDays(30));
+            PointService pointService = pointService(userPointTable, pointHistoryTable, archive);
+            pointHistoryTable.insert(1L, 1000L, TransactionType.CHARGE, OLD);
+            pointHistoryTable.insert(2L, 300L, TransactionType.CHARGE, OLD + 1);
+            pointHistoryTable.insert(1L, 200L, TransactionType.USE, OLD + 2);
+
+            List<PointHistory> result = pointService.queryHistories(
+                    new HistoryQuery(null, TransactionType.CHARGE, null, null, null, null, HistorySort.AMOUNT_DESC, 10));
+
+            assertThat(result).extracting(PointHistory::amount).containsExactly(1000L, 300L);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.hhplus.tdd.exception;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class PointExceptionTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointExceptionTest.class);
+
+    // Spring MVC 요청 처리 안에서 서비스가 예외를 던질 때의 호출 깊이와 비슷하게 맞춘다.
+    private static final int CALL_DEPTH = 100;
+
+    @Nested
+    class 스택_트레이스 {
+
+        @Test
+        void 포인트_규칙_거절은_스택_트레이스를_만들지_않는다() {
+            Throwable thrown = catchThrowable(() -> new UserPoint(1L, 100L, 0L).use(200L));
+
+            assertThat(thrown).isInstanceOf(InsufficientBalanceException.class);
+            assertThat(thrown.getStackTrace()).isEmpty();
+            assertThat(new DailyChargeCapExceededException("cap").getStackTrace()).isEmpty();
+            assertThat(new RateLimitExceededException("slow down", 1L).getStackTrace()).isEmpty();
+        }
+
+        @Test
+        void 메시지가_고정된_거절은_같은_인스턴스를_던진다() {
+            UserPoint userPoint = new UserPoint(1L, 100L, 0L);
+
+            assertThat(catchThrowable(() -> userPoint.use(200L))).isSameAs(InsufficientBalanceException.INSTANCE);
+            assertThat(catchThrowable(() -> userPoint.use(0L))).isSameAs(InvalidAmountException.NOT_POSITIVE);
+            assertThat(catchThrowable(() -> userPoint.charge(UserPoint.MAX_TOTAL_POINT))).isSameAs(MaxPointExceededException.INSTANCE);
+        }
+
+        @Test
+        void 공유_인스턴스에는_suppressed_예외나_원인이_쌓이지_않는다() {
+            InsufficientBalanceException shared = InsufficientBalanceException.INSTANCE;
+
+            shared.addSuppressed(new IllegalStateException("close failed"));
+
+            assertThat(shared.getSuppressed()).isEmpty();
+            assertThat(catchThrowable(() -> shared.initCause(new IllegalStateException()))).isInstanceOf(IllegalStateException.class);
+            assertThat(shared.getCause()).isNull();
+        }
+
+        @Test
+        void 인프라_장애는_원인_추적을_위해_스택_트레이스를_유지한다() {
+            assertThat(new NodeUnavailableException("down", null).getStackTrace()).isNotEmpty();
+        }
+    }
+
+    /**
+     * CALL_DEPTH 만큼 내려간 곳에서 예외를 던지고 맨 위에서 받는 비용을 비교한다.
+     * (1) 스택 트레이스를 채우는 일반 예외 (2) 스택 트레이스 없는 새 인스턴스 (3) 미리 만든 인스턴스
+     */
+    @Test
+    @Tag("load")
+    void 스택_트레이스가_없는_거절은_일반_예외보다_싸다() {
+        Supplier<RuntimeException> full = () -> new IllegalStateException("Insufficient balance.");
+        Supplier<RuntimeException> stackless = () -> new InsufficientBalanceException("Insufficient balance.");
+        Supplier<RuntimeException> cached = () -> InsufficientBalanceException.INSTANCE;
+        int rounds = 200_000;
+
+        long sink = 0;
+        for (int warmup = 0; warmup < 3; warmup++) {
+            sink += throwAndCatch(full, rounds / 10) + throwAndCatch(stackless, rounds) + throwAndCatch(cached, rounds);
+        }
+        long fullNanos = time(full, rounds / 10) * 10;
+        long stacklessNanos = time(stackless, rounds);
+        long cachedNanos = time(cached, rounds);
+
+        log.info("throw at depth {}: full stack {} ns/op, stackless {} ns/op, cached {} ns/op (sink {})", CALL_DEPTH,
+                fullNanos / rounds, stacklessNanos / rounds, cachedNanos / rounds, sink);
+        assertThat(stacklessNanos).isLessThan(fullNanos);
+        assertThat(cachedNanos).isLessThan(fullNanos);
+    }
+
+    private static long time(Supplier<RuntimeException> exception, int rounds) {
+        long start = System.nanoTime();
+        throwAndCatch(exception, rounds);
+        return System.nanoTime() - start;
+    }
+
+    private static long throwAndCatch(Supplier<RuntimeException> exception, int rounds) {
+        long caught = 0;
+        for (int i = 0; i < rounds; i++) {
+            try {
+                descend(CALL_DEPTH, exception);
+            } catch (RuntimeException e) {
+                caught += e.getMessage().length();
+            }
+        }
+        return caught;
+    }
+
+    private static int descend(int depth, Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        return descend(depth - 1, exception) + 1;
+    }
+}
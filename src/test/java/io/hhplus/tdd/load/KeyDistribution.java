@@ -0,0 +1,54 @@
+package io.hhplus.tdd.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청마다 대상 userId(1 ~ userCount)를 고르는 분포.
+ * - uniform: 모든 사용자가 같은 확률
+ * - zipf:s : 순위 k 인 사용자가 1/k^s 에 비례하는 확률. 소수의 사용자에게 요청이 몰리는 핫키 상황을 만든다.
+ */
+interface KeyDistribution {
+
+    long next(ThreadLocalRandom random);
+
+    static KeyDistribution parse(String spec, int userCount) {
+        if (spec.equals("uniform")) {
+            return uniform(userCount);
+        }
+        if (spec.startsWith("zipf:")) {
+            return zipf(userCount, Double.parseDouble(spec.substring("zipf:".length())));
+        }
+        throw new IllegalArgumentException("Distribution must be uniform or zipf:<exponent>, but was " + spec);
+    }
+
+    static KeyDistribution uniform(int userCount) {
+        return random -> random.nextLong(1, userCount + 1L);
+    }
+
+    /**
+     * 누적 확률표를 한 번 만들어 두고 이분 탐색으로 뽑는다. (요청당 O(log userCount))
+     */
+    static KeyDistribution zipf(int userCount, double exponent) {
+        double[] cumulative = new double[userCount];
+        double sum = 0;
+        for (int rank = 1; rank <= userCount; rank++) {
+            sum += 1 / Math.pow(rank, exponent);
+            cumulative[rank - 1] = sum;
+        }
+        double total = sum;
+        return random -> {
+            double target = random.nextDouble() * total;
+            int low = 0;
+            int high = userCount - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low + 1L;
+        };
+    }
+}
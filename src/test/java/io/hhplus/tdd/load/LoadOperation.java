@@ -0,0 +1,10 @@
+package io.hhplus.tdd.load;
+
+/**
+ * 부하 테스트가 보내는 요청 종류.
+ */
+enum LoadOperation {
+    CHARGE,
+    USE,
+    READ
+}
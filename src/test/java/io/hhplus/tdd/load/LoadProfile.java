@@ -0,0 +1,50 @@
+package io.hhplus.tdd.load;
+
+import java.time.Duration;
+
+/**
+ * 부하 시나리오.
+ *
+ * @param ratePerSecond  초당 요청 수. 응답 속도와 무관하게 이 간격으로 요청을 보낸다. (open-loop)
+ * @param warmup         앞부분 이 시간 동안의 요청은 보내기만 하고 기록하지 않는다.
+ * @param duration       기록하는 구간의 길이
+ * @param userCount      대상 사용자 수 (userId 1 ~ userCount)
+ * @param distribution   uniform 또는 zipf:<exponent>
+ * @param mix            charge:use:read 가중치
+ * @param maxConcurrency 동시에 처리 중일 수 있는 요청 수. 넘치는 요청은 큐에서 기다리며, 기다린 시간도 지연 시간에 포함된다.
+ */
+record LoadProfile(
+        double ratePerSecond,
+        Duration warmup,
+        Duration duration,
+        int userCount,
+        String distribution,
+        OperationMix mix,
+        int maxConcurrency
+) {
+
+    LoadProfile {
+        if (ratePerSecond <= 0 || userCount <= 0 || maxConcurrency <= 0) {
+            throw new IllegalArgumentException("rate, userCount and maxConcurrency must be positive.");
+        }
+    }
+
+    /**
+     * load.rate, load.warmup, load.duration, load.users, load.distribution, load.mix, load.concurrency
+     * 시스템 프로퍼티가 있으면 기본값 대신 쓴다. (./gradlew loadTest -Dload.rate=500)
+     */
+    LoadProfile overriddenBySystemProperties() {
+        return new LoadProfile(
+                Double.parseDouble(System.getProperty("load.rate", String.valueOf(ratePerSecond))),
+                Duration.parse(System.getProperty("load.warmup", warmup.toString())),
+                Duration.parse(System.getProperty("load.duration", duration.toString())),
+                Integer.getInteger("load.users", userCount),
+                System.getProperty("load.distribution", distribution),
+                OperationMix.parse(System.getProperty("load.mix", mix.toString())),
+                Integer.getInteger("load.concurrency", maxConcurrency));
+    }
+
+    KeyDistribution keys() {
+        return KeyDistribution.parse(distribution, userCount);
+    }
+}
@@ -0,0 +1,65 @@
+package io.hhplus.tdd.load;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 부하 실행 결과. 히스토그램 값의 단위는 마이크로초다.
+ *
+ * @param responseTimes 요청 종류별 예정 시각부터 잰 지연 시간 (coordinated omission 보정)
+ * @param serviceTimes  실제 처리를 시작한 시각부터 잰 지연 시간 (전체 요청)
+ * @param outcomes      결과 이름별 건수 (OK, 예외 이름, HTTP 상태 코드)
+ */
+record LoadReport(
+        LoadProfile profile,
+        Duration elapsed,
+        long sent,
+        Map<LoadOperation, Histogram> responseTimes,
+        Histogram serviceTimes,
+        Map<String, Long> outcomes
+) {
+
+    Histogram totalResponseTimes() {
+        Histogram total = new Histogram(3);
+        responseTimes.values().forEach(total::add);
+        return total;
+    }
+
+    long completed() {
+        return outcomes.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    double throughput() {
+        return completed() * 1e9 / elapsed.toNanos();
+    }
+
+    double errorRate() {
+        long completed = completed();
+        return completed == 0 ? 0 : 1 - (double) outcomes.getOrDefault(LoadTarget.OK, 0L) / completed;
+    }
+
+    long percentileMicros(double percentile) {
+        return totalResponseTimes().getValueAtPercentile(percentile);
+    }
+
+    void log(Logger log, String name) {
+        log.info("[{}] rate={}/s users={} ({}) mix={} concurrency={}: sent={} completed={} in {}ms, throughput={}/s, outcomes={}",
+                name, profile.ratePerSecond(), profile.userCount(), profile.distribution(), profile.mix(),
+                profile.maxConcurrency(), sent, completed(), elapsed.toMillis(), (long) throughput(), outcomes);
+        responseTimes.forEach((operation, histogram) -> logPercentiles(log, name, operation + " response", histogram));
+        logPercentiles(log, name, "ALL response", totalResponseTimes());
+        logPercentiles(log, name, "ALL service", serviceTimes);
+    }
+
+    private static void logPercentiles(Logger log, String name, String label, Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return;
+        }
+        log.info("[{}] {} (us): count={} p50={} p90={} p99={} p99.9={} max={}", name, label, histogram.getTotalCount(),
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMaxValue());
+    }
+}
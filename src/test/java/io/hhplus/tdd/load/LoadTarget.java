@@ -0,0 +1,62 @@
+package io.hhplus.tdd.load;
+
+import io.hhplus.tdd.point.PointService;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * 부하를 받는 대상. 요청 하나를 처리하고 결과 이름을 반환한다. (성공이면 OK, 실패면 예외 이름이나 HTTP 상태 코드)
+ * 결과 이름별 건수가 리포트에 남으므로, 한도 초과(429/503)나 잔액 부족처럼 예상된 실패도 구분해서 볼 수 있다.
+ */
+@FunctionalInterface
+interface LoadTarget {
+
+    String OK = "OK";
+    long CHARGE_AMOUNT = 100L;
+    long USE_AMOUNT = 50L;
+
+    String execute(LoadOperation operation, long userId) throws Exception;
+
+    static LoadTarget service(PointService pointService) {
+        return (operation, userId) -> {
+            try {
+                switch (operation) {
+                    case CHARGE -> pointService.charge(userId, CHARGE_AMOUNT);
+                    case USE -> pointService.use(userId, USE_AMOUNT);
+                    case READ -> pointService.getUserPoint(userId);
+                }
+                return OK;
+            } catch (RuntimeException e) {
+                return e.getClass().getSimpleName();
+            }
+        };
+    }
+
+    /**
+     * 실제 HTTP 엔드포인트로 요청을 보낸다. 필터, 인터셉터, 직렬화 비용까지 포함된다.
+     */
+    static LoadTarget http(String baseUrl) {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        return (operation, userId) -> {
+            String point = baseUrl + "/point/" + userId;
+            HttpRequest request = switch (operation) {
+                case CHARGE -> patch(point + "/charge", CHARGE_AMOUNT);
+                case USE -> patch(point + "/use", USE_AMOUNT);
+                case READ -> HttpRequest.newBuilder(URI.create(point)).GET().build();
+            };
+            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            return status == 200 ? OK : String.valueOf(status);
+        };
+    }
+
+    private static HttpRequest patch(String url, long amount) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(amount)))
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package io.hhplus.tdd.load;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 정해진 간격(1 / ratePerSecond)으로 요청을 보내는 open-loop 부하 생성기.
+ *
+ * - 각 요청은 보내기로 예정된 시각(intended start)을 갖는다. 대상이 느려져 워커가 밀려도 예정 시각은 그대로이므로,
+ *   큐에서 기다린 시간까지 지연 시간(response time)에 들어간다. (coordinated omission 보정)
+ *   실제로 처리를 시작한 시각부터 잰 service time 도 함께 기록해 두 값의 차이로 대기 시간을 볼 수 있다.
+ * - 응답을 기다렸다가 다음 요청을 보내는 closed-loop 방식은 대상이 멈춘 동안 요청도 멈추므로 느린 구간이 거의 기록되지 않는다.
+ * - 지연 시간은 HdrHistogram Recorder 에 마이크로초 단위로 기록한다. (락 없이 여러 워커가 동시에 기록)
+ * - 실행 중에는 intervalResponseTimes() 로 직전 호출 이후 구간의 히스토그램을 꺼낼 수 있다. (소크 테스트의 구간별 p99)
+ */
+final class OpenLoopLoadGenerator {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final LoadProfile profile;
+    private final LoadTarget target;
+    private final Map<LoadOperation, Recorder> responseTimes = new EnumMap<>(LoadOperation.class);
+    private final Recorder serviceTimes = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder intervalResponseTimes = new Recorder(SIGNIFICANT_DIGITS);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder completed = new LongAdder();
+    private final AtomicInteger backlog = new AtomicInteger();
+
+    OpenLoopLoadGenerator(LoadProfile profile, LoadTarget target) {
+        this.profile = profile;
+        this.target = target;
+        for (LoadOperation operation : LoadOperation.values()) {
+            responseTimes.put(operation, new Recorder(SIGNIFICANT_DIGITS));
+        }
+    }
+
+    /**
+     * warmup + duration 동안 요청을 보내고, 보낸 요청이 모두 끝나면 기록 구간의 결과를 반환한다.
+     */
+    LoadReport run() throws InterruptedException {
+        KeyDistribution keys = profile.keys();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / profile.ratePerSecond());
+        long startNanos = System.nanoTime();
+        long recordFromNanos = startNanos + profile.warmup().toNanos();
+        long endNanos = recordFromNanos + profile.duration().toNanos();
+        long sent = 0;
+
+        ExecutorService workers = Executors.newFixedThreadPool(profile.maxConcurrency());
+        try {
+            for (long intended = startNanos; intended < endNanos; intended += intervalNanos) {
+                long waitNanos = intended - System.nanoTime();
+                while (waitNanos > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                    waitNanos = intended - System.nanoTime();
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                LoadOperation operation = profile.mix().next(random);
+                long userId = keys.next(random);
+                boolean recorded = intended >= recordFromNanos;
+                if (recorded) {
+                    sent++;
+                }
+                long intendedStart = intended;
+                backlog.incrementAndGet();
+                workers.execute(() -> execute(operation, userId, intendedStart, recorded));
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(Math.max(60, profile.duration().toSeconds()), TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Load did not drain: " + backlog.get() + " requests still pending.");
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        Map<LoadOperation, Histogram> histograms = new EnumMap<>(LoadOperation.class);
+        responseTimes.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+        Map<String, Long> outcomeCounts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> outcomeCounts.put(outcome, count.sum()));
+        return new LoadReport(profile, Duration.ofNanos(System.nanoTime() - recordFromNanos), sent,
+                histograms, serviceTimes.getIntervalHistogram(), outcomeCounts);
+    }
+
+    private void execute(LoadOperation operation, long userId, long intendedStart, boolean recorded) {
+        long actualStart = System.nanoTime();
+        String outcome;
+        try {
+            outcome = target.execute(operation, userId);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = e.getClass().getSimpleName();
+        } catch (Exception e) {
+            outcome = e.getClass().getSimpleName();
+        }
+        long end = System.nanoTime();
+        backlog.decrementAndGet();
+        completed.increment();
+        if (!recorded) {
+            return;
+        }
+        long responseMicros = TimeUnit.NANOSECONDS.toMicros(end - intendedStart);
+        responseTimes.get(operation).recordValue(responseMicros);
+        intervalResponseTimes.recordValue(responseMicros);
+        serviceTimes.recordValue(TimeUnit.NANOSECONDS.toMicros(end - actualStart));
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    long completed() {
+        return completed.sum();
+    }
+
+    /**
+     * 보냈지만 아직 끝나지 않은 요청 수. 계속 늘어나면 대상이 요청 속도를 따라가지 못하는 것이다.
+     */
+    int backlog() {
+        return backlog.get();
+    }
+
+    Histogram intervalResponseTimes() {
+        return intervalResponseTimes.getIntervalHistogram();
+    }
+}
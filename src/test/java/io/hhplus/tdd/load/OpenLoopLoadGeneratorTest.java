@@ -0,0 +1,96 @@
+package io.hhplus.tdd.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OpenLoopLoadGeneratorTest {
+
+    private static LoadProfile profile(double rate, Duration duration, int maxConcurrency) {
+        return new LoadProfile(rate, Duration.ZERO, duration, 100, "uniform", new OperationMix(1, 1, 1), maxConcurrency);
+    }
+
+    @Test
+    void 대상이_멈춘_동안_밀린_요청은_예정_시각부터_지연_시간을_잰다() throws Exception {
+        AtomicBoolean stalled = new AtomicBoolean();
+        long start = System.nanoTime();
+        LoadTarget stallOnce = (operation, userId) -> {
+            if (System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(500) && stalled.compareAndSet(false, true)) {
+                Thread.sleep(500);
+            }
+            return LoadTarget.OK;
+        };
+
+        LoadReport report = new OpenLoopLoadGenerator(profile(200, Duration.ofSeconds(2), 1), stallOnce).run();
+
+        // 멈춘 0.5초 동안 예정된 약 100건이 모두 기다렸으므로 p99 에 드러난다. 실제 처리 시간만 보면 느린 요청은 1건뿐이다.
+        assertThat(report.sent()).isBetween(390L, 401L);
+        assertThat(report.completed()).isEqualTo(report.sent());
+        assertThat(report.percentileMicros(99)).isGreaterThan(300_000L);
+        assertThat(report.serviceTimes().getValueAtPercentile(99)).isLessThan(100_000L);
+    }
+
+    @Test
+    void 대상이_느려도_응답을_기다리지_않고_정해진_간격으로_요청을_보낸다() throws Exception {
+        LoadTarget slow = (operation, userId) -> {
+            Thread.sleep(50);
+            return LoadTarget.OK;
+        };
+
+        LoadReport report = new OpenLoopLoadGenerator(profile(100, Duration.ofSeconds(1), 2), slow).run();
+
+        // 동시에 2건, 건당 50ms 이므로 초당 40건밖에 처리하지 못하지만 보낸 요청 수는 속도 * 시간 그대로다.
+        assertThat(report.sent()).isBetween(95L, 101L);
+        assertThat(report.elapsed()).isGreaterThan(Duration.ofMillis(2000));
+        assertThat(report.outcomes()).containsEntry(LoadTarget.OK, report.sent());
+    }
+
+    @Test
+    void 실패한_요청은_결과_이름별로_센다() throws Exception {
+        LoadTarget failing = (operation, userId) -> {
+            if (operation == LoadOperation.USE) {
+                throw new IllegalStateException();
+            }
+            return operation == LoadOperation.READ ? "404" : LoadTarget.OK;
+        };
+
+        LoadReport report = new OpenLoopLoadGenerator(profile(300, Duration.ofMillis(500), 4), failing).run();
+
+        assertThat(report.outcomes()).containsOnlyKeys(LoadTarget.OK, "404", "IllegalStateException");
+        assertThat(report.errorRate()).isBetween(0.5, 0.85);
+    }
+
+    @Test
+    void zipf_분포는_순위가_높은_사용자에게_요청이_몰린다() {
+        KeyDistribution zipf = KeyDistribution.parse("zipf:1.0", 1000);
+        KeyDistribution uniform = KeyDistribution.parse("uniform", 1000);
+        int draws = 100_000;
+        int zipfFirst = 0;
+        int uniformFirst = 0;
+        for (int i = 0; i < draws; i++) {
+            long zipfKey = zipf.next(ThreadLocalRandom.current());
+            long uniformKey = uniform.next(ThreadLocalRandom.current());
+            assertThat(zipfKey).isBetween(1L, 1000L);
+            assertThat(uniformKey).isBetween(1L, 1000L);
+            zipfFirst += zipfKey == 1 ? 1 : 0;
+            uniformFirst += uniformKey == 1 ? 1 : 0;
+        }
+
+        // 1 / H(1000) ≒ 13.4%
+        assertThat(zipfFirst / (double) draws).isBetween(0.12, 0.15);
+        assertThat(uniformFirst / (double) draws).isLessThan(0.005);
+    }
+
+    @Test
+    void 요청_비율은_charge_use_read_형식으로_지정한다() {
+        assertThat(OperationMix.parse("2:1:7")).isEqualTo(new OperationMix(2, 1, 7));
+        assertThatThrownBy(() -> OperationMix.parse("1:1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> OperationMix.parse("0:0:0")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,37 @@
+package io.hhplus.tdd.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 충전/사용/조회 요청의 비율. 가중치는 정수이며 "charge:use:read" 형식(예: 2:1:7)으로 지정한다.
+ */
+record OperationMix(int charge, int use, int read) {
+
+    OperationMix {
+        if (charge < 0 || use < 0 || read < 0 || charge + use + read == 0) {
+            throw new IllegalArgumentException("Mix weights must be non-negative and not all zero.");
+        }
+    }
+
+    static OperationMix parse(String spec) {
+        String[] weights = spec.split(":");
+        if (weights.length != 3) {
+            throw new IllegalArgumentException("Mix must be charge:use:read, but was " + spec);
+        }
+        return new OperationMix(Integer.parseInt(weights[0].trim()), Integer.parseInt(weights[1].trim()),
+                Integer.parseInt(weights[2].trim()));
+    }
+
+    LoadOperation next(ThreadLocalRandom random) {
+        int pick = random.nextInt(charge + use + read);
+        if (pick < charge) {
+            return LoadOperation.CHARGE;
+        }
+        return pick < charge + use ? LoadOperation.USE : LoadOperation.READ;
+    }
+
+    @Override
+    public String toString() {
+        return charge + ":" + use + ":" + read;
+    }
+}
@@ -0,0 +1,96 @@
+package io.hhplus.tdd.load;
+
+import io.hhplus.tdd.lock.UserReentrantLockManager;
+import io.hhplus.tdd.point.PointService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 컨텍스트에 open-loop 부하를 거는 테스트. 기본 test 태스크에서는 빠지고 ./gradlew loadTest 로만 실행된다.
+ * - 처리율 한도는 끄고 실행한다. (켜 두면 대부분 429 로 끝나 서비스 경로의 지연 시간을 볼 수 없다)
+ * - 테이블은 호출마다 최대 수백 ms 를 쉬므로, 기본 속도는 사용자별 락 경합 없이 버틸 수 있는 정도로 낮게 잡았다.
+ *   핫키 상황은 -Dload.distribution=zipf:1.1 처럼 분포를 바꿔 확인한다.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "point.rate-limit.enabled=false")
+class PointLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointLoadTest.class);
+
+    private static final LoadProfile DEFAULT_PROFILE = new LoadProfile(
+            100, Duration.ofSeconds(5), Duration.ofSeconds(30), 10_000, "uniform", new OperationMix(3, 1, 6), 256);
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    PointService pointService;
+
+    @Autowired
+    UserReentrantLockManager userReentrantLockManager;
+
+    @Test
+    void 서비스를_직접_호출하는_부하의_지연_시간_분포를_기록한다() throws Exception {
+        LoadReport report = new OpenLoopLoadGenerator(DEFAULT_PROFILE.overriddenBySystemProperties(),
+                LoadTarget.service(pointService)).run();
+
+        report.log(log, "service");
+        assertThat(report.completed()).isEqualTo(report.sent());
+        assertThat(report.outcomes()).containsKey(LoadTarget.OK);
+    }
+
+    @Test
+    void HTTP_엔드포인트_부하의_지연_시간_분포를_기록한다() throws Exception {
+        LoadReport report = new OpenLoopLoadGenerator(DEFAULT_PROFILE.overriddenBySystemProperties(),
+                LoadTarget.http("http://127.0.0.1:" + port)).run();
+
+        report.log(log, "http");
+        assertThat(report.completed()).isEqualTo(report.sent());
+        assertThat(report.outcomes()).containsKey(LoadTarget.OK);
+    }
+
+    /**
+     * load.soak.duration(기본 2분) 동안 부하를 유지하며 load.soak.interval 마다 표본을 남긴다.
+     * 내역은 요청마다 쌓이므로 힙이 조금씩 느는 것은 정상이다. 분당 load.soak.max-heap-growth-mb 를 넘으면 누수로 본다.
+     */
+    @Test
+    void 장시간_부하에서_힙과_락_수가_계속_늘지_않는다() throws Exception {
+        LoadProfile profile = new LoadProfile(DEFAULT_PROFILE.ratePerSecond(), DEFAULT_PROFILE.warmup(),
+                Duration.parse(System.getProperty("load.soak.duration", "PT2M")), DEFAULT_PROFILE.userCount(),
+                DEFAULT_PROFILE.distribution(), DEFAULT_PROFILE.mix(), DEFAULT_PROFILE.maxConcurrency())
+                .overriddenBySystemProperties();
+        Duration interval = Duration.parse(System.getProperty("load.soak.interval", "PT5S"));
+        long maxHeapGrowthBytes = Long.getLong("load.soak.max-heap-growth-mb", 16) * 1024 * 1024;
+
+        OpenLoopLoadGenerator generator = new OpenLoopLoadGenerator(profile, LoadTarget.service(pointService));
+        LoadReport report;
+        SoakMonitor monitor = new SoakMonitor(generator, userReentrantLockManager::size, interval);
+        try (monitor) {
+            report = generator.run();
+        }
+
+        report.log(log, "soak");
+        for (SoakSample sample : monitor.samples()) {
+            log.info("[soak] t={}s throughput={}/s p99={}us backlog={} heap={}MB heapAfterGc={}MB gc={} ({}ms) locks={}",
+                    sample.elapsed().toSeconds(), (long) sample.throughput(), sample.p99Micros(), sample.backlog(),
+                    sample.heapUsedBytes() >> 20, sample.heapAfterGcBytes() >> 20, sample.gcCount(), sample.gcMillis(),
+                    sample.lockCount());
+        }
+        log.info("[soak] heap after GC growth={}KB/min, lock growth={}/min",
+                (long) monitor.heapAfterGcGrowthPerMinute() >> 10, (long) monitor.lockCountGrowthPerMinute());
+
+        assertThat(report.completed()).isEqualTo(report.sent());
+        assertThat(userReentrantLockManager.size()).isLessThanOrEqualTo(profile.userCount());
+        assertThat(monitor.heapAfterGcGrowthPerMinute()).isLessThan(maxHeapGrowthBytes);
+    }
+}
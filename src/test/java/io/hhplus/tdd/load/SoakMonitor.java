@@ -0,0 +1,115 @@
+package io.hhplus.tdd.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 소크 테스트 동안 일정 간격으로 처리량, 구간 p99, 힙, GC, 사용자 락 수를 기록한다.
+ * - 힙은 GC 직후 사용량(MemoryPoolMXBean.getCollectionUsage)의 합을 본다. 순간 사용량은 GC 주기에 따라 출렁여서
+ *   누수가 있어도 잘 드러나지 않지만, GC 직후 사용량은 살아 있는 객체만 남으므로 꾸준히 오르면 누수다.
+ * - 증가율은 앞쪽 절반(워밍업, 초기 캐시 적재)을 빼고 뒤쪽 절반 표본의 최소제곱 기울기로 계산한다.
+ */
+final class SoakMonitor implements AutoCloseable {
+
+    private final OpenLoopLoadGenerator generator;
+    private final IntSupplier lockCount;
+    private final List<SoakSample> samples = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final long startNanos = System.nanoTime();
+    private long lastCompleted;
+    private long lastNanos = startNanos;
+
+    SoakMonitor(OpenLoopLoadGenerator generator, IntSupplier lockCount, Duration interval) {
+        this.generator = generator;
+        this.lockCount = lockCount;
+        scheduler.scheduleAtFixedRate(this::sample, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void sample() {
+        long now = System.nanoTime();
+        long completed = generator.completed();
+        Histogram interval = generator.intervalResponseTimes();
+        long gcCount = 0;
+        long gcMillis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            gcCount += Math.max(0, gc.getCollectionCount());
+            gcMillis += Math.max(0, gc.getCollectionTime());
+        }
+        samples.add(new SoakSample(
+                Duration.ofNanos(now - startNanos),
+                (completed - lastCompleted) * 1e9 / (now - lastNanos),
+                interval.getTotalCount() == 0 ? 0 : interval.getValueAtPercentile(99),
+                generator.backlog(),
+                ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(),
+                heapAfterGc(),
+                gcCount,
+                gcMillis,
+                lockCount.getAsInt()));
+        lastCompleted = completed;
+        lastNanos = now;
+    }
+
+    private static long heapAfterGc() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            if (usage != null) {
+                used += usage.getUsed();
+            }
+        }
+        return used;
+    }
+
+    List<SoakSample> samples() {
+        return List.copyOf(samples);
+    }
+
+    /**
+     * 뒤쪽 절반 표본 기준, GC 직후 힙 사용량의 분당 증가량(byte).
+     */
+    double heapAfterGcGrowthPerMinute() {
+        return slopePerMinute(SoakSample::heapAfterGcBytes);
+    }
+
+    /**
+     * 뒤쪽 절반 표본 기준, 사용자 락 수의 분당 증가량.
+     */
+    double lockCountGrowthPerMinute() {
+        return slopePerMinute(SoakSample::lockCount);
+    }
+
+    private double slopePerMinute(ToDoubleFunction<SoakSample> value) {
+        List<SoakSample> tail = samples.subList(samples.size() / 2, samples.size());
+        if (tail.size() < 2) {
+            return 0;
+        }
+        double meanX = tail.stream().mapToDouble(sample -> sample.elapsed().toMillis()).average().orElse(0);
+        double meanY = tail.stream().mapToDouble(value).average().orElse(0);
+        double covariance = 0;
+        double variance = 0;
+        for (SoakSample sample : tail) {
+            double dx = sample.elapsed().toMillis() - meanX;
+            covariance += dx * (value.applyAsDouble(sample) - meanY);
+            variance += dx * dx;
+        }
+        return variance == 0 ? 0 : covariance / variance * TimeUnit.MINUTES.toMillis(1);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
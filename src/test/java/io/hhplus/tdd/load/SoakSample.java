@@ -0,0 +1,27 @@
+package io.hhplus.tdd.load;
+
+import java.time.Duration;
+
+/**
+ * 소크 테스트의 한 시점 표본.
+ *
+ * @param throughput       직전 표본 이후 초당 완료 요청 수
+ * @param p99Micros        직전 표본 이후 완료된 요청의 p99 지연 시간 (coordinated omission 보정)
+ * @param backlog          보냈지만 아직 끝나지 않은 요청 수
+ * @param heapAfterGcBytes 힙 메모리 풀들의 마지막 GC 직후 사용량 합
+ * @param gcCount          누적 GC 횟수
+ * @param gcMillis         누적 GC 시간
+ * @param lockCount        UserReentrantLockManager 가 가진 사용자 락 수
+ */
+record SoakSample(
+        Duration elapsed,
+        double throughput,
+        long p99Micros,
+        int backlog,
+        long heapUsedBytes,
+        long heapAfterGcBytes,
+        long gcCount,
+        long gcMillis,
+        int lockCount
+) {
+}
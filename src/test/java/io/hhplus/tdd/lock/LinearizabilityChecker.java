@@ -0,0 +1,123 @@
+package io.hhplus.tdd.lock;
+
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 한 사용자 잔액에 대한 연산 이력이 순차 모델로 설명되는지(선형화 가능한지) 검사한다.
+ * - Wing & Gong 방식의 백트래킹이다. 아직 고르지 않은 연산 중 다른 연산이 끝나기 전에 시작한 것만 다음 후보가 되고,
+ *   모델 결과가 기록된 결과와 같을 때만 그 연산을 고른다.
+ * - (고른 연산 집합, 잔액) 상태를 기억해 같은 상태를 다시 탐색하지 않는다. 그래도 이력이 길면 탐색이 커지므로 budget 을 넘으면 판정을 보류한다.
+ *
+ * 순차 모델: CHARGE 는 잔액을 늘리고 새 잔액을, USE 는 잔액이 부족하면 실패하며 그때의 잔액을, 아니면 차감한 뒤의 잔액을,
+ * READ 는 잔액을 돌려준다.
+ */
+final class LinearizabilityChecker {
+
+    enum Kind {CHARGE, USE, READ}
+
+    enum Outcome {LINEARIZABLE, VIOLATION, INCONCLUSIVE}
+
+    /**
+     * @param call   호출 직전에 전역 시계에서 받은 값
+     * @param ret    반환 직후에 전역 시계에서 받은 값
+     * @param result 연산이 돌려준 잔액
+     * @param failed USE 가 잔액 부족으로 실패했는지
+     */
+    record Operation(Kind kind, long amount, long result, boolean failed, long call, long ret) {
+    }
+
+    /**
+     * @param finalBalance LINEARIZABLE 일 때 마지막 연산 뒤의 잔액
+     * @param detail       VIOLATION/INCONCLUSIVE 일 때 원인
+     */
+    record Verdict(Outcome outcome, long finalBalance, String detail) {
+    }
+
+    private record State(BitSet done, long balance) {
+    }
+
+    private final Operation[] operations;
+    private final long budget;
+    private final BitSet done;
+    private final Set<State> visited = new HashSet<>();
+    private long steps;
+    private int deepest;
+    private long finalBalance;
+
+    private LinearizabilityChecker(List<Operation> history, long budget) {
+        this.operations = history.stream().sorted(Comparator.comparingLong(Operation::call)).toArray(Operation[]::new);
+        this.budget = budget;
+        this.done = new BitSet(operations.length);
+    }
+
+    static Verdict check(long initialBalance, List<Operation> history, long budget) {
+        LinearizabilityChecker checker = new LinearizabilityChecker(history, budget);
+        try {
+            if (checker.search(initialBalance, 0)) {
+                return new Verdict(Outcome.LINEARIZABLE, checker.finalBalance, null);
+            }
+            Operation stuck = checker.operations[Math.min(checker.deepest, checker.operations.length - 1)];
+            return new Verdict(Outcome.VIOLATION, 0, "no linearization of " + checker.operations.length
+                    + " operations from balance " + initialBalance + "; longest prefix " + checker.deepest + ", stuck near " + stuck);
+        } catch (BudgetExceeded e) {
+            return new Verdict(Outcome.INCONCLUSIVE, 0, "search budget of " + budget + " steps exceeded after prefix " + checker.deepest);
+        }
+    }
+
+    private boolean search(long balance, int linearized) {
+        if (linearized == operations.length) {
+            finalBalance = balance;
+            return true;
+        }
+        if (++steps > budget) {
+            throw new BudgetExceeded();
+        }
+        long minRet = Long.MAX_VALUE;
+        for (int i = done.nextClearBit(0); i < operations.length; i = done.nextClearBit(i + 1)) {
+            minRet = Math.min(minRet, operations[i].ret());
+        }
+        for (int i = done.nextClearBit(0); i < operations.length && operations[i].call() < minRet; i = done.nextClearBit(i + 1)) {
+            Operation operation = operations[i];
+            long next = apply(balance, operation);
+            if (next == Long.MIN_VALUE) {
+                continue;
+            }
+            done.set(i);
+            deepest = Math.max(deepest, linearized + 1);
+            if (visited.add(new State((BitSet) done.clone(), next)) && search(next, linearized + 1)) {
+                return true;
+            }
+            done.clear(i);
+        }
+        return false;
+    }
+
+    /**
+     * 모델에 연산을 적용한 뒤의 잔액. 모델 결과가 기록된 결과와 다르면 Long.MIN_VALUE 다.
+     */
+    private static long apply(long balance, Operation operation) {
+        return switch (operation.kind()) {
+            case READ -> operation.result() == balance ? balance : Long.MIN_VALUE;
+            case CHARGE -> !operation.failed() && operation.result() == balance + operation.amount()
+                    ? balance + operation.amount() : Long.MIN_VALUE;
+            case USE -> {
+                boolean insufficient = balance < operation.amount();
+                if (insufficient != operation.failed()) {
+                    yield Long.MIN_VALUE;
+                }
+                long next = insufficient ? balance : balance - operation.amount();
+                yield operation.result() == next ? next : Long.MIN_VALUE;
+            }
+        };
+    }
+
+    private static final class BudgetExceeded extends RuntimeException {
+        private BudgetExceeded() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package io.hhplus.tdd.lock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * 스트레스 테스트가 비교하는 사용자 락 전략. 실행마다 팩터리로 새 인스턴스를 만든다.
+ * - reentrant 는 운영 코드의 UserReentrantLockManager 를 그대로 쓴다.
+ * - striped, spin 은 도입을 검토 중인 후보다. 운영 코드로 옮기기 전에 여기서 먼저 검증한다.
+ * - unsynchronized 는 아무것도 막지 않는 대조군이다. 검사기가 위반을 찾아내는지 확인하는 데 쓴다.
+ */
+record LockStrategy(String name, LongFunction<UserLock> locks) {
+
+    UserLock lockFor(long userId) {
+        return locks.apply(userId);
+    }
+
+    static LockStrategy reentrant() {
+        UserReentrantLockManager manager = new UserReentrantLockManager();
+        return new LockStrategy("reentrant", manager::getLock);
+    }
+
+    /**
+     * userId 를 stripes 개의 락에 나눠 담는다. 서로 다른 사용자가 같은 락을 쓸 수 있지만 락 객체 수가 늘지 않는다.
+     */
+    static LockStrategy striped(int stripes) {
+        UserLock[] stripe = new UserLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            stripe[i] = new UserReentrantLock(new ReentrantLock());
+        }
+        return new LockStrategy("striped-" + stripes, userId -> stripe[(int) Math.floorMod(userId, (long) stripes)]);
+    }
+
+    /**
+     * CAS 로 잡고 바쁜 대기로 기다리는 락. 오래 못 잡으면 CPU 를 양보한다. 재진입은 지원하지 않는다.
+     */
+    static LockStrategy spin() {
+        Map<Long, UserLock> spinLocks = new ConcurrentHashMap<>();
+        return new LockStrategy("spin", userId -> spinLocks.computeIfAbsent(userId, id -> new SpinLock()));
+    }
+
+    static LockStrategy unsynchronized() {
+        UserLock noop = new UserLock() {
+            @Override
+            public void lock() {
+            }
+
+            @Override
+            public void unlock() {
+            }
+        };
+        return new LockStrategy("unsynchronized", userId -> noop);
+    }
+
+    private static final class SpinLock implements UserLock {
+        private static final int MAX_SPINS = 100;
+
+        private final AtomicBoolean held = new AtomicBoolean();
+
+        @Override
+        public void lock() {
+            for (int spins = 0; !held.compareAndSet(false, true); spins++) {
+                if (spins < MAX_SPINS) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+
+        @Override
+        public void unlock() {
+            held.set(false);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package io.hhplus.tdd.lock;
+
+import io.hhplus.tdd.lock.LinearizabilityChecker.Kind;
+import io.hhplus.tdd.lock.LinearizabilityChecker.Operation;
+import io.hhplus.tdd.lock.LinearizabilityChecker.Verdict;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 사용자 락으로 보호되는 잔액에 충전/사용/조회를 섞어 보내고, 기록한 연산 이력이 선형화 가능한지 검사한다.
+ * - 충전/사용은 PointService 처럼 락 안에서 잔액을 읽고, 검증하고, 쓴다. 조회는 락 없이 읽는다. (getUserPoint 와 같다)
+ * - 스레드마다 seed 에서 파생한 난수로 연산, 대상 사용자, 금액, 끼어들기(yield/park/spin) 위치를 정한다.
+ *   같은 seed 면 같은 연산열과 끼어들기 위치가 나온다. 실제 교차 순서는 OS 스케줄러가 정하므로 완전히 재현되지는 않지만,
+ *   임계 구역 안에서 일부러 양보해 드문 교차를 자주 만든다.
+ * - rounds 번 나눠 실행한다. 라운드 사이에는 모든 스레드가 멈추므로 사용자별 이력을 라운드 단위로 잘라 검사하고, 검사 비용을 작게 유지한다.
+ * - 처리량은 라운드 실행 시간만 더해 계산한다. (기록/검사 시간 제외)
+ */
+final class LockStressHarness {
+
+    private static final long CHECK_BUDGET = 2_000_000;
+
+    /**
+     * @param perturb 임계 구역 안팎에서 무작위로 양보할지. 정합성 검사는 켜고, 처리량 비교는 끈다.
+     */
+    record Config(int threads, int users, int rounds, int operationsPerRound, boolean perturb) {
+    }
+
+    /**
+     * @param violations   선형화할 수 없거나 최종 잔액이 모델과 다른 (사용자, 라운드) 수
+     * @param inconclusive 탐색 한도를 넘어 판정하지 못한 (사용자, 라운드) 수
+     */
+    record Result(String strategy, long seed, long operations, long elapsedNanos, int violations, int inconclusive,
+                  String firstViolation) {
+
+        double throughput() {
+            return operations * 1e9 / Math.max(1, elapsedNanos);
+        }
+    }
+
+    private LockStressHarness() {
+    }
+
+    static Result run(LockStrategy strategy, long seed, Config config) throws Exception {
+        AtomicLongArray balances = new AtomicLongArray(config.users());
+        AtomicLong clock = new AtomicLong();
+        long[] roundStart = new long[config.users()];
+        SplittableRandom[] randoms = new SplittableRandom[config.threads()];
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int t = 0; t < config.threads(); t++) {
+            randoms[t] = root.split();
+        }
+
+        long elapsed = 0;
+        int violations = 0;
+        int inconclusive = 0;
+        String firstViolation = null;
+        ExecutorService executor = Executors.newFixedThreadPool(config.threads());
+        try {
+            for (int round = 0; round < config.rounds(); round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<List<Recorded>>> futures = new ArrayList<>(config.threads());
+                for (int t = 0; t < config.threads(); t++) {
+                    SplittableRandom random = randoms[t];
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        return work(strategy, balances, clock, random, config);
+                    }));
+                }
+                long begin = System.nanoTime();
+                start.countDown();
+                List<List<Operation>> histories = new ArrayList<>(config.users());
+                for (int user = 0; user < config.users(); user++) {
+                    histories.add(new ArrayList<>());
+                }
+                for (Future<List<Recorded>> future : futures) {
+                    for (Recorded recorded : future.get()) {
+                        histories.get(recorded.user()).add(recorded.operation());
+                    }
+                }
+                elapsed += System.nanoTime() - begin;
+
+                for (int user = 0; user < config.users(); user++) {
+                    Verdict verdict = LinearizabilityChecker.check(roundStart[user], histories.get(user), CHECK_BUDGET);
+                    String problem = switch (verdict.outcome()) {
+                        case LINEARIZABLE -> verdict.finalBalance() == balances.get(user) ? null
+                                : "final balance " + balances.get(user) + " but model ends at " + verdict.finalBalance();
+                        case VIOLATION, INCONCLUSIVE -> verdict.detail();
+                    };
+                    if (verdict.outcome() == LinearizabilityChecker.Outcome.INCONCLUSIVE) {
+                        inconclusive++;
+                    } else if (problem != null) {
+                        violations++;
+                    }
+                    if (problem != null && firstViolation == null) {
+                        firstViolation = "round " + round + ", user " + user + ": " + problem;
+                    }
+                    roundStart[user] = balances.get(user);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long operations = (long) config.rounds() * config.threads() * config.operationsPerRound();
+        return new Result(strategy.name(), seed, operations, elapsed, violations, inconclusive, firstViolation);
+    }
+
+    private record Recorded(int user, Operation operation) {
+    }
+
+    private static List<Recorded> work(LockStrategy strategy, AtomicLongArray balances, AtomicLong clock,
+                                       SplittableRandom random, Config config) {
+        List<Recorded> recorded = new ArrayList<>(config.operationsPerRound());
+        for (int i = 0; i < config.operationsPerRound(); i++) {
+            int user = random.nextInt(config.users());
+            int choice = random.nextInt(10);
+            Kind kind = choice < 4 ? Kind.CHARGE : choice < 7 ? Kind.USE : Kind.READ;
+            long amount = kind == Kind.READ ? 0 : 1 + random.nextInt(kind == Kind.CHARGE ? 100 : 150);
+            int perturbation = config.perturb() ? random.nextInt(16) : -1;
+
+            long call = clock.incrementAndGet();
+            long result;
+            boolean failed = false;
+            if (kind == Kind.READ) {
+                result = balances.get(user);
+            } else {
+                pause(perturbation, 0, random);
+                UserLock lock = strategy.lockFor(user);
+                lock.lock();
+                try {
+                    long before = balances.get(user);
+                    pause(perturbation, 1, random);
+                    failed = kind == Kind.USE && before < amount;
+                    result = failed ? before : kind == Kind.CHARGE ? before + amount : before - amount;
+                    if (!failed) {
+                        balances.set(user, result);
+                    }
+                    pause(perturbation, 2, random);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            long ret = clock.incrementAndGet();
+            recorded.add(new Recorded(user, new Operation(kind, amount, result, failed, call, ret)));
+        }
+        return recorded;
+    }
+
+    /**
+     * perturbation 의 하위 2비트가 지점(락 전, 읽은 직후, 쓴 직후)과 같을 때 위쪽 비트로 고른 방식으로 양보한다.
+     */
+    private static void pause(int perturbation, int point, SplittableRandom random) {
+        if (perturbation < 0 || (perturbation & 3) != point) {
+            return;
+        }
+        switch (perturbation >> 2) {
+            case 0 -> Thread.yield();
+            case 1 -> LockSupport.parkNanos(1_000 + random.nextInt(20_000));
+            case 2 -> {
+                int spins = random.nextInt(500);
+                for (int i = 0; i < spins; i++) {
+                    Thread.onSpinWait();
+                }
+            }
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package io.hhplus.tdd.lock;
+
+import io.hhplus.tdd.lock.LinearizabilityChecker.Kind;
+import io.hhplus.tdd.lock.LinearizabilityChecker.Operation;
+import io.hhplus.tdd.lock.LinearizabilityChecker.Outcome;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserLockStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UserLockStressTest.class);
+
+    private static final long[] SEEDS = {1L, 42L, 20240601L};
+
+    private static final List<Supplier<LockStrategy>> STRATEGIES = List.of(
+            LockStrategy::reentrant,
+            () -> LockStrategy.striped(16),
+            LockStrategy::spin);
+
+    // 사용자 4명에 스레드 8개를 몰아 경합을 키운다. 라운드당 사용자별 이력은 평균 50건이다.
+    private static final LockStressHarness.Config CORRECTNESS = new LockStressHarness.Config(8, 4, 100, 25, true);
+    private static final LockStressHarness.Config THROUGHPUT = new LockStressHarness.Config(8, 64, 20, 5_000, false);
+
+    @Test
+    void 모든_락_전략이_무작위_스케줄링에서_선형화_가능한_잔액을_유지한다() throws Exception {
+        for (Supplier<LockStrategy> strategy : STRATEGIES) {
+            for (long seed : SEEDS) {
+                LockStressHarness.Result result = LockStressHarness.run(strategy.get(), seed, CORRECTNESS);
+                log.info("{} seed={}: {} ops, violations={}, inconclusive={}", result.strategy(), seed,
+                        result.operations(), result.violations(), result.inconclusive());
+
+                assertThat(result.violations()).as(result.strategy() + " seed " + seed + ": " + result.firstViolation()).isZero();
+                assertThat(result.inconclusive()).as(result.strategy() + " seed " + seed + ": " + result.firstViolation()).isZero();
+            }
+        }
+    }
+
+    @Test
+    void 락이_없으면_검사기가_갱신_유실을_선형화_위반으로_찾아낸다() throws Exception {
+        int violations = 0;
+        for (long seed : SEEDS) {
+            LockStressHarness.Result result = LockStressHarness.run(LockStrategy.unsynchronized(), seed, CORRECTNESS);
+            log.info("unsynchronized seed={}: violations={}, first={}", seed, result.violations(), result.firstViolation());
+            violations += result.violations();
+        }
+
+        assertThat(violations).isPositive();
+    }
+
+    @Test
+    void 전략별_처리량을_정합성과_함께_보고한다() throws Exception {
+        for (Supplier<LockStrategy> strategy : STRATEGIES) {
+            LockStressHarness.Result result = LockStressHarness.run(strategy.get(), SEEDS[0], THROUGHPUT);
+            log.info("{}: {} ops/s ({} ops, {} threads, {} users), violations={}", result.strategy(),
+                    Math.round(result.throughput()), result.operations(), THROUGHPUT.threads(), THROUGHPUT.users(),
+                    result.violations());
+
+            assertThat(result.violations()).as(result.strategy() + ": " + result.firstViolation()).isZero();
+        }
+    }
+
+    @Nested
+    class UserReentrantLock_사용 {
+
+        @Test
+        void 락을_잡지_않은_스레드가_풀면_IllegalMonitorStateException_을_던진다() throws Exception {
+            UserLock lock = new UserReentrantLock(new ReentrantLock());
+            lock.lock();
+            try {
+                CompletableFuture<Void> foreignUnlock = CompletableFuture.runAsync(lock::unlock);
+
+                assertThatThrownBy(foreignUnlock::get)
+                        .isInstanceOf(ExecutionException.class)
+                        .hasCauseInstanceOf(IllegalMonitorStateException.class);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Test
+        void 같은_스레드는_다시_잡을_수_있고_잡은_횟수만큼_풀어야_한다() {
+            ReentrantLock delegate = new ReentrantLock();
+            UserLock lock = new UserReentrantLock(delegate);
+
+            lock.lock();
+            lock.lock();
+            lock.unlock();
+            assertThat(delegate.isHeldByCurrentThread()).isTrue();
+            lock.unlock();
+            assertThat(delegate.isLocked()).isFalse();
+            assertThatThrownBy(lock::unlock).isInstanceOf(IllegalMonitorStateException.class);
+        }
+    }
+
+    @Nested
+    class 선형화_검사기 {
+
+        @Test
+        void 겹치는_연산은_어느_순서로든_설명되면_통과한다() {
+            // 충전 두 건이 겹쳐 실행되었고, 나중에 시작한 충전이 먼저 반영되었다.
+            List<Operation> history = List.of(
+                    new Operation(Kind.CHARGE, 100, 150, false, 1, 4),
+                    new Operation(Kind.CHARGE, 50, 50, false, 2, 3),
+                    new Operation(Kind.READ, 0, 150, false, 5, 6));
+
+            assertThat(LinearizabilityChecker.check(0, history, 1_000).outcome()).isEqualTo(Outcome.LINEARIZABLE);
+        }
+
+        @Test
+        void 갱신이_유실되면_위반이다() {
+            // 두 충전이 모두 0 을 읽고 각자 덮어썼다.
+            List<Operation> history = List.of(
+                    new Operation(Kind.CHARGE, 100, 100, false, 1, 4),
+                    new Operation(Kind.CHARGE, 50, 50, false, 2, 3));
+
+            assertThat(LinearizabilityChecker.check(0, history, 1_000).outcome()).isEqualTo(Outcome.VIOLATION);
+        }
+
+        @Test
+        void 끝난_쓰기보다_오래된_값을_읽으면_위반이다() {
+            List<Operation> history = List.of(
+                    new Operation(Kind.CHARGE, 100, 100, false, 1, 2),
+                    new Operation(Kind.READ, 0, 0, false, 3, 4));
+
+            assertThat(LinearizabilityChecker.check(0, history, 1_000).outcome()).isEqualTo(Outcome.VIOLATION);
+        }
+
+        @Test
+        void 잔액이_충분한데_사용이_실패했으면_위반이다() {
+            List<Operation> history = List.of(
+                    new Operation(Kind.CHARGE, 100, 100, false, 1, 2),
+                    new Operation(Kind.USE, 80, 100, true, 3, 4));
+
+            assertThat(LinearizabilityChecker.check(0, history, 1_000).outcome()).isEqualTo(Outcome.VIOLATION);
+        }
+    }
+}
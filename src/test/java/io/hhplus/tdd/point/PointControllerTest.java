@@ -1,6 +1,12 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.exception.ConcurrencyLimitExceededException;
 import io.hhplus.tdd.exception.InvalidAmountException;
+import io.hhplus.tdd.exception.RateLimitExceededException;
+import io.hhplus.tdd.point.codec.PointBinaryCodec;
+import io.hhplus.tdd.point.codec.PointMediaTypes;
+import io.hhplus.tdd.point.query.HistoryQuery;
+import io.hhplus.tdd.point.query.HistorySort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -11,8 +17,11 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
@@ -20,6 +29,8 @@ import static org.mockito.Mockito.doThrow;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -55,6 +66,19 @@ class PointControllerTest {
                     .andExpect(jsonPath("$.updateMillis").exists());
         }
 
+        @Test
+        void 여러_사용자_잔액_조회시_요청한_사용자들의_UserPoint를_반환한다() throws Exception {
+            UserPoint other = new UserPoint(2L, 500L, System.currentTimeMillis());
+            given(pointService.getUserPoints(List.of(1L, 2L))).willReturn(List.of(userPoint, other));
+
+            mockMvc.perform(get("/point").param("ids", "1,2"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].point").value(100000L))
+                    .andExpect(jsonPath("$[1].id").value(2L));
+        }
+
         @Test
         void 내역_조회시_내역이_있으면_정상적으로_반환한다() throws Exception {
             List<PointHistory> histories = List.of(
@@ -70,6 +94,47 @@ class PointControllerTest {
                     .andExpect(jsonPath("$[0].userId").value(1L));
         }
 
+        @Test
+        void 조건_조회시_요청_파라미터로_조회_조건을_만든다() throws Exception {
+            HistoryQuery query = new HistoryQuery(null, TransactionType.USE, 1000L, 2000L, 100L, null, HistorySort.AMOUNT_DESC, 10);
+            given(pointService.queryHistories(query)).willReturn(List.of(
+                    new PointHistory(3L, 2L, 500L, TransactionType.USE, 1500L)));
+
+            mockMvc.perform(get("/point/histories")
+                            .param("type", "USE")
+                            .param("from", "1000")
+                            .param("to", "2000")
+                            .param("minAmount", "100")
+                            .param("sort", "AMOUNT_DESC")
+                            .param("limit", "10"))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(jsonPath("$[0].amount").value(500L));
+        }
+
+        @Test
+        void 조건_조회시_limit_이나_정렬_값이_잘못되면_400에러를_반환한다() throws Exception {
+            mockMvc.perform(get("/point/histories").param("limit", "0"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("400"));
+            mockMvc.perform(get("/point/histories").param("sort", "RANDOM"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("400"));
+        }
+
+        @Test
+        void 바이너리_포맷을_요청하면_바이너리로_응답한다() throws Exception {
+            given(pointService.getUserPoint(anyLong())).willReturn(userPoint);
+
+            byte[] body = mockMvc.perform(get("/point/{id}", 1L).accept(PointMediaTypes.BINARY))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentTypeCompatibleWith(PointMediaTypes.BINARY))
+                    .andReturn().getResponse().getContentAsByteArray();
+
+            assertThat(PointBinaryCodec.read(new DataInputStream(new ByteArrayInputStream(body)))).isEqualTo(userPoint);
+        }
+
         @Test
         void 내역_조회시_내역이_없으면_빈_리스트를_반환한다() throws Exception {
             given(pointService.getPointHistories(anyLong())).willReturn(List.of());
@@ -174,6 +239,34 @@ class PointControllerTest {
                     .andExpect(jsonPath("$.code").value("400"));
         }
 
+        @Test
+        void 요청_한도를_넘으면_429에러와_Retry_After_헤더를_반환한다() throws Exception {
+            doThrow(new RateLimitExceededException("Too many requests for this user.", 1_500_000_000L))
+                    .when(pointService).use(anyLong(), anyLong());
+
+            mockMvc.perform(patch("/point/{id}/use", 1L)
+                            .content("100")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "2"))
+                    .andExpect(jsonPath("$.code").value("429"));
+        }
+
+        @Test
+        void 동시_처리_한도를_넘으면_재시도_가능한_503에러를_반환한다() throws Exception {
+            doThrow(new ConcurrencyLimitExceededException("Too many concurrent requests."))
+                    .when(pointService).use(anyLong(), anyLong());
+
+            mockMvc.perform(patch("/point/{id}/use", 1L)
+                            .content("100")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("Retry-After", "1"))
+                    .andExpect(jsonPath("$.code").value("503"));
+        }
+
         @Test
         void 금액이_1원이상이면_정상적으로_포인트를_사용한다() throws Exception {
             given(pointService.use(anyLong(), anyLong())).willReturn(userPoint);
@@ -186,4 +279,34 @@ class PointControllerTest {
                     .andExpect(jsonPath("$.point").value(100000L));
         }
     }
+
+    @Nested
+    class 포인트_송금 {
+
+        @Test
+        void 송금이_성공하면_보내는_사용자의_포인트를_반환한다() throws Exception {
+            given(pointService.transfer(1L, 2L, 10000L)).willReturn(userPoint);
+
+            mockMvc.perform(patch("/point/{id}/transfer", 1L)
+                            .content("{\"toUserId\": 2, \"amount\": 10000}")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id").value(1L))
+                    .andExpect(jsonPath("$.point").value(100000L));
+        }
+
+        @Test
+        void 자기_자신에게_송금하면_400에러를_반환한다() throws Exception {
+            doThrow(new IllegalArgumentException("Cannot transfer points to the same user."))
+                    .when(pointService).transfer(1L, 1L, 10000L);
+
+            mockMvc.perform(patch("/point/{id}/transfer", 1L)
+                            .content("{\"toUserId\": 1, \"amount\": 10000}")
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andDo(print())
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("400"));
+        }
+    }
 }
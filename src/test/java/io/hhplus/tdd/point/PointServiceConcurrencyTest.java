@@ -1,11 +1,24 @@
 package io.hhplus.tdd.point;
 
+import io.hhplus.tdd.cluster.PointCluster;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.archive.PointHistoryArchive;
+import io.hhplus.tdd.exception.InsufficientBalanceException;
 import io.hhplus.tdd.exception.InvalidAmountException;
 import io.hhplus.tdd.lock.UserReentrantLockManager;
+import io.hhplus.tdd.point.activity.ActivityTracker;
+import io.hhplus.tdd.point.expiry.PointLotLedger;
+import io.hhplus.tdd.point.tier.TierRuleEngine;
+import io.hhplus.tdd.ratelimit.AdaptiveConcurrencyLimiter;
+import io.hhplus.tdd.ratelimit.PointRateLimiter;
+import io.hhplus.tdd.replication.ReplicationLog;
+import io.hhplus.tdd.storage.PointStore;
+import io.hhplus.tdd.storage.TablePointStore;
+import io.hhplus.tdd.tracing.PointTracer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +32,10 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
@@ -33,7 +50,29 @@ class PointServiceConcurrencyTest {
     @Autowired
     private PointHistoryTable pointHistoryTable;
     @Autowired
+    private PointStore pointStore;
+    @Autowired
     private UserReentrantLockManager userReentrantLockManager;
+    @Autowired
+    private UserPointBatchReader userPointBatchReader;
+    @Autowired
+    private PointHistoryArchive pointHistoryArchive;
+    @Autowired
+    private PointRateLimiter pointRateLimiter;
+    @Autowired
+    private PointCluster pointCluster;
+    @Autowired
+    private ReplicationLog replicationLog;
+    @Autowired
+    private PointLotLedger pointLotLedger;
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    @Autowired
+    private PointTracer pointTracer;
+    @Autowired
+    private TierRuleEngine tierRuleEngine;
+    @Autowired
+    private ActivityTracker activityTracker;
 
     private final long userId = 1L;
     private PointService pointService;
@@ -42,7 +81,13 @@ class PointServiceConcurrencyTest {
     void 테스트_테이블_초기화() throws Exception {
         resetUserPointTable();
         resetPointHistoryTable();
-        pointService = new PointService(userPointTable, pointHistoryTable, userReentrantLockManager);
+        pointService = createPointService();
+    }
+
+    private PointService createPointService() {
+        return new PointService(pointStore, userReentrantLockManager, userPointBatchReader,
+                pointHistoryArchive, pointRateLimiter, pointCluster, replicationLog, pointLotLedger,
+                concurrencyLimiter, pointTracer, tierRuleEngine, activityTracker);
     }
 
     private void resetUserPointTable() throws Exception {
@@ -54,7 +99,7 @@ class PointServiceConcurrencyTest {
     private void resetPointHistoryTable() throws Exception {
         Field tableField = PointHistoryTable.class.getDeclaredField("table");
         tableField.setAccessible(true);
-        ((List<?>) tableField.get(pointHistoryTable)).clear();
+        ((Map<?, ?>) tableField.get(pointHistoryTable)).clear();
     }
 
     @Nested
@@ -307,12 +352,167 @@ class PointServiceConcurrencyTest {
         assertThat(result.point()).isEqualTo(600L);
     }
 
+    @Nested
+    class 포인트를_동시에_송금할_때 {
+
+        @Test
+        void 서로_교차하는_송금이_동시에_요청되어도_데드락_없이_처리되고_총합이_보존된다() throws InterruptedException {
+            int userCount = 5;
+            long initialPoint = 10_000L;
+            for (long id = 1; id <= userCount; id++) {
+                pointService.charge(id, initialPoint);
+            }
+
+            int threadCount = 10;
+            int transferCount = 40;
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            CountDownLatch latch = new CountDownLatch(transferCount);
+            AtomicInteger successCount = new AtomicInteger();
+
+            long startNanos = System.nanoTime();
+            for (int i = 0; i < transferCount; i++) {
+                executor.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long from = random.nextLong(1, userCount + 1);
+                    long to = (from - 1 + random.nextLong(1, userCount)) % userCount + 1;
+                    try {
+                        pointService.transfer(from, to, random.nextLong(1, 500));
+                        successCount.incrementAndGet();
+                    } catch (Exception e) {
+                        log.warn("[{}] 송금 실패 {} -> {}: {}", Thread.currentThread().getName(), from, to, e.getMessage());
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+            }
+
+            boolean completed = latch.await(120, TimeUnit.SECONDS);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            executor.shutdownNow();
+            log.info("송금 {}건 완료({}건 성공), 소요 시간: {}ms, 처리량: {} ops/s",
+                    transferCount, successCount.get(), elapsedMillis, transferCount * 1000.0 / Math.max(elapsedMillis, 1));
+
+            assertThat(completed).as("데드락 없이 모든 송금이 종료되어야 한다").isTrue();
+
+            long total = 0;
+            for (long id = 1; id <= userCount; id++) {
+                total += pointService.getUserPoint(id).point();
+            }
+            assertThat(total).isEqualTo(userCount * initialPoint);
+        }
+
+        @Test
+        void 송금이_성공하면_양쪽에_한_쌍의_내역이_기록된다() {
+            pointService.charge(1L, 1000);
+
+            UserPoint sender = pointService.transfer(1L, 2L, 300);
+
+            assertThat(sender.point()).isEqualTo(700);
+            assertThat(pointService.getUserPoint(2L).point()).isEqualTo(300);
+            assertThat(pointService.getPointHistories(1L))
+                    .extracting(PointHistory::type)
+                    .containsExactly(TransactionType.CHARGE, TransactionType.USE);
+            assertThat(pointService.getPointHistories(2L))
+                    .extracting(PointHistory::type)
+                    .containsExactly(TransactionType.CHARGE);
+        }
+
+        @Test
+        void 잔액이_부족하면_어느_쪽도_변경되지_않는다() {
+            pointService.charge(1L, 100);
+
+            assertThatThrownBy(() -> pointService.transfer(1L, 2L, 300))
+                    .isInstanceOf(InsufficientBalanceException.class);
+
+            assertThat(pointService.getUserPoint(1L).point()).isEqualTo(100);
+            assertThat(pointService.getUserPoint(2L).point()).isZero();
+            assertThat(pointService.getPointHistories(2L)).isEmpty();
+        }
+
+        @Test
+        void 자기_자신에게_송금하면_예외가_발생한다() {
+            assertThatThrownBy(() -> pointService.transfer(1L, 1L, 100))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class 여러_사용자의_잔액을_한번에_조회할_때 {
+
+        @Test
+        void 요청한_순서대로_각_사용자의_잔액을_반환하고_중복_id는_한번만_조회한다() {
+            pointService.charge(1L, 100);
+            pointService.charge(2L, 200);
+
+            List<UserPoint> result = pointService.getUserPoints(List.of(2L, 1L, 3L, 2L));
+
+            assertThat(result).extracting(UserPoint::id).containsExactly(2L, 1L, 3L);
+            assertThat(result).extracting(UserPoint::point).containsExactly(200L, 100L, 0L);
+        }
+
+        @Test
+        void 조회는_여러_스레드에서_동시에_수행된다() {
+            int users = 4;
+            CountDownLatch allReading = new CountDownLatch(users);
+            AtomicInteger reading = new AtomicInteger();
+            AtomicInteger maxReading = new AtomicInteger();
+            // 모든 조회가 동시에 들어와야 latch 를 통과하므로, 순차 조회라면 최대 동시 조회 수가 1 에 머문다.
+            PointStore blockingStore = new TablePointStore(new UserPointTable(), new PointHistoryTable()) {
+                @Override
+                public UserPoint selectById(long id) {
+                    maxReading.accumulateAndGet(reading.incrementAndGet(), Math::max);
+                    allReading.countDown();
+                    try {
+                        allReading.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        reading.decrementAndGet();
+                    }
+                    return super.selectById(id);
+                }
+            };
+            UserPointBatchReader reader = new UserPointBatchReader(blockingStore, users, PointCluster.standalone());
+            try {
+                List<UserPoint> result = reader.readAll(LongStream.rangeClosed(1, users).boxed().toList());
+
+                assertThat(result).extracting(UserPoint::id).containsExactly(1L, 2L, 3L, 4L);
+                assertThat(maxReading.get()).isEqualTo(users);
+            } finally {
+                reader.shutdown();
+            }
+        }
+
+        @Test
+        @Tag("load")
+        void 조회는_병렬로_수행되어_건수가_늘어도_소요시간이_합산되지_않는다() {
+            List<Long> userIds = LongStream.rangeClosed(1, 100).boxed().toList();
+
+            long startNanos = System.nanoTime();
+            List<UserPoint> result = pointService.getUserPoints(userIds);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            log.info("{}명 잔액 조회 소요 시간: {}ms", userIds.size(), elapsedMillis);
+
+            assertThat(result).hasSize(100);
+            // selectById 한 건의 지연은 최대 200ms 이므로, 순차 조회(최대 20초)와 달리 1초 안에 끝나야 한다.
+            assertThat(elapsedMillis).isLessThan(1_000L);
+        }
+
+        @Test
+        void 최대_조회_건수를_넘으면_예외가_발생한다() {
+            List<Long> userIds = LongStream.rangeClosed(1, UserPointBatchReader.MAX_BATCH_SIZE + 1).boxed().toList();
+
+            assertThatThrownBy(() -> pointService.getUserPoints(userIds))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
     @Nested
     class 포인트_경계값_테스트 {
 
         @BeforeEach
         void setUp() {
-            pointService = new PointService(userPointTable, pointHistoryTable, userReentrantLockManager);
+            pointService = createPointService();
             pointService.charge(userId, 1000);
             log.info("초기 포인트 1000 충전 완료");
         }
@@ -0,0 +1,271 @@
+package io.hhplus.tdd.point.activity;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.exception.ActivityLimitExceededException;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActivityTrackerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityTrackerTest.class);
+
+    // 버킷 경계에 맞춘 기준 시각. (5초, 1분 모두의 배수)
+    private static final long T0 = TimeUnit.DAYS.toMillis(20_000);
+    private static final long SECOND = 1_000;
+    private static final long MINUTE = 60 * SECOND;
+
+    private static ActivityProperties properties(List<ActivityProperties.Rule> rules, int maxTrackedUsers) {
+        return new ActivityProperties(true, Duration.ofSeconds(5), 60, Duration.ofMinutes(1), 60,
+                List.of(Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(60)), rules, maxTrackedUsers, Duration.ofMinutes(1));
+    }
+
+    private static ActivityTracker tracker(List<ActivityProperties.Rule> rules) {
+        return new ActivityTracker(properties(rules, 1_000), new SimpleMeterRegistry());
+    }
+
+    @Nested
+    class 윈도우_집계 {
+
+        @Test
+        void 윈도우별로_유형별_횟수와_금액을_센다() {
+            ActivityTracker tracker = tracker(List.of());
+            tracker.record(1L, TransactionType.USE, 100, T0);                      // 10분 전
+            tracker.record(1L, TransactionType.USE, 200, T0 + 7 * MINUTE);         // 3분 전
+            tracker.record(1L, TransactionType.CHARGE, 1_000, T0 + 9 * MINUTE + 10 * SECOND);   // 1분 안
+            tracker.record(1L, TransactionType.USE, 50, T0 + 9 * MINUTE + 30 * SECOND);
+
+            ActivityStatus status = tracker.status(1L, T0 + 10 * MINUTE);
+
+            assertThat(status.windows()).containsExactly(
+                    new ActivityWindow(Duration.ofMinutes(1), 1, 50, 1, 1_000),
+                    new ActivityWindow(Duration.ofMinutes(5), 2, 250, 1, 1_000),
+                    new ActivityWindow(Duration.ofMinutes(60), 3, 350, 1, 1_000));
+        }
+
+        @Test
+        void 짧은_윈도우는_5초_단위로_밀려난다() {
+            ActivityTracker tracker = tracker(List.of());
+            tracker.record(1L, TransactionType.USE, 100, T0);
+
+            assertThat(tracker.window(1L, Duration.ofMinutes(1), T0 + 59 * SECOND).useCount()).isEqualTo(1);
+            assertThat(tracker.window(1L, Duration.ofMinutes(1), T0 + 60 * SECOND).useCount()).isZero();
+        }
+
+        @Test
+        void 링보다_오래된_버킷은_다시_쓰일_때_비워진다() {
+            ActivityTracker tracker = tracker(List.of());
+            tracker.record(1L, TransactionType.USE, 100, T0);
+            tracker.record(1L, TransactionType.USE, 100, T0 + 60 * MINUTE);    // 같은 슬롯을 한 바퀴 뒤에 다시 쓴다.
+
+            assertThat(tracker.window(1L, Duration.ofMinutes(60), T0 + 60 * MINUTE))
+                    .isEqualTo(new ActivityWindow(Duration.ofMinutes(60), 1, 100, 0, 0));
+            assertThat(tracker.window(1L, Duration.ofMinutes(1), T0 + 60 * MINUTE).useCount()).isEqualTo(1);
+        }
+
+        @Test
+        void 늦게_도착한_기록도_링_범위_안이면_센다() {
+            ActivityTracker tracker = tracker(List.of());
+            tracker.record(1L, TransactionType.USE, 100, T0 + 2 * MINUTE);
+            tracker.record(1L, TransactionType.USE, 100, T0 + MINUTE);
+            tracker.record(1L, TransactionType.USE, 100, T0 - 61 * MINUTE);    // 긴 링보다 오래되었다.
+
+            assertThat(tracker.window(1L, Duration.ofMinutes(5), T0 + 2 * MINUTE).useCount()).isEqualTo(2);
+            assertThat(tracker.window(1L, Duration.ofMinutes(60), T0 + 2 * MINUTE).useCount()).isEqualTo(2);
+        }
+
+        @Test
+        void 한_시간_동안_쌓인_기록을_모두_센다() {
+            ActivityTracker tracker = tracker(List.of());
+            long useCount = 0;
+            long useAmount = 0;
+            for (int i = 0; i < 5_000; i++) {
+                long millis = T0 + i * 700L;   // 약 58분에 걸친 기록
+                TransactionType type = i % 3 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+                tracker.record(1L, type, 10 + i % 100, millis);
+                if (type == TransactionType.USE) {
+                    useCount++;
+                    useAmount += 10 + i % 100;
+                }
+            }
+
+            ActivityWindow window = tracker.window(1L, Duration.ofMinutes(60), T0 + 5_000 * 700L);
+
+            assertThat(window.useCount()).isEqualTo(useCount);
+            assertThat(window.useAmount()).isEqualTo(useAmount);
+        }
+
+        @Test
+        void 기록이_없는_사용자는_0_이다() {
+            ActivityTracker tracker = tracker(List.of());
+
+            assertThat(tracker.window(7L, Duration.ofMinutes(5), T0))
+                    .isEqualTo(new ActivityWindow(Duration.ofMinutes(5), 0, 0, 0, 0));
+        }
+
+        @Test
+        void 링보다_긴_윈도우는_IllegalArgumentException_을_던진다() {
+            ActivityTracker tracker = tracker(List.of());
+
+            assertThatThrownBy(() -> tracker.window(1L, Duration.ofMinutes(61), T0)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class 거래_전_한도 {
+
+        private final ActivityTracker tracker = tracker(List.of(
+                new ActivityProperties.Rule(TransactionType.USE, Duration.ofMinutes(1), 3, 0),
+                new ActivityProperties.Rule(TransactionType.USE, Duration.ofMinutes(60), 0, 1_000)));
+
+        @Test
+        void 횟수_한도를_넘게_되는_거래를_거절한다() {
+            for (int i = 0; i < 3; i++) {
+                tracker.check(1L, TransactionType.USE, 10, T0 + i * SECOND);
+                tracker.record(1L, TransactionType.USE, 10, T0 + i * SECOND);
+            }
+
+            assertThatThrownBy(() -> tracker.check(1L, TransactionType.USE, 10, T0 + 3 * SECOND))
+                    .isInstanceOf(ActivityLimitExceededException.class);
+            tracker.check(1L, TransactionType.CHARGE, 10, T0 + 3 * SECOND);
+            tracker.check(1L, TransactionType.USE, 10, T0 + MINUTE);
+        }
+
+        @Test
+        void 금액_한도를_넘게_되는_거래를_거절한다() {
+            tracker.record(1L, TransactionType.USE, 900, T0);
+
+            tracker.check(1L, TransactionType.USE, 100, T0 + 10 * MINUTE);
+            assertThatThrownBy(() -> tracker.check(1L, TransactionType.USE, 101, T0 + 10 * MINUTE))
+                    .isInstanceOf(ActivityLimitExceededException.class);
+            tracker.check(1L, TransactionType.USE, 101, T0 + 60 * MINUTE);
+        }
+    }
+
+    @Nested
+    class 사용자_정리 {
+
+        @Test
+        void 한_시간_동안_활동이_없는_사용자를_정리한다() {
+            ActivityTracker tracker = tracker(List.of());
+            tracker.record(1L, TransactionType.USE, 100, T0);
+            tracker.record(2L, TransactionType.USE, 100, T0 + 30 * MINUTE);
+
+            assertThat(tracker.evictIdle(T0 + 60 * MINUTE)).isEqualTo(1);
+            assertThat(tracker.trackedUserCount()).isEqualTo(1);
+            assertThat(tracker.window(2L, Duration.ofMinutes(60), T0 + 60 * MINUTE).useCount()).isEqualTo(1);
+        }
+
+        @Test
+        void 최대_사용자_수에_닿으면_가장_오래_활동이_없던_사용자부터_정리한다() {
+            ActivityTracker tracker = new ActivityTracker(properties(List.of(), 10), new SimpleMeterRegistry());
+            for (long userId = 0; userId < 10; userId++) {
+                tracker.record(userId, TransactionType.USE, 1, T0 + userId * SECOND);
+            }
+
+            tracker.record(100L, TransactionType.USE, 1, T0 + 10 * SECOND);
+
+            assertThat(tracker.trackedUserCount()).isLessThanOrEqualTo(10);
+            assertThat(tracker.window(0L, Duration.ofMinutes(1), T0 + 10 * SECOND).useCount()).isZero();
+            assertThat(tracker.window(9L, Duration.ofMinutes(1), T0 + 10 * SECOND).useCount()).isEqualTo(1);
+            assertThat(tracker.window(100L, Duration.ofMinutes(1), T0 + 10 * SECOND).useCount()).isEqualTo(1);
+        }
+
+        @Test
+        void 한도_윈도우_안에_활동한_사용자는_최대_사용자_수에_닿아도_정리하지_않는다() {
+            List<ActivityProperties.Rule> rules = List.of(new ActivityProperties.Rule(TransactionType.USE, Duration.ofMinutes(5), 3, 0));
+            ActivityTracker tracker = new ActivityTracker(properties(rules, 10), new SimpleMeterRegistry());
+            for (long userId = 0; userId < 10; userId++) {
+                tracker.record(userId, TransactionType.USE, 1, T0 + userId * SECOND);
+            }
+
+            tracker.record(100L, TransactionType.USE, 1, T0 + 10 * SECOND);
+
+            assertThat(tracker.trackedUserCount()).isEqualTo(10);
+            assertThat(tracker.window(0L, Duration.ofMinutes(5), T0 + 10 * SECOND).useCount()).isEqualTo(1);
+            assertThat(tracker.window(100L, Duration.ofMinutes(5), T0 + 10 * SECOND).useCount()).isZero();
+
+            // 가장 오래된 사용자가 한도 윈도우를 벗어난 뒤에는 그 사용자부터 정리한다.
+            tracker.record(101L, TransactionType.USE, 1, T0 + 5 * MINUTE + 5 * SECOND);
+
+            assertThat(tracker.window(0L, Duration.ofMinutes(5), T0 + 5 * MINUTE + 5 * SECOND).useCount()).isZero();
+            assertThat(tracker.window(101L, Duration.ofMinutes(5), T0 + 5 * MINUTE + 5 * SECOND).useCount()).isEqualTo(1);
+            assertThat(tracker.window(9L, Duration.ofMinutes(60), T0 + 5 * MINUTE + 5 * SECOND).useCount()).isEqualTo(1);
+        }
+
+        @Test
+        void 비활성화하면_세지_않는다() {
+            ActivityTracker tracker = new ActivityTracker(ActivityProperties.disabled(), new SimpleMeterRegistry());
+            tracker.record(1L, TransactionType.USE, 100, T0);
+
+            assertThat(tracker.trackedUserCount()).isZero();
+        }
+    }
+
+    @Test
+    @Tag("load")
+    void 링_버퍼_조회가_내역_스캔보다_빠르다() {
+        int histories = 5_000;
+        int iterations = 20_000;
+        ActivityTracker tracker = tracker(List.of());
+        PointHistoryTable table = new PointHistoryTable();
+        List<PointHistory> seeded = new ArrayList<>(histories);
+        for (int i = 0; i < histories; i++) {
+            long millis = T0 + i * 700L;   // 약 58분에 걸친 이력
+            TransactionType type = i % 3 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+            seeded.add(new PointHistory(i + 1, 1L, 10 + i % 100, type, millis));
+            tracker.record(1L, type, 10 + i % 100, millis);
+        }
+        table.insertAll(seeded);
+        long now = T0 + histories * 700L;
+
+        long sink = 0;
+        for (int warmup = 0; warmup < 2; warmup++) {
+            sink += scan(table, now, iterations / 10) + query(tracker, now, iterations);
+        }
+        long begin = System.nanoTime();
+        sink += scan(table, now, iterations / 10);
+        long scanNanos = (System.nanoTime() - begin) / (iterations / 10);
+        begin = System.nanoTime();
+        sink += query(tracker, now, iterations);
+        long ringNanos = (System.nanoTime() - begin) / iterations;
+
+        log.info("activity for 3 windows over {} histories: scan {} ns/op, ring {} ns/op (sink {})", histories, scanNanos, ringNanos, sink);
+        assertThat(ringNanos).isLessThan(scanNanos);
+    }
+
+    private static long scan(PointHistoryTable table, long now, int iterations) {
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            for (long window : new long[]{MINUTE, 5 * MINUTE, 60 * MINUTE}) {
+                for (PointHistory history : table.selectAllByUserId(1L)) {
+                    if (history.type() == TransactionType.USE && history.updateMillis() > now - window) {
+                        sink += history.amount();
+                    }
+                }
+            }
+        }
+        return sink;
+    }
+
+    private static long query(ActivityTracker tracker, long now, int iterations) {
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += tracker.status(1L, now).windows().get(0).useAmount();
+        }
+        return sink;
+    }
+}
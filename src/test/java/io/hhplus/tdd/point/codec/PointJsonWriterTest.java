@@ -0,0 +1,137 @@
+package io.hhplus.tdd.point.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointJsonWriterTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointJsonWriterTest.class);
+
+    private static final int HISTORY_ROWS = 10_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static List<PointHistory> histories(int size) {
+        List<PointHistory> histories = new ArrayList<>(size);
+        long now = System.currentTimeMillis();
+        for (int i = 1; i <= size; i++) {
+            TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            histories.add(new PointHistory(i, i % 100, i * 10L, type, now + i));
+        }
+        return histories;
+    }
+
+    private static byte[] writeJson(Object value) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PointJsonWriter writer = new PointJsonWriter(out);
+        writer.write(value);
+        writer.flush();
+        return out.toByteArray();
+    }
+
+    @Nested
+    class JSON_출력 {
+
+        @Test
+        void UserPoint_출력이_Jackson과_같다() throws Exception {
+            UserPoint userPoint = new UserPoint(1L, 100_000L, System.currentTimeMillis());
+
+            assertThat(objectMapper.readTree(writeJson(userPoint)))
+                    .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(userPoint)));
+        }
+
+        @Test
+        void 음수와_경계값도_Jackson과_같다() throws Exception {
+            UserPoint userPoint = new UserPoint(Long.MIN_VALUE, 0L, Long.MAX_VALUE);
+
+            assertThat(objectMapper.readTree(writeJson(userPoint)))
+                    .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(userPoint)));
+        }
+
+        @Test
+        void 만건의_내역_목록_출력이_Jackson과_같고_type은_소문자로_기록된다() throws Exception {
+            List<PointHistory> histories = histories(HISTORY_ROWS);
+
+            byte[] json = writeJson(histories);
+
+            assertThat(objectMapper.readTree(json))
+                    .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(histories)));
+            assertThat(objectMapper.readTree(json).get(2).get("type").asText()).isEqualTo("use");
+        }
+
+        @Test
+        void 빈_목록은_빈_배열로_기록된다() throws Exception {
+            assertThat(new String(writeJson(List.of()))).isEqualTo("[]");
+        }
+    }
+
+    @Nested
+    class 바이너리_출력 {
+
+        @Test
+        void 기록한_내역_목록을_그대로_다시_읽는다() throws Exception {
+            List<PointHistory> histories = histories(HISTORY_ROWS);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            PointBinaryCodec.write(out, histories);
+            out.flush();
+
+            Object read = PointBinaryCodec.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+            assertThat(read).isEqualTo(histories);
+            assertThat(bytes.size()).isLessThan(writeJson(histories).length);
+        }
+    }
+
+    @Test
+    @Tag("load")
+    void 만건의_내역_직렬화_성능을_Jackson과_비교한다() throws Exception {
+        List<PointHistory> histories = histories(HISTORY_ROWS);
+        int warmUp = 50;
+        int iterations = 200;
+
+        for (int i = 0; i < warmUp; i++) {
+            objectMapper.writeValueAsBytes(histories);
+            writeJson(histories);
+        }
+
+        long jacksonNanos = 0;
+        long writerNanos = 0;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            objectMapper.writeValue(new ByteArrayOutputStream(1 << 20), histories);
+            jacksonNanos += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            PointJsonWriter writer = new PointJsonWriter(new ByteArrayOutputStream(1 << 20));
+            writer.write(histories);
+            writer.flush();
+            writerNanos += System.nanoTime() - start;
+        }
+
+        double jacksonMicros = TimeUnit.NANOSECONDS.toMicros(jacksonNanos) / (double) iterations;
+        double writerMicros = TimeUnit.NANOSECONDS.toMicros(writerNanos) / (double) iterations;
+        log.info("{}건 내역 직렬화 평균 - Jackson: {}us, PointJsonWriter: {}us ({}배)",
+                HISTORY_ROWS, jacksonMicros, writerMicros, String.format("%.2f", jacksonMicros / writerMicros));
+
+        assertThat(writerNanos).isPositive();
+    }
+}
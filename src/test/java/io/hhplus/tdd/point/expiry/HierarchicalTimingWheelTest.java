@@ -0,0 +1,119 @@
+package io.hhplus.tdd.point.expiry;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HierarchicalTimingWheelTest {
+
+    private static final Logger log = LoggerFactory.getLogger(HierarchicalTimingWheelTest.class);
+
+    private static final class Item {
+        private final long deadline;
+        private long expiredAt = -1;
+
+        Item(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+
+    @Test
+    void 항목은_만료_시각이_지난_뒤_한_틱_안에_정확히_한_번_만료된다() {
+        Random random = new Random(42);
+        long tick = 10;
+        long start = 12_345;
+        HierarchicalTimingWheel<Item> wheel = new HierarchicalTimingWheel<>(tick, 4, start, item -> item.deadline);
+        List<Item> items = new ArrayList<>();
+
+        long now = start;
+        for (int step = 0; step < 5_000; step++) {
+            for (int i = 0; i < 3; i++) {
+                // 가까운 만료와 여러 단계를 거치는 먼 만료를 섞는다.
+                Item item = new Item(now + random.nextInt(random.nextBoolean() ? 50 : 1_000_000));
+                assertThat(wheel.schedule(item)).isTrue();
+                items.add(item);
+            }
+            now += random.nextInt(20) == 0 ? random.nextInt(20_000) : random.nextInt(30);
+            long advancedTo = now;
+            wheel.advance(now, item -> {
+                assertThat(item.expiredAt).isEqualTo(-1);
+                assertThat(item.deadline).isLessThan(advancedTo);
+                item.expiredAt = advancedTo;
+            });
+
+            long flooredNow = now - Math.floorMod(now, tick);
+            for (Item item : items) {
+                if (item.expiredAt == -1) {
+                    assertThat(item.deadline + tick).isGreaterThan(flooredNow);
+                }
+            }
+        }
+
+        long pending = items.stream().filter(item -> item.expiredAt == -1).count();
+        assertThat(wheel.size()).isEqualTo(pending);
+    }
+
+    @Test
+    void 이미_지난_만료_시각은_등록하지_않는다() {
+        HierarchicalTimingWheel<Item> wheel = new HierarchicalTimingWheel<>(1_000, 8, 10_000, item -> item.deadline);
+
+        assertThat(wheel.schedule(new Item(9_999))).isFalse();
+        assertThat(wheel.schedule(new Item(10_000))).isTrue();
+        assertThat(wheel.advance(10_999, item -> { })).isZero();
+        assertThat(wheel.advance(11_000, item -> { })).isEqualTo(1);
+    }
+
+    @Test
+    void 취소한_항목은_어느_단계에_있든_만료되지_않는다() {
+        HierarchicalTimingWheel<Item> wheel = new HierarchicalTimingWheel<>(10, 4, 0, item -> item.deadline);
+        Item near = new Item(25);
+        Item far = new Item(5_000);
+        Item kept = new Item(5_000);
+        wheel.schedule(near);
+        wheel.schedule(far);
+        wheel.schedule(kept);
+
+        // 먼 항목이 아래 단계로 내려온 뒤에도 찾을 수 있어야 한다.
+        wheel.advance(4_000, item -> { });
+        assertThat(wheel.cancel(far)).isTrue();
+        assertThat(wheel.cancel(far)).isFalse();
+        assertThat(wheel.cancel(near)).isFalse();
+        assertThat(wheel.size()).isEqualTo(1);
+
+        List<Item> expired = new ArrayList<>();
+        wheel.advance(6_000, expired::add);
+        assertThat(expired).containsExactly(kept);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void 수백만_개의_만료를_묶음으로_처리한다() {
+        int lotCount = 3_000_000;
+        long day = 86_400_000L;
+        Random random = new Random(7);
+        HierarchicalTimingWheel<Item> wheel = new HierarchicalTimingWheel<>(1_000, 512, 0, item -> item.deadline);
+
+        long scheduleStart = System.nanoTime();
+        for (int i = 0; i < lotCount; i++) {
+            wheel.schedule(new Item((long) (random.nextDouble() * 30 * day)));
+        }
+        long scheduleNanos = System.nanoTime() - scheduleStart;
+
+        long advanceStart = System.nanoTime();
+        int expired = 0;
+        for (long now = 0; now <= 31 * day; now += 60_000) {
+            expired += wheel.advance(now, item -> { });
+        }
+        long advanceNanos = System.nanoTime() - advanceStart;
+
+        assertThat(expired).isEqualTo(lotCount);
+        log.info("{}개 등록 {}ms, 30일치 1분 간격 만료 {}ms ({} lots/s)", lotCount, scheduleNanos / 1_000_000,
+                advanceNanos / 1_000_000, (long) (lotCount / (advanceNanos / 1e9)));
+    }
+}
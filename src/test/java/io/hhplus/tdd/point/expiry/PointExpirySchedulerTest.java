@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point.expiry;
+
+import io.hhplus.tdd.cluster.PointCluster;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.archive.PointHistoryArchive;
+import io.hhplus.tdd.lock.UserReentrantLockManager;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPointBatchReader;
+import io.hhplus.tdd.point.activity.ActivityProperties;
+import io.hhplus.tdd.point.activity.ActivityTracker;
+import io.hhplus.tdd.point.tier.TierRuleEngine;
+import io.hhplus.tdd.ratelimit.AdaptiveConcurrencyLimiter;
+import io.hhplus.tdd.ratelimit.ConcurrencyLimitProperties;
+import io.hhplus.tdd.ratelimit.PointRateLimiter;
+import io.hhplus.tdd.ratelimit.RateLimitProperties;
+import io.hhplus.tdd.replication.ReplicationLog;
+import io.hhplus.tdd.replication.ReplicationProperties;
+import io.hhplus.tdd.storage.PointCommit;
+import io.hhplus.tdd.storage.PointMutation;
+import io.hhplus.tdd.storage.PointStore;
+import io.hhplus.tdd.storage.TablePointStore;
+import io.hhplus.tdd.tracing.PointTracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PointExpirySchedulerTest {
+
+    private static final Duration VALIDITY = Duration.ofSeconds(10);
+    private static final PointExpiryProperties PROPERTIES = new PointExpiryProperties(true, VALIDITY, Duration.ofMillis(100), 64, 1);
+
+    private static PointService pointService(PointStore pointStore, UserPointTable userPointTable,
+                                             PointHistoryTable pointHistoryTable, PointLotLedger ledger) {
+        return new PointService(pointStore,
+                new UserReentrantLockManager(), new UserPointBatchReader(pointStore, 4, PointCluster.standalone()),
+                new PointHistoryArchive(false, Path.of("unused")),
+                new PointRateLimiter(RateLimitProperties.disabled(), new SimpleMeterRegistry()), PointCluster.standalone(),
+                new ReplicationLog(ReplicationProperties.standalone(), userPointTable, pointHistoryTable), ledger,
+                new AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.disabled(), new SimpleMeterRegistry()),
+                PointTracer.disabled(), TierRuleEngine.defaults(),
+                new ActivityTracker(ActivityProperties.disabled(), new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void 만료된_충전분의_남은_금액만_USE_내역으로_차감한다() {
+        UserPointTable userPointTable = new UserPointTable();
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        PointLotLedger ledger = new PointLotLedger(PROPERTIES);
+        PointService pointService = pointService(new TablePointStore(userPointTable, pointHistoryTable),
+                userPointTable, pointHistoryTable, ledger);
+        PointExpiryScheduler scheduler = new PointExpiryScheduler(PROPERTIES, ledger, pointService, new SimpleMeterRegistry());
+
+        long chargedMillis = pointService.charge(1L, 1000L).updateMillis();
+        pointService.use(1L, 300L);
+        pointService.charge(2L, 500L);
+        pointService.transfer(2L, 1L, 200L);
+
+        assertThat(scheduler.expireDue(chargedMillis + VALIDITY.toMillis() / 2)).isZero();
+
+        long expired = scheduler.expireDue(chargedMillis + VALIDITY.toMillis() * 2);
+
+        assertThat(expired).isEqualTo(1200L);
+        assertThat(pointService.getUserPoint(1L).point()).isZero();
+        assertThat(pointService.getUserPoint(2L).point()).isZero();
+        assertThat(pointService.getPointHistories(1L))
+                .extracting(PointHistory::type, PointHistory::amount)
+                .last()
+                .isEqualTo(tuple(TransactionType.USE, 900L));
+    }
+
+    @Test
+    void 차감_저장이_실패하면_lot_을_남겨_두고_다음_처리에서_다시_차감한다() {
+        UserPointTable userPointTable = new UserPointTable();
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        AtomicBoolean failNextCommit = new AtomicBoolean();
+        TablePointStore pointStore = new TablePointStore(userPointTable, pointHistoryTable) {
+            @Override
+            public List<PointCommit> commit(List<PointMutation> mutations) {
+                if (failNextCommit.getAndSet(false)) {
+                    throw new IllegalStateException("commit failed");
+                }
+                return super.commit(mutations);
+            }
+        };
+        PointLotLedger ledger = new PointLotLedger(PROPERTIES);
+        PointService pointService = pointService(pointStore, userPointTable, pointHistoryTable, ledger);
+        PointExpiryScheduler scheduler = new PointExpiryScheduler(PROPERTIES, ledger, pointService, new SimpleMeterRegistry());
+        long chargedMillis = pointService.charge(1L, 1000L).updateMillis();
+        long expiredMillis = chargedMillis + VALIDITY.toMillis() * 2;
+
+        failNextCommit.set(true);
+        assertThatThrownBy(() -> scheduler.expireDue(expiredMillis)).hasRootCauseInstanceOf(IllegalStateException.class);
+        assertThat(pointService.getUserPoint(1L).point()).isEqualTo(1000L);
+
+        assertThat(scheduler.expireDue(expiredMillis + 100)).isEqualTo(1000L);
+        assertThat(pointService.getUserPoint(1L).point()).isZero();
+        assertThat(scheduler.expireDue(expiredMillis + 200)).isZero();
+    }
+}
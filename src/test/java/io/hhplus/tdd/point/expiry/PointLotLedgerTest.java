@@ -0,0 +1,132 @@
+package io.hhplus.tdd.point.expiry;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointLotLedgerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointLotLedgerTest.class);
+
+    private static final long START = 1_000_000L;
+    private static final long VALIDITY = 10_000L;
+
+    private static PointLotLedger ledger() {
+        PointExpiryProperties properties = new PointExpiryProperties(true, Duration.ofMillis(VALIDITY), Duration.ofMillis(100), 64, 1);
+        return new PointLotLedger(properties, START);
+    }
+
+    @Nested
+    class 차감_순서 {
+
+        @Test
+        void 사용은_만료가_가까운_충전분부터_차감한다() {
+            PointLotLedger ledger = ledger();
+            ledger.charge(1L, 1000L, START);
+            ledger.charge(1L, 500L, START + 5_000);
+
+            ledger.use(1L, 1200L);
+
+            assertThat(ledger.expire(1L, START + VALIDITY + 1)).isZero();
+            assertThat(ledger.expire(1L, START + 5_000 + VALIDITY + 1)).isEqualTo(300L);
+        }
+
+        @Test
+        void 송금된_금액은_원래_만료_시각을_유지한다() {
+            PointLotLedger ledger = ledger();
+            ledger.charge(1L, 1000L, START);
+
+            ledger.transfer(1L, 2L, 400L);
+
+            assertThat(ledger.pollExpiredUsers(START + VALIDITY + 100)).containsExactlyInAnyOrder(1L, 2L);
+            assertThat(ledger.expire(1L, START + VALIDITY + 100)).isEqualTo(600L);
+            assertThat(ledger.expire(2L, START + VALIDITY + 100)).isEqualTo(400L);
+        }
+
+        @Test
+        void 모두_사용된_충전분의_사용자는_만료_대상으로_꺼내지_않는다() {
+            PointLotLedger ledger = ledger();
+            ledger.charge(1L, 1000L, START);
+            ledger.use(1L, 1000L);
+
+            assertThat(ledger.scheduledLotCount()).isZero();
+            assertThat(ledger.pollExpiredUsers(START + VALIDITY + 100)).isEmpty();
+            assertThat(ledger.scheduledLotCount()).isZero();
+        }
+
+        @Test
+        void 모두_송금된_충전분은_휠에서_빠지고_받은_쪽_lot_만_남는다() {
+            PointLotLedger ledger = ledger();
+            ledger.charge(1L, 1000L, START);
+            ledger.charge(1L, 500L, START + 1_000);
+
+            ledger.transfer(1L, 2L, 1200L);
+
+            // 보낸 쪽은 다 쓴 첫 lot 이 빠지고 300 남은 lot 만, 받은 쪽은 두 lot 이 남는다.
+            assertThat(ledger.scheduledLotCount()).isEqualTo(3);
+            ledger.use(2L, 1200L);
+            assertThat(ledger.scheduledLotCount()).isEqualTo(1);
+        }
+
+        @Test
+        void 지운_사용자의_충전분은_만료_대상으로_꺼내지_않는다() {
+            PointLotLedger ledger = ledger();
+            ledger.charge(1L, 1000L, START);
+            ledger.charge(2L, 1000L, START);
+
+            ledger.forget(1L);
+
+            assertThat(ledger.scheduledLotCount()).isEqualTo(1);
+            assertThat(ledger.expiredAmount(1L, Long.MAX_VALUE)).isZero();
+            assertThat(ledger.pollExpiredUsers(START + VALIDITY + 100)).containsExactly(2L);
+        }
+
+        @Test
+        void 만료_기능이_꺼져_있으면_아무것도_기록하지_않는다() {
+            PointLotLedger ledger = new PointLotLedger(PointExpiryProperties.disabled(), START);
+            ledger.charge(1L, 1000L, START);
+
+            assertThat(ledger.scheduledLotCount()).isZero();
+            assertThat(ledger.expire(1L, Long.MAX_VALUE)).isZero();
+        }
+    }
+
+    @Test
+    void 수백만_lot_을_사용자별_만료_처리까지_포함해_처리한다() {
+        int userCount = 100_000;
+        int lotsPerUser = 20;
+        long day = 86_400_000L;
+        PointExpiryProperties properties = new PointExpiryProperties(true, Duration.ofDays(30), Duration.ofSeconds(1), 512, 1);
+        PointLotLedger ledger = new PointLotLedger(properties, 0);
+
+        long chargeStart = System.nanoTime();
+        for (int lot = 0; lot < lotsPerUser; lot++) {
+            for (long userId = 1; userId <= userCount; userId++) {
+                ledger.charge(userId, 100L, lot * day / 2 + userId % 1_000);
+            }
+        }
+        long chargeNanos = System.nanoTime() - chargeStart;
+
+        long expireStart = System.nanoTime();
+        long expiredAmount = 0;
+        for (long now = 0; now <= 45 * day; now += 60_000) {
+            Set<Long> userIds = ledger.pollExpiredUsers(now);
+            for (long userId : userIds) {
+                expiredAmount += ledger.expire(userId, now);
+            }
+        }
+        long expireNanos = System.nanoTime() - expireStart;
+
+        int lotCount = userCount * lotsPerUser;
+        assertThat(expiredAmount).isEqualTo(lotCount * 100L);
+        assertThat(ledger.scheduledLotCount()).isZero();
+        log.info("{}개 lot 충전 기록 {}ms, 만료 처리 {}ms ({} lots/s)", lotCount, chargeNanos / 1_000_000,
+                expireNanos / 1_000_000, (long) (lotCount / (expireNanos / 1e9)));
+    }
+}
@@ -0,0 +1,164 @@
+package io.hhplus.tdd.point.query;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.storage.disk.DiskPointStore;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HistoryQueryTest {
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryQueryTest.class);
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    @TempDir
+    Path directory;
+
+    // 사용자 10명이 시간당 한 건씩 48시간 동안 쌓은 내역. 금액은 시간마다 달라진다.
+    private static List<PointHistory> histories() {
+        List<PointHistory> histories = new ArrayList<>();
+        long id = 1;
+        for (int hour = 0; hour < 48; hour++) {
+            for (long userId = 1; userId <= 10; userId++) {
+                TransactionType type = hour % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+                histories.add(new PointHistory(id++, userId, hour * 100L + userId, type, hour * HOUR + userId));
+            }
+        }
+        return histories;
+    }
+
+    private static List<PointHistory> fullScan(List<PointHistory> histories, HistoryQuery query) {
+        return histories.stream().filter(query::matches).sorted(query.sort().comparator()).limit(query.limit()).toList();
+    }
+
+    @Nested
+    class 조건 {
+
+        @Test
+        void 잘못된_범위나_limit_이면_IllegalArgumentException_을_던진다() {
+            assertThatThrownBy(() -> new HistoryQuery(null, null, null, null, null, null, null, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new HistoryQuery(null, null, null, null, null, null, null, HistoryQuery.MAX_LIMIT + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new HistoryQuery(null, null, 10L, 10L, null, null, null, 10))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new HistoryQuery(null, null, null, null, 100L, 10L, null, 10))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void 정렬을_지정하지_않으면_id_순이다() {
+            assertThat(new HistoryQuery(null, null, null, null, null, null, null, 10).sort()).isEqualTo(HistorySort.OLDEST);
+        }
+
+        @Test
+        void TopN_은_정렬_순서상_앞쪽_limit_건만_남긴다() {
+            HistoryQuery query = new HistoryQuery(null, null, null, null, null, null, HistorySort.AMOUNT_DESC, 3);
+            TopN top = new TopN(query);
+            histories().forEach(top::offer);
+
+            assertThat(top.toList()).isEqualTo(fullScan(histories(), query));
+            assertThat(top.toList()).extracting(PointHistory::amount).containsExactly(4710L, 4709L, 4708L);
+        }
+    }
+
+    @Nested
+    class 저장소별_조회 {
+
+        private final List<HistoryQuery> queries = List.of(
+                new HistoryQuery(3L, null, null, null, null, null, HistorySort.LATEST, 5),
+                new HistoryQuery(3L, TransactionType.USE, null, null, null, null, HistorySort.OLDEST, 4),
+                new HistoryQuery(null, null, 10 * HOUR, 12 * HOUR, null, null, HistorySort.OLDEST, 100),
+                new HistoryQuery(null, TransactionType.USE, null, null, 2000L, 3000L, HistorySort.AMOUNT_ASC, 7),
+                new HistoryQuery(null, TransactionType.CHARGE, 40 * HOUR, null, null, 4100L, HistorySort.AMOUNT_DESC, 5));
+
+        @Test
+        void 메모리_테이블은_전체를_훑은_결과와_같은_내역을_반환한다() {
+            PointHistoryTable table = new PointHistoryTable();
+            table.insertAll(histories());
+
+            for (HistoryQuery query : queries) {
+                assertThat(table.query(query)).as(query.toString()).isEqualTo(fullScan(histories(), query));
+            }
+        }
+
+        @Test
+        void 디스크_저장소는_전체를_훑은_결과와_같은_내역을_반환한다() {
+            try (DiskPointStore store = DiskPointStore.open(directory, 1024 * 1024, 4 * 1024, false)) {
+                List<PointHistory> stored = new ArrayList<>();
+                for (PointHistory history : histories()) {
+                    stored.add(store.appendHistory(history.userId(), history.amount(), history.type(), history.updateMillis()));
+                }
+
+                for (HistoryQuery query : queries) {
+                    assertThat(store.queryHistories(query)).as(query.toString()).isEqualTo(fullScan(stored, query));
+                }
+            }
+        }
+
+        @Test
+        void 사용자를_지우면_기간_조회에서도_빠진다() {
+            try (DiskPointStore store = DiskPointStore.open(directory, 1024 * 1024, 1024 * 1024, false)) {
+                store.appendHistory(1L, 100L, TransactionType.CHARGE, HOUR);
+                store.appendHistory(2L, 100L, TransactionType.CHARGE, HOUR);
+
+                store.deleteUser(1L);
+
+                assertThat(store.queryHistories(new HistoryQuery(null, null, 0L, 2 * HOUR, null, null, null, 10)))
+                        .extracting(PointHistory::userId).containsExactly(2L);
+            }
+        }
+    }
+
+    @Test
+    @Tag("load")
+    void 기간_조건이_있으면_파티션을_건너뛰어_전체_스캔보다_빠르다() {
+        int hours = 24 * 30;
+        int perHour = 500;
+        List<PointHistory> histories = new ArrayList<>(hours * perHour);
+        long id = 1;
+        for (int hour = 0; hour < hours; hour++) {
+            for (int i = 0; i < perHour; i++) {
+                TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+                histories.add(new PointHistory(id++, i % 1000, 10L + i, type, hour * HOUR + i));
+            }
+        }
+        PointHistoryTable table = new PointHistoryTable();
+        table.insertAll(histories);
+        HistoryQuery query = new HistoryQuery(null, TransactionType.USE, 100 * HOUR, 124 * HOUR, 400L, null,
+                HistorySort.AMOUNT_DESC, 50);
+
+        int rounds = 50;
+        List<PointHistory> expected = fullScan(histories, query);
+        long scanStart = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            fullScan(histories, query);
+        }
+        long scanNanos = System.nanoTime() - scanStart;
+
+        long queryStart = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            assertThat(table.query(query)).hasSize(50);
+        }
+        long queryNanos = System.nanoTime() - queryStart;
+
+        log.info("{} histories, 24h window top-50: full scan {} us/query, partition pruning {} us/query",
+                histories.size(), TimeUnit.NANOSECONDS.toMicros(scanNanos / rounds), TimeUnit.NANOSECONDS.toMicros(queryNanos / rounds));
+        assertThat(table.query(query)).isEqualTo(expected);
+        assertThat(queryNanos).isLessThan(scanNanos);
+    }
+}
@@ -0,0 +1,198 @@
+package io.hhplus.tdd.point.tier;
+
+import io.hhplus.tdd.exception.DailyChargeCapExceededException;
+import io.hhplus.tdd.exception.InsufficientBalanceException;
+import io.hhplus.tdd.exception.InvalidAmountException;
+import io.hhplus.tdd.exception.MaxPointExceededException;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TierRuleEngineTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TierRuleEngineTest.class);
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final long DAY_1 = LocalDate.of(2024, 3, 1).atStartOfDay(ZONE).toInstant().toEpochMilli() + 1000;
+    private static final long DAY_2 = LocalDate.of(2024, 3, 2).atStartOfDay(ZONE).toInstant().toEpochMilli() + 1000;
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private static final TierProperties.Tier BASIC = new TierProperties.Tier("BASIC", 100_000, 100, 50_000, 100_000);
+    private static final TierProperties.Tier VIP = new TierProperties.Tier("VIP", 10_000_000, 1, 1_000_000, 0);
+
+    private final TierRuleEngine engine = new TierRuleEngine(new TierProperties(List.of(BASIC, VIP), ZONE, 1024));
+
+    @Nested
+    class 등급_지정 {
+
+        @Test
+        void 지정하지_않은_사용자는_첫_번째_등급이다() {
+            assertThat(engine.tierOf(1L)).isEqualTo(BASIC);
+            assertThat(engine.tierOf(5_000_000L)).isEqualTo(BASIC);
+        }
+
+        @Test
+        void 배열_범위_안팎의_userId_모두_등급을_바꿀_수_있다() {
+            engine.assign(1L, "VIP");
+            engine.assign(5_000_000L, "VIP");
+
+            assertThat(engine.tierOf(1L)).isEqualTo(VIP);
+            assertThat(engine.tierOf(5_000_000L)).isEqualTo(VIP);
+
+            engine.assign(5_000_000L, "BASIC");
+            assertThat(engine.tierOf(5_000_000L)).isEqualTo(BASIC);
+        }
+
+        @Test
+        void 없는_등급이면_IllegalArgumentException_을_던진다() {
+            assertThatThrownBy(() -> engine.assign(1L, "GOLD")).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        void 등급_이름이_겹치면_기동할_수_없다() {
+            assertThatThrownBy(() -> new TierRuleEngine(new TierProperties(List.of(BASIC, BASIC), ZONE, 16)))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    class 금액_검사 {
+
+        @Test
+        void 등급의_금액_범위를_벗어나면_InvalidAmountException_을_던진다() {
+            UserPoint user = new UserPoint(1L, 60_000, DAY_1);
+
+            assertThatThrownBy(() -> engine.charge(user, 99, DAY_1)).isInstanceOf(InvalidAmountException.class);
+            assertThatThrownBy(() -> engine.charge(user, 50_001, DAY_1)).isInstanceOf(InvalidAmountException.class);
+            assertThatThrownBy(() -> engine.use(user, 50_001)).isInstanceOf(InvalidAmountException.class);
+            assertThatThrownBy(() -> engine.use(user, 0)).isInstanceOf(InvalidAmountException.class)
+                    .hasMessage("Amount must be > 0.");
+        }
+
+        @Test
+        void 등급의_잔액_상한을_넘으면_MaxPointExceededException_을_던진다() {
+            UserPoint user = new UserPoint(1L, 90_000, DAY_1);
+
+            assertThatThrownBy(() -> engine.charge(user, 10_001, DAY_1)).isInstanceOf(MaxPointExceededException.class);
+            assertThat(engine.charge(user, 10_000, DAY_1).point()).isEqualTo(100_000);
+
+            engine.assign(1L, "VIP");
+            assertThat(engine.charge(user, 10_001, DAY_1).point()).isEqualTo(100_001);
+        }
+
+        @Test
+        void 사용은_잔액이_부족하면_기존_예외를_던진다() {
+            assertThatThrownBy(() -> engine.use(new UserPoint(1L, 100, DAY_1), 200))
+                    .isInstanceOf(InsufficientBalanceException.class);
+        }
+    }
+
+    @Nested
+    class 일일_충전_한도 {
+
+        @Test
+        void 하루_충전_합계가_한도를_넘으면_DailyChargeCapExceededException_을_던진다() {
+            UserPoint user = new UserPoint(1L, 0, DAY_1);
+            engine.recordCharge(1L, 50_000, DAY_1);
+            engine.recordCharge(1L, 40_000, DAY_1);
+
+            assertThatThrownBy(() -> engine.charge(user, 10_001, DAY_1))
+                    .isInstanceOf(DailyChargeCapExceededException.class);
+            assertThat(engine.charge(user, 10_000, DAY_1).point()).isEqualTo(10_000);
+            assertThat(engine.status(1L, DAY_1).remainingToday()).isEqualTo(10_000);
+        }
+
+        @Test
+        void 날짜가_바뀌면_한도가_다시_찬다() {
+            engine.recordCharge(1L, 100_000, DAY_1);
+
+            assertThat(engine.status(1L, DAY_2).chargedToday()).isZero();
+            assertThat(engine.charge(new UserPoint(1L, 0, DAY_2), 50_000, DAY_2).point()).isEqualTo(50_000);
+
+            engine.recordCharge(1L, 1_000, DAY_2);
+            assertThat(engine.status(1L, DAY_2).chargedToday()).isEqualTo(1_000);
+        }
+
+        @Test
+        void 송금_받은_금액은_한도에_포함되지_않는다() {
+            engine.recordCharge(1L, 100_000, DAY_1);
+
+            assertThat(engine.receive(new UserPoint(1L, 0, DAY_1), 70_000).point()).isEqualTo(70_000);
+            assertThat(engine.status(1L, DAY_1).remainingToday()).isZero();
+        }
+
+        @Test
+        void 한도가_없는_등급은_남은_한도가_null_이다() {
+            engine.assign(1L, "VIP");
+            engine.recordCharge(1L, 100_000, DAY_1);
+
+            TierStatus status = engine.status(1L, DAY_1);
+            assertThat(status.chargedToday()).isZero();
+            assertThat(status.remainingToday()).isNull();
+        }
+    }
+
+    @Test
+    @Tag("load")
+    void 등급_검사는_기존_충전_검사_대비_큰_비용을_더하지_않는다() {
+        int users = 1000;
+        int rounds = 2_000_000;
+        for (long userId = 0; userId < users; userId += 2) {
+            engine.assign(userId, "VIP");
+        }
+        UserPoint[] points = new UserPoint[users];
+        for (int i = 0; i < users; i++) {
+            points[i] = new UserPoint(i, 0, DAY_1);
+        }
+
+        long sink = 0;
+        for (int warmup = 0; warmup < 2; warmup++) {
+            sink += chargePlain(points, rounds) + chargeWithTier(points, rounds, DAY_1 + warmup * 10 * DAY);
+        }
+
+        long plainStart = System.nanoTime();
+        sink += chargePlain(points, rounds);
+        long plainNanos = System.nanoTime() - plainStart;
+
+        long tierStart = System.nanoTime();
+        sink += chargeWithTier(points, rounds, DAY_1 + 20 * DAY);
+        long tierNanos = System.nanoTime() - tierStart;
+
+        log.info("charge validation: plain {} ns/op, tier rules {} ns/op (sink {})",
+                (double) plainNanos / rounds, (double) tierNanos / rounds, sink);
+        // 일일 합계 기록이 포함되므로 몇 배 느려지는 것은 허용하되, 조회가 자릿수 단위로 느려지지는 않아야 한다.
+        assertThat(tierNanos).isLessThan(plainNanos * 20);
+    }
+
+    private static long chargePlain(UserPoint[] points, int rounds) {
+        long sum = 0;
+        for (int i = 0; i < rounds; i++) {
+            sum += points[i % points.length].charge(100).point();
+        }
+        return sum;
+    }
+
+    private long chargeWithTier(UserPoint[] points, int rounds, long firstDayMillis) {
+        long sum = 0;
+        for (int i = 0; i < rounds; i++) {
+            UserPoint before = points[i % points.length];
+            // BASIC 사용자는 하루 한도 안에서만 충전되도록 금액을 작게 잡고, 합계가 차면 다음 날로 넘긴다.
+            long now = firstDayMillis + (long) (i / (points.length * 500)) * DAY;
+            UserPoint after = engine.charge(before, 100, now);
+            engine.recordCharge(before.id(), 100, now);
+            sum += after.point();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,126 @@
+package io.hhplus.tdd.ratelimit;
+
+import io.hhplus.tdd.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static AdaptiveConcurrencyLimiter limiter(ConcurrencyLimitProperties.Algorithm algorithm, int initialLimit) {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties(true, algorithm, initialLimit, 2, 1000,
+                2.0, 0.2, 0.9, Duration.ofMillis(100));
+        return new AdaptiveConcurrencyLimiter(properties, new SimpleMeterRegistry());
+    }
+
+    /**
+     * 동시에 capacity 개까지는 serviceMillis 에 처리하고, 넘는 만큼 대기열이 생겨 지연 시간이 비례해 늘어나는 서버를 흉내 낸다.
+     * 요청은 항상 한도까지 채워 보내며(포화 상태), 주기적으로 한도를 낮춰 재는 구간이 있으므로 마지막 5,000건 동안의 평균 한도를 반환한다.
+     */
+    private static int convergedLimit(AdaptiveConcurrencyLimiter limiter, int capacity, long serviceMillis) {
+        long now = 0;
+        long limitSum = 0;
+        Deque<AdaptiveConcurrencyLimiter.Permit> inflight = new ArrayDeque<>();
+        for (int round = 0; round < 20_000; round++) {
+            while (true) {
+                try {
+                    inflight.add(limiter.acquire(now));
+                } catch (ConcurrencyLimitExceededException e) {
+                    break;
+                }
+            }
+            int concurrency = inflight.size();
+            long latency = serviceMillis * MILLI * Math.max(1, (long) Math.ceil((double) concurrency / capacity));
+            inflight.poll().release(now + latency);
+            now += latency / concurrency;
+            if (round >= 15_000) {
+                limitSum += limiter.limit();
+            }
+        }
+        return (int) (limitSum / 5_000);
+    }
+
+    @Nested
+    class 한도_적용 {
+
+        @Test
+        void 처리_중인_요청이_한도에_닿으면_거절하고_끝나면_다시_허용한다() {
+            AdaptiveConcurrencyLimiter limiter = limiter(ConcurrencyLimitProperties.Algorithm.AIMD, 2);
+            AdaptiveConcurrencyLimiter.Permit first = limiter.acquire(0);
+            limiter.acquire(0);
+
+            assertThatThrownBy(() -> limiter.acquire(0)).isInstanceOf(ConcurrencyLimitExceededException.class);
+
+            first.release(MILLI);
+            assertThat(limiter.inflight()).isEqualTo(1);
+            limiter.acquire(MILLI);
+        }
+
+        @Test
+        void 꺼져_있으면_한도_없이_허용한다() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.disabled(), new SimpleMeterRegistry());
+
+            for (int i = 0; i < 10_000; i++) {
+                limiter.acquire();
+            }
+            assertThat(limiter.inflight()).isZero();
+        }
+    }
+
+    @Nested
+    class 한도_조정 {
+
+        @Test
+        void AIMD_는_지연_시간이_기준을_넘으면_줄이고_아니면_늘린다() {
+            AdaptiveConcurrencyLimiter limiter = limiter(ConcurrencyLimitProperties.Algorithm.AIMD, 10);
+
+            for (int i = 0; i < 5; i++) {
+                limiter.acquire(0).release(500 * MILLI);
+            }
+            int reduced = limiter.limit();
+            for (int i = 0; i < 20; i++) {
+                AdaptiveConcurrencyLimiter.Permit[] permits = new AdaptiveConcurrencyLimiter.Permit[limiter.limit()];
+                for (int j = 0; j < permits.length; j++) {
+                    permits[j] = limiter.acquire(0);
+                }
+                for (AdaptiveConcurrencyLimiter.Permit permit : permits) {
+                    permit.release(10 * MILLI);
+                }
+            }
+
+            assertThat(reduced).isLessThan(10);
+            assertThat(limiter.limit()).isGreaterThan(reduced);
+        }
+
+        @Test
+        void GRADIENT_는_대기열이_생기기_시작하는_동시_처리_수_근처로_수렴한다() {
+            int capacity = 50;
+
+            int fromBelow = convergedLimit(limiter(ConcurrencyLimitProperties.Algorithm.GRADIENT, 5), capacity, 10);
+            int fromAbove = convergedLimit(limiter(ConcurrencyLimitProperties.Algorithm.GRADIENT, 800), capacity, 10);
+
+            assertThat(fromBelow).isBetween(capacity / 2, capacity * 3);
+            assertThat(fromAbove).isBetween(capacity / 2, capacity * 3);
+        }
+
+        @Test
+        void AIMD_도_포화_상태에서_기준_지연_시간을_넘지_않는_동시_처리_수로_수렴한다() {
+            int capacity = 50;
+
+            int limit = convergedLimit(limiter(ConcurrencyLimitProperties.Algorithm.AIMD, 5), capacity, 10);
+
+            // 기준 100ms, 처리 10ms 이므로 대기열이 capacity 의 10배를 넘기 전에 줄어든다.
+            assertThat(limit).isBetween(capacity / 2, capacity * 10);
+        }
+    }
+}
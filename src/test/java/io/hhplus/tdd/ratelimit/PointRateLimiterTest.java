@@ -0,0 +1,142 @@
+package io.hhplus.tdd.ratelimit;
+
+import io.hhplus.tdd.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointRateLimiterTest {
+
+    private static final long NOW = 1_000_000_000L;
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Nested
+    class 토큰_버킷 {
+
+        @Test
+        void 용량만큼은_즉시_허용하고_그_이후는_거절한다() {
+            TokenBucket bucket = new TokenBucket(10, 5);
+
+            for (int i = 0; i < 5; i++) {
+                assertThat(bucket.tryAcquire(NOW)).isTrue();
+            }
+            assertThat(bucket.tryAcquire(NOW)).isFalse();
+        }
+
+        @Test
+        void 시간이_지나면_초당_허용량만큼_다시_채워진다() {
+            TokenBucket bucket = new TokenBucket(10, 5);
+            for (int i = 0; i < 5; i++) {
+                bucket.tryAcquire(NOW);
+            }
+
+            long later = NOW + ONE_SECOND / 10;
+
+            assertThat(bucket.nanosUntilAvailable(NOW)).isEqualTo(ONE_SECOND / 10);
+            assertThat(bucket.tryAcquire(later)).isTrue();
+            assertThat(bucket.tryAcquire(later)).isFalse();
+        }
+
+        @Test
+        void 여러_스레드가_동시에_꺼내도_용량을_넘겨_허용하지_않는다() throws InterruptedException {
+            TokenBucket bucket = new TokenBucket(1, 100);
+            int threadCount = 8;
+            ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+            CountDownLatch latch = new CountDownLatch(threadCount);
+            AtomicInteger acquired = new AtomicInteger();
+
+            for (int i = 0; i < threadCount; i++) {
+                executor.execute(() -> {
+                    for (int j = 0; j < 1_000; j++) {
+                        if (bucket.tryAcquire(NOW)) {
+                            acquired.incrementAndGet();
+                        }
+                    }
+                    latch.countDown();
+                });
+            }
+            latch.await();
+            executor.shutdown();
+
+            assertThat(acquired.get()).isEqualTo(100);
+        }
+    }
+
+    @Nested
+    class 사용자별_한도 {
+
+        @Test
+        void 한_사용자가_한도를_넘어도_다른_사용자는_허용된다() {
+            PointRateLimiter limiter = new PointRateLimiter(
+                    new RateLimitProperties(true, 1, 3, 1_000, 1_000, 100), new SimpleMeterRegistry());
+            for (int i = 0; i < 3; i++) {
+                limiter.acquire(1L, NOW);
+            }
+
+            assertThatThrownBy(() -> limiter.acquire(1L, NOW))
+                    .isInstanceOf(RateLimitExceededException.class)
+                    .hasMessageContaining("user");
+            limiter.acquire(2L, NOW);
+        }
+
+        @Test
+        void 전역_한도를_넘으면_사용자와_무관하게_거절된다() {
+            PointRateLimiter limiter = new PointRateLimiter(
+                    new RateLimitProperties(true, 100, 100, 1, 2, 100), new SimpleMeterRegistry());
+            limiter.acquire(1L, NOW);
+            limiter.acquire(2L, NOW);
+
+            assertThatThrownBy(() -> limiter.acquire(3L, NOW))
+                    .isInstanceOf(RateLimitExceededException.class)
+                    .hasMessage("Too many requests.");
+        }
+
+        @Test
+        void 비활성화되어_있으면_모두_허용한다() {
+            PointRateLimiter limiter = new PointRateLimiter(RateLimitProperties.disabled(), new SimpleMeterRegistry());
+
+            for (int i = 0; i < 100; i++) {
+                limiter.acquire(1L, NOW);
+            }
+            assertThat(limiter.trackedUserCount()).isZero();
+        }
+    }
+
+    @Nested
+    class 버킷_정리 {
+
+        @Test
+        void 추적_사용자_수가_한도에_닿으면_다시_가득_찬_버킷을_정리한다() {
+            PointRateLimiter limiter = new PointRateLimiter(
+                    new RateLimitProperties(true, 10, 10, 1_000_000, 1_000_000, 3), new SimpleMeterRegistry());
+            limiter.acquire(1L, NOW);
+            limiter.acquire(2L, NOW);
+            limiter.acquire(3L, NOW);
+
+            limiter.acquire(4L, NOW + ONE_SECOND);
+
+            assertThat(limiter.trackedUserCount()).isEqualTo(1);
+        }
+
+        @Test
+        void 정리할_버킷이_없으면_새_사용자는_추적하지_않고_전역_한도만_적용한다() {
+            PointRateLimiter limiter = new PointRateLimiter(
+                    new RateLimitProperties(true, 10, 10, 1_000_000, 1_000_000, 2), new SimpleMeterRegistry());
+            limiter.acquire(1L, NOW);
+            limiter.acquire(2L, NOW);
+
+            limiter.acquire(3L, NOW + 1);
+
+            assertThat(limiter.trackedUserCount()).isEqualTo(2);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package io.hhplus.tdd.replication;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReplicationLogTest {
+
+    private static ReplicationLog primaryLog(int capacity) {
+        ReplicationProperties properties = new ReplicationProperties(ReplicationProperties.Role.PRIMARY, null, capacity, 100,
+                Duration.ZERO, Duration.ZERO, Duration.ZERO, Duration.ofSeconds(1));
+        return new ReplicationLog(properties, new UserPointTable(), new PointHistoryTable());
+    }
+
+    private static void appendCharge(ReplicationLog log, long historyId) {
+        log.append(new UserPoint(1L, historyId * 100, historyId),
+                new PointHistory(historyId, 1L, 100L, TransactionType.CHARGE, historyId));
+    }
+
+    @Nested
+    class 로그_조회 {
+
+        @Test
+        void 요청한_시퀀스_이후의_레코드를_순서대로_limit_만큼_반환한다() throws InterruptedException {
+            ReplicationLog log = primaryLog(16);
+            for (long id = 1; id <= 5; id++) {
+                appendCharge(log, id);
+            }
+
+            ReplicationBatch batch = log.readAfter(1, 3, 0);
+
+            assertThat(batch.snapshotRequired()).isFalse();
+            assertThat(batch.lastSeq()).isEqualTo(5);
+            assertThat(batch.records()).extracting(ReplicationRecord::seq).containsExactly(2L, 3L, 4L);
+        }
+
+        @Test
+        void 용량을_넘어_밀려난_시퀀스부터_요청하면_스냅샷이_필요하다고_응답한다() throws InterruptedException {
+            ReplicationLog log = primaryLog(4);
+            for (long id = 1; id <= 10; id++) {
+                appendCharge(log, id);
+            }
+
+            assertThat(log.readAfter(5, 100, 0).snapshotRequired()).isTrue();
+            assertThat(log.readAfter(6, 100, 0).records()).extracting(ReplicationRecord::seq).containsExactly(7L, 8L, 9L, 10L);
+        }
+
+        @Test
+        void 주_노드보다_앞선_시퀀스를_요청하면_스냅샷이_필요하다고_응답한다() throws InterruptedException {
+            ReplicationLog log = primaryLog(4);
+            appendCharge(log, 1);
+
+            assertThat(log.readAfter(7, 100, 0).snapshotRequired()).isTrue();
+        }
+
+        @Test
+        void 새_레코드가_없으면_기다렸다가_추가된_레코드를_반환한다() throws InterruptedException {
+            ReplicationLog log = primaryLog(4);
+            Thread writer = new Thread(() -> {
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException ignored) {
+                }
+                appendCharge(log, 1);
+            });
+            writer.start();
+
+            ReplicationBatch batch = log.readAfter(0, 100, 5_000);
+
+            assertThat(batch.records()).extracting(ReplicationRecord::seq).containsExactly(1L);
+            writer.join();
+        }
+
+        @Test
+        void 주_노드가_아니면_로그를_남기지_않고_조회도_거절한다() {
+            ReplicationLog log = new ReplicationLog(ReplicationProperties.standalone(), new UserPointTable(), new PointHistoryTable());
+            appendCharge(log, 1);
+
+            assertThat(log.lastSeq()).isZero();
+            assertThatThrownBy(() -> log.readAfter(0, 100, 0)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
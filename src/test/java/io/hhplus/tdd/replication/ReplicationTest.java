@@ -0,0 +1,136 @@
+package io.hhplus.tdd.replication;
+
+import io.hhplus.tdd.TddApplication;
+import io.hhplus.tdd.point.PointService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 한 JVM 안에서 루프백 포트로 주 노드와 복제 노드를 띄워 복제 동작을 확인한다.
+ * 여러 JVM 으로 띄울 때도 같은 설정(point.replication.role, primary-url)을 인자로 주면 된다.
+ */
+class ReplicationTest {
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void 노드_종료() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    private ConfigurableApplicationContext startPrimary() {
+        return start("point.replication.role=primary", "point.replication.log-capacity=4");
+    }
+
+    private ConfigurableApplicationContext startReplica(ConfigurableApplicationContext primary) {
+        return start("point.replication.role=replica",
+                "point.replication.primary-url=" + urlOf(primary),
+                "point.replication.poll-wait=200ms",
+                "point.replication.read-your-writes-timeout=5s");
+    }
+
+    private ConfigurableApplicationContext start(String... properties) {
+        List<String> all = new ArrayList<>(List.of("server.port=0", "spring.jmx.enabled=false", "point.rate-limit.enabled=false"));
+        all.addAll(List.of(properties));
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TddApplication.class)
+                .properties(all.toArray(String[]::new))
+                .run();
+        nodes.add(context);
+        return context;
+    }
+
+    private static String urlOf(ConfigurableApplicationContext node) {
+        return "http://127.0.0.1:" + node.getEnvironment().getProperty("local.server.port");
+    }
+
+    private HttpResponse<String> send(ConfigurableApplicationContext node, String method, String path, String body, String seq) throws Exception {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(urlOf(node) + path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+        if (seq != null) {
+            builder.header(ReplicationLog.SEQ_HEADER, seq);
+        }
+        return httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String charge(ConfigurableApplicationContext primary, long userId, long amount) throws Exception {
+        HttpResponse<String> response = send(primary, "PATCH", "/point/" + userId + "/charge", String.valueOf(amount), null);
+        assertThat(response.statusCode()).isEqualTo(200);
+        return response.headers().firstValue(ReplicationLog.SEQ_HEADER).orElseThrow();
+    }
+
+    @Test
+    void 주_노드의_충전을_토큰과_함께_조회하면_복제_노드에서_바로_읽을_수_있다() throws Exception {
+        ConfigurableApplicationContext primary = startPrimary();
+        ConfigurableApplicationContext replica = startReplica(primary);
+
+        charge(primary, 1L, 1000L);
+        String seq = charge(primary, 1L, 500L);
+
+        HttpResponse<String> point = send(replica, "GET", "/point/1", null, seq);
+        HttpResponse<String> histories = send(replica, "GET", "/point/1/histories", null, seq);
+
+        assertThat(point.statusCode()).isEqualTo(200);
+        assertThat(point.body()).contains("\"point\":1500");
+        assertThat(histories.body()).isEqualTo(send(primary, "GET", "/point/1/histories", null, null).body());
+        assertThat(replica.getBean(ReplicaSynchronizer.class).status().lagRecords()).isZero();
+    }
+
+    @Test
+    void 주_노드에서_지운_사용자는_복제_노드에서도_지운다() throws Exception {
+        ConfigurableApplicationContext primary = startPrimary();
+        ConfigurableApplicationContext replica = startReplica(primary);
+        charge(primary, 1L, 1000L);
+        charge(primary, 2L, 700L);
+
+        primary.getBean(PointService.class).deleteUser(1L);
+        String seq = String.valueOf(primary.getBean(ReplicationLog.class).lastSeq());
+
+        assertThat(send(replica, "GET", "/point/1", null, seq).body()).contains("\"point\":0");
+        assertThat(send(replica, "GET", "/point/1/histories", null, seq).body()).isEqualTo("[]");
+        assertThat(send(replica, "GET", "/point/2", null, seq).body()).contains("\"point\":700");
+    }
+
+    @Test
+    void 복제_노드는_쓰기_요청을_주_노드로_보낸다() throws Exception {
+        ConfigurableApplicationContext primary = startPrimary();
+        ConfigurableApplicationContext replica = startReplica(primary);
+
+        HttpResponse<String> response = send(replica, "PATCH", "/point/1/charge", "1000", null);
+
+        assertThat(response.statusCode()).isEqualTo(307);
+        assertThat(response.headers().firstValue("Location")).hasValue(urlOf(primary) + "/point/1/charge");
+    }
+
+    @Test
+    void 로그_용량보다_늦게_붙은_복제_노드는_스냅샷부터_받아_따라잡는다() throws Exception {
+        ConfigurableApplicationContext primary = startPrimary();
+        String seq = null;
+        for (long userId = 1; userId <= 10; userId++) {
+            seq = charge(primary, userId, userId * 100);
+        }
+
+        ConfigurableApplicationContext replica = startReplica(primary);
+        for (long userId = 1; userId <= 10; userId++) {
+            HttpResponse<String> response = send(replica, "GET", "/point/" + userId, null, seq);
+            assertThat(response.body()).contains("\"point\":" + userId * 100);
+        }
+
+        seq = charge(primary, 1L, 1L);
+        assertThat(send(replica, "GET", "/point/1", null, seq).body()).contains("\"point\":101");
+        assertThat(send(replica, "GET", "/point/1/histories", null, seq).body())
+                .isEqualTo(send(primary, "GET", "/point/1/histories", null, null).body());
+    }
+}
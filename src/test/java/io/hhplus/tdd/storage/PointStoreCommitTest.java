@@ -0,0 +1,288 @@
+package io.hhplus.tdd.storage;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.storage.disk.DiskPointStore;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 잔액 저장과 내역 추가 사이에서 작업이 멈추는 경우를 일부러 만들어, 두 값이 어긋난 채로 남지 않는지 확인한다.
+ */
+class PointStoreCommitTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointStoreCommitTest.class);
+
+    private static final long MB = 1024 * 1024;
+
+    private static List<PointMutation> charge(long userId, long before, long amount) {
+        return List.of(new PointMutation(new UserPoint(userId, before, 1L), new UserPoint(userId, before + amount, 2L),
+                amount, TransactionType.CHARGE));
+    }
+
+    private static List<PointMutation> transfer(long fromUserId, long fromBefore, long toUserId, long toBefore, long amount) {
+        return List.of(
+                new PointMutation(new UserPoint(fromUserId, fromBefore, 1L), new UserPoint(fromUserId, fromBefore - amount, 2L),
+                        amount, TransactionType.USE),
+                new PointMutation(new UserPoint(toUserId, toBefore, 1L), new UserPoint(toUserId, toBefore + amount, 2L),
+                        amount, TransactionType.CHARGE));
+    }
+
+    /**
+     * 잔액은 항상 내역의 합과 같아야 한다. (테스트는 모두 0 에서 시작한다)
+     */
+    private static void assertBalanceMatchesHistories(PointStore store, long userId) {
+        long sum = store.selectHistories(userId).stream()
+                .mapToLong(history -> history.type() == TransactionType.CHARGE ? history.amount() : -history.amount())
+                .sum();
+        assertThat(store.selectById(userId).point()).as("user " + userId).isEqualTo(sum);
+    }
+
+    /**
+     * failOn 번째 insert 에서 예외를 던진다.
+     */
+    private static class FailingPointHistoryTable extends PointHistoryTable {
+        private final int failOn;
+        private int calls;
+
+        FailingPointHistoryTable(int failOn) {
+            this.failOn = failOn;
+        }
+
+        @Override
+        public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+            if (++calls == failOn) {
+                throw new IllegalStateException("injected failure");
+            }
+            return super.insert(userId, amount, type, updateMillis);
+        }
+    }
+
+    private static List<PointHistory> handedOff(long userId) {
+        return List.of(new PointHistory(7L, userId, 30L, TransactionType.CHARGE, 1L),
+                new PointHistory(8L, userId, 10L, TransactionType.USE, 2L));
+    }
+
+    private static class FailingUserPointTable extends UserPointTable {
+        private final int failOn;
+        private int calls;
+
+        FailingUserPointTable(int failOn) {
+            this.failOn = failOn;
+        }
+
+        @Override
+        public UserPoint insertOrUpdate(long id, long amount) {
+            if (++calls == failOn) {
+                throw new IllegalStateException("injected failure");
+            }
+            return super.insertOrUpdate(id, amount);
+        }
+    }
+
+    @Nested
+    class 메모리_저장소 {
+
+        @Test
+        void 잔액을_저장한_뒤_내역_추가가_실패하면_잔액을_되돌린다() {
+            TablePointStore store = new TablePointStore(new UserPointTable(), new FailingPointHistoryTable(2));
+            store.commit(charge(1L, 0, 100));
+
+            assertThatThrownBy(() -> store.commit(charge(1L, 100, 50))).hasMessage("injected failure");
+
+            assertThat(store.selectById(1L).point()).isEqualTo(100L);
+            assertThat(store.selectHistories(1L)).extracting(PointHistory::amount).containsExactly(100L);
+        }
+
+        @Test
+        void 송금_도중_받는_쪽_내역이_실패하면_보내는_쪽_내역과_두_잔액을_모두_되돌린다() {
+            TablePointStore store = new TablePointStore(new UserPointTable(), new FailingPointHistoryTable(4));
+            store.commit(charge(1L, 0, 100));
+            store.commit(charge(2L, 0, 10));
+
+            assertThatThrownBy(() -> store.commit(transfer(1L, 100, 2L, 10, 30))).hasMessage("injected failure");
+
+            assertThat(store.selectById(1L).point()).isEqualTo(100L);
+            assertThat(store.selectById(2L).point()).isEqualTo(10L);
+            assertBalanceMatchesHistories(store, 1L);
+            assertBalanceMatchesHistories(store, 2L);
+        }
+
+        @Test
+        void 송금_도중_받는_쪽_잔액_저장이_실패하면_보내는_쪽_잔액을_되돌린다() {
+            TablePointStore store = new TablePointStore(new FailingUserPointTable(3), new PointHistoryTable());
+            store.commit(charge(1L, 0, 100));
+
+            assertThatThrownBy(() -> store.commit(transfer(1L, 100, 2L, 0, 30))).hasMessage("injected failure");
+
+            assertThat(store.selectById(1L).point()).isEqualTo(100L);
+            assertThat(store.selectById(2L).point()).isZero();
+            assertThat(store.selectHistories(2L)).isEmpty();
+        }
+
+        @Test
+        void 넘겨받은_내역을_한_번에_추가하다_실패하면_잔액을_되돌린다() {
+            PointHistoryTable failing = new PointHistoryTable() {
+                @Override
+                public void insertAll(Collection<PointHistory> histories) {
+                    throw new IllegalStateException("injected failure");
+                }
+            };
+            TablePointStore store = new TablePointStore(new UserPointTable(), failing);
+            store.commit(charge(1L, 0, 100));
+
+            assertThatThrownBy(() -> store.absorb(new UserPoint(1L, 100, 1L), new UserPoint(1L, 120, 3L), handedOff(1L)))
+                    .hasMessage("injected failure");
+
+            assertThat(store.selectById(1L).point()).isEqualTo(100L);
+            assertBalanceMatchesHistories(store, 1L);
+        }
+    }
+
+    @Nested
+    class 디스크_저장소 {
+
+        @TempDir
+        Path directory;
+
+        @Test
+        void 닫지_않고_종료되어도_로그에_쓴_commit_은_잔액과_내역이_함께_복구된다() {
+            DiskPointStore crashed = DiskPointStore.open(directory, MB, MB, false);
+            crashed.commit(charge(1L, 0, 100));
+            crashed.commit(transfer(1L, 100, 2L, 0, 40));
+
+            // crashed 는 닫지 않는다. 메모리 테이블은 사라지고 로그만 남은 상태에서 다시 연다.
+            try (DiskPointStore reopened = DiskPointStore.open(directory, MB, MB, false)) {
+                assertThat(reopened.selectById(1L).point()).isEqualTo(60L);
+                assertThat(reopened.selectById(2L).point()).isEqualTo(40L);
+                assertBalanceMatchesHistories(reopened, 1L);
+                assertBalanceMatchesHistories(reopened, 2L);
+            } finally {
+                crashed.close();
+            }
+        }
+
+        @Test
+        void 넘겨받은_잔액과_내역은_새_id_로_한_레코드에_써서_함께_복구된다() {
+            DiskPointStore crashed = DiskPointStore.open(directory, MB, MB, false);
+            crashed.commit(charge(1L, 0, 100));
+            List<PointCommit> commits = crashed.absorb(new UserPoint(1L, 100, 2L), new UserPoint(1L, 120, 3L), handedOff(1L));
+
+            try (DiskPointStore reopened = DiskPointStore.open(directory, MB, MB, false)) {
+                assertThat(commits).extracting(commit -> commit.history().id()).doesNotContain(7L, 8L);
+                assertThat(reopened.selectById(1L).point()).isEqualTo(120L);
+                assertThat(reopened.selectHistories(1L)).extracting(PointHistory::amount).containsExactly(100L, 30L, 10L);
+                assertBalanceMatchesHistories(reopened, 1L);
+            } finally {
+                crashed.close();
+            }
+        }
+
+        /**
+         * 마지막 commit(송금) 레코드를 한 바이트씩 늘려 가며 잘라, 레코드를 쓰는 도중 모든 지점에서 종료된 경우를 재현한다.
+         * 레코드가 온전할 때만 송금이 반영되고, 그 전에는 두 사용자의 잔액과 내역 모두 송금 전 그대로다.
+         */
+        @Test
+        void 송금_레코드를_쓰는_도중_어느_바이트에서_종료되어도_한쪽만_반영되지_않는다() throws Exception {
+            Path source = directory.resolve("source");
+            long beforeTransfer;
+            byte[] log;
+            try (DiskPointStore store = DiskPointStore.open(source, MB, MB, false)) {
+                store.commit(charge(1L, 0, 100));
+                store.commit(charge(2L, 0, 10));
+                beforeTransfer = store.walBytes();
+                store.commit(transfer(1L, 100, 2L, 10, 30));
+                log = Files.readAllBytes(source.resolve("wal.log"));
+            }
+
+            for (int cut = (int) beforeTransfer; cut <= log.length; cut++) {
+                Path crashed = Files.createDirectories(directory.resolve("cut-" + cut));
+                Files.write(crashed.resolve("wal.log"), Arrays.copyOf(log, cut));
+
+                try (DiskPointStore reopened = DiskPointStore.open(crashed, MB, MB, false)) {
+                    boolean complete = cut == log.length;
+                    assertThat(reopened.selectById(1L).point()).as("cut " + cut).isEqualTo(complete ? 70L : 100L);
+                    assertThat(reopened.selectById(2L).point()).as("cut " + cut).isEqualTo(complete ? 40L : 10L);
+                    assertThat(reopened.selectHistories(2L)).as("cut " + cut).hasSize(complete ? 2 : 1);
+                    assertBalanceMatchesHistories(reopened, 1L);
+                    assertBalanceMatchesHistories(reopened, 2L);
+                }
+            }
+        }
+
+        /**
+         * 사용자 락 안에서 하는 저장소 쓰기 시간을 비교한다. commit 은 잔액과 내역을 로그 레코드 하나로 쓰므로 fsync 도 한 번이다.
+         */
+        @Test
+        @Tag("load")
+        void commit_은_잔액과_내역을_따로_쓰는_것보다_느리지_않다() {
+            int operations = 2_000;
+            try (DiskPointStore store = DiskPointStore.open(directory, MB, 4 * MB, true)) {
+                long separateStart = System.nanoTime();
+                for (int i = 0; i < operations; i++) {
+                    store.insertOrUpdate(i % 100, i);
+                    store.appendHistory(i % 100, 1, TransactionType.CHARGE, i);
+                }
+                long separateNanos = System.nanoTime() - separateStart;
+
+                long commitStart = System.nanoTime();
+                for (int i = 0; i < operations; i++) {
+                    store.commit(charge(i % 100, i, 1));
+                }
+                long commitNanos = System.nanoTime() - commitStart;
+
+                log.info("synced writes: insertOrUpdate + appendHistory {} us/op, commit {} us/op",
+                        separateNanos / 1000 / operations, commitNanos / 1000 / operations);
+                assertThat(commitNanos).isLessThan(separateNanos);
+            }
+        }
+
+        @Test
+        void checkpoint_를_여러_번_지난_뒤_닫지_않고_종료되어도_잔액과_내역이_어긋나지_않는다() {
+            long users = 200;
+            long[] balances = new long[(int) users + 1];
+            DiskPointStore crashed = DiskPointStore.open(directory, MB, 16 * 1024, false);
+            for (int round = 0; round < 30; round++) {
+                for (long userId = 1; userId <= users; userId++) {
+                    int index = (int) userId;
+                    long amount = round + userId;
+                    crashed.commit(charge(userId, balances[index], amount));
+                    balances[index] += amount;
+                }
+                long from = round % users + 1;
+                long to = (round * 7) % users + 1;
+                if (from != to) {
+                    crashed.commit(transfer(from, balances[(int) from], to, balances[(int) to], 1));
+                    balances[(int) from] -= 1;
+                    balances[(int) to] += 1;
+                }
+            }
+            assertThat(crashed.tableCount()).isPositive();
+
+            try (DiskPointStore reopened = DiskPointStore.open(directory, MB, 16 * 1024, false)) {
+                for (long userId = 1; userId <= users; userId++) {
+                    assertThat(reopened.selectById(userId).point()).isEqualTo(balances[(int) userId]);
+                    assertBalanceMatchesHistories(reopened, userId);
+                }
+            } finally {
+                crashed.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.hhplus.tdd.storage;
+
+import io.hhplus.tdd.cluster.ClusterProperties;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.expiry.PointExpiryProperties;
+import io.hhplus.tdd.replication.ReplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PointStoreConfigTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void DISK_저장소와_만료를_함께_켜면_기동을_거부한다() {
+        StorageProperties storage = new StorageProperties(StorageProperties.Backend.DISK, directory,
+                DataSize.ofMegabytes(1), DataSize.ofMegabytes(1), false);
+        PointExpiryProperties expiry = new PointExpiryProperties(true, Duration.ofDays(365), Duration.ofSeconds(1), 512, 1);
+
+        assertThatThrownBy(() -> new PointStoreConfig().pointStore(storage, new UserPointTable(), new PointHistoryTable(),
+                ClusterProperties.disabled(), ReplicationProperties.standalone(), false, expiry, new SimpleMeterRegistry()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("point expiry");
+    }
+}
@@ -0,0 +1,236 @@
+package io.hhplus.tdd.storage.disk;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.storage.PointStore;
+import io.hhplus.tdd.storage.TablePointStore;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DiskPointStoreTest {
+
+    private static final Logger log = LoggerFactory.getLogger(DiskPointStoreTest.class);
+
+    private static final long MB = 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    private DiskPointStore open(long memtableBytes) {
+        return DiskPointStore.open(directory, MB, memtableBytes, false);
+    }
+
+    private long tableFileCount() throws Exception {
+        try (Stream<Path> files = Stream.of("balances", "histories", "history-times").flatMap(this::list)) {
+            return files.filter(path -> path.toString().endsWith(".sst")).count();
+        }
+    }
+
+    private Stream<Path> list(String tree) {
+        try {
+            return Files.list(directory.resolve(tree));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Nested
+    class 조회와_저장 {
+
+        @Test
+        void 저장한_적_없는_사용자는_0_포인트이고_마지막에_저장한_잔액이_조회된다() {
+            try (DiskPointStore store = open(MB)) {
+                assertThat(store.selectById(1L).point()).isZero();
+
+                store.insertOrUpdate(1L, 100L);
+                store.insertOrUpdate(1L, 300L);
+
+                assertThat(store.selectById(1L).point()).isEqualTo(300L);
+                assertThat(store.selectById(2L).point()).isZero();
+            }
+        }
+
+        @Test
+        void 사용자_내역을_id_순으로_조회하고_afterId_이후를_limit_만큼_나눠_읽는다() {
+            try (DiskPointStore store = open(MB)) {
+                for (int i = 1; i <= 10; i++) {
+                    store.appendHistory(1L, i * 100L, i % 2 == 0 ? TransactionType.USE : TransactionType.CHARGE, i);
+                    store.appendHistory(2L, i, TransactionType.CHARGE, i);
+                }
+
+                assertThat(store.selectHistories(1L)).extracting(PointHistory::amount)
+                        .containsExactly(100L, 200L, 300L, 400L, 500L, 600L, 700L, 800L, 900L, 1000L);
+                long thirdId = store.selectHistories(1L).get(2).id();
+                assertThat(store.selectHistories(1L, thirdId, 3)).extracting(PointHistory::amount)
+                        .containsExactly(400L, 500L, 600L);
+                assertThat(store.selectHistories(3L)).isEmpty();
+            }
+        }
+
+        @Test
+        void 사용자를_지우면_잔액과_내역이_모두_사라진다() {
+            try (DiskPointStore store = open(MB)) {
+                store.insertOrUpdate(1L, 100L);
+                store.appendHistory(1L, 100L, TransactionType.CHARGE, 1L);
+                store.appendHistory(2L, 100L, TransactionType.CHARGE, 1L);
+
+                store.deleteUser(1L);
+
+                assertThat(store.selectById(1L).point()).isZero();
+                assertThat(store.selectHistories(1L)).isEmpty();
+                assertThat(store.selectHistories(2L)).hasSize(1);
+            }
+        }
+    }
+
+    @Nested
+    class 파일과_병합 {
+
+        @Test
+        void 메모리_테이블을_여러_번_내려도_최신_값과_삭제가_유지되고_SSTable_수가_늘어나지_않는다() throws Exception {
+            try (DiskPointStore store = open(64 * 1024)) {
+                for (int round = 0; round < 20; round++) {
+                    for (long userId = 1; userId <= 2_000; userId++) {
+                        store.insertOrUpdate(userId, round * 10_000L + userId);
+                    }
+                }
+                for (long userId = 1; userId <= 2_000; userId += 2) {
+                    store.deleteUser(userId);
+                }
+
+                assertThat(store.selectById(2L).point()).isEqualTo(190_002L);
+                assertThat(store.selectById(1_000L).point()).isEqualTo(191_000L);
+                assertThat(store.selectById(999L).point()).isZero();
+                assertThat(store.tableCount()).isLessThan(20);
+                assertThat(tableFileCount()).isEqualTo(store.tableCount());
+            }
+        }
+
+        @Test
+        void 재시작하면_SSTable_과_로그에서_잔액_내역_id_발급_위치를_복구한다() {
+            long lastId;
+            try (DiskPointStore store = open(64 * 1024)) {
+                for (long userId = 1; userId <= 3_000; userId++) {
+                    store.insertOrUpdate(userId, userId);
+                    store.appendHistory(userId, userId, TransactionType.CHARGE, userId);
+                }
+                store.deleteUser(7L);
+                lastId = store.appendHistory(1L, 5L, TransactionType.USE, 1L).id();
+            }
+
+            try (DiskPointStore reopened = open(64 * 1024)) {
+                assertThat(reopened.selectById(2_999L).point()).isEqualTo(2_999L);
+                assertThat(reopened.selectById(7L).point()).isZero();
+                assertThat(reopened.selectHistories(7L)).isEmpty();
+                assertThat(reopened.selectHistories(1L)).extracting(PointHistory::amount).containsExactly(1L, 5L);
+                assertThat(reopened.appendHistory(1L, 1L, TransactionType.CHARGE, 1L).id()).isGreaterThan(lastId);
+            }
+        }
+
+        @Test
+        void 로그_끝에_쓰다_만_레코드가_있으면_그_앞까지만_복구한다() throws Exception {
+            try (DiskPointStore store = open(MB)) {
+                store.insertOrUpdate(1L, 100L);
+                store.insertOrUpdate(2L, 200L);
+            }
+            Path wal = directory.resolve("wal.log");
+            try (FileChannel channel = FileChannel.open(wal, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3}));
+            }
+
+            try (DiskPointStore reopened = open(MB)) {
+                assertThat(reopened.selectById(1L).point()).isEqualTo(100L);
+                assertThat(reopened.selectById(2L).point()).isEqualTo(200L);
+                reopened.insertOrUpdate(3L, 300L);
+            }
+            try (DiskPointStore reopened = open(MB)) {
+                assertThat(reopened.selectById(3L).point()).isEqualTo(300L);
+            }
+        }
+    }
+
+    /**
+     * 사용자 20,000명 x 내역 20건(약 15MB)을 페이지 캐시 1MB 로 다뤄, 데이터 대부분이 메모리에 없는 상태를 만든다.
+     * 조회 70%(잔액, 최근 내역 20건), 쓰기 30%(잔액 갱신 + 내역 추가)를 여러 스레드로 섞어 처리량을 비교한다.
+     * 메모리 테이블은 호출마다 최대 300ms 를 임의로 쉬므로 요청 수를 줄여 잰다.
+     */
+    @Test
+    @Tag("load")
+    void 데이터가_캐시보다_큰_혼합_부하에서_두_저장소의_처리량을_비교한다() throws Exception {
+        int userCount = 20_000;
+        int historiesPerUser = 20;
+        try (DiskPointStore disk = DiskPointStore.open(directory, MB, 4 * MB, false)) {
+            long loadStart = System.nanoTime();
+            for (int i = 0; i < historiesPerUser; i++) {
+                for (long userId = 1; userId <= userCount; userId++) {
+                    disk.insertOrUpdate(userId, i * 10L);
+                    disk.appendHistory(userId, 10L, TransactionType.CHARGE, i);
+                }
+            }
+            long loadNanos = System.nanoTime() - loadStart;
+
+            double diskOpsPerSecond = mixedWorkload(disk, userCount, 16, 200_000);
+            double tableOpsPerSecond = mixedWorkload(new TablePointStore(new UserPointTable(), new PointHistoryTable()), userCount, 16, 160);
+
+            log.info("load {} balances + {} histories into disk store: {} ms, tables={}",
+                    userCount * historiesPerUser, userCount * historiesPerUser, TimeUnit.NANOSECONDS.toMillis(loadNanos), disk.tableCount());
+            log.info("mixed workload: disk {} ops/s (page cache hits={}, misses={}), table {} ops/s",
+                    (long) diskOpsPerSecond, disk.pageCacheHits(), disk.pageCacheMisses(), (long) tableOpsPerSecond);
+            assertThat(disk.selectHistories(userCount).size()).isGreaterThanOrEqualTo(historiesPerUser);
+            assertThat(disk.pageCacheMisses()).isPositive();
+        }
+    }
+
+    private static double mixedWorkload(PointStore store, int userCount, int threads, int operations) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            long start = System.nanoTime();
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                futures[t] = executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < operations / threads; i++) {
+                        long userId = random.nextLong(1, userCount + 1);
+                        int kind = random.nextInt(10);
+                        if (kind < 4) {
+                            store.selectById(userId);
+                        } else if (kind < 7) {
+                            store.selectHistories(userId, 0, 20);
+                        } else {
+                            store.insertOrUpdate(userId, random.nextLong(1_000));
+                            store.appendHistory(userId, 10L, TransactionType.CHARGE, System.currentTimeMillis());
+                        }
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return operations * 1e9 / (System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package io.hhplus.tdd.tiering;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserReentrantLockManager;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointTieringManagerTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointTieringManagerTest.class);
+
+    private static List<UserPoint> userPoints(long fromId, long toId) {
+        return LongStream.range(fromId, toId).mapToObj(id -> new UserPoint(id, id * 10, id)).toList();
+    }
+
+    // idleBefore 를 미래로 주면 유휴 시간과 상관없이 maxHot 까지 줄인다.
+    private static int demoteAll(UserPointTable table, int maxHot) {
+        return table.demote(maxHot, Long.MAX_VALUE);
+    }
+
+    @Nested
+    class UserPointTable_계층 {
+
+        @Test
+        void 강등한_잔액도_조회와_전체_조회에_그대로_보인다() {
+            UserPointTable table = new UserPointTable();
+            table.insertOrUpdateAll(userPoints(1, 5_001));
+
+            assertThat(demoteAll(table, 1_000)).isEqualTo(4_000);
+            assertThat(table.hotCount()).isEqualTo(1_000);
+            assertThat(table.coldCount()).isEqualTo(4_000);
+
+            assertThat(table.selectAll()).hasSize(5_000).allSatisfy(userPoint -> {
+                assertThat(userPoint.point()).isEqualTo(userPoint.id() * 10);
+                assertThat(userPoint.updateMillis()).isEqualTo(userPoint.id());
+            });
+
+            long coldId = LongStream.range(1, 5_001).filter(id -> !table.isHot(id)).findFirst().orElseThrow();
+            assertThat(table.selectById(coldId)).isEqualTo(new UserPoint(coldId, coldId * 10, coldId));
+            assertThat(table.isHot(coldId)).isTrue();
+            assertThat(table.coldCount()).isEqualTo(3_999);
+            assertThat(table.faultInCount()).isEqualTo(1);
+        }
+
+        @Test
+        void 가장_오래_조회되지_않은_잔액부터_강등한다() throws InterruptedException {
+            UserPointTable table = new UserPointTable();
+            table.insertOrUpdateAll(userPoints(1, 101));
+            Thread.sleep(20);
+            table.insertOrUpdateAll(userPoints(101, 201));
+
+            assertThat(demoteAll(table, 100)).isEqualTo(100);
+
+            assertThat(LongStream.range(1, 101).noneMatch(table::isHot)).isTrue();
+            assertThat(LongStream.range(101, 201).allMatch(table::isHot)).isTrue();
+        }
+
+        @Test
+        void 최근에_쓰인_잔액은_예산을_넘어도_강등하지_않는다() {
+            UserPointTable table = new UserPointTable();
+            long before = System.currentTimeMillis() - 1;
+            table.insertOrUpdateAll(userPoints(1, 101));
+
+            assertThat(table.demote(0, before)).isZero();
+            assertThat(table.hotCount()).isEqualTo(100);
+        }
+
+        @Test
+        void cold_잔액을_덮어쓰거나_지우면_cold_에서_빠진다() {
+            UserPointTable table = new UserPointTable();
+            table.insertOrUpdateAll(userPoints(1, 3));
+            demoteAll(table, 0);
+
+            table.insertOrUpdate(1L, 777);
+            table.deleteById(2L);
+
+            assertThat(table.coldCount()).isZero();
+            assertThat(table.selectAll()).singleElement().satisfies(userPoint -> {
+                assertThat(userPoint.id()).isEqualTo(1L);
+                assertThat(userPoint.point()).isEqualTo(777);
+            });
+            assertThat(table.selectById(2L)).isEqualTo(UserPoint.empty(2L));
+        }
+
+        @Test
+        void cold_영역은_늘었다가_비면_다시_줄어든다() {
+            UserPointTable table = new UserPointTable();
+            table.insertOrUpdateAll(userPoints(1, 50_001));
+            demoteAll(table, 0);
+            long grown = table.coldBytes();
+
+            table.insertOrUpdateAll(userPoints(1, 50_001));
+
+            assertThat(grown).isGreaterThanOrEqualTo(50_000L * 24);
+            assertThat(table.coldCount()).isZero();
+            assertThat(table.coldBytes()).isLessThan(grown);
+            assertThat(table.hotCount()).isEqualTo(50_000);
+        }
+    }
+
+    @Nested
+    class 락_항목_정리 {
+
+        @Test
+        void 받아_간_락은_풀기_전까지_치우지_않는다() {
+            UserReentrantLockManager manager = new UserReentrantLockManager();
+            UserLock held = manager.getLock(1L);
+            held.lock();
+            UserLock taken = manager.getLock(2L);
+
+            assertThat(manager.evictUnused(userId -> true)).isZero();
+            UserLock again = manager.getLock(1L);
+            again.lock();
+
+            assertThat(again).isSameAs(held);
+            again.unlock();
+            assertThat(manager.evictUnused(userId -> userId == 1L)).isZero();
+            held.unlock();
+            taken.lock();
+            taken.unlock();
+
+            assertThat(manager.evictUnused(userId -> true)).isEqualTo(2);
+            assertThat(manager.size()).isZero();
+        }
+
+        @Test
+        void 치운_뒤에는_새_락을_만든다() {
+            UserReentrantLockManager manager = new UserReentrantLockManager();
+            UserLock old = manager.getLock(1L);
+            old.lock();
+            old.unlock();
+            manager.evictUnused(userId -> userId == 1L);
+
+            UserLock fresh = manager.getLock(1L);
+
+            assertThat(fresh).isNotSameAs(old);
+            assertThat(manager.size()).isEqualTo(1);
+            fresh.lock();
+            fresh.unlock();
+        }
+    }
+
+    @Nested
+    class 정리_주기 {
+
+        @Test
+        void 예산을_넘는_잔액을_강등하고_cold_사용자의_락을_치운다() {
+            UserPointTable table = new UserPointTable();
+            UserReentrantLockManager lockManager = new UserReentrantLockManager();
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            TieringProperties properties = new TieringProperties(true, DataSize.ofBytes(TieringProperties.ENTRY_BYTES * 10),
+                    1, Duration.ZERO, Duration.ofSeconds(10));
+            PointTieringManager manager = new PointTieringManager(properties, table, lockManager, registry, () -> 0.1);
+            table.insertOrUpdateAll(userPoints(1, 31));
+            for (long id = 1; id <= 30; id++) {
+                UserLock lock = lockManager.getLock(id);
+                lock.lock();
+                lock.unlock();
+            }
+
+            PointTieringManager.SweepResult result = manager.sweep(System.currentTimeMillis() + 1);
+
+            assertThat(result).isEqualTo(new PointTieringManager.SweepResult(20, 20));
+            assertThat(lockManager.size()).isEqualTo(10);
+            assertThat(registry.get("point.tiering.hot.users").gauge().value()).isEqualTo(10);
+            assertThat(registry.get("point.tiering.cold.users").gauge().value()).isEqualTo(20);
+            assertThat(registry.get("point.lock.entries").gauge().value()).isEqualTo(10);
+            assertThat(registry.get("point.tiering.demoted").counter().count()).isEqualTo(20);
+        }
+
+        @Test
+        void 힙_사용률이_높으면_hot_사용자를_절반으로_줄인다() {
+            UserPointTable table = new UserPointTable();
+            PointTieringManager manager = new PointTieringManager(TieringProperties.defaults(), table,
+                    new UserReentrantLockManager(), new SimpleMeterRegistry(), () -> 0.95);
+            table.insertOrUpdateAll(userPoints(1, 101));
+
+            assertThat(manager.hotTarget()).isEqualTo(50);
+        }
+    }
+
+    @Test
+    void 강등과_fault_in_이_겹쳐도_충전이_유실되지_않는다() throws Exception {
+        UserPointTable table = new UserPointTable();
+        UserReentrantLockManager lockManager = new UserReentrantLockManager();
+        int users = 4;
+        int chargesPerThread = 5;
+        int threads = 8;
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            // 매번 모든 잔액과 쓰지 않는 락을 내보내, 충전마다 fault-in 과 새 락 생성이 일어나게 한다.
+            Future<?> sweeper = executor.submit(() -> {
+                while (running.get()) {
+                    demoteAll(table, 0);
+                    lockManager.evictUnused(userId -> !table.isHot(userId));
+                    Thread.onSpinWait();
+                }
+            });
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> chargers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long userId = t % users;
+                chargers.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < chargesPerThread; i++) {
+                        UserLock lock = lockManager.getLock(userId);
+                        lock.lock();
+                        try {
+                            UserPoint current = table.selectById(userId);
+                            table.insertOrUpdate(userId, current.point() + 1);
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> charger : chargers) {
+                charger.get();
+            }
+            running.set(false);
+            sweeper.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(table.selectAll()).hasSize(users)
+                .allSatisfy(userPoint -> assertThat(userPoint.point()).isEqualTo((long) chargesPerThread * threads / users));
+        log.info("fault-ins={}", table.faultInCount());
+    }
+
+    @Test
+    @Tag("load")
+    void 비활성_사용자를_강등하면_힙_사용량이_줄어든다() throws InterruptedException {
+        int users = 300_000;
+        UserPointTable table = new UserPointTable();
+        UserReentrantLockManager lockManager = new UserReentrantLockManager();
+        table.insertOrUpdateAll(userPoints(1, users + 1));
+        for (long id = 1; id <= users; id++) {
+            UserLock lock = lockManager.getLock(id);
+            lock.lock();
+            lock.unlock();
+        }
+        long hotHeap = usedHeap();
+
+        long begin = System.nanoTime();
+        demoteAll(table, 0);
+        lockManager.evictUnused(userId -> !table.isHot(userId));
+        long demoteNanos = System.nanoTime() - begin;
+        long coldHeap = usedHeap();
+
+        begin = System.nanoTime();
+        int sampled = 0;
+        for (long id = 1; id <= users; id += users / 10) {
+            table.insertOrUpdate(id, table.selectById(id).point());
+            sampled++;
+        }
+        log.info("{} users: heap hot={}MB, cold={}MB (off-heap {}MB), demote {}ms, fault-in avg {}us over {} users", users,
+                hotHeap >> 20, coldHeap >> 20, table.coldBytes() >> 20, demoteNanos / 1_000_000,
+                table.faultInNanos() / Math.max(1, table.faultInCount()) / 1_000, sampled);
+
+        assertThat(table.faultInCount()).isEqualTo(sampled);
+        assertThat(coldHeap).isLessThan(hotHeap);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
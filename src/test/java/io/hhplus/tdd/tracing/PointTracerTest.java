@@ -0,0 +1,121 @@
+package io.hhplus.tdd.tracing;
+
+import io.hhplus.tdd.cluster.PointCluster;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.archive.PointHistoryArchive;
+import io.hhplus.tdd.lock.UserReentrantLockManager;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPointBatchReader;
+import io.hhplus.tdd.point.expiry.PointExpiryProperties;
+import io.hhplus.tdd.point.expiry.PointLotLedger;
+import io.hhplus.tdd.point.activity.ActivityProperties;
+import io.hhplus.tdd.point.activity.ActivityTracker;
+import io.hhplus.tdd.point.tier.TierRuleEngine;
+import io.hhplus.tdd.ratelimit.AdaptiveConcurrencyLimiter;
+import io.hhplus.tdd.ratelimit.ConcurrencyLimitProperties;
+import io.hhplus.tdd.ratelimit.PointRateLimiter;
+import io.hhplus.tdd.ratelimit.RateLimitProperties;
+import io.hhplus.tdd.replication.ReplicationLog;
+import io.hhplus.tdd.replication.ReplicationProperties;
+import io.hhplus.tdd.storage.TablePointStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PointTracerTest {
+
+    private static PointTracer tracer(double sampleRate, int capacity) {
+        return new PointTracer(new TracingProperties(true, sampleRate, capacity));
+    }
+
+    private static void trace(PointTracer tracer, String path, long sleepMillis) throws InterruptedException {
+        tracer.begin("PATCH", path, true);
+        long phase = tracer.phaseStart();
+        Thread.sleep(sleepMillis);
+        tracer.endPhase(TracePhase.SELECT, phase);
+        tracer.finish(200);
+    }
+
+    @Nested
+    class 표본_추출 {
+
+        @Test
+        void 표본_비율이_0이어도_강제한_요청은_구간별로_기록한다() throws Exception {
+            PointTracer tracer = tracer(0, 16);
+
+            trace(tracer, "/point/1/charge", 5);
+
+            List<TraceRecord> records = tracer.slowest(10);
+            assertThat(records).hasSize(1);
+            TraceRecord record = records.get(0);
+            assertThat(record.path()).isEqualTo("/point/1/charge");
+            assertThat(record.status()).isEqualTo(200);
+            assertThat(record.phaseMicros().get(TracePhase.SELECT)).isGreaterThanOrEqualTo(5_000L);
+            assertThat(record.phaseMicros().get(TracePhase.LOCK_WAIT)).isZero();
+            assertThat(record.totalMicros()).isGreaterThanOrEqualTo(record.phaseMicros().get(TracePhase.SELECT));
+        }
+
+        @Test
+        void 뽑히지_않은_요청과_꺼진_추적기는_아무것도_기록하지_않는다() {
+            PointTracer unsampled = tracer(0, 16);
+            unsampled.begin("GET", "/point/1", false);
+            assertThat(unsampled.phaseStart()).isZero();
+            unsampled.finish(200);
+
+            PointTracer disabled = PointTracer.disabled();
+            disabled.begin("GET", "/point/1", true);
+            assertThat(disabled.phaseStart()).isZero();
+            disabled.finish(200);
+
+            assertThat(unsampled.slowest(10)).isEmpty();
+            assertThat(disabled.slowest(10)).isEmpty();
+        }
+    }
+
+    @Test
+    void 링_버퍼가_차면_오래된_기록을_덮어쓰고_느린_순으로_조회한다() throws Exception {
+        PointTracer tracer = tracer(1.0, 3);
+
+        trace(tracer, "/point/1/charge", 20);
+        trace(tracer, "/point/2/charge", 1);
+        trace(tracer, "/point/3/charge", 10);
+        trace(tracer, "/point/4/charge", 5);
+
+        assertThat(tracer.recordedCount()).isEqualTo(4);
+        assertThat(tracer.slowest(2)).extracting(TraceRecord::path).containsExactly("/point/3/charge", "/point/4/charge");
+        assertThat(tracer.slowest(10)).hasSize(3);
+    }
+
+    @Test
+    void 충전_요청은_락_대기부터_내역_추가까지_각_구간이_전체_시간_안에_기록된다() {
+        PointTracer tracer = tracer(1.0, 16);
+        UserPointTable userPointTable = new UserPointTable();
+        PointHistoryTable pointHistoryTable = new PointHistoryTable();
+        TablePointStore pointStore = new TablePointStore(userPointTable, pointHistoryTable);
+        PointService pointService = new PointService(pointStore,
+                new UserReentrantLockManager(), new UserPointBatchReader(pointStore, 4, PointCluster.standalone()),
+                new PointHistoryArchive(false, Path.of("unused")),
+                new PointRateLimiter(RateLimitProperties.disabled(), new SimpleMeterRegistry()), PointCluster.standalone(),
+                new ReplicationLog(ReplicationProperties.standalone(), userPointTable, pointHistoryTable),
+                new PointLotLedger(PointExpiryProperties.disabled()),
+                new AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.disabled(), new SimpleMeterRegistry()),
+                tracer, TierRuleEngine.defaults(),
+                new ActivityTracker(ActivityProperties.disabled(), new SimpleMeterRegistry()));
+
+        tracer.begin("PATCH", "/point/1/charge", false);
+        pointService.charge(1L, 100L);
+        tracer.finish(200);
+
+        TraceRecord record = tracer.slowest(1).get(0);
+        long phaseSum = record.phaseMicros().values().stream().mapToLong(Long::longValue).sum();
+        assertThat(record.phaseMicros()).containsOnlyKeys(TracePhase.values());
+        assertThat(phaseSum + record.otherMicros()).isLessThanOrEqualTo(record.totalMicros() + TracePhase.values().length);
+        assertThat(phaseSum).isPositive();
+    }
+}
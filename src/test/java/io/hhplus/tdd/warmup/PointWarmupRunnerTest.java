@@ -0,0 +1,54 @@
+package io.hhplus.tdd.warmup;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.activity.ActivityTracker;
+import io.hhplus.tdd.point.expiry.PointLotLedger;
+import io.hhplus.tdd.point.tier.TierRuleEngine;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "point.warmup.enabled=true",
+                "point.warmup.requests=80",
+                "point.warmup.concurrency=8",
+                "point.warmup.user-count=8",
+                "point.activity.enabled=true"
+        })
+class PointWarmupRunnerTest {
+
+    @Autowired
+    private UserPointTable userPointTable;
+    @Autowired
+    private PointHistoryTable pointHistoryTable;
+    @Autowired
+    private PointLotLedger pointLotLedger;
+    @Autowired
+    private ActivityTracker activityTracker;
+    @Autowired
+    private TierRuleEngine tierRuleEngine;
+
+    @Test
+    void 워밍업이_끝나면_임시_사용자의_잔액과_내역이_남지_않는다() {
+        assertThat(userPointTable.selectAll()).allSatisfy(userPoint -> assertThat(userPoint.id()).isPositive());
+        LongStream.rangeClosed(1, 8).forEach(userId ->
+                assertThat(pointHistoryTable.selectAllByUserId(-userId)).isEmpty());
+    }
+
+    @Test
+    void 워밍업이_끝나면_임시_사용자의_만료_lot_활동_카운터_일일_충전_합계가_남지_않는다() {
+        long now = System.currentTimeMillis();
+        assertThat(activityTracker.trackedUserCount()).isZero();
+        LongStream.rangeClosed(1, 8).forEach(userId -> {
+            assertThat(pointLotLedger.expiredAmount(-userId, Long.MAX_VALUE)).isZero();
+            assertThat(tierRuleEngine.status(-userId, now).chargedToday()).isZero();
+        });
+    }
+}
@@ -0,0 +1,156 @@
+package io.hhplus.tdd.wire;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 PointService 연산(충전/조회 반반)을 REST 와 바이너리 프로토콜로 보내고, 서버 쪽 스레드가 쓴 CPU 시간을 요청 수로 나눠 비교한다.
+ * - REST 는 Tomcat 스레드(http-nio-*), 바이너리 프로토콜은 point-wire-* 스레드의 CPU 시간만 센다. 클라이언트 비용은 빠진다.
+ * - 테이블의 인위적인 지연을 피하려고 디스크 저장소를 쓰고, 처리율 한도는 끈다.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "point.storage.backend=disk",
+        "point.rate-limit.enabled=false",
+        "point.wire.enabled=true",
+        "point.wire.port=0"
+})
+class PointWireBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PointWireBenchmarkTest.class);
+
+    private static final int OPERATIONS = 20_000;
+    private static final int USERS = 1_000;
+
+    @DynamicPropertySource
+    static void storageDirectory(DynamicPropertyRegistry registry) {
+        registry.add("point.storage.dir", () -> {
+            try {
+                return Files.createTempDirectory("point-wire-benchmark").toString();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    PointWireServer pointWireServer;
+
+    @Test
+    void 바이너리_프로토콜은_REST_보다_요청당_서버_CPU_를_적게_쓴다() throws Exception {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        String baseUrl = "http://127.0.0.1:" + port + "/point/";
+
+        // 양쪽 모두 한 번씩 먼저 돌려 JIT 컴파일과 연결 수립 비용을 측정에서 뺀다.
+        runRest(httpClient, baseUrl, OPERATIONS / 4);
+        runWire(OPERATIONS / 4);
+
+        long restCpu = serverCpuNanos("http-nio");
+        long restStart = System.nanoTime();
+        runRest(httpClient, baseUrl, OPERATIONS);
+        long restWall = System.nanoTime() - restStart;
+        restCpu = serverCpuNanos("http-nio") - restCpu;
+
+        long wireCpu = serverCpuNanos("point-wire");
+        long wireStart = System.nanoTime();
+        runWire(OPERATIONS);
+        long wireWall = System.nanoTime() - wireStart;
+        wireCpu = serverCpuNanos("point-wire") - wireCpu;
+
+        log.info("REST: {} ops in {} ms, server CPU {} us/op", OPERATIONS, TimeUnit.NANOSECONDS.toMillis(restWall),
+                restCpu / 1000.0 / OPERATIONS);
+        log.info("wire: {} ops in {} ms, server CPU {} us/op", OPERATIONS, TimeUnit.NANOSECONDS.toMillis(wireWall),
+                wireCpu / 1000.0 / OPERATIONS);
+        assertThat(wireCpu).isLessThan(restCpu);
+    }
+
+    private static void runRest(HttpClient httpClient, String baseUrl, int operations) throws Exception {
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                futures[t] = executor.submit(() -> {
+                    for (int i = offset; i < operations; i += threads) {
+                        long userId = i % USERS + 1;
+                        HttpRequest request = i % 2 == 0
+                                ? HttpRequest.newBuilder(URI.create(baseUrl + userId + "/charge"))
+                                .header("Content-Type", "application/json")
+                                .method("PATCH", HttpRequest.BodyPublishers.ofString("10"))
+                                .build()
+                                : HttpRequest.newBuilder(URI.create(baseUrl + userId)).GET().build();
+                        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                        assertThat(response.statusCode()).isEqualTo(200);
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 응답을 기다리지 않은 요청을 최대 256 건까지 유지하며 보낸다.
+     */
+    private void runWire(int operations) throws Exception {
+        Semaphore window = new Semaphore(256);
+        try (PointWireClient client = new PointWireClient("127.0.0.1", pointWireServer.localPort())) {
+            CompletableFuture<?>[] futures = new CompletableFuture<?>[operations];
+            for (int i = 0; i < operations; i++) {
+                if (!window.tryAcquire()) {
+                    client.flush();
+                    window.acquire();
+                }
+                long userId = i % USERS + 1;
+                CompletableFuture<UserPoint> future = i % 2 == 0 ? client.charge(userId, 10L) : client.get(userId);
+                futures[i] = future.whenComplete((result, error) -> window.release());
+            }
+            client.flush();
+            CompletableFuture.allOf(futures).get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    private static long serverCpuNanos(String threadNamePrefix) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null && info.getThreadName().startsWith(threadNamePrefix)) {
+                total += Math.max(0, threads.getThreadCpuTime(info.getThreadId()));
+            }
+        }
+        return total;
+    }
+}
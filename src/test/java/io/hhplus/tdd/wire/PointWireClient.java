@@ -0,0 +1,135 @@
+package io.hhplus.tdd.wire;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 테스트용 PointWireProtocol 클라이언트.
+ * 요청 메서드는 버퍼에 쓰기만 하므로 flush() 를 불러야 전송된다. 여러 요청을 쓴 뒤 한 번에 flush 하면 pipelining 이 된다.
+ * 응답은 별도 스레드가 읽어 requestId 로 future 를 완료한다.
+ */
+final class PointWireClient implements AutoCloseable {
+
+    private final Socket socket;
+    private final OutputStream out;
+    private final ByteBuffer frame = ByteBuffer.allocate(PointWireProtocol.LENGTH_BYTES + PointWireProtocol.MAX_REQUEST_BYTES);
+    private final Map<Long, CompletableFuture<UserPoint>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong requestIds = new AtomicLong();
+    private final Thread reader;
+
+    PointWireClient(String host, int port) {
+        try {
+            socket = new Socket(host, port);
+            socket.setTcpNoDelay(true);
+            out = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+            reader = new Thread(() -> readResponses(in), "wire-test-client");
+            reader.setDaemon(true);
+            reader.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    CompletableFuture<UserPoint> get(long userId) {
+        return send(PointWireProtocol.GET, userId, 0, 0);
+    }
+
+    CompletableFuture<UserPoint> charge(long userId, long amount) {
+        return send(PointWireProtocol.CHARGE, userId, 0, amount);
+    }
+
+    CompletableFuture<UserPoint> use(long userId, long amount) {
+        return send(PointWireProtocol.USE, userId, 0, amount);
+    }
+
+    CompletableFuture<UserPoint> transfer(long fromUserId, long toUserId, long amount) {
+        return send(PointWireProtocol.TRANSFER, fromUserId, toUserId, amount);
+    }
+
+    synchronized void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized CompletableFuture<UserPoint> send(byte opcode, long userId, long toUserId, long amount) {
+        long requestId = requestIds.incrementAndGet();
+        CompletableFuture<UserPoint> future = new CompletableFuture<>();
+        pending.put(requestId, future);
+        frame.clear();
+        PointWireProtocol.writeRequest(frame, requestId, opcode, userId, toUserId, amount);
+        try {
+            out.write(frame.array(), 0, frame.position());
+        } catch (IOException e) {
+            pending.remove(requestId);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void readResponses(DataInputStream in) {
+        try {
+            while (true) {
+                in.readInt();
+                long requestId = in.readLong();
+                short status = in.readShort();
+                CompletableFuture<UserPoint> future = pending.remove(requestId);
+                if (status == PointWireProtocol.OK) {
+                    future.complete(new UserPoint(in.readLong(), in.readLong(), in.readLong()));
+                } else {
+                    int retryAfterSeconds = in.readInt();
+                    byte[] message = new byte[in.readUnsignedShort()];
+                    in.readFully(message);
+                    future.completeExceptionally(
+                            new WireException(status, retryAfterSeconds, new String(message, StandardCharsets.UTF_8)));
+                }
+            }
+        } catch (IOException e) {
+            IOException cause = e instanceof EOFException ? new EOFException("Connection closed by server.") : e;
+            pending.values().forEach(future -> future.completeExceptionally(cause));
+            pending.clear();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    static final class WireException extends RuntimeException {
+
+        private final short status;
+        private final int retryAfterSeconds;
+
+        WireException(short status, int retryAfterSeconds, String message) {
+            super(message);
+            this.status = status;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        short status() {
+            return status;
+        }
+
+        int retryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+}
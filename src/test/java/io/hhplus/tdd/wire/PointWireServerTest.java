@@ -0,0 +1,171 @@
+package io.hhplus.tdd.wire;
+
+import io.hhplus.tdd.cluster.PointCluster;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.archive.PointHistoryArchive;
+import io.hhplus.tdd.lock.UserLock;
+import io.hhplus.tdd.lock.UserReentrantLockManager;
+import io.hhplus.tdd.point.PointService;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.UserPointBatchReader;
+import io.hhplus.tdd.point.expiry.PointExpiryProperties;
+import io.hhplus.tdd.point.expiry.PointLotLedger;
+import io.hhplus.tdd.point.activity.ActivityProperties;
+import io.hhplus.tdd.point.activity.ActivityTracker;
+import io.hhplus.tdd.point.tier.TierRuleEngine;
+import io.hhplus.tdd.ratelimit.AdaptiveConcurrencyLimiter;
+import io.hhplus.tdd.ratelimit.ConcurrencyLimitProperties;
+import io.hhplus.tdd.ratelimit.PointRateLimiter;
+import io.hhplus.tdd.ratelimit.RateLimitProperties;
+import io.hhplus.tdd.replication.ReplicationLog;
+import io.hhplus.tdd.replication.ReplicationProperties;
+import io.hhplus.tdd.storage.disk.DiskPointStore;
+import io.hhplus.tdd.tracing.PointTracer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class PointWireServerTest {
+
+    @TempDir
+    Path directory;
+
+    private DiskPointStore pointStore;
+    private PointWireServer server;
+    private final UserReentrantLockManager userReentrantLockManager = new UserReentrantLockManager();
+
+    private PointWireServer start(int maxInFlight) throws Exception {
+        pointStore = DiskPointStore.open(directory, 1024 * 1024, 1024 * 1024, false);
+        PointService pointService = new PointService(pointStore, userReentrantLockManager,
+                new UserPointBatchReader(pointStore, 4, PointCluster.standalone()),
+                new PointHistoryArchive(false, Path.of("unused")),
+                new PointRateLimiter(RateLimitProperties.disabled(), new SimpleMeterRegistry()), PointCluster.standalone(),
+                new ReplicationLog(ReplicationProperties.standalone(), new UserPointTable(), new PointHistoryTable()),
+                new PointLotLedger(PointExpiryProperties.disabled()),
+                new AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties.disabled(), new SimpleMeterRegistry()),
+                PointTracer.disabled(), TierRuleEngine.defaults(),
+                new ActivityTracker(ActivityProperties.disabled(), new SimpleMeterRegistry()));
+        server = new PointWireServer(new WireProperties(true, 0, 8, maxInFlight), pointService,
+                PointCluster.standalone(), ReplicationProperties.standalone(), new SimpleMeterRegistry());
+        server.start();
+        return server;
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (server != null) {
+            server.stop();
+        }
+        if (pointStore != null) {
+            pointStore.close();
+        }
+    }
+
+    @Test
+    void 응답을_기다리지_않고_보낸_요청마다_requestId_로_응답한다() throws Exception {
+        start(1024);
+        try (PointWireClient client = new PointWireClient("127.0.0.1", server.localPort())) {
+            List<CompletableFuture<UserPoint>> charges = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                charges.add(client.charge(i % 10 + 1, 10L));
+            }
+            client.flush();
+            CompletableFuture.allOf(charges.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+            CompletableFuture<UserPoint> balance = client.get(3L);
+            client.flush();
+            assertThat(balance.get(1, TimeUnit.SECONDS).point()).isEqualTo(1000L);
+        }
+    }
+
+    @Test
+    void 앞의_요청이_락을_기다리는_동안_뒤의_요청이_먼저_응답한다() throws Exception {
+        start(1024);
+        UserLock lock = userReentrantLockManager.getLock(1L);
+        try (PointWireClient client = new PointWireClient("127.0.0.1", server.localPort())) {
+            lock.lock();
+            CompletableFuture<UserPoint> blocked;
+            try {
+                blocked = client.charge(1L, 100L);
+                CompletableFuture<UserPoint> other = client.charge(2L, 200L);
+                client.flush();
+
+                assertThat(other.get(1, TimeUnit.SECONDS).point()).isEqualTo(200L);
+                assertThat(blocked).isNotDone();
+            } finally {
+                lock.unlock();
+            }
+            assertThat(blocked.get(1, TimeUnit.SECONDS).point()).isEqualTo(100L);
+        }
+    }
+
+    @Test
+    void 도메인_예외는_HTTP_API_와_같은_상태_코드로_응답한다() throws Exception {
+        start(1024);
+        try (PointWireClient client = new PointWireClient("127.0.0.1", server.localPort())) {
+            CompletableFuture<UserPoint> insufficient = client.use(1L, 100L);
+            CompletableFuture<UserPoint> invalidAmount = client.charge(1L, 0L);
+            CompletableFuture<UserPoint> sameUser = client.transfer(1L, 1L, 10L);
+            client.flush();
+
+            assertWireError(insufficient, PointWireProtocol.BAD_REQUEST, "Insufficient balance.");
+            assertWireError(invalidAmount, PointWireProtocol.BAD_REQUEST, "Amount must be > 0.");
+            assertWireError(sameUser, PointWireProtocol.BAD_REQUEST, "Cannot transfer points to the same user.");
+        }
+    }
+
+    @Test
+    void 응답하지_않은_요청이_한도에_이르면_읽기를_멈췄다가_다시_읽는다() throws Exception {
+        start(2);
+        try (PointWireClient client = new PointWireClient("127.0.0.1", server.localPort())) {
+            List<CompletableFuture<UserPoint>> charges = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                charges.add(client.charge(1L, 1L));
+            }
+            client.flush();
+            CompletableFuture.allOf(charges.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+            CompletableFuture<UserPoint> balance = client.get(1L);
+            client.flush();
+            assertThat(balance.get(1, TimeUnit.SECONDS).point()).isEqualTo(500L);
+        }
+    }
+
+    @Test
+    void 프레임_길이가_잘못되면_연결을_닫는다() throws Exception {
+        start(1024);
+        try (Socket socket = new Socket("127.0.0.1", server.localPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeInt(3);
+            out.write(new byte[3]);
+            out.flush();
+
+            socket.setSoTimeout(1000);
+            InputStream in = socket.getInputStream();
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    private static void assertWireError(CompletableFuture<UserPoint> future, short status, String message) {
+        ExecutionException thrown = catchThrowableOfType(() -> future.get(1, TimeUnit.SECONDS), ExecutionException.class);
+        assertThat(thrown.getCause()).isInstanceOfSatisfying(PointWireClient.WireException.class, e -> {
+            assertThat(e.status()).isEqualTo(status);
+            assertThat(e.getMessage()).isEqualTo(message);
+        });
+    }
+}